@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Training run untuk AOT cache JVM (Java 25, JEP 483/514/515).
+# Jar hasil build di-extract (AOT cache membutuhkan classpath berupa file jar biasa),
+# aplikasi dijalankan dengan -XX:AOTCacheOutput, semua endpoint HomeController dipanggil
+# berulang kali, lalu aplikasi dihentikan sehingga JVM menulis cache saat exit.
+#
+# Penggunaan: scripts/aot-training.sh <jar-aplikasi> [direktori-output]
+# Dijalankan otomatis oleh: ./mvnw -Paot-cache package
+set -euo pipefail
+
+JAR="${1:?Penggunaan: $0 <jar-aplikasi> [direktori-output]}"
+OUT_DIR="${2:-target/aot}"
+PORT="${AOT_TRAINING_PORT:-18080}"
+ROUNDS="${AOT_TRAINING_ROUNDS:-200}"
+BASE_URL="http://127.0.0.1:${PORT}"
+
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT_DIR/app"
+APP_JAR="$OUT_DIR/app/$(basename "$JAR")"
+
+echo "Training run: $APP_JAR -> $OUT_DIR/app.aot"
+java -XX:AOTCacheOutput="$OUT_DIR/app.aot" -Dspring.aot.enabled=true \
+    -jar "$APP_JAR" \
+    --server.port="$PORT" --server.address=127.0.0.1 --spring.main.banner-mode=off \
+    > "$OUT_DIR/training.log" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 300); do
+    if curl -s -o /dev/null "$BASE_URL/"; then
+        break
+    fi
+    if ! kill -0 "$PID" 2>/dev/null; then
+        cat "$OUT_DIR/training.log"
+        exit 1
+    fi
+    sleep 0.2
+done
+
+# Payload representatif untuk setiap endpoint komputasi
+NILAI=$(printf '10\n15\n10\n25\n20\n20\nPA|100|80\nT|90|90\nK|10|7\nP|100|75\nUTS|100|80\nUAS|100|82\nX|10|5\n---\n')
+MATRIKS=$(printf '4\n1 2 3 4\n5 6 7 8\n9 10 11 12\n13 14 15 16\n')
+DAFTAR=$(printf '50\n60\n60\n70\n85\n85\n85\n100\n35\n---\n')
+b64() { printf '%s\n' "$1" | base64 | tr -d '\n'; }
+NILAI_B64=$(b64 "$NILAI")
+MATRIKS_B64=$(b64 "$MATRIKS")
+DAFTAR_B64=$(b64 "$DAFTAR")
+
+get() { curl -s -o /dev/null "$@"; }
+
+for i in $(seq 1 "$ROUNDS"); do
+    get "$BASE_URL/"
+    get "$BASE_URL/hello/user$i"
+    get "$BASE_URL/informasi-nim?nim=11S2$(printf '%04d' $((i % 1000)))"
+    get "$BASE_URL/informasi-nim?nim=99X00000"
+    get -G "$BASE_URL/perolehan-nilai" --data-urlencode "strBase64=$NILAI_B64"
+    get -G "$BASE_URL/perbedaan-l" --data-urlencode "strBase64=$MATRIKS_B64"
+    get -G "$BASE_URL/paling-ter" --data-urlencode "strBase64=$DAFTAR_B64"
+    get -G "$BASE_URL/paling-ter" --data-urlencode "strBase64=bukan*base64"
+    get --data-binary "$NILAI" "$BASE_URL/stream/perolehan-nilai"
+    get --data-binary "$MATRIKS" "$BASE_URL/stream/perbedaan-l"
+    get --data-binary "$DAFTAR" "$BASE_URL/stream/paling-ter"
+    get "$BASE_URL/perolehan-nilai"
+    get "$BASE_URL/wp-admin/index.php"
+done
+get "$BASE_URL/metrics/routes"
+
+# SIGTERM memicu shutdown normal; AOT cache ditulis saat JVM exit
+kill -TERM "$PID"
+wait "$PID" || true
+trap - EXIT
+
+if [ ! -s "$OUT_DIR/app.aot" ]; then
+    echo "AOT cache tidak terbentuk, lihat $OUT_DIR/training.log" >&2
+    exit 1
+fi
+echo "AOT cache: $OUT_DIR/app.aot ($(du -h "$OUT_DIR/app.aot" | cut -f1))"
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Membandingkan konfigurasi default dengan profile prod:
+#   dev        target/classes + classpath runtime (termasuk devtools), seperti mvn spring-boot:run
+#   jar        java -jar <fat jar> dengan application.properties default
+#   prod       java -jar <fat jar> --spring.profiles.active=prod
+#
+# Untuk setiap varian dicatat: waktu sampai request pertama, waktu sampai /ready 200,
+# RSS setelah startup, lalu load test open-loop (LoadTestHarness) dan RSS setelah load.
+#
+# Penggunaan: ./mvnw -Pprod package && scripts/profile-compare.sh [rate] [durasi-detik]
+set -euo pipefail
+
+RATE="${1:-2000}"
+DURATION="${2:-30}"
+PORT="${PROFILE_COMPARE_PORT:-18082}"
+OUT_DIR="${OUT_DIR:-target/profile-compare}"
+JAR=$(ls target/*.jar | grep -v -- '-plain\.jar$' | head -n 1)
+BASE_URL="http://127.0.0.1:$PORT"
+APP_ARGS=(--server.port="$PORT" --server.address=127.0.0.1)
+
+mkdir -p "$OUT_DIR"
+CLASSPATH_FILE="$OUT_DIR/runtime.classpath"
+./mvnw -q dependency:build-classpath -Dmdep.includeScope=runtime -Dmdep.outputFile="$CLASSPATH_FILE"
+
+now_ms() { date +%s%3N; }
+
+rss_kb() { ps -o rss= -p "$1" | tr -d ' '; }
+
+wait_for() {
+    local url="$1" pid="$2"
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            return 1
+        fi
+        sleep 0.01
+    done
+}
+
+run_variant() {
+    local name="$1"
+    shift
+    local start pid first ready rss_start rss_load throughput
+    start=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > "$OUT_DIR/$name.log" 2>&1 &
+    pid=$!
+    wait_for "$BASE_URL/" "$pid" || { echo "$name gagal start, lihat $OUT_DIR/$name.log" >&2; return; }
+    first=$(( $(now_ms) - start ))
+    wait_for "$BASE_URL/ready" "$pid"
+    ready=$(( $(now_ms) - start ))
+    rss_start=$(rss_kb "$pid")
+
+    ./mvnw -q -Pbenchmark test-compile exec:exec \
+        -Dbenchmark.mainClass=org.delcom.starter.benchmarks.LoadTestHarness \
+        -Dbenchmark.args="--url=$BASE_URL --rate=$RATE --duration=$DURATION --report=$OUT_DIR/$name-load.txt" \
+        > /dev/null
+    rss_load=$(rss_kb "$pid")
+    # Total req/s = jumlah kolom req/s semua endpoint
+    throughput=$(awk 'NR > 2 { sum += $4 } END { printf "%.0f", sum }' "$OUT_DIR/$name-load.txt")
+
+    kill -TERM "$pid"
+    wait "$pid" 2>/dev/null || true
+    printf '%-6s first %6s ms  ready %6s ms  RSS start %7s KB  RSS load %7s KB  %7s req/s\n' \
+        "$name" "$first" "$ready" "$rss_start" "$rss_load" "$throughput" | tee -a "$OUT_DIR/summary.txt"
+}
+
+: > "$OUT_DIR/summary.txt"
+echo "Target $RATE req/s selama ${DURATION}s per varian (detail latensi di $OUT_DIR/*-load.txt)"
+run_variant dev java -cp "target/classes:$(cat "$CLASSPATH_FILE")" org.delcom.starter.Application
+run_variant jar java -jar "$JAR"
+run_variant prod java -jar "$JAR" --spring.profiles.active=prod
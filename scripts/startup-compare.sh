@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Membandingkan waktu sampai request pertama berhasil untuk beberapa varian startup:
+#   jar         java -jar <fat jar>
+#   extracted   jar hasil extract (classpath jar biasa)
+#   spring-aot  extracted + -Dspring.aot.enabled=true (context hasil process-aot)
+#   aot-cache   spring-aot + -XX:AOTCache (hasil scripts/aot-training.sh)
+#
+# Penggunaan: ./mvnw -Paot-cache package && scripts/startup-compare.sh [jumlah-run]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${STARTUP_COMPARE_PORT:-18081}"
+AOT_DIR="${AOT_DIR:-target/aot}"
+JAR=$(ls target/*.jar | grep -v -- '-plain\.jar$' | head -n 1)
+APP_JAR="$AOT_DIR/app/$(basename "$JAR")"
+APP_ARGS=(--server.port="$PORT" --server.address=127.0.0.1 --spring.main.banner-mode=off)
+
+if [ ! -f "$AOT_DIR/app.aot" ]; then
+    echo "AOT cache belum ada, jalankan dulu: ./mvnw -Paot-cache package" >&2
+    exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+# Cetak milidetik dari start JVM sampai GET / berhasil
+measure() {
+    local start pid elapsed
+    start=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null "http://127.0.0.1:$PORT/"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "gagal"
+            return
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill -TERM "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+run_variant() {
+    local name="$1"
+    shift
+    local results=()
+    for _ in $(seq 1 "$RUNS"); do
+        results+=("$(measure "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${results[@]}" | sort -n)
+    printf '%-12s min %6s ms  median %6s ms  (%s)\n' "$name" \
+        "$(echo "$sorted" | head -n 1)" \
+        "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "${results[@]}")"
+}
+
+echo "Waktu sampai request pertama, $RUNS run per varian"
+run_variant jar java -jar "$JAR"
+run_variant extracted java -jar "$APP_JAR"
+run_variant spring-aot java -Dspring.aot.enabled=true -jar "$APP_JAR"
+run_variant aot-cache java -XX:AOTCache="$AOT_DIR/app.aot" -Dspring.aot.enabled=true -jar "$APP_JAR"
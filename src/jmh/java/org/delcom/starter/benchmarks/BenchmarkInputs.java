@@ -0,0 +1,74 @@
+package org.delcom.starter.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.SplittableRandom;
+
+// Generator input realistis untuk benchmark endpoint HomeController.
+// Semua generator deterministik (seed tetap) agar hasil antar-run bisa dibandingkan.
+public final class BenchmarkInputs {
+
+    private static final String[] PRODI = { "11S", "12S", "14S", "21S", "22S", "31S", "114", "113", "133" };
+    private static final String[] KATEGORI = { "PA", "T", "K", "P", "UTS", "UAS" };
+    private static final long SEED = 20251029L;
+
+    private BenchmarkInputs() {
+    }
+
+    public static String base64(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // NIM valid dengan prodi dan angkatan acak
+    public static String[] nims(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] nims = new String[count];
+        for (int i = 0; i < count; i++) {
+            nims[i] = PRODI[random.nextInt(PRODI.length)]
+                    + String.format("%02d%03d", random.nextInt(100), random.nextInt(1000));
+        }
+        return nims;
+    }
+
+    // Daftar nilai untuk /paling-ter, diakhiri "---"
+    public static String scoreList(int lines) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(lines * 5);
+        for (int i = 0; i < lines; i++) {
+            sb.append(random.nextInt(101)).append("\r\n");
+        }
+        sb.append("---\r\n");
+        return sb.toString();
+    }
+
+    // Matriks persegi untuk /perbedaan-l
+    public static String matrix(int side) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(side * side * 3 + 8);
+        sb.append(side).append("\r\n");
+        for (int i = 0; i < side; i++) {
+            for (int j = 0; j < side; j++) {
+                if (j > 0) {
+                    sb.append(' ');
+                }
+                sb.append(random.nextInt(100));
+            }
+            sb.append("\r\n");
+        }
+        return sb.toString();
+    }
+
+    // Bobot + baris "Simbol|Maks|Nilai" untuk /perolehan-nilai, diakhiri "---"
+    public static String gradeSheet(int lines) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(lines * 12 + 32);
+        sb.append("10\r\n20\r\n10\r\n20\r\n20\r\n20\r\n");
+        for (int i = 0; i < lines; i++) {
+            int max = 1 + random.nextInt(100);
+            sb.append(KATEGORI[i % KATEGORI.length]).append('|').append(max)
+                    .append('|').append(random.nextInt(max + 1)).append("\r\n");
+        }
+        sb.append("---\r\n");
+        return sb.toString();
+    }
+}
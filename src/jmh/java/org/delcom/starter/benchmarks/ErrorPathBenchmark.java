@@ -0,0 +1,102 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.configs.CustomErrorController;
+import org.delcom.starter.controllers.HomeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.webmvc.error.DefaultErrorAttributes;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.RequestDispatcher;
+
+// Biaya jalur error: input tidak valid di HomeController dan /error di CustomErrorController.
+// exceptionBaseline mengukur harga satu NumberFormatException (dengan stack trace)
+// sebagai pembanding validasi tanpa exception.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ErrorPathBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class InvalidInputState {
+        public final HomeController controller = new HomeController();
+        public String nonNumericLine;
+        public String missingColumn;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            nonNumericLine = BenchmarkInputs.base64("1\n2\nbukan-angka\n---\n");
+            missingColumn = BenchmarkInputs.base64("10\n10\n10\n10\n10\n50\nPA\n---\n");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ErrorControllerState {
+        public final CustomErrorController controller = new CustomErrorController(new DefaultErrorAttributes());
+        public ServletWebRequest notFound;
+        public ServletWebRequest withException;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/error");
+            request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, 404);
+            request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, "/wp-admin/index.php");
+            notFound = new ServletWebRequest(request, new MockHttpServletResponse());
+
+            MockHttpServletRequest failing = new MockHttpServletRequest("GET", "/error");
+            failing.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, 404);
+            failing.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, "/wp-admin/index.php");
+            failing.setAttribute(RequestDispatcher.ERROR_EXCEPTION, new IllegalStateException("gagal"));
+            withException = new ServletWebRequest(failing, new MockHttpServletResponse());
+        }
+    }
+
+    @Benchmark
+    public String invalidBase64(InvalidInputState state) {
+        return state.controller.perbedaanL("bukan*base64");
+    }
+
+    @Benchmark
+    public String nonNumericLine(InvalidInputState state) {
+        return state.controller.palingTer(state.nonNumericLine);
+    }
+
+    @Benchmark
+    public String missingColumn(InvalidInputState state) {
+        return state.controller.perolehanNilai(state.missingColumn);
+    }
+
+    @Benchmark
+    public Object exceptionBaseline() {
+        try {
+            return Integer.parseInt("bukan-angka");
+        } catch (NumberFormatException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object errorFastPath(ErrorControllerState state) {
+        return state.controller.handleError(state.notFound);
+    }
+
+    @Benchmark
+    public Object errorAttributesPath(ErrorControllerState state) {
+        return state.controller.handleError(state.withException);
+    }
+}
@@ -0,0 +1,114 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.controllers.HomeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmark setiap endpoint HomeController dengan ukuran input bertingkat.
+// Input dibangun sekali per trial sehingga yang diukur hanya kerja endpoint. Kelas ini sendiri juga
+// state (Scope.Benchmark) karena menyimpan instance controller yang dipakai bersama.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class HomeControllerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class NimState {
+        @Param({ "1024" })
+        public int count;
+
+        public String[] nims;
+        public int cursor;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            nims = BenchmarkInputs.nims(count);
+        }
+
+        public String next() {
+            cursor = (cursor + 1) % nims.length;
+            return nims[cursor];
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ScoreListState {
+        @Param({ "1000", "100000", "1000000" })
+        public int lines;
+
+        public String base64;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            base64 = BenchmarkInputs.base64(BenchmarkInputs.scoreList(lines));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GradeSheetState {
+        @Param({ "100", "10000", "1000000" })
+        public int lines;
+
+        public String base64;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            base64 = BenchmarkInputs.base64(BenchmarkInputs.gradeSheet(lines));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MatrixState {
+        @Param({ "10", "100", "1000" })
+        public int side;
+
+        public String base64;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            base64 = BenchmarkInputs.base64(BenchmarkInputs.matrix(side));
+        }
+    }
+
+    private final HomeController controller = new HomeController();
+
+    @Benchmark
+    public String informasiNim(NimState state) {
+        return controller.informasiNim(state.next());
+    }
+
+    @Benchmark
+    public String perolehanNilai(GradeSheetState state) {
+        return controller.perolehanNilai(state.base64);
+    }
+
+    @Benchmark
+    public String perbedaanL(MatrixState state) {
+        return controller.perbedaanL(state.base64);
+    }
+
+    @Benchmark
+    public String palingTer(ScoreListState state) {
+        return controller.palingTer(state.base64);
+    }
+
+    @Benchmark
+    public String decode(ScoreListState state) {
+        return HomeController.decode(state.base64);
+    }
+}
@@ -0,0 +1,73 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.configs.JwtVerifier;
+import org.delcom.starter.configs.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+// Biaya autentikasi per request dalam mikrodetik: verifikasi penuh (parse + HMAC, cache
+// dimatikan) dibanding cache hit (SHA-256 token + lookup).
+//
+// Contoh: ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.args="JwtVerifierBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class JwtVerifierBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tokens {
+        public JwtVerifier cached;
+        public JwtVerifier uncached;
+        public String token;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            byte[] secret = new byte[32];
+            for (int i = 0; i < secret.length; i++) {
+                secret[i] = (byte) (i * 31 + 7);
+            }
+            List<String> keys = List.of("k1:" + Base64.getEncoder().encodeToString(secret));
+            cached = new JwtVerifier(keys, 10_000, 300);
+            uncached = new JwtVerifier(keys, 0, 300);
+            token = Jwts.builder()
+                    .header().keyId("k1").and()
+                    .subject("11S23001")
+                    .claim("name", "Abdullah Ubaid")
+                    .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                    .signWith(Keys.hmacShaKeyFor(secret))
+                    .compact();
+            if (cached.verify(token) == null || uncached.verify(token) == null) {
+                throw new IllegalStateException("Token benchmark tidak valid");
+            }
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken cacheHit(Tokens tokens) {
+        return tokens.cached.verify(tokens.token);
+    }
+
+    @Benchmark
+    public VerifiedToken fullVerify(Tokens tokens) {
+        return tokens.uncached.verify(tokens.token);
+    }
+}
@@ -0,0 +1,275 @@
+package org.delcom.starter.benchmarks;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.delcom.starter.Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Load generator open-loop: menjalankan Application di loopback lalu mengirim
+// campuran request dengan laju tetap. Latensi dihitung dari waktu kirim yang
+// dijadwalkan (bukan waktu kirim aktual) sehingga bebas coordinated omission.
+//
+// Contoh:
+//   ./mvnw -Pbenchmark test-compile exec:exec \
+//     -Dbenchmark.mainClass=org.delcom.starter.benchmarks.LoadTestHarness \
+//     -Dbenchmark.args="--rate=2000 --duration=60 --mix=paling-ter:1,hello:4"
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "500"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        String mix = options.getOrDefault("mix",
+                "informasi-nim:4,perolehan-nilai:2,perbedaan-l:2,paling-ter:2,hello:4,unknown:1");
+        Path report = Path.of(options.getOrDefault("report", "target/load-report.txt"));
+        String baseUrl = options.get("url");
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            context = bootApplication(options.getOrDefault("app-args", ""));
+            baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            List<Target> targets = buildTargets(baseUrl, mix);
+            System.out.printf("Warm-up %ds @ %d req/s ke %s%n", warmupSeconds, rate, baseUrl);
+            run(targets, rate, warmupSeconds);
+            for (Target target : targets) {
+                target.reset();
+            }
+
+            System.out.printf("Pengukuran %ds @ %d req/s%n", durationSeconds, rate);
+            long elapsedNanos = run(targets, rate, durationSeconds);
+
+            String text = render(targets, rate, elapsedNanos);
+            System.out.println(text);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, text);
+            System.out.println("Laporan ditulis ke " + report.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                SpringApplication.exit(context);
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext bootApplication(String extraArgs, Class<?>... extraSources) {
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--server.address=127.0.0.1",
+                "--spring.devtools.restart.enabled=false",
+                "--spring.devtools.livereload.enabled=false",
+                "--spring.main.banner-mode=off"));
+        if (!extraArgs.isBlank()) {
+            appArgs.addAll(Arrays.asList(extraArgs.trim().split("\\s+")));
+        }
+        Class<?>[] sources = new Class<?>[extraSources.length + 1];
+        sources[0] = Application.class;
+        System.arraycopy(extraSources, 0, sources, 1, extraSources.length);
+        return SpringApplication.run(sources, appArgs.toArray(String[]::new));
+    }
+
+    // Kirim request sesuai jadwal tetap; kembalikan durasi nyata sampai semua respons diterima
+    static long run(List<Target> targets, int rate, int seconds) throws InterruptedException {
+        int[] weights = targets.stream().mapToInt(t -> t.weight).toArray();
+        int totalWeight = Arrays.stream(weights).sum();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = (long) rate * seconds;
+        SplittableRandom random = new SplittableRandom(42);
+        AtomicLong inFlight = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(executor)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build()) {
+
+            long start = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Target target = pick(targets, weights, totalWeight, random.nextInt(totalWeight));
+                inFlight.incrementAndGet();
+                client.sendAsync(target.request(random), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            long latency = System.nanoTime() - intended;
+                            boolean failed = error != null || response.statusCode() != target.expectedStatus;
+                            target.record(latency, failed);
+                            inFlight.decrementAndGet();
+                        });
+            }
+            while (inFlight.get() > 0) {
+                Thread.sleep(10);
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    private static Target pick(List<Target> targets, int[] weights, int totalWeight, int roll) {
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return targets.get(i);
+            }
+        }
+        return targets.get(targets.size() - 1);
+    }
+
+    static List<Target> buildTargets(String baseUrl, String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+
+        String[] nims = BenchmarkInputs.nims(256);
+        String grades = encode(BenchmarkInputs.base64(BenchmarkInputs.gradeSheet(50)));
+        String matrix = encode(BenchmarkInputs.base64(BenchmarkInputs.matrix(20)));
+        String scores = encode(BenchmarkInputs.base64(BenchmarkInputs.scoreList(200)));
+
+        List<Target> targets = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            Target target = switch (name) {
+                case "informasi-nim" -> new Target(name, weight, 200,
+                        r -> baseUrl + "/informasi-nim?nim=" + nims[r.nextInt(nims.length)]);
+                case "perolehan-nilai" -> new Target(name, weight, 200,
+                        r -> baseUrl + "/perolehan-nilai?strBase64=" + grades);
+                case "perbedaan-l" -> new Target(name, weight, 200,
+                        r -> baseUrl + "/perbedaan-l?strBase64=" + matrix);
+                case "paling-ter" -> new Target(name, weight, 200,
+                        r -> baseUrl + "/paling-ter?strBase64=" + scores);
+                case "hello" -> new Target(name, weight, 200,
+                        r -> baseUrl + "/hello/user" + r.nextInt(1000));
+                case "unknown" -> new Target(name, weight, 404,
+                        r -> baseUrl + "/wp-admin/" + r.nextInt(1000) + ".php");
+                case "invalid" -> new Target(name, weight, 200,
+                        r -> baseUrl + "/perbedaan-l?strBase64=" + encode("bukan*base64-" + r.nextInt(1000)));
+                case "bad-request" -> new Target(name, weight, 400,
+                        r -> baseUrl + "/paling-ter");
+                default -> throw new IllegalArgumentException("Endpoint tidak dikenal: " + name);
+            };
+            targets.add(target);
+        });
+        return targets;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static String render(List<Target> targets, int rate, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Target rate: %d req/s, durasi: %.1fs%n", rate, seconds));
+        sb.append(String.format("%-16s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Target target : targets) {
+            long[] latencies = target.latencies();
+            Arrays.sort(latencies);
+            sb.append(String.format("%-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    target.name,
+                    latencies.length,
+                    target.errors.get(),
+                    latencies.length / seconds,
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.90),
+                    percentile(latencies, 0.99),
+                    percentile(latencies, 0.999),
+                    percentile(latencies, 1.0)));
+        }
+        return sb.toString();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    interface UrlFactory {
+        String next(SplittableRandom random);
+    }
+
+    static final class Target {
+        final String name;
+        final int weight;
+        final int expectedStatus;
+        final UrlFactory urls;
+        final AtomicLong errors = new AtomicLong();
+        private long[] samples = new long[1 << 16];
+        private int size;
+
+        Target(String name, int weight, int expectedStatus, UrlFactory urls) {
+            this.name = name;
+            this.weight = weight;
+            this.expectedStatus = expectedStatus;
+            this.urls = urls;
+        }
+
+        HttpRequest request(SplittableRandom random) {
+            return HttpRequest.newBuilder(URI.create(urls.next(random)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+
+        synchronized void record(long latencyNanos, boolean failed) {
+            if (failed) {
+                errors.incrementAndGet();
+            }
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = latencyNanos;
+        }
+
+        synchronized long[] latencies() {
+            return Arrays.copyOf(samples, size);
+        }
+
+        synchronized void reset() {
+            size = 0;
+            errors.set(0);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.configs.ClientRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Jalur request yang diterima rate limiter. Dengan GCProfiler dari BenchmarkRunner,
+// gc.alloc.rate.norm harus ~0 B/op; 8 thread dengan 1024 klien mengukur perebutan lock stripe.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class RateLimiterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        // Laju sangat tinggi agar semua request diterima dan yang diukur hanya jalur allow
+        public final ClientRateLimiter limiter = new ClientRateLimiter(1_000_000_000, Integer.MAX_VALUE,
+                List.of("/paling-ter:10", "/stream/:20"), 60, 100_000);
+        public final String[] clients = new String[1024];
+
+        @Setup(Level.Trial)
+        public void setup() {
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public long singleClient(Limiter state) {
+        return state.limiter.acquire(null, "10.0.0.1", "/paling-ter");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long manyClients(Limiter state, Cursor cursor) {
+        String client = state.clients[cursor.next++ & (state.clients.length - 1)];
+        return state.limiter.acquire(client, client, "/hello/abdullah");
+    }
+}
@@ -0,0 +1,212 @@
+package org.delcom.starter.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Membandingkan thread platform (pool Tomcat) dengan virtual thread pada jumlah
+// koneksi tinggi. Setiap koneksi adalah klien closed-loop yang mengirim request
+// berulang. Seperempat klien adalah upload lambat: body dikirim per potongan dengan
+// jeda ke endpoint yang membaca body secara blocking, sehingga setiap upload menahan
+// satu thread server sampai selesai. Hasil per mode: throughput, error dan
+// p50/p99/p999 request biasa (GET) serta p99 upload.
+//
+// Contoh:
+//   ./mvnw -Pbenchmark test-compile exec:exec \
+//     -Dbenchmark.mainClass=org.delcom.starter.benchmarks.ThreadModelComparison \
+//     -Dbenchmark.args="--connections=4000 --duration=30 --upload-chunks=8 --upload-pause-ms=50"
+public final class ThreadModelComparison {
+
+    static final String UPLOAD_PATH = "/bench/upload";
+    private static final int UPLOAD_CHUNK_BYTES = 1024;
+
+    private ThreadModelComparison() {
+    }
+
+    // Endpoint khusus benchmark, hanya didaftarkan lewat bootApplication: body dibaca blocking di thread request
+    static final class UploadEndpoint {
+        @Bean
+        ServletRegistrationBean<HttpServlet> benchmarkUploadServlet() {
+            return new ServletRegistrationBean<>(new HttpServlet() {
+                @Override
+                protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                    long bytes = request.getInputStream().transferTo(OutputStream.nullOutputStream());
+                    response.setContentType("text/plain;charset=UTF-8");
+                    response.getWriter().print(bytes);
+                }
+            }, UPLOAD_PATH);
+        }
+    }
+
+    // Body upload sebanyak chunks x 1 KiB dengan jeda pauseMillis sebelum setiap potongan berikutnya
+    static InputStream trickle(int chunks, long pauseMillis) {
+        return new InputStream() {
+            private final int total = chunks * UPLOAD_CHUNK_BYTES;
+            private int sent;
+
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (sent == total) {
+                    return -1;
+                }
+                if (sent > 0 && sent % UPLOAD_CHUNK_BYTES == 0) {
+                    try {
+                        Thread.sleep(pauseMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                int count = Math.min(length, UPLOAD_CHUNK_BYTES - sent % UPLOAD_CHUNK_BYTES);
+                Arrays.fill(buffer, offset, offset + count, (byte) 'a');
+                sent += count;
+                return count;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestHarness.parseOptions(args);
+        int connections = Integer.parseInt(options.getOrDefault("connections", "2000"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int platformThreads = Integer.parseInt(options.getOrDefault("platform-threads", "200"));
+        int uploadChunks = Integer.parseInt(options.getOrDefault("upload-chunks", "8"));
+        long uploadPause = Long.parseLong(options.getOrDefault("upload-pause-ms", "50"));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Koneksi: %d, durasi: %ds%n", connections, durationSeconds));
+        report.append(String.format("%-10s %12s %8s %9s %9s %9s %12s%n",
+                "mode", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "upload p99"));
+        report.append(measure("platform", "--server.tomcat.threads.max=" + platformThreads
+                + " --spring.threads.virtual.enabled=false", connections, durationSeconds, uploadChunks, uploadPause));
+        report.append(measure("virtual", "--spring.threads.virtual.enabled=true"
+                + " --server.tomcat.max-connections=20000", connections, durationSeconds, uploadChunks, uploadPause));
+        System.out.println(report);
+    }
+
+    static String measure(String mode, String appArgs, int connections, int seconds, int uploadChunks,
+            long uploadPause) throws Exception {
+        ConfigurableApplicationContext context = LoadTestHarness.bootApplication(
+                appArgs + " --app.fast-reject.extra-prefixes=/stream/,/todos/feed," + UPLOAD_PATH, UploadEndpoint.class);
+        try {
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            String scores = URLEncoder.encode(
+                    BenchmarkInputs.base64(BenchmarkInputs.scoreList(200)), StandardCharsets.UTF_8);
+            URI heavy = URI.create(baseUrl + "/paling-ter?strBase64=" + scores);
+            URI light = URI.create(baseUrl + "/hello/virtual");
+            URI upload = URI.create(baseUrl + UPLOAD_PATH);
+
+            AtomicLong errors = new AtomicLong();
+            long[][] samples = new long[connections][];
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+            // Executor klien ditutup lebih dulu (menunggu semua klien selesai), baru HttpClient. Body upload
+            // dibaca HttpClient di executor-nya, jadi executor itu juga virtual agar jeda upload tidak
+            // menghabiskan thread platform di sisi klien.
+            try (ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+                    HttpClient http = HttpClient.newBuilder()
+                            .connectTimeout(Duration.ofSeconds(10))
+                            .executor(io)
+                            .build();
+                    ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < connections; c++) {
+                    int id = c;
+                    clients.submit(() -> {
+                        long[] local = new long[1024];
+                        int size = 0;
+                        boolean slow = id % 4 == 0;
+                        while (System.nanoTime() < deadline) {
+                            HttpRequest request = slow
+                                    ? HttpRequest.newBuilder(upload)
+                                            .timeout(Duration.ofSeconds(30))
+                                            .POST(HttpRequest.BodyPublishers.ofInputStream(
+                                                    () -> trickle(uploadChunks, uploadPause)))
+                                            .build()
+                                    : HttpRequest.newBuilder(id % 2 == 0 ? heavy : light)
+                                            .timeout(Duration.ofSeconds(30))
+                                            .build();
+                            long start = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = http.send(request,
+                                        HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            long elapsed = System.nanoTime() - start;
+                            if (size == local.length) {
+                                local = Arrays.copyOf(local, size * 2);
+                            }
+                            local[size++] = elapsed;
+                        }
+                        samples[id] = Arrays.copyOf(local, size);
+                        return null;
+                    });
+                }
+            }
+
+            long[] fast = sorted(samples, false);
+            long[] uploads = sorted(samples, true);
+            return String.format("%-10s %12.1f %8d %9.2f %9.2f %9.2f %12.2f%n",
+                    mode,
+                    (fast.length + uploads.length) / (double) seconds,
+                    errors.get(),
+                    percentile(fast, 0.50),
+                    percentile(fast, 0.99),
+                    percentile(fast, 0.999),
+                    percentile(uploads, 0.99));
+        } finally {
+            SpringApplication.exit(context);
+        }
+    }
+
+    // Gabungan sampel klien upload (id kelipatan 4) atau klien biasa, terurut
+    private static long[] sorted(long[][] samples, boolean uploads) {
+        return IntStream.range(0, samples.length)
+                .filter(id -> (id % 4 == 0) == uploads)
+                .mapToObj(id -> samples[id])
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,114 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.services.TodoChangeListener;
+import org.delcom.starter.services.TodoRequest;
+import org.delcom.starter.services.TodoService;
+import org.delcom.starter.services.TodoWriteResult;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+// Update bersamaan dari 16 thread ke sedikit todo panas (keys=1 berarti semua thread berebut satu
+// todo). lastWriterWins: update tanpa If-Match. compareAndSet: baca versi lalu update bersyarat,
+// ulangi saat konflik; counter conflicts menunjukkan berapa percobaan yang terbuang. pessimistic:
+// pembanding yang menahan lock per todo dari baca sampai tulis, seperti update bersyarat jika
+// dikerjakan dengan lock. Tanpa WAL dan listener agar yang terukur hanya biaya konkurensinya.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Threads(16)
+public class TodoContentionBenchmark {
+
+    private static final String OWNER = "user0";
+    private static final TodoRequest DONE = new TodoRequest(null, null, "DONE", null, null);
+    private static final TodoRequest OPEN = new TodoRequest(null, null, "OPEN", null, null);
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({ "1", "16", "1024" })
+        public int keys;
+
+        public TodoService service;
+        public Object[] monitors;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            service = new TodoService(new TodoShards(1, 0),
+                    new StaticListableBeanFactory().getBeanProvider(TodoChangeListener.class));
+            monitors = new Object[keys];
+            for (int i = 0; i < keys; i++) {
+                service.create(OWNER, new TodoRequest("todo " + i, "", "OPEN", 0, null));
+                monitors[i] = new Object();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        // xorshift per thread agar akses tersebar acak tanpa Random bersama
+        long seed = System.nanoTime() | 1;
+
+        int next(int bound) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            return (int) ((seed >>> 1) % bound);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Conflicts {
+        public long conflicts;
+    }
+
+    @Benchmark
+    public TodoWriteResult lastWriterWins(Data data, Cursor cursor) {
+        int index = cursor.next(data.keys);
+        return data.service.update(OWNER, index + 1, (index & 1) == 0 ? DONE : OPEN, TodoService.ANY_VERSION);
+    }
+
+    @Benchmark
+    public TodoWriteResult compareAndSet(Data data, Cursor cursor, Conflicts counters) {
+        int index = cursor.next(data.keys);
+        Todo current = data.service.get(OWNER, index + 1);
+        while (true) {
+            TodoRequest request = current.status() == TodoStatus.OPEN ? DONE : OPEN;
+            TodoWriteResult result = data.service.update(OWNER, index + 1, request, current.version());
+            if (result.outcome() != TodoWriteResult.Outcome.CONFLICT) {
+                return result;
+            }
+            counters.conflicts++;
+            current = result.todo();
+        }
+    }
+
+    @Benchmark
+    public TodoWriteResult pessimistic(Data data, Cursor cursor) {
+        int index = cursor.next(data.keys);
+        synchronized (data.monitors[index]) {
+            Todo current = data.service.get(OWNER, index + 1);
+            TodoRequest request = current.status() == TodoStatus.OPEN ? DONE : OPEN;
+            return data.service.update(OWNER, index + 1, request, current.version());
+        }
+    }
+}
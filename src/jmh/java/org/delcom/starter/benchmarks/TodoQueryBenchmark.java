@@ -0,0 +1,111 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoQueryIndex;
+import org.delcom.starter.repositories.TodoStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Halaman pertama (50 todo) list dengan filter lewat TodoQueryIndex dibanding memindai store.
+// Pengguna user0 memiliki 1/64 dari semua todo. Status miring (70% DONE, 25% OPEN, 5% IN_PROGRESS)
+// dan sepertiga todo punya tenggat dalam 1 tahun, sehingga setiap query memakai plan berbeda:
+// filter umum lewat daftar id owner, status langka lewat bitmap, rentang sempit lewat tenggat.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms12g", "-Xmx12g" })
+public class TodoQueryBenchmark {
+
+    private static final int LIMIT = 50;
+    private static final long DAY = 86_400_000L;
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({ "1000000", "10000000" })
+        public int size;
+
+        public TodoStore store;
+        public TodoQueryIndex index;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            store = new TodoStore();
+            index = new TodoQueryIndex(store);
+            long seed = 42;
+            for (int i = 0; i < size; i++) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                int roll = (int) ((seed >>> 33) % 100);
+                TodoStatus status = roll < 70 ? TodoStatus.DONE : roll < 95 ? TodoStatus.OPEN : TodoStatus.IN_PROGRESS;
+                long dueAt = (seed >>> 20) % 3 == 0 ? 1 + (seed >>> 24) % (365 * DAY) : 0;
+                store.put(new Todo(i + 1, "user" + (i & 63), "todo " + i, "", status, (int) ((seed >>> 40) & 3),
+                        dueAt, 0, 0, 1));
+            }
+            index.rebuild();
+            System.out.println("\n> " + index.snapshot());
+        }
+    }
+
+    private static final TodoQueryIndex.Filter OPEN_HIGH = new TodoQueryIndex.Filter(
+            1 << TodoStatus.OPEN.ordinal(), 1 << 3, false, 0, Long.MAX_VALUE);
+    private static final TodoQueryIndex.Filter IN_PROGRESS = new TodoQueryIndex.Filter(
+            1 << TodoStatus.IN_PROGRESS.ordinal(), 0, false, 0, Long.MAX_VALUE);
+    private static final TodoQueryIndex.Filter DUE_WEEK = new TodoQueryIndex.Filter(
+            1 << TodoStatus.OPEN.ordinal(), 0, true, 100 * DAY, 107 * DAY);
+
+    private static List<Todo> scan(Data data, String owner, TodoQueryIndex.Filter filter) {
+        List<Todo> items = new ArrayList<>();
+        for (long id = 1; id <= data.store.lastId() && items.size() < LIMIT; id++) {
+            Todo todo = data.store.get(id);
+            if (todo != null && todo.owner().equals(owner) && filter.matches(todo)) {
+                items.add(todo);
+            }
+        }
+        return items;
+    }
+
+    @Benchmark
+    public TodoQueryIndex.Page indexOpenHighPriority(Data data) {
+        return data.index.query("user0", OPEN_HIGH, 0, LIMIT);
+    }
+
+    @Benchmark
+    public TodoQueryIndex.Page indexRareStatus(Data data) {
+        return data.index.query("user0", IN_PROGRESS, 0, LIMIT);
+    }
+
+    @Benchmark
+    public TodoQueryIndex.Page indexDueWeek(Data data) {
+        return data.index.query("user0", DUE_WEEK, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Todo> scanOpenHighPriority(Data data) {
+        return scan(data, "user0", OPEN_HIGH);
+    }
+
+    @Benchmark
+    public List<Todo> scanRareStatus(Data data) {
+        return scan(data, "user0", IN_PROGRESS);
+    }
+
+    @Benchmark
+    public List<Todo> scanDueWeek(Data data) {
+        return scan(data, "user0", DUE_WEEK);
+    }
+}
@@ -0,0 +1,98 @@
+package org.delcom.starter.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoSnapshots;
+import org.delcom.starter.repositories.TodoWal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Waktu sampai store siap setelah restart: replay WAL penuh dibanding snapshot memory-mapped
+// (ditambah log aktif kosong). Satu kali ukur per iterasi karena yang diukur adalah startup,
+// bukan throughput; jalankan di disk yang sama dengan produksi dan perhatikan page cache
+// (iterasi pertama paling dekat dengan cold start).
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+public class TodoRecoveryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({ "1000000", "10000000" })
+        public int todos;
+
+        public Path walOnly;
+        public Path withSnapshot;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            walOnly = Files.createTempDirectory("todo-recovery-wal");
+            withSnapshot = Files.createTempDirectory("todo-recovery-snapshot");
+            TodoShards shards = new TodoShards(16, 0);
+            TodoWal wal = open(shards, walOnly);
+            for (int i = 1; i <= todos; i++) {
+                Todo todo = new Todo(i, "user" + (i & 1023), "Todo nomor " + i, "Deskripsi singkat todo " + i,
+                        TodoStatus.values()[i % 3], i & 3, 1_760_000_000_000L, 1_750_000_000_000L,
+                        1_750_000_000_000L, 1);
+                shards.put(todo);
+                wal.onTodoChanged(null, todo);
+            }
+            wal.destroy();
+            new TodoSnapshots(withSnapshot.resolve("todo.snapshot").toString()).write(shards, 0);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(walOnly);
+            delete(withSnapshot);
+        }
+    }
+
+    static TodoWal open(TodoShards shards, Path dir) throws IOException {
+        return new TodoWal(shards, new TodoSnapshots(dir.resolve("todo.snapshot").toString()), true,
+                dir.resolve("todo.wal").toString(), "OS", 10);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public TodoShards walReplay(Data data) throws Exception {
+        TodoShards shards = new TodoShards(16, 0);
+        open(shards, data.walOnly).destroy();
+        return shards;
+    }
+
+    @Benchmark
+    public TodoShards snapshotLoad(Data data) throws Exception {
+        TodoShards shards = new TodoShards(16, 0);
+        open(shards, data.withSnapshot).destroy();
+        return shards;
+    }
+}
@@ -0,0 +1,149 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoSearchIndex;
+import org.delcom.starter.repositories.TodoStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Pencarian lewat TodoSearchIndex dibanding memindai seluruh store dengan contains.
+// Kosakata ~5000 kata dengan distribusi miring (kata awal jauh lebih sering) agar ada term umum
+// dan term langka; pengguna user0 memiliki 1/64 dari semua todo. Grup mixed mengukur
+// pencarian 4 thread sambil 1 thread terus memperbarui index (pembaca tidak mengambil lock).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class TodoSearchBenchmark {
+
+    private static final int VOCABULARY = 5_000;
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({ "100000", "1000000" })
+        public int size;
+
+        public TodoStore store;
+        public TodoSearchIndex index;
+        public Todo[] todos;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            store = new TodoStore();
+            index = new TodoSearchIndex(store);
+            todos = new Todo[size];
+            long seed = 42;
+            for (int i = 0; i < size; i++) {
+                StringBuilder title = new StringBuilder();
+                StringBuilder description = new StringBuilder();
+                for (int w = 0; w < 4; w++) {
+                    seed = seed * 6364136223846793005L + 1442695040888963407L;
+                    title.append(word(seed)).append(' ');
+                }
+                for (int w = 0; w < 12; w++) {
+                    seed = seed * 6364136223846793005L + 1442695040888963407L;
+                    description.append(word(seed)).append(' ');
+                }
+                Todo todo = new Todo(i + 1, "user" + (i & 63), title.toString(), description.toString(),
+                        TodoStatus.OPEN, i & 3, 0, 0, 0, 1);
+                todos[i] = todo;
+                store.put(todo);
+            }
+            index.rebuild();
+            System.out.println("\n> " + index.snapshot());
+        }
+    }
+
+    // Indeks kata miring ke awal: kuadrat dari bilangan acak seragam
+    static String word(long seed) {
+        double uniform = (seed >>> 11) * 0x1.0p-53;
+        return "kata" + (int) (uniform * uniform * VOCABULARY);
+    }
+
+    private static List<Long> scan(Data data, String owner, String... words) {
+        List<Long> hits = new ArrayList<>();
+        for (long id = 1; id <= data.store.lastId(); id++) {
+            Todo todo = data.store.get(id);
+            if (todo == null || !todo.owner().equals(owner)) {
+                continue;
+            }
+            String text = (todo.title() + " " + todo.description()).toLowerCase(Locale.ROOT);
+            boolean all = true;
+            for (String word : words) {
+                all &= text.contains(word + " ");
+            }
+            if (all) {
+                hits.add(id);
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public long[] indexCommonTerm(Data data) {
+        return data.index.search("user0", "kata1", 20).ids();
+    }
+
+    @Benchmark
+    public long[] indexAndRareTerms(Data data) {
+        return data.index.search("user0", "kata1 kata4000", 20).ids();
+    }
+
+    @Benchmark
+    public long[] indexPrefixOr(Data data) {
+        return data.index.search("user0", "kata49* OR kata300", 20).ids();
+    }
+
+    @Benchmark
+    public List<Long> scanAndRareTerms(Data data) {
+        return scan(data, "user0", "kata1", "kata4000");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public long[] mixedSearch(Data data) {
+        return data.index.search("user0", "kata7 kata20", 20).ids();
+    }
+
+    // Judul dan deskripsi ditukar lalu dikembalikan: setiap panggilan memindahkan ~16 term antar field
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedUpdate(Data data, Cursor cursor) {
+        Todo before = data.todos[cursor.next(data.size)];
+        Todo after = new Todo(before.id(), before.owner(), before.description(), before.title(),
+                before.status(), before.priority(), 0, 0, 1, 1);
+        data.index.onTodoChanged(before, after);
+        data.index.onTodoChanged(after, before);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int position;
+
+        int next(int size) {
+            position = (position + 7919) % size;
+            return position;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.delcom.starter.benchmarks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// TodoStore dengan jutaan entri dibanding ConcurrentHashMap<Long, Todo>.
+// Baca acak 8 thread mengukur jalur optimistic read; mixed menambah 1 tulis per 8 baca
+// agar terlihat biaya validasi stamp yang gagal. gc.alloc.rate.norm harus ~0 B/op untuk get.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Threads(8)
+public class TodoStoreBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Stores {
+        @Param({ "1000000" })
+        public int size;
+
+        public TodoStore store;
+        public ConcurrentHashMap<Long, Todo> map;
+        public Todo[] todos;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            store = new TodoStore();
+            map = new ConcurrentHashMap<>();
+            todos = new Todo[size];
+            for (int i = 0; i < size; i++) {
+                Todo todo = new Todo(i + 1, "user" + (i & 1023), "Todo " + i, "", TodoStatus.OPEN, i & 3, 0, 0, 0, 1);
+                todos[i] = todo;
+                store.put(todo);
+                map.put(todo.id(), todo);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        // xorshift per thread agar akses tersebar acak tanpa Random bersama
+        long seed = System.nanoTime() | 1;
+
+        int next(int bound) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            return (int) ((seed >>> 1) % bound);
+        }
+    }
+
+    @Benchmark
+    public Todo get(Stores state, Cursor cursor) {
+        return state.store.get(cursor.next(state.size) + 1);
+    }
+
+    @Benchmark
+    public Todo mapGet(Stores state, Cursor cursor) {
+        return state.map.get((long) (cursor.next(state.size) + 1));
+    }
+
+    @Benchmark
+    public Todo mixed(Stores state, Cursor cursor) {
+        int index = cursor.next(state.size);
+        if ((index & 7) == 0) {
+            return state.store.put(state.todos[index]);
+        }
+        return state.store.get(index + 1);
+    }
+}
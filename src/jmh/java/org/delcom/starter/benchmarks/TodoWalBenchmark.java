@@ -0,0 +1,79 @@
+package org.delcom.starter.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoSnapshots;
+import org.delcom.starter.repositories.TodoWal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Commit per detik untuk setiap mode fsync. Setiap operasi = satu perubahan todo yang ditunggu
+// sampai durable, seperti satu request POST/PUT/DELETE. Dengan 1 thread setiap commit berisi
+// satu record; dengan 16 thread group commit menggabungkan record yang datang selama fsync
+// sebelumnya, jadi selisih keduanya menunjukkan manfaat group commit (terutama untuk ALWAYS).
+// Angka ALWAYS sangat bergantung pada disk: jalankan di disk yang sama dengan produksi.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoWalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Log {
+        @Param({ "ALWAYS", "INTERVAL", "OS" })
+        public String fsync;
+
+        public Path dir;
+        public TodoWal wal;
+        public Todo todo;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            dir = Files.createTempDirectory("todo-wal-bench");
+            wal = new TodoWal(new TodoShards(1, 0), new TodoSnapshots(dir.resolve("todo.snapshot").toString()), true,
+                    dir.resolve("todo.wal").toString(), fsync, 10);
+            todo = new Todo(1, "user42", "Kerjakan laporan praktikum", "Bab 3 dan 4, kirim sebelum jam 23.59",
+                    TodoStatus.IN_PROGRESS, 2, 1_760_000_000_000L, 1_750_000_000_000L, 1_750_000_000_000L, 1);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            wal.destroy();
+            System.out.println("\n> " + fsync + ": " + wal.snapshot());
+            Files.deleteIfExists(dir.resolve("todo.wal"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Benchmark
+    public void singleWriter(Log log) {
+        log.wal.onTodoChanged(log.todo, log.todo);
+        log.wal.awaitDurable();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void groupCommit(Log log) {
+        log.wal.onTodoChanged(log.todo, log.todo);
+        log.wal.awaitDurable();
+    }
+}
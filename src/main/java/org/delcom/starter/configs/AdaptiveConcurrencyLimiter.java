@@ -0,0 +1,157 @@
+package org.delcom.starter.configs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Batas konkurensi adaptif berbasis gradient latensi.
+// gradient = latensi minimum (tanpa antrian) / latensi terukur. Latensi terukur adalah EWMA dari sampel
+// sehingga satu request dengan payload sangat besar atau sangat kecil tidak menggeser batas. Mendekati 1 berarti
+// tidak ada antrian di dalam server sehingga batas boleh naik; jauh di bawah 1 berarti
+// request mulai mengantri sehingga batas diturunkan secara multiplikatif.
+// Request di atas batas menunggu di antrian terbatas; jika antrian penuh atau
+// waktu tunggu habis, request ditolak.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double INCREASE_GRADIENT = 0.8;
+    private static final double DECREASE_GRADIENT = 0.5;
+    private static final double BACKOFF = 0.9;
+    // Bobot sampel baru pada EWMA latensi
+    private static final double SMOOTHING = 0.1;
+    // Setiap sekian sampel latensi minimum bergerak separuh jalan ke minimum EWMA selama jendela itu,
+    // agar mengikuti perubahan beban tanpa bergantung pada satu sampel
+    private static final int PROBE_INTERVAL = 1000;
+    private static final double PROBE_DECAY = 0.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private int limit;
+    private int inFlight;
+    private int waiting;
+    private int samples;
+    private double smoothedRttNanos;
+    private double rttNoLoadNanos = Double.MAX_VALUE;
+    private double windowMinNanos = Double.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+            int maxQueue, long queueTimeoutMillis) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // true jika request boleh diproses; wajib diikuti release()
+    public boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                inFlight++;
+                accepted.increment();
+                return true;
+            }
+            if (waiting >= maxQueue) {
+                rejected.increment();
+                return false;
+            }
+            waiting++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+                inFlight++;
+                accepted.increment();
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            int before = limit;
+            update(Math.max(latencyNanos, 1L));
+            inFlight--;
+            if (limit > before) {
+                available.signalAll();
+            } else {
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(long rtt) {
+        smoothedRttNanos = smoothedRttNanos == 0 ? rtt : smoothedRttNanos + SMOOTHING * (rtt - smoothedRttNanos);
+        windowMinNanos = Math.min(windowMinNanos, smoothedRttNanos);
+        if (smoothedRttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = smoothedRttNanos;
+        }
+        if (++samples >= PROBE_INTERVAL) {
+            samples = 0;
+            rttNoLoadNanos += (windowMinNanos - rttNoLoadNanos) * PROBE_DECAY;
+            windowMinNanos = Double.MAX_VALUE;
+        }
+        double gradient = rttNoLoadNanos / smoothedRttNanos;
+        if (gradient < DECREASE_GRADIENT) {
+            limit = Math.max(minLimit, Math.min(limit - 1, (int) (limit * BACKOFF)));
+        } else if (gradient > INCREASE_GRADIENT && inFlight * 2 >= limit) {
+            // Naik hanya jika batas saat ini benar-benar terpakai
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        lock.lock();
+        try {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("limit", limit);
+            map.put("inFlight", inFlight);
+            map.put("queued", waiting);
+            map.put("accepted", accepted.sum());
+            map.put("rejected", rejected.sum());
+            map.put("minLatencyMicros", rttNoLoadNanos == Double.MAX_VALUE ? 0L : Math.round(rttNoLoadNanos / 1_000));
+            map.put("latencyMicros", Math.round(smoothedRttNanos / 1_000));
+            return map;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
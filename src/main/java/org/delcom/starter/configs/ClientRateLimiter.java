@@ -0,0 +1,188 @@
+package org.delcom.starter.configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Token bucket per klien (subject JWT, atau alamat IP jika tanpa token).
+// Setiap bucket disimpan sebagai satu long "theoretical arrival time" (GCRA): request
+// diterima jika setelah ditambah biayanya bucket tidak melebihi kapasitas burst.
+// Bucket dibagi ke beberapa stripe, masing-masing dengan HashMap dan lock sendiri, sehingga
+// klien berbeda jarang berebut lock dan jalur request yang diterima tidak mengalokasikan objek.
+// Bucket yang sudah penuh kembali selama idle-timeout dibuang saat stripe membuat bucket baru;
+// jika stripe sudah mencapai batas klien, klien baru berbagi satu bucket overflow.
+@Component
+public class ClientRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final long idleNanos;
+    private final int maxClientsPerStripe;
+    private final String[] costPaths;
+    private final long[] costs;
+    private final LongSupplier clock;
+    private final Stripe[] subjects;
+    private final Stripe[] addresses;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    private static final class Bucket {
+        long theoreticalArrival;
+
+        Bucket(long now) {
+            this.theoreticalArrival = now;
+        }
+    }
+
+    private static final class Stripe {
+        final HashMap<String, Bucket> buckets = new HashMap<>();
+        final Bucket overflow;
+        long lastSweep;
+
+        Stripe(long now) {
+            this.overflow = new Bucket(now);
+            this.lastSweep = now;
+        }
+    }
+
+    // costs: daftar path:biaya; path yang diakhiri "/" berlaku sebagai prefix, path lain berbiaya 1 token
+    @Autowired
+    public ClientRateLimiter(
+            @Value("${app.rate-limit.tokens-per-second:20}") int tokensPerSecond,
+            @Value("${app.rate-limit.burst:40}") int burst,
+            @Value("${app.rate-limit.costs:}") List<String> costs,
+            @Value("${app.rate-limit.idle-timeout-seconds:60}") long idleTimeoutSeconds,
+            @Value("${app.rate-limit.max-clients:100000}") int maxClients) {
+        this(tokensPerSecond, burst, costs, idleTimeoutSeconds, maxClients, STRIPES, System::nanoTime);
+    }
+
+    // stripes harus pangkat dua
+    ClientRateLimiter(int tokensPerSecond, int burst, List<String> costs, long idleTimeoutSeconds,
+            int maxClients, int stripes, LongSupplier clock) {
+        this.intervalNanos = NANOS_PER_SECOND / tokensPerSecond;
+        this.capacityNanos = burst * intervalNanos;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        this.maxClientsPerStripe = Math.max(1, maxClients / stripes);
+        this.clock = clock;
+        this.costPaths = new String[costs.size()];
+        this.costs = new long[costs.size()];
+        for (int i = 0; i < costs.size(); i++) {
+            String entry = costs.get(i).trim();
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Format app.rate-limit.costs harus path:biaya");
+            }
+            long cost = Long.parseLong(entry.substring(colon + 1).trim());
+            if (cost < 1 || cost > burst) {
+                throw new IllegalArgumentException("Biaya " + entry + " harus antara 1 dan burst (" + burst + ")");
+            }
+            this.costPaths[i] = entry.substring(0, colon).trim();
+            this.costs[i] = cost;
+        }
+        this.subjects = new Stripe[stripes];
+        this.addresses = new Stripe[stripes];
+        long now = clock.getAsLong();
+        for (int i = 0; i < stripes; i++) {
+            subjects[i] = new Stripe(now);
+            addresses[i] = new Stripe(now);
+        }
+    }
+
+    long cost(String path) {
+        for (int i = 0; i < costPaths.length; i++) {
+            String costPath = costPaths[i];
+            boolean prefix = costPath.endsWith("/");
+            if (prefix ? path.startsWith(costPath) : path.equals(costPath)) {
+                return costs[i];
+            }
+        }
+        return 1;
+    }
+
+    // 0 jika request diterima, selain itu nanodetik sampai token cukup
+    public long acquire(String subject, String address, String path) {
+        Stripe[] table = subject != null ? subjects : addresses;
+        String key = subject != null ? subject : address;
+        Stripe stripe = table[stripeIndex(key, table.length)];
+        long increment = cost(path) * intervalNanos;
+        long now = clock.getAsLong();
+        long wait;
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = newBucket(stripe, key, now);
+            }
+            long next = Math.max(bucket.theoreticalArrival, now) + increment;
+            wait = next - now - capacityNanos;
+            if (wait <= 0) {
+                bucket.theoreticalArrival = next;
+            }
+        }
+        if (wait > 0) {
+            rejected.increment();
+            return wait;
+        }
+        allowed.increment();
+        return 0;
+    }
+
+    private static int stripeIndex(String key, int stripes) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes - 1);
+    }
+
+    // Dipanggil dengan lock stripe
+    private Bucket newBucket(Stripe stripe, String key, long now) {
+        if (now - stripe.lastSweep >= idleNanos) {
+            stripe.lastSweep = now;
+            for (Iterator<Bucket> it = stripe.buckets.values().iterator(); it.hasNext();) {
+                if (it.next().theoreticalArrival + idleNanos <= now) {
+                    it.remove();
+                    evicted.increment();
+                }
+            }
+        }
+        if (stripe.buckets.size() >= maxClientsPerStripe) {
+            overflowed.increment();
+            return stripe.overflow;
+        }
+        Bucket bucket = new Bucket(now);
+        stripe.buckets.put(key, bucket);
+        return bucket;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("allowed", allowed.sum());
+        map.put("rejected", rejected.sum());
+        map.put("subjects", count(subjects));
+        map.put("addresses", count(addresses));
+        map.put("evicted", evicted.sum());
+        map.put("overflowed", overflowed.sum());
+        return map;
+    }
+
+    private static int count(Stripe[] table) {
+        int total = 0;
+        for (Stripe stripe : table) {
+            synchronized (stripe) {
+                total += stripe.buckets.size();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,126 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.delcom.starter.controllers.StreamingComputeServlet;
+import org.delcom.starter.controllers.TodoFeedServlet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 40)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Body 503 dibuat sekali, tidak ada alokasi JSON saat menolak request
+    private static final byte[] REJECTED_BODY = ("{\"status\":\"fail\",\"error\":\"Service Unavailable\","
+            + "\"message\":\"Server sedang sibuk, coba lagi nanti\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrencyLimiters limiters;
+
+    @Value("${app.limiter.enabled:true}")
+    private boolean enabled;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiters limiters) {
+        this.limiters = limiters;
+    }
+
+    // Koneksi SSE /todos/feed dan upload /stream/* terbuka selama klien tersambung/mengirim body tanpa
+    // memakai thread; jika ikut dihitung, koneksi itu menahan slot dan latensinya yang panjang menurunkan
+    // limit adaptif. Perhitungan /stream/* sudah dibatasi executor komputasinya sendiri (app.stream.*).
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return TodoFeedServlet.PATH.equals(uri) || uri.startsWith(StreamingComputeServlet.PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.forPath(request.getRequestURI());
+        boolean acquired;
+        try {
+            acquired = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Request async baru selesai saat AsyncContext selesai
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    static final class ReleaseOnComplete implements AsyncListener {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
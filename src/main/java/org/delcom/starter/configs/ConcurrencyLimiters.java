@@ -0,0 +1,59 @@
+package org.delcom.starter.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Satu limiter per kelompok endpoint: "heavy" untuk endpoint komputasi besar,
+// "default" untuk sisanya, sehingga beban berat tidak menghabiskan kuota endpoint ringan.
+@Component
+public class ConcurrencyLimiters {
+
+    public static final String HEAVY = "heavy";
+    public static final String DEFAULT = "default";
+
+    private final Set<String> heavyPaths;
+    private final List<String> heavyPrefixes;
+    private final AdaptiveConcurrencyLimiter heavy;
+    private final AdaptiveConcurrencyLimiter light;
+
+    public ConcurrencyLimiters(
+            @Value("${app.limiter.heavy.paths:/perolehan-nilai,/perbedaan-l,/paling-ter}") Set<String> heavyPaths,
+            @Value("${app.limiter.heavy.prefixes:}") List<String> heavyPrefixes,
+            @Value("${app.limiter.heavy.max-limit:0}") int heavyMaxLimit,
+            @Value("${app.limiter.heavy.queue-size:64}") int heavyQueue,
+            @Value("${app.limiter.default.max-limit:1000}") int defaultMaxLimit,
+            @Value("${app.limiter.default.queue-size:256}") int defaultQueue,
+            @Value("${app.limiter.queue-timeout-ms:100}") long queueTimeoutMillis) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int heavyMax = heavyMaxLimit > 0 ? heavyMaxLimit : cores * 4;
+        this.heavyPaths = Set.copyOf(heavyPaths);
+        this.heavyPrefixes = List.copyOf(heavyPrefixes);
+        this.heavy = new AdaptiveConcurrencyLimiter(HEAVY, cores, 1, heavyMax, heavyQueue, queueTimeoutMillis);
+        this.light = new AdaptiveConcurrencyLimiter(DEFAULT, cores * 4, cores, defaultMaxLimit, defaultQueue,
+                queueTimeoutMillis);
+    }
+
+    public AdaptiveConcurrencyLimiter forPath(String path) {
+        if (heavyPaths.contains(path)) {
+            return heavy;
+        }
+        for (String prefix : heavyPrefixes) {
+            if (path.startsWith(prefix)) {
+                return heavy;
+            }
+        }
+        return light;
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        result.put(HEAVY, heavy.snapshot());
+        result.put(DEFAULT, light.snapshot());
+        return result;
+    }
+}
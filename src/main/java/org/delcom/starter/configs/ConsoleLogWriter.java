@@ -0,0 +1,94 @@
+package org.delcom.starter.configs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Penulis log konsol asinkron: thread request (termasuk virtual thread) hanya
+// menaruh baris ke antrian, satu thread platform yang menulis ke PrintStream
+// sehingga lock internal System.out tidak pernah diperebutkan oleh request.
+@Component
+public class ConsoleLogWriter implements DisposableBean {
+
+    private static final int MAX_BATCH = 256;
+
+    private final BlockingQueue<String> queue;
+    private final PrintStream out;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+
+    @Autowired
+    public ConsoleLogWriter(@Value("${app.logging.queue-capacity:8192}") int capacity) {
+        this(capacity, System.out, true);
+    }
+
+    ConsoleLogWriter(int capacity, PrintStream out, boolean startWriter) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.out = out;
+        this.writer = Thread.ofPlatform()
+                .name("console-log-writer")
+                .daemon(true)
+                .unstarted(this::runLoop);
+        if (startWriter) {
+            writer.start();
+        }
+    }
+
+    // Tidak pernah blocking; baris dibuang (dan dihitung) jika antrian penuh
+    public void log(String line) {
+        if (!queue.offer(line)) {
+            dropped.increment();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void runLoop() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Tulis semua baris yang masih mengantri
+    public void flush() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        while (queue.drainTo(batch, MAX_BATCH) > 0) {
+            write(batch);
+        }
+    }
+
+    private void write(List<String> batch) {
+        StringBuilder sb = new StringBuilder(batch.size() * 96);
+        for (String line : batch) {
+            sb.append(line).append(System.lineSeparator());
+        }
+        out.print(sb);
+        out.flush();
+        batch.clear();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+        flush();
+    }
+}
@@ -9,12 +9,27 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.context.request.ServletWebRequest;
 
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Map;
 
 @Controller
 public class CustomErrorController implements ErrorController {
 
+    private static final String MESSAGE = "Endpoint tidak ditemukan atau terjadi error";
+
+    // Error tanpa exception yang cukup dijawab dari atribut request servlet, tanpa melewati
+    // ErrorAttributes (yang membangun map dan menelusuri exception). Body dibuat sekali per status
+    // seperti FastRejectFilter, tanpa timestamp dan path sehingga tidak ada alokasi JSON per request.
+    private static final Map<Integer, byte[]> FAST_PATH_BODIES = Map.of(
+            400, fastPathBody(HttpStatus.BAD_REQUEST),
+            404, fastPathBody(HttpStatus.NOT_FOUND));
+
     private final ErrorAttributes errorAttributes;
 
     public CustomErrorController(ErrorAttributes errorAttributes) {
@@ -22,18 +37,40 @@ public class CustomErrorController implements ErrorController {
     }
 
     @RequestMapping("/error")
-    public ResponseEntity<Map<String, Object>> handleError(ServletWebRequest webRequest) {
+    public ResponseEntity<Map<String, Object>> handleError(ServletWebRequest webRequest) throws IOException {
+        HttpServletRequest request = webRequest.getRequest();
+        Object statusCode = request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE);
+        byte[] body = statusCode instanceof Integer code ? FAST_PATH_BODIES.get(code) : null;
+        if (body != null && request.getAttribute(RequestDispatcher.ERROR_EXCEPTION) == null) {
+            // Ditulis langsung; null membuat Spring menganggap response sudah ditangani
+            HttpServletResponse response = webRequest.getResponse();
+            response.setStatus((Integer) statusCode);
+            response.setContentType("application/json");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            return null;
+        }
+
         Map<String, Object> attributes = errorAttributes
                 .getErrorAttributes(webRequest, ErrorAttributeOptions.defaults());
 
         int status = (int) attributes.getOrDefault("status", 500);
         String path = (String) attributes.getOrDefault("path", "unknown");
 
+        return response(status, attributes.getOrDefault("error", "Unknown Error"), path);
+    }
+
+    private static byte[] fastPathBody(HttpStatus status) {
+        return ("{\"status\":\"fail\",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + MESSAGE + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ResponseEntity<Map<String, Object>> response(int status, Object error, String path) {
         Map<String, Object> body = Map.of(
                 "timestamp", LocalDateTime.now(),
                 "status", status == 500 ? "error" : "fail",
-                "error", attributes.getOrDefault("error", "Unknown Error"),
-                "message", "Endpoint tidak ditemukan atau terjadi error",
+                "error", error,
+                "message", MESSAGE,
                 "path", path);
 
         return new ResponseEntity<>(body, HttpStatus.valueOf(status));
@@ -0,0 +1,127 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Menolak path yang tidak dikenal (scan bot seperti /wp-admin, /.env) sebelum
+// logging, limiter dan DispatcherServlet berjalan. Daftar route diambil dari
+// RequestMappingHandlerMapping saat context selesai di-refresh; sebelum itu semua
+// request diteruskan.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class FastRejectFilter extends OncePerRequestFilter implements ApplicationListener<ContextRefreshedEvent> {
+
+    // Path di luar batas jumlah yang dilacak digabung ke key ini
+    public static final String OTHER = "OTHER";
+    private static final int MAX_PATH_LENGTH = 128;
+    private static final int TOP_PATHS = 50;
+
+    // Body 404 dibuat sekali, tidak ada alokasi JSON saat menolak request
+    private static final byte[] NOT_FOUND_BODY = ("{\"status\":\"fail\",\"error\":\"Not Found\","
+            + "\"message\":\"Endpoint tidak ditemukan atau terjadi error\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> extraPrefixes;
+    private final int maxTrackedPaths;
+    private final ConcurrentHashMap<String, LongAdder> rejectedPaths = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private volatile KnownRoutes routes;
+
+    @Value("${app.fast-reject.enabled:true}")
+    private boolean enabled;
+
+    public FastRejectFilter(
+            @Value("${app.fast-reject.extra-prefixes:/stream/,/todos/feed}") List<String> extraPrefixes,
+            @Value("${app.fast-reject.max-tracked-paths:1000}") int maxTrackedPaths) {
+        this.extraPrefixes = List.copyOf(extraPrefixes);
+        this.maxTrackedPaths = maxTrackedPaths;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        List<String> patterns = new ArrayList<>();
+        for (RequestMappingHandlerMapping mapping : event.getApplicationContext()
+                .getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+                patterns.addAll(info.getPatternValues());
+            }
+        }
+        // Context tanpa handler (mis. child context) tidak boleh mengosongkan daftar route
+        if (!patterns.isEmpty()) {
+            routes = new KnownRoutes(patterns, extraPrefixes);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        KnownRoutes current = routes;
+        if (!enabled || current == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (current.matches(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        record(path);
+        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        response.setContentType("application/json");
+        response.setContentLength(NOT_FOUND_BODY.length);
+        response.getOutputStream().write(NOT_FOUND_BODY);
+    }
+
+    private void record(String path) {
+        rejected.increment();
+        String key = path.length() > MAX_PATH_LENGTH ? path.substring(0, MAX_PATH_LENGTH) : path;
+        LongAdder counter = rejectedPaths.get(key);
+        if (counter == null) {
+            if (rejectedPaths.size() >= maxTrackedPaths) {
+                key = OTHER;
+            }
+            counter = rejectedPaths.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    // Total penolakan dan path yang paling sering ditolak
+    public Map<String, Object> snapshot() {
+        Map<String, Long> top = new LinkedHashMap<>();
+        rejectedPaths.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_PATHS)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("rejected", rejected.sum());
+        map.put("trackedPaths", rejectedPaths.size());
+        map.put("topPaths", top);
+        return map;
+    }
+}
@@ -0,0 +1,88 @@
+package org.delcom.starter.configs;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+@Component
+public class FlightRecorderService implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final boolean startOnBoot;
+    private final String settings;
+    private final Duration maxAge;
+    private final Path dumpDir;
+
+    private Recording recording;
+
+    public FlightRecorderService(
+            @Value("${app.jfr.enabled:false}") boolean startOnBoot,
+            @Value("${app.jfr.settings:profile}") String settings,
+            @Value("${app.jfr.max-age-minutes:10}") long maxAgeMinutes,
+            @Value("${app.jfr.dump-dir:${java.io.tmpdir}}") String dumpDir) {
+        this.startOnBoot = startOnBoot;
+        this.settings = settings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.dumpDir = Path.of(dumpDir);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (startOnBoot) {
+            try {
+                start();
+            } catch (IOException | ParseException e) {
+                System.err.println("Gagal memulai JFR recording: " + e.getMessage());
+            }
+        }
+    }
+
+    // Mulai recording baru, false jika recording sudah berjalan
+    public synchronized boolean start() throws IOException, ParseException {
+        if (isRecording()) {
+            return false;
+        }
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("delcom-on-demand");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.enable(PhaseEvent.class);
+        newRecording.start();
+        recording = newRecording;
+        return true;
+    }
+
+    // Tulis isi recording ke file tanpa menghentikannya, null jika belum ada recording
+    public synchronized Path dump() throws IOException {
+        if (!isRecording()) {
+            return null;
+        }
+        Files.createDirectories(dumpDir);
+        Path target = dumpDir.resolve("delcom-" + System.currentTimeMillis() + ".jfr");
+        recording.dump(target);
+        return target;
+    }
+
+    public synchronized boolean stop() {
+        if (!isRecording()) {
+            return false;
+        }
+        recording.stop();
+        recording.close();
+        recording = null;
+        return true;
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+}
@@ -0,0 +1,94 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Autentikasi Bearer JWT lewat JwtVerifier. Token valid menaruh subject dan claims di
+// atribut request untuk filter dan controller berikutnya. Request tanpa token hanya
+// ditolak pada prefix di app.jwt.required-prefixes; token yang ada tapi tidak valid
+// selalu ditolak dengan 401.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class JwtAuthFilter extends OncePerRequestFilter {
+
+    public static final String SUBJECT_ATTRIBUTE = "jwt.subject";
+    public static final String CLAIMS_ATTRIBUTE = "jwt.claims";
+
+    private static final String BEARER = "Bearer ";
+
+    // Body 401 dibuat sekali, tidak ada alokasi JSON saat menolak request
+    private static final byte[] UNAUTHORIZED_BODY = ("{\"status\":\"fail\",\"error\":\"Unauthorized\","
+            + "\"message\":\"Token tidak ada atau tidak valid\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final JwtVerifier verifier;
+    private final List<String> requiredPrefixes;
+
+    @Value("${app.jwt.enabled:false}")
+    private boolean enabled;
+
+    public JwtAuthFilter(JwtVerifier verifier,
+            @Value("${app.jwt.required-prefixes:}") List<String> requiredPrefixes) {
+        this.verifier = verifier;
+        this.requiredPrefixes = List.copyOf(requiredPrefixes);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            if (isRequired(request.getRequestURI())) {
+                reject(response, "Bearer");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedToken token = verifier.verify(header.substring(BEARER.length()).trim());
+        if (token == null) {
+            reject(response, "Bearer error=\"invalid_token\"");
+            return;
+        }
+        request.setAttribute(SUBJECT_ATTRIBUTE, token.subject());
+        request.setAttribute(CLAIMS_ATTRIBUTE, token.claims());
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isRequired(String uri) {
+        for (String prefix : requiredPrefixes) {
+            if (uri.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, String challenge) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, challenge);
+        response.setContentType("application/json");
+        response.setContentLength(UNAUTHORIZED_BODY.length);
+        response.getOutputStream().write(UNAUTHORIZED_BODY);
+    }
+}
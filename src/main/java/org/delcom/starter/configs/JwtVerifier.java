@@ -0,0 +1,161 @@
+package org.delcom.starter.configs;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+
+import java.security.Key;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Verifikasi JWT (HMAC) yang memeriksa tanda tangan sekali per token. Request berikutnya
+// dengan token yang sama cukup menghitung SHA-256 token dan lookup di VerifiedTokenCache.
+//
+// Kunci dipilih dari header kid (token tanpa kid memakai kunci utama). Rotasi: tambah kunci
+// baru dengan rotateKey (menjadi kunci utama), lalu pensiunkan kunci lama dengan retireKey
+// setelah token lamanya habis. Entri cache yang diverifikasi kunci yang sudah dipensiunkan
+// atau diganti dianggap miss dan token diverifikasi ulang.
+@Component
+public class JwtVerifier {
+
+    private final VerifiedTokenCache cache;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Kunci dan parser diganti bersama sehingga lookup kunci dan entri cache memakai snapshot yang sama
+    private volatile KeyRing keyRing;
+
+    private record KeyRing(Map<String, SecretKey> keys, String primaryKeyId, JwtParser parser) {
+    }
+
+    // Setiap entri app.jwt.keys berformat kid:secret-base64 (minimal 256 bit); entri terakhir menjadi kunci utama
+    @Autowired
+    public JwtVerifier(
+            @Value("${app.jwt.keys:}") List<String> keys,
+            @Value("${app.jwt.cache.max-entries:10000}") int maxCacheEntries,
+            @Value("${app.jwt.cache.ttl-seconds:300}") long cacheTtlSeconds) {
+        this(keys, new VerifiedTokenCache(maxCacheEntries, TimeUnit.SECONDS.toMillis(cacheTtlSeconds)),
+                System::currentTimeMillis);
+    }
+
+    JwtVerifier(List<String> keys, VerifiedTokenCache cache, LongSupplier clock) {
+        this.cache = cache;
+        this.clock = clock;
+        this.keyRing = newKeyRing(new HashMap<>(), null);
+        for (String entry : keys) {
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Format app.jwt.keys harus kid:secret-base64");
+            }
+            rotateKey(entry.substring(0, colon).trim(),
+                    Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.substring(colon + 1).trim())));
+        }
+    }
+
+    private KeyRing newKeyRing(Map<String, SecretKey> keys, String primaryKeyId) {
+        Map<String, SecretKey> snapshot = Collections.unmodifiableMap(keys);
+        JwtParser parser = Jwts.parser()
+                .keyLocator(header -> locateKey(snapshot, primaryKeyId, header))
+                .clock(() -> new Date(clock.getAsLong()))
+                .build();
+        return new KeyRing(snapshot, primaryKeyId, parser);
+    }
+
+    static Key locateKey(Map<String, SecretKey> keys, String primaryKeyId, Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        return keys.get(kid != null ? kid : primaryKeyId);
+    }
+
+    // Kunci yang sekarang akan memverifikasi token dengan kid ini; token tanpa kid mengikuti kunci utama,
+    // sehingga entri cache token tanpa kid ikut tidak berlaku saat kunci utama dirotasi
+    private static SecretKey keyFor(KeyRing ring, String kid) {
+        return ring.keys().get(kid != null ? kid : ring.primaryKeyId());
+    }
+
+    // Tambah (atau ganti) kunci dan jadikan kunci utama untuk token tanpa kid
+    public synchronized void rotateKey(String keyId, SecretKey key) {
+        Map<String, SecretKey> keys = new HashMap<>(keyRing.keys());
+        keys.put(keyId, key);
+        keyRing = newKeyRing(keys, keyId);
+    }
+
+    // Hapus kunci; false jika kid tidak dikenal. Kunci utama tidak berubah kecuali kunci itu yang dihapus.
+    public synchronized boolean retireKey(String keyId) {
+        KeyRing current = keyRing;
+        if (!current.keys().containsKey(keyId)) {
+            return false;
+        }
+        Map<String, SecretKey> keys = new HashMap<>(current.keys());
+        keys.remove(keyId);
+        keyRing = newKeyRing(keys, keyId.equals(current.primaryKeyId()) ? null : current.primaryKeyId());
+        return true;
+    }
+
+    // null jika token tidak valid, kedaluwarsa, atau tidak memiliki subject
+    public VerifiedToken verify(String token) {
+        long now = clock.getAsLong();
+        KeyRing ring = keyRing;
+        VerifiedTokenCache.TokenDigest digest = VerifiedTokenCache.digest(token);
+        VerifiedTokenCache.Entry cached = cache.get(digest, now);
+        if (cached != null) {
+            if (keyFor(ring, cached.token().keyId()) == cached.key()) {
+                hits.increment();
+                return cached.token();
+            }
+            cache.remove(digest);
+        }
+        misses.increment();
+
+        Jws<Claims> jws;
+        try {
+            jws = ring.parser().parseSignedClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.increment();
+            return null;
+        }
+        Claims claims = jws.getPayload();
+        if (claims.getSubject() == null) {
+            rejected.increment();
+            return null;
+        }
+        String keyId = jws.getHeader().getKeyId();
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims, keyId,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        cache.put(digest, verified, keyFor(ring, keyId), now);
+        return verified;
+    }
+
+    public Map<String, Object> snapshot() {
+        KeyRing ring = keyRing;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("cacheHits", hits.sum());
+        map.put("cacheMisses", misses.sum());
+        map.put("rejected", rejected.sum());
+        map.put("cacheSize", cache.size());
+        map.put("cacheEvictions", cache.getEvictions());
+        map.put("keyIds", ring.keys().keySet().stream().sorted().toList());
+        map.put("primaryKeyId", ring.primaryKeyId());
+        return map;
+    }
+}
@@ -0,0 +1,87 @@
+package org.delcom.starter.configs;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Trie segmen path dari semua pola route yang terdaftar.
+// Segmen literal dicocokkan persis, segmen variabel ({name}, *.html) cocok dengan
+// satu segmen tidak kosong, dan ** / {*rest} cocok dengan sisa path apapun.
+public final class KnownRoutes {
+
+    private final Node root = new Node();
+    private final List<String> prefixes;
+
+    public KnownRoutes(Collection<String> patterns, Collection<String> prefixes) {
+        this.prefixes = List.copyOf(prefixes);
+        for (String pattern : patterns) {
+            add(pattern);
+        }
+    }
+
+    private void add(String pattern) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**") || segment.startsWith("{*")) {
+                node.catchAll = true;
+                return;
+            }
+            if (segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+                if (node.variable == null) {
+                    node.variable = new Node();
+                }
+                node = node.variable;
+            } else {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.terminal = true;
+    }
+
+    // true jika path mungkin ditangani aplikasi. Path yang ter-encode atau tidak
+    // ternormalisasi diserahkan ke Spring MVC agar tidak salah menolak.
+    public boolean matches(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/' || path.indexOf('%') >= 0 || path.indexOf(';') >= 0
+                || path.contains("//")) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        if (path.length() == 1) {
+            return root.terminal || root.catchAll;
+        }
+        return matches(root, path, 1);
+    }
+
+    private static boolean matches(Node node, String path, int start) {
+        if (node.catchAll) {
+            return true;
+        }
+        if (start > path.length()) {
+            return node.terminal;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        Node literal = node.children.get(path.substring(start, end));
+        if (literal != null && matches(literal, path, end + 1)) {
+            return true;
+        }
+        return node.variable != null && end > start && matches(node.variable, path, end + 1);
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node variable;
+        private boolean terminal;
+        private boolean catchAll;
+    }
+}
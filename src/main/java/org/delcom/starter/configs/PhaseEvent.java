@@ -0,0 +1,34 @@
+package org.delcom.starter.configs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.delcom.starter.Phase")
+@Label("Endpoint Phase")
+@Category({ "Delcom", "HomeController" })
+@Description("Durasi satu fase (decode, parse, compute, render) dari sebuah endpoint")
+@StackTrace(false)
+public class PhaseEvent extends jdk.jfr.Event {
+
+    public static final String DECODE = "decode";
+    public static final String PARSE = "parse";
+    public static final String COMPUTE = "compute";
+    public static final String RENDER = "render";
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Phase")
+    public String phase;
+
+    public static PhaseEvent start(String endpoint, String phase) {
+        PhaseEvent event = new PhaseEvent();
+        event.endpoint = endpoint;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,61 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Rate limit per klien sebelum limiter konkurensi dan RequestLoggingFilter.
+// Berjalan setelah JwtAuthFilter sehingga klien dengan token dikenali dari subject-nya.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Body 429 dibuat sekali, tidak ada alokasi JSON saat menolak request
+    private static final byte[] TOO_MANY_REQUESTS_BODY = ("{\"status\":\"fail\",\"error\":\"Too Many Requests\","
+            + "\"message\":\"Terlalu banyak request, coba lagi nanti\"}").getBytes(StandardCharsets.UTF_8);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ClientRateLimiter limiter;
+
+    @Value("${app.rate-limit.enabled:false}")
+    private boolean enabled;
+
+    public RateLimitFilter(ClientRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Object subject = request.getAttribute(JwtAuthFilter.SUBJECT_ATTRIBUTE);
+        long wait = limiter.acquire(subject instanceof String value ? value : null,
+                request.getRemoteAddr(), request.getRequestURI());
+        if (wait > 0) {
+            response.setStatus(429);
+            response.setIntHeader("Retry-After", (int) ((wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+            response.setContentType("application/json");
+            response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+            response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
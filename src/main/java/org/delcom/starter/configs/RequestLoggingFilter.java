@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -26,17 +27,51 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     @Value("${spring.devtools.livereload.enabled:false}")
     private boolean livereload;
 
+    // Mode lean (profile "prod"): tanpa warna ANSI dan tanpa penelusuran stacktrace per request
+    @Value("${app.logging.lean:false}")
+    private boolean lean;
+
+    private final RouteMetrics routeMetrics;
+    private final ConsoleLogWriter logWriter;
+
+    public RequestLoggingFilter(RouteMetrics routeMetrics, ConsoleLogWriter logWriter) {
+        this.routeMetrics = routeMetrics;
+        this.logWriter = logWriter;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain)
             throws ServletException, IOException {
 
-        long start = System.currentTimeMillis();
-        filterChain.doFilter(request, response);
-        long duration = System.currentTimeMillis() - start;
+        long startAllocated = routeMetrics.currentThreadAllocatedBytes();
+        long startCpu = routeMetrics.currentThreadCpuNanos();
+        long start = System.nanoTime();
+        long elapsed;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            elapsed = System.nanoTime() - start;
+            long allocated = startAllocated < 0 ? -1L
+                    : routeMetrics.currentThreadAllocatedBytes() - startAllocated;
+            long cpu = startCpu < 0 ? -1L : routeMetrics.currentThreadCpuNanos() - startCpu;
+
+            // Pakai pola route (mis. /hello/{name}) agar metrik tidak pecah per nilai path
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            routeMetrics.record(pattern != null ? pattern.toString() : null, elapsed, allocated, cpu);
+        }
+        if (request.getRequestURI().startsWith("/.well-known")) {
+            return;
+        }
+        long duration = elapsed / 1_000_000;
 
         int status = response.getStatus();
+        if (lean) {
+            logWriter.log(request.getMethod() + " " + request.getRequestURI() + " " + status + " "
+                    + duration + "ms from " + request.getRemoteAddr());
+            return;
+        }
         String color;
         if (status >= 500) {
             color = RED;
@@ -69,8 +104,6 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                 originInfo,
                 remoteAddr);
 
-        if (!request.getRequestURI().startsWith("/.well-known")) {
-            System.out.println(log);
-        }
+        logWriter.log(log);
     }
 }
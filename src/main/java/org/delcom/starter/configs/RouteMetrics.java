@@ -0,0 +1,109 @@
+package org.delcom.starter.configs;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class RouteMetrics {
+
+    // Route yang tidak cocok dengan handler manapun digabung agar jumlah key tetap kecil
+    public static final String UNMATCHED = "UNMATCHED";
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final boolean allocationSupported;
+    private final boolean cpuTimeSupported;
+    private final ConcurrentHashMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public RouteMetrics() {
+        this(ManagementFactory.getThreadMXBean());
+    }
+
+    RouteMetrics(java.lang.management.ThreadMXBean bean) {
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean) {
+            this.threadBean = sunBean;
+            this.allocationSupported = sunBean.isThreadAllocatedMemorySupported()
+                    && sunBean.isThreadAllocatedMemoryEnabled();
+            this.cpuTimeSupported = sunBean.isCurrentThreadCpuTimeSupported()
+                    && sunBean.isThreadCpuTimeEnabled();
+        } else {
+            this.threadBean = null;
+            this.allocationSupported = false;
+            this.cpuTimeSupported = false;
+        }
+    }
+
+    // Byte yang sudah dialokasikan thread saat ini, -1 jika tidak didukung JVM
+    public long currentThreadAllocatedBytes() {
+        return allocationSupported ? threadBean.getCurrentThreadAllocatedBytes() : -1L;
+    }
+
+    // Waktu CPU thread saat ini dalam nanodetik, -1 jika tidak didukung JVM
+    public long currentThreadCpuNanos() {
+        return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : -1L;
+    }
+
+    public void record(String route, long durationNanos, long allocatedBytes, long cpuNanos) {
+        String key = route != null ? route : UNMATCHED;
+        RouteStats stats = routes.get(key);
+        if (stats == null) {
+            stats = routes.computeIfAbsent(key, k -> new RouteStats());
+        }
+        stats.record(durationNanos, allocatedBytes, cpuNanos);
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        routes.forEach((route, stats) -> result.put(route, stats.toMap()));
+        return result;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    static final class RouteStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+        private final LongAdder totalAllocatedBytes = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Long::max, 0L);
+        private final LongAdder totalCpuNanos = new LongAdder();
+        private final LongAccumulator maxCpuNanos = new LongAccumulator(Long::max, 0L);
+
+        void record(long durationNanos, long allocatedBytes, long cpuNanos) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+            if (allocatedBytes >= 0) {
+                totalAllocatedBytes.add(allocatedBytes);
+                maxAllocatedBytes.accumulate(allocatedBytes);
+            }
+            if (cpuNanos >= 0) {
+                totalCpuNanos.add(cpuNanos);
+                maxCpuNanos.accumulate(cpuNanos);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            long n = count.sum();
+            long divisor = Math.max(n, 1L);
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", n);
+            map.put("avgLatencyMicros", totalNanos.sum() / divisor / 1_000);
+            map.put("maxLatencyMicros", maxNanos.get() / 1_000);
+            map.put("avgAllocatedBytes", totalAllocatedBytes.sum() / divisor);
+            map.put("maxAllocatedBytes", maxAllocatedBytes.get());
+            map.put("totalAllocatedBytes", totalAllocatedBytes.sum());
+            map.put("avgCpuMicros", totalCpuNanos.sum() / divisor / 1_000);
+            map.put("maxCpuMicros", maxCpuNanos.get() / 1_000);
+            return map;
+        }
+    }
+}
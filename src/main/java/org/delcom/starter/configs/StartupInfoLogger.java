@@ -1,13 +1,35 @@
 package org.delcom.starter.configs;
 
+import org.delcom.starter.repositories.TodoWal;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
 @Component
 public class StartupInfoLogger implements ApplicationListener<ApplicationReadyEvent> {
 
+    // Jumlah langkah startup paling lambat yang dilaporkan
+    @Value("${app.startup.report-steps:5}")
+    private int reportSteps = 5;
+
+    private volatile Map<String, Object> startupReport = Map.of();
+
     @Override
     public void onApplicationEvent(ApplicationReadyEvent event) {
         Environment env = event.getApplicationContext().getEnvironment();
@@ -33,6 +55,9 @@ public class StartupInfoLogger implements ApplicationListener<ApplicationReadyEv
         String YELLOW = "\u001B[33m";
         String RESET = "\u001B[0m";
 
+        Map<String, Object> report = buildReport(event);
+        startupReport = report;
+
         System.out.println();
         System.out.println(GREEN + "Application started successfully!" + RESET);
         System.out.println(CYAN + "> URL: http://" + host + ":" + port + contextPath + RESET);
@@ -40,6 +65,69 @@ public class StartupInfoLogger implements ApplicationListener<ApplicationReadyEv
                 liveReloadEnabled
                         ? (YELLOW + "> LiveReload: ENABLED (port " + liveReloadPort + ")" + RESET)
                         : (YELLOW + "> LiveReload: DISABLED" + RESET));
+        System.out.println(CYAN + "> Startup: siap dalam " + report.get("timeToReadyMillis") + " ms (JVM uptime "
+                + report.get("jvmUptimeMillis") + " ms)" + RESET);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> slowest = (List<Map<String, Object>>) report.get("slowestSteps");
+        for (Map<String, Object> step : slowest) {
+            System.out.println(CYAN + ">   " + step.get("durationMillis") + " ms  " + step.get("name")
+                    + step.get("tags") + RESET);
+        }
+        Map<?, ?> recovery = (Map<?, ?>) report.get("todoRecovery");
+        if (Boolean.TRUE.equals(recovery.get("enabled"))) {
+            System.out.println(CYAN + "> Recovery todo: " + recovery.get("todos") + " todo dalam "
+                    + recovery.get("recoveryMillis") + " ms (snapshot " + recovery.get("snapshotMillis")
+                    + " ms, WAL " + recovery.get("walMillis") + " ms)" + RESET);
+        }
         System.out.println();
     }
+
+    // Laporan startup terakhir: waktu sampai siap, langkah paling lambat dan recovery todo
+    public Map<String, Object> getStartupReport() {
+        return startupReport;
+    }
+
+    private Map<String, Object> buildReport(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timeToReadyMillis", timeTaken != null ? timeTaken.toMillis() : -1L);
+        report.put("jvmUptimeMillis", ManagementFactory.getRuntimeMXBean().getUptime());
+        report.put("slowestSteps", slowestSteps(event.getApplicationContext()));
+        report.put("todoRecovery", todoRecovery(event.getApplicationContext()));
+        return report;
+    }
+
+    // Waktu memuat snapshot dan memutar ulang WAL todo, bagian dari waktu sampai siap
+    private Map<String, Object> todoRecovery(ConfigurableApplicationContext context) {
+        for (TodoWal wal : context.getBeansOfType(TodoWal.class).values()) {
+            return wal.getRecoveryReport();
+        }
+        return Map.of("enabled", false);
+    }
+
+    // Langkah dari BufferingApplicationStartup (dipasang di Application.main); kosong jika
+    // aplikasi dijalankan tanpa recorder. Buffer dikosongkan agar memorinya bisa dibebaskan.
+    private List<Map<String, Object>> slowestSteps(ConfigurableApplicationContext context) {
+        ApplicationStartup startup = context.getApplicationStartup();
+        List<Map<String, Object>> steps = new ArrayList<>();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return steps;
+        }
+        buffering.drainBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(reportSteps)
+                .forEach(timelineEvent -> {
+                    StartupStep step = timelineEvent.getStartupStep();
+                    StringJoiner tags = new StringJoiner(", ", " [", "]").setEmptyValue("");
+                    for (StartupStep.Tag tag : step.getTags()) {
+                        tags.add(tag.getKey() + "=" + tag.getValue());
+                    }
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put("name", step.getName());
+                    map.put("durationMillis", timelineEvent.getDuration().toMillis());
+                    map.put("tags", tags.toString());
+                    steps.add(map);
+                });
+        return steps;
+    }
 }
@@ -0,0 +1,55 @@
+package org.delcom.starter.configs;
+
+import org.delcom.starter.controllers.HomeController;
+import org.delcom.starter.controllers.StreamingComputeServlet;
+import org.delcom.starter.controllers.TodoFeedServlet;
+import org.delcom.starter.services.TodoChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class StreamingConfig {
+
+    // Executor komputasi terbatas: jumlah thread = core, antrian tetap, sisanya ditolak (503)
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor streamComputeExecutor(
+            @Value("${app.stream.compute-threads:0}") int threads,
+            @Value("${app.stream.queue-capacity:256}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("stream-compute-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public ServletRegistrationBean<StreamingComputeServlet> streamingComputeServlet(
+            HomeController homeController,
+            ThreadPoolExecutor streamComputeExecutor,
+            @Value("${app.stream.max-body-bytes:67108864}") long maxBodyBytes,
+            @Value("${app.stream.timeout-ms:60000}") long timeoutMillis) {
+        StreamingComputeServlet servlet = new StreamingComputeServlet(
+                homeController, streamComputeExecutor, maxBodyBytes, timeoutMillis);
+        ServletRegistrationBean<StreamingComputeServlet> registration = new ServletRegistrationBean<>(servlet,
+                StreamingComputeServlet.PREFIX + "*");
+        registration.setName("streamingComputeServlet");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    // Change feed SSE; async agar koneksi yang menunggu event tidak menahan thread Tomcat
+    @Bean
+    public ServletRegistrationBean<TodoFeedServlet> todoFeedServlet(TodoChangeFeed todoChangeFeed) {
+        ServletRegistrationBean<TodoFeedServlet> registration = new ServletRegistrationBean<>(
+                new TodoFeedServlet(todoChangeFeed), TodoFeedServlet.PATH);
+        registration.setName("todoFeedServlet");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
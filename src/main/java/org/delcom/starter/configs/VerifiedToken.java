@@ -0,0 +1,8 @@
+package org.delcom.starter.configs;
+
+import io.jsonwebtoken.Claims;
+
+// Hasil verifikasi JWT; keyId = kid header (null jika tidak ada),
+// expiresAtMillis = Long.MAX_VALUE jika token tidak punya exp
+public record VerifiedToken(String subject, Claims claims, String keyId, long expiresAtMillis) {
+}
@@ -0,0 +1,100 @@
+package org.delcom.starter.configs;
+
+import javax.crypto.SecretKey;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache JWT yang sudah diverifikasi dengan key SHA-256 dari token, sehingga token asli
+// tidak ikut disimpan. Entri berlaku sampai exp token atau ttl, mana yang lebih dulu.
+// Saat penuh, entri kedaluwarsa dibersihkan lalu (jika masih penuh) 1/8 entri dibuang
+// dalam urutan hash, sehingga biaya pembersihan terbagi ke banyak insert.
+public class VerifiedTokenCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+
+    // maxEntries <= 0 mematikan cache: setiap token diverifikasi ulang
+    public VerifiedTokenCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    record TokenDigest(long w0, long w1, long w2, long w3) {
+    }
+
+    // key adalah kunci yang memverifikasi token, untuk mendeteksi kunci yang sudah dirotasi
+    record Entry(VerifiedToken token, SecretKey key, long deadline) {
+    }
+
+    static TokenDigest digest(String token) {
+        byte[] hash = messageDigest(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritma digest tidak tersedia: " + algorithm, e);
+        }
+    }
+
+    // null jika tidak ada atau sudah kedaluwarsa
+    public Entry get(TokenDigest digest, long now) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (now >= entry.deadline()) {
+            entries.remove(digest, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(TokenDigest digest, VerifiedToken token, SecretKey key, long now) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(digest, new Entry(token, key, Math.min(token.expiresAtMillis(), now + ttlMillis)));
+    }
+
+    public void remove(TokenDigest digest) {
+        entries.remove(digest);
+    }
+
+    private synchronized void makeRoom(long now) {
+        entries.values().removeIf(entry -> now >= entry.deadline());
+        int target = maxEntries - Math.max(1, maxEntries / 8);
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+            if (entries.size() <= target) {
+                break;
+            }
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
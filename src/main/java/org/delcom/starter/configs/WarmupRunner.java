@@ -0,0 +1,140 @@
+package org.delcom.starter.configs;
+
+import org.delcom.starter.controllers.HomeController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Pemanasan JIT sebelum aplikasi dinyatakan siap.
+// Dijalankan pada ApplicationStartedEvent (server sudah listen, ApplicationReadyEvent belum
+// dikirim), memutar payload sintetis lewat setiap endpoint HomeController sampai batas
+// iterasi, batas waktu, atau sampai JIT berhenti mengompilasi. /ready baru melaporkan
+// siap setelah tahap ini selesai.
+@Component
+public class WarmupRunner implements ApplicationListener<ApplicationStartedEvent> {
+
+    // Cek aktivitas JIT setiap sekian iterasi; dianggap stabil jika beberapa cek berturut-turut diam
+    static final int CHECK_INTERVAL = 500;
+    static final int SETTLED_CHECKS = 3;
+
+    private static final String[] NIMS = {
+            "11S21001", "12S22015", "14S20123", "21S19007", "22S23044", "31S21099", "11420010", "11321005",
+            "13322008", "99X21001" };
+    private static final String[] GRADE_SHEETS = {
+            base64("10\n15\n10\n25\n20\n20\nPA|100|80\nT|90|90\nK|10|7\nP|100|75\nUTS|100|80\nUAS|100|82\n---\n"),
+            base64("20\n20\n10\n10\n20\n20\nPA|50|45\nT|100|60\nT|100|70\nK|20|\nUTS|100|55\nUAS|100|65\nX|1|1\n---\n") };
+    private static final String[] MATRICES = {
+            base64("5\n1 2 3 4 5\n6 7 8 9 10\n11 12 13 14 15\n16 17 18 19 20\n21 22 23 24 25\n"),
+            base64("4\n4 3 2 1\n8 7 6 5\n12 11 10 9\n16 15 14 13\n") };
+    private static final String[] SCORE_LISTS = {
+            base64("50\n60\n60\n70\n85\n85\n85\n100\n35\n42\n77\n77\n10\n---\n"),
+            base64("3\n3\n1\n4\n1\n5\n9\n2\n6\n5\n3\n5\n---\n") };
+
+    private final HomeController controller;
+    private final boolean enabled;
+    private final int iterations;
+    private final long timeBudgetNanos;
+    private final CompilationMXBean compilation;
+
+    private volatile boolean completed;
+    private volatile Map<String, Object> result = Map.of("status", "WARMING_UP");
+
+    @Autowired
+    public WarmupRunner(HomeController controller,
+            @Value("${app.warmup.enabled:false}") boolean enabled,
+            @Value("${app.warmup.iterations:20000}") int iterations,
+            @Value("${app.warmup.time-budget-ms:10000}") long timeBudgetMillis) {
+        this(controller, enabled, iterations, timeBudgetMillis, ManagementFactory.getCompilationMXBean());
+    }
+
+    WarmupRunner(HomeController controller, boolean enabled, int iterations, long timeBudgetMillis,
+            CompilationMXBean compilation) {
+        this.controller = controller;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        this.compilation = compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation
+                : null;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        run();
+    }
+
+    public void run() {
+        if (!enabled) {
+            finish(0, 0, "disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        long lastCompilationMillis = compilation != null ? compilation.getTotalCompilationTime() : 0;
+        int quietChecks = 0;
+        String reason = "iterations";
+        int done = 0;
+        while (done < iterations) {
+            if (System.nanoTime() - deadline >= 0) {
+                reason = "time-budget";
+                break;
+            }
+            replay(done);
+            done++;
+            if (compilation != null && done % CHECK_INTERVAL == 0) {
+                long compilationMillis = compilation.getTotalCompilationTime();
+                quietChecks = compilationMillis == lastCompilationMillis ? quietChecks + 1 : 0;
+                lastCompilationMillis = compilationMillis;
+                if (quietChecks >= SETTLED_CHECKS) {
+                    reason = "settled";
+                    break;
+                }
+            }
+        }
+        finish(done, System.nanoTime() - start, reason);
+    }
+
+    // Satu putaran: setiap endpoint sekali, payload bergilir agar semua cabang ikut terpanaskan
+    private void replay(int round) {
+        controller.informasiNim(NIMS[round % NIMS.length]);
+        controller.perolehanNilai(GRADE_SHEETS[round % GRADE_SHEETS.length]);
+        controller.perbedaanL(MATRICES[round % MATRICES.length]);
+        controller.palingTer(SCORE_LISTS[round % SCORE_LISTS.length]);
+    }
+
+    private void finish(int done, long elapsedNanos, String reason) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("status", "UP");
+        map.put("warmupIterations", done);
+        map.put("warmupMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        map.put("warmupStopReason", reason);
+        result = map;
+        completed = true;
+        if (enabled) {
+            System.out.println("> Warm-up JIT: " + done + " iterasi dalam " + map.get("warmupMillis")
+                    + " ms (" + reason + ")");
+        }
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Map<String, Object> getResult() {
+        return result;
+    }
+
+    private static String base64(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
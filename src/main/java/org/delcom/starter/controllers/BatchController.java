@@ -0,0 +1,314 @@
+package org.delcom.starter.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+import org.delcom.starter.configs.AdaptiveConcurrencyLimiter;
+import org.delcom.starter.configs.ClientRateLimiter;
+import org.delcom.starter.configs.ConcurrencyLimiters;
+import org.delcom.starter.configs.JwtAuthFilter;
+import org.delcom.starter.services.TodoNdjson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+// Beberapa panggilan endpoint HomeController dalam satu request: body berupa array
+// [{"path":"/informasi-nim","params":{"nim":"11S23001"}}, ...], sehingga klien hanya membayar satu
+// round trip dan satu kali filter chain untuk semuanya. Setiap sub-request dijalankan paralel di
+// executor komputasi yang sama dengan /stream/* (streamComputeExecutor, terbatas), lalu hasilnya
+// ditulis sebagai NDJSON berurutan sesuai index segera setelah sub-request itu dan semua sebelumnya
+// selesai:
+//
+//   {"index":0,"path":"/informasi-nim","status":200,"body":"..."}
+//   {"index":1,"path":"/x","status":404,"message":"Endpoint tidak ditemukan"}
+//   {"status":"success","succeeded":1,"failed":1}
+//
+// Setiap sub-request dihitung seperti request terpisah ke path-nya: biaya rate limit path itu
+// (app.rate-limit.costs) dan satu izin limiter konkurensi kelompok path itu selama perhitungan,
+// sehingga batch tidak bisa dipakai untuk melewati kedua batas tersebut. POST /batch sendiri hanya
+// berbiaya 1 token dan memakai limiter default, karena thread-nya hanya menunggu hasil.
+//
+// Kegagalan satu sub-request (endpoint tidak dikenal, parameter hilang, input yang membuat
+// perhitungan gagal, rate limit, limiter atau executor penuh, atau waktu habis) hanya dilaporkan
+// di barisnya sendiri.
+@RestController
+public class BatchController {
+
+    static final String NDJSON = "application/x-ndjson;charset=UTF-8";
+    private static final String HELLO_PREFIX = "/hello/";
+
+    private record Route(String param, BiFunction<HomeController, String, String> handler) {
+    }
+
+    // Endpoint HomeController dengan satu parameter query; "/" dan "/hello/{name}" ditangani terpisah
+    private static final Map<String, Route> ROUTES = Map.of(
+            "/informasi-nim", new Route("nim", HomeController::informasiNim),
+            "/perolehan-nilai", new Route("strBase64", HomeController::perolehanNilai),
+            "/perbedaan-l", new Route("strBase64", HomeController::perbedaanL),
+            "/paling-ter", new Route("strBase64", HomeController::palingTer));
+
+    // Hasil satu sub-request: body jika status 200, selain itu pesan kesalahan
+    record Result(int status, String text) {
+    }
+
+    private static final Result BUSY = new Result(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+            "Server sedang sibuk, coba lagi");
+    private static final Result RATE_LIMITED = new Result(429, "Terlalu banyak request, coba lagi nanti");
+    private static final Result INVALID = new Result(HttpServletResponse.SC_BAD_REQUEST, "Input tidak valid");
+    private static final Result TIMEOUT = new Result(HttpServletResponse.SC_GATEWAY_TIMEOUT,
+            "Waktu sub-request habis");
+
+    private final HomeController homeController;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    // null jika rate limit atau limiter konkurensi tidak aktif
+    private final ClientRateLimiter rateLimiter;
+    private final ConcurrencyLimiters limiters;
+    private final int maxRequests;
+    private final long timeoutMillis;
+
+    @Autowired
+    public BatchController(HomeController homeController, ThreadPoolExecutor streamComputeExecutor,
+            ObjectMapper objectMapper, ClientRateLimiter rateLimiter, ConcurrencyLimiters limiters,
+            @Value("${app.rate-limit.enabled:false}") boolean rateLimitEnabled,
+            @Value("${app.limiter.enabled:true}") boolean limiterEnabled,
+            @Value("${app.batch.max-requests:32}") int maxRequests,
+            @Value("${app.batch.timeout-ms:10000}") long timeoutMillis) {
+        this(homeController, streamComputeExecutor, objectMapper, rateLimitEnabled ? rateLimiter : null,
+                limiterEnabled ? limiters : null, maxRequests, timeoutMillis);
+    }
+
+    BatchController(HomeController homeController, ExecutorService executor, ObjectMapper objectMapper,
+            ClientRateLimiter rateLimiter, ConcurrencyLimiters limiters, int maxRequests, long timeoutMillis) {
+        this.homeController = homeController;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter;
+        this.limiters = limiters;
+        this.maxRequests = maxRequests;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Izin limiter konkurensi satu sub-request, dilepas tepat sekali: oleh task setelah selesai, oleh
+    // submit yang ditolak executor, atau oleh await jika task dibatalkan sebelum sempat berjalan
+    private static final class Permit {
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean started;
+
+        Permit(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    // Sub-request yang sudah dikirim; permit null jika tidak memegang izin limiter
+    private record Pending(Future<Result> future, Permit permit) {
+
+        static Pending done(Result result) {
+            return new Pending(CompletableFuture.completedFuture(result), null);
+        }
+
+        // Task yang sudah berjalan melepas izinnya sendiri saat selesai
+        void cancel() {
+            future.cancel(true);
+            if (permit != null && !permit.started) {
+                permit.release();
+            }
+        }
+    }
+
+    @PostMapping("/batch")
+    public void batch(@RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<BatchRequest> requests = new ArrayList<>();
+        String error = read(request.getInputStream(), requests);
+        if (error != null) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("application/json;charset=UTF-8");
+            StringBuilder body = new StringBuilder("{\"status\":\"fail\",\"message\":");
+            TodoNdjson.string(error, body);
+            response.getOutputStream().write(body.append('}').toString().getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        run(requests, subject, request.getRemoteAddr(), response.getOutputStream());
+    }
+
+    // Membaca array sub-request dari body ke requests elemen demi elemen dan berhenti begitu elemen
+    // ke-(maxRequests + 1) ditemukan, sehingga array yang terlalu panjang tidak pernah dimuat utuh ke
+    // memori. Pesan kesalahan untuk seluruh batch, atau null jika valid
+    String read(InputStream body, List<BatchRequest> requests) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return "Daftar sub-request wajib diisi";
+            }
+            if (token != JsonToken.START_ARRAY) {
+                return "Body harus berupa array sub-request";
+            }
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    return "JSON tidak valid";
+                }
+                if (requests.size() == maxRequests) {
+                    return "Maksimal " + maxRequests + " sub-request per batch";
+                }
+                requests.add(objectMapper.readValue(parser, BatchRequest.class));
+            }
+        } catch (JacksonException e) {
+            return "JSON tidak valid";
+        }
+        return requests.isEmpty() ? "Daftar sub-request wajib diisi" : null;
+    }
+
+    // Semua sub-request dikirim ke executor lebih dulu, lalu hasilnya ditunggu berurutan dengan batas
+    // waktu bersama untuk seluruh batch. Sub-request yang ditolak rate limit, limiter atau executor
+    // tidak diulang. subject dan address mengenali klien seperti RateLimitFilter.
+    void run(List<BatchRequest> requests, String subject, String address, OutputStream output) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Pending[] pending = new Pending[requests.size()];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = submit(requests.get(i), subject, address);
+        }
+        int succeeded = 0;
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < pending.length; i++) {
+            Result result = await(pending[i], deadline);
+            if (result.status() == HttpServletResponse.SC_OK) {
+                succeeded++;
+            }
+            line.setLength(0);
+            line.append("{\"index\":").append(i).append(",\"path\":");
+            String path = requests.get(i) == null ? null : requests.get(i).path();
+            if (path == null) {
+                line.append("null");
+            } else {
+                TodoNdjson.string(path, line);
+            }
+            line.append(",\"status\":").append(result.status())
+                    .append(result.status() == HttpServletResponse.SC_OK ? ",\"body\":" : ",\"message\":");
+            TodoNdjson.string(result.text(), line);
+            line.append("}\n");
+            output.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            output.flush();
+        }
+        output.write(("{\"status\":\"success\",\"succeeded\":" + succeeded + ",\"failed\":"
+                + (pending.length - succeeded) + "}\n").getBytes(StandardCharsets.UTF_8));
+        output.flush();
+    }
+
+    private Pending submit(BatchRequest request, String subject, String address) {
+        String path = request == null ? null : request.path();
+        if (path != null && rateLimiter != null && rateLimiter.acquire(subject, address, path) > 0) {
+            return Pending.done(RATE_LIMITED);
+        }
+        Permit permit = null;
+        if (path != null && limiters != null) {
+            AdaptiveConcurrencyLimiter limiter = limiters.forPath(path);
+            boolean acquired;
+            try {
+                acquired = limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                return Pending.done(BUSY);
+            }
+            permit = new Permit(limiter);
+        }
+        Permit held = permit;
+        try {
+            return new Pending(executor.submit(() -> compute(request, held)), held);
+        } catch (RejectedExecutionException e) {
+            if (held != null) {
+                held.release();
+            }
+            return Pending.done(BUSY);
+        }
+    }
+
+    private Result compute(BatchRequest request, Permit permit) {
+        if (permit == null) {
+            return execute(request);
+        }
+        permit.started = true;
+        try {
+            return execute(request);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private static Result await(Pending pending, long deadline) {
+        try {
+            return pending.future().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // Sama seperti /stream/*: input yang membuat perhitungan gagal
+            return INVALID;
+        } catch (TimeoutException e) {
+            pending.cancel();
+            return TIMEOUT;
+        } catch (InterruptedException e) {
+            // Request dibatalkan: sisa sub-request tidak ditunggu lagi
+            Thread.currentThread().interrupt();
+            pending.cancel();
+            return TIMEOUT;
+        }
+    }
+
+    Result execute(BatchRequest request) {
+        if (request == null || request.path() == null) {
+            return new Result(HttpServletResponse.SC_BAD_REQUEST, "Path sub-request wajib diisi");
+        }
+        String path = request.path();
+        if (path.equals("/")) {
+            return new Result(HttpServletResponse.SC_OK, homeController.hello());
+        }
+        if (path.startsWith(HELLO_PREFIX) && path.length() > HELLO_PREFIX.length()
+                && path.indexOf('/', HELLO_PREFIX.length()) < 0) {
+            return new Result(HttpServletResponse.SC_OK, homeController.sayHello(path.substring(HELLO_PREFIX.length())));
+        }
+        Route route = ROUTES.get(path);
+        if (route == null) {
+            return new Result(HttpServletResponse.SC_NOT_FOUND, "Endpoint tidak ditemukan");
+        }
+        String value = request.params() == null ? null : request.params().get(route.param());
+        if (value == null) {
+            return new Result(HttpServletResponse.SC_BAD_REQUEST, "Parameter " + route.param() + " wajib diisi");
+        }
+        return new Result(HttpServletResponse.SC_OK, route.handler().apply(homeController, value));
+    }
+}
@@ -0,0 +1,8 @@
+package org.delcom.starter.controllers;
+
+import java.util.Map;
+
+// Satu sub-request POST /batch: path endpoint HomeController (mis. "/informasi-nim" atau
+// "/hello/budi") dan parameter query-nya, tanpa URL encoding
+public record BatchRequest(String path, Map<String, String> params) {
+}
@@ -3,6 +3,7 @@ package org.delcom.starter.controllers;
 import java.util.HashMap;
 import java.util.Locale;
 
+import org.delcom.starter.configs.PhaseEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -15,6 +16,17 @@ import java.util.Base64;
 @RestController
 public class HomeController {
 
+    // Input yang salah dilaporkan lewat pesan biasa, bukan exception, agar jalur error
+    // tidak lebih mahal dari jalur normal (tanpa stack trace dan tanpa forward ke /error)
+    private static final String PESAN_BASE64_TIDAK_VALID = "Input Base64 tidak valid";
+    private static final String PESAN_DATA_TIDAK_LENGKAP = "Data tidak lengkap";
+    private static final String PESAN_SIMBOL_TIDAK_DIKENAL =
+            "Data tidak valid. Silahkan menggunakan format: Simbol|Bobot|Perolehan-Nilai<br/>Simbol tidak dikenal<br/>";
+    private static final String PESAN_PEROLEHAN_TIDAK_VALID = "Perolehan nilai tidak valid<br/>";
+
+    // Penanda hasil parse yang gagal, berada di luar rentang int
+    private static final long INVALID = Long.MIN_VALUE;
+
     @GetMapping("/")
     public String hello() {
         return "Hay, selamat datang di aplikasi dengan Spring Boot!";
@@ -27,6 +39,7 @@ public class HomeController {
 
     @GetMapping("/informasi-nim") 
         public String informasiNim(@RequestParam String nim) {
+            PhaseEvent phase = PhaseEvent.start("informasi-nim", PhaseEvent.PARSE);
             HashMap<String, String> prodi = new HashMap<>();
             prodi.put("11S", "Sarjana Informatika");
             prodi.put("12S", "Sarjana Sistem Informasi");
@@ -39,36 +52,80 @@ public class HomeController {
             prodi.put("133", "Diploma 3 Teknologi Komputer");
 
             if(nim.length() != 8) {
+                phase.commit();
                 return "NIM harus 8 karakter";
             }
 
             String degreePrefix = nim.substring(0,3);
             if(!prodi.containsKey(degreePrefix)) {
+                phase.commit();
                 return "Program Studi tidak Tersedia";
             }
             String angkatan = nim.substring(3, 5);
             String urutan = nim.substring(5, 8);
+            phase.commit();
+
+            phase = PhaseEvent.start("informasi-nim", PhaseEvent.COMPUTE);
             String prodiPrefix = prodi.getOrDefault(degreePrefix, urutan);
-           
-            
-            int urutanInt = Integer.parseInt(urutan); // Konversi ke integer untuk hapus leading zeros
-            return String.format("Inforamsi NIM %s: >> Program Studi: %s>> Angkatan: 20%s>> Urutan: %d", nim, prodiPrefix, angkatan, urutanInt);
-            
+            long urutanInt = parseIntOrInvalid(urutan); // Konversi ke integer untuk hapus leading zeros
+            phase.commit();
+            if (urutanInt == INVALID) {
+                return "Urutan NIM harus berupa angka";
+            }
+
+            phase = PhaseEvent.start("informasi-nim", PhaseEvent.RENDER);
+            String output = String.format("Inforamsi NIM %s: >> Program Studi: %s>> Angkatan: 20%s>> Urutan: %d", nim, prodiPrefix, angkatan, urutanInt);
+            phase.commit();
+            return output;
         }
     
     @GetMapping("/perolehan-nilai")
         public String perolehanNilai(@RequestParam String strBase64) {
-            String decodedInput = decode(strBase64).trim();
-            Locale.setDefault(Locale.US);
+            PhaseEvent phase = PhaseEvent.start("perolehan-nilai", PhaseEvent.DECODE);
+            String decodedInput = decodeOrNull(strBase64);
+            phase.commit();
+            if (decodedInput == null) {
+                return PESAN_BASE64_TIDAK_VALID;
+            }
+            decodedInput = decodedInput.trim();
+
+            // Satu event PARSE mencakup split di sini dan parsing di hitungPerolehanNilai
+            phase = PhaseEvent.start("perolehan-nilai", PhaseEvent.PARSE);
             String[] lines = decodedInput.split("\\R");
-            int bobotPA = Integer.parseInt(lines[0].trim());
-            int bobotTugas = Integer.parseInt(lines[1].trim());
-            int bobotKuis = Integer.parseInt(lines[2].trim());
-            int bobotProyek = Integer.parseInt(lines[3].trim());
-            int bobotUTS = Integer.parseInt(lines[4].trim());
-            int bobotUAS = Integer.parseInt(lines[5].trim());
+
+            return hitungPerolehanNilai(lines, phase);
+        }
+
+        // Perhitungan perolehan-nilai dari baris yang sudah dipisah (dipakai juga oleh /stream)
+        public String hitungPerolehanNilai(String[] lines) {
+            return hitungPerolehanNilai(lines, PhaseEvent.start("perolehan-nilai", PhaseEvent.PARSE));
+        }
+
+        // phase adalah event PARSE yang sudah dimulai pemanggil
+        private String hitungPerolehanNilai(String[] lines, PhaseEvent phase) {
+            Locale.setDefault(Locale.US);
+            if (lines.length < 6) {
+                phase.commit();
+                return PESAN_DATA_TIDAK_LENGKAP;
+            }
+            int[] bobot = new int[6];
+            for (int k = 0; k < bobot.length; k++) {
+                long value = parseIntOrInvalid(lines[k].trim());
+                if (value == INVALID) {
+                    phase.commit();
+                    return "Bobot pada baris " + (k + 1) + " harus berupa angka";
+                }
+                bobot[k] = (int) value;
+            }
+            int bobotPA = bobot[0];
+            int bobotTugas = bobot[1];
+            int bobotKuis = bobot[2];
+            int bobotProyek = bobot[3];
+            int bobotUTS = bobot[4];
+            int bobotUAS = bobot[5];
 
             if(bobotPA + bobotTugas + bobotKuis + bobotProyek + bobotUTS + bobotUAS != 100) {
+                phase.commit();
                 return "Total bobot harus 100<br/>";
             }
 
@@ -84,18 +141,22 @@ public class HomeController {
             for(int i = 6; i < lines.length - 1; i++) {
                 String[] parts;
                 parts = lines[i].split("\\|");
+                if (parts.length < 2 || !isDouble(parts[1].trim())) {
+                    phase.commit();
+                    return "Format baris " + (i + 1) + " tidak valid";
+                }
                 String kategori = parts[0].trim().toUpperCase();
                 double max = Double.parseDouble(parts[1].trim());
                 double nilai = 0;
-                try {
-                    if(parts.length == 2) {
-                        throw new IllegalArgumentException("Data tidak valid. Silahkan menggunakan format: Simbol|Bobot|Perolehan-Nilai\nSimbol tidak dikenal\n");
+                if(parts.length == 2) {
+                    errorMsg.append(PESAN_SIMBOL_TIDAK_DIKENAL);
+                } else {
+                    String perolehan = parts[2].trim();
+                    if (isDouble(perolehan)) {
+                        nilai = Double.parseDouble(perolehan);
                     } else {
-                        nilai = Double.parseDouble(parts[2].trim());
+                        errorMsg.append(PESAN_PEROLEHAN_TIDAK_VALID);
                     }
-                } catch (IllegalArgumentException e) {
-                    String msg = e.getMessage().replaceAll("\n","<br/>").trim();
-                    errorMsg.append(msg);
                 }
 
                 switch (kategori) {
@@ -108,6 +169,9 @@ public class HomeController {
                     default : break;
                 }
             }
+            phase.commit();
+
+            phase = PhaseEvent.start("perolehan-nilai", PhaseEvent.COMPUTE);
              // hitung persentase setiap kategori dengan pembulatan yang tepat
             double persPA  =  (int) Math.floor((double)totalNilaiPA / totalMaxPA * 100);
             double persT   =  (int) Math.floor((double)totalNilaiT  / totalMaxT  * 100);
@@ -134,12 +198,16 @@ public class HomeController {
             else if (nilaiAkhir >= 49.5) grade="C";
             else if (nilaiAkhir >= 34) grade="D";
             else grade="E";
+            phase.commit();
+
+            phase = PhaseEvent.start("perolehan-nilai", PhaseEvent.RENDER);
             String output = String.format("Perolehan Nilai:\n>> Partisipatif: %.0f/100 (%.2f/%d)\n>> Tugas: %.0f/100 (%.2f/%d)\n>> Kuis: %.0f/100 (%.2f/%d)\n>> Proyek: %.0f/100 (%.2f/%d)\n>> UTS: %.0f/100 (%.2f/%d)\n>> UAS: %.0f/100 (%.2f/%d)\n\n>> Nilai Akhir: %.2f\n>> Grade: %s\n", persPA, nilaiPA, bobotPA, persT, nilaiT, bobotTugas, persK, nilaiK, bobotKuis, persP, nilaiP, bobotProyek, persUTS, nilaiUTS, bobotUTS, persUAS, nilaiUAS, bobotUAS, nilaiAkhir, grade);
             output = output.replaceAll("\n", "<br/>").trim();
 
             if(errorMsg.length() > 0) {
-                return errorMsg.toString() + output;
+                output = errorMsg.toString() + output;
             }
+            phase.commit();
 
             return output;
         }
@@ -151,27 +219,71 @@ public class HomeController {
 
     @GetMapping("/perbedaan-l")
     public String perbedaanL(@RequestParam String strBase64) {
-        String decodedInput = decode(strBase64).trim();
-        
+        PhaseEvent phase = PhaseEvent.start("perbedaan-l", PhaseEvent.DECODE);
+        String decodedInput = decodeOrNull(strBase64);
+        phase.commit();
+        if (decodedInput == null) {
+            return PESAN_BASE64_TIDAK_VALID;
+        }
+        decodedInput = decodedInput.trim();
+
+        // Satu event PARSE mencakup split di sini dan parsing di hitungPerbedaanL
+        phase = PhaseEvent.start("perbedaan-l", PhaseEvent.PARSE);
         String[] lines = decodedInput.split("\\R");
-        int x = Integer.parseInt(lines[0].trim());
+
+        return hitungPerbedaanL(lines, phase);
+    }
+
+    // Perhitungan perbedaan-l dari baris yang sudah dipisah (dipakai juga oleh /stream)
+    public String hitungPerbedaanL(String[] lines) {
+        return hitungPerbedaanL(lines, PhaseEvent.start("perbedaan-l", PhaseEvent.PARSE));
+    }
+
+    // phase adalah event PARSE yang sudah dimulai pemanggil
+    private String hitungPerbedaanL(String[] lines, PhaseEvent phase) {
+        long ukuran = parseIntOrInvalid(lines[0].trim());
+        if (ukuran < 1) {
+            phase.commit();
+            return "Ukuran matriks harus berupa angka positif";
+        }
+        if (lines.length <= ukuran) {
+            phase.commit();
+            return PESAN_DATA_TIDAK_LENGKAP;
+        }
+        int x = (int) ukuran;
 
         int[][] a = new int[x][x];
         for(int i = 0; i < x; i++) {
             String[] nums = lines[i + 1].trim().split("\\s+");
+            if (nums.length < x) {
+                phase.commit();
+                return PESAN_DATA_TIDAK_LENGKAP;
+            }
             for(int j = 0 ; j < x; j++) {
-                a[i][j] = Integer.parseInt(nums[j]);
+                long value = parseIntOrInvalid(nums[j]);
+                if (value == INVALID) {
+                    phase.commit();
+                    return "Isi matriks harus berupa angka";
+                }
+                a[i][j] = (int) value;
             }
         }
+        phase.commit();
+
+        phase = PhaseEvent.start("perbedaan-l", PhaseEvent.COMPUTE);
 
         if (x == 1) {
             int angka_tengah = a[0][0];
+            phase.commit();
+
+            phase = PhaseEvent.start("perbedaan-l", PhaseEvent.RENDER);
             String output = "Nilai L: Tidak Ada\n" +
                    "Nilai Kebalikan L: Tidak Ada\n" +
                    "Nilai Tengah: " + angka_tengah + "\n" +
                    "Perbedaan: Tidak Ada\n" +
                    "Dominan: " + angka_tengah + "\n";
             output = output.replaceAll("\n", "<br/>").trim();
+            phase.commit();
             return output;
         } else if (x == 2) {
             int jumlah = 0;
@@ -180,12 +292,16 @@ public class HomeController {
                  jumlah += a[b][c];
                 }
             }
+            phase.commit();
+
+            phase = PhaseEvent.start("perbedaan-l", PhaseEvent.RENDER);
             String output = "Nilai L: Tidak Ada\n" +
                    "Nilai Kebalikan L: Tidak Ada\n" +
                    "Nilai Tengah: " + jumlah + "\n" +
                    "Perbedaan: Tidak Ada\n" +
                    "Dominan: " + jumlah + "\n";
             output = output.replaceAll("\n", "<br/>").trim();
+            phase.commit();
             return output;
         } else {
             int nilai_bentuk_L = 0;
@@ -209,37 +325,71 @@ public class HomeController {
             int selisih = Math.abs(nilai_bentuk_L - nilai_kebalikan_bentuk_L);
             int nilai_dominan = (selisih == 0) ? angka_tengah :
                                 Math.max(nilai_bentuk_L, nilai_kebalikan_bentuk_L);
-    
+            phase.commit();
+
+            phase = PhaseEvent.start("perbedaan-l", PhaseEvent.RENDER);
             String output = "Nilai L: " + nilai_bentuk_L + "\n" +
                    "Nilai Kebalikan L: " + nilai_kebalikan_bentuk_L + "\n" +
                    "Nilai Tengah: " + angka_tengah + "\n" +
                    "Perbedaan: " + selisih + "\n" +
                    "Dominan: " + nilai_dominan + "\n";
             output = output.replaceAll("\n", "<br/>").trim();
+            phase.commit();
             return output;
         }
     }
 
     @GetMapping("/paling-ter")
     public String palingTer(@RequestParam String strBase64) {
-        String decodedInput = decode(strBase64).trim();
+        PhaseEvent phase = PhaseEvent.start("paling-ter", PhaseEvent.DECODE);
+        String decodedInput = decodeOrNull(strBase64);
+        phase.commit();
+        if (decodedInput == null) {
+            return PESAN_BASE64_TIDAK_VALID;
+        }
+        decodedInput = decodedInput.trim();
 
+        // Satu event PARSE mencakup split di sini dan parsing di hitungPalingTer
+        phase = PhaseEvent.start("paling-ter", PhaseEvent.PARSE);
         String[] lines = decodedInput.split("\\R");
+
+        return hitungPalingTer(lines, phase);
+    }
+
+    // Perhitungan paling-ter dari baris yang sudah dipisah (dipakai juga oleh /stream)
+    public String hitungPalingTer(String[] lines) {
+        return hitungPalingTer(lines, PhaseEvent.start("paling-ter", PhaseEvent.PARSE));
+    }
+
+    // phase adalah event PARSE yang sudah dimulai pemanggil
+    private String hitungPalingTer(String[] lines, PhaseEvent phase) {
         HashMap<Integer, Integer> hashMapCounter = new HashMap<>();
         ArrayList<Integer> daftarNilai = new ArrayList<>();
         HashMap<Integer, Integer> hashMapTotal = new HashMap<>();
         if(lines[0].equals("---")) {
+            phase.commit();
             return "Informasi tidak tersedia";
         }
         for(int i = 0; i < lines.length - 1; i++) {
 
-                int nilai = Integer.parseInt(lines[i]);
+                long parsed = parseIntOrInvalid(lines[i]);
+                if (parsed == INVALID) {
+                    phase.commit();
+                    return "Nilai pada baris " + (i + 1) + " harus berupa angka";
+                }
+                int nilai = (int) parsed;
                 daftarNilai.add(nilai);
     
                 // Menyimpan frekuensi kemunculan
                 hashMapCounter.put(nilai, hashMapCounter.getOrDefault(nilai, 0) + 1);
             
         }
+        phase.commit();
+        if (daftarNilai.isEmpty()) {
+            return "Informasi tidak tersedia";
+        }
+
+        phase = PhaseEvent.start("paling-ter", PhaseEvent.COMPUTE);
 
         // Inisialisasi nilai awal 
         int nilaiTertinggi = 0;
@@ -331,8 +481,9 @@ public class HomeController {
                 }
             }
         }
-        
+        phase.commit();
 
+    phase = PhaseEvent.start("paling-ter", PhaseEvent.RENDER);
     String output = "";
     output += "Tertinggi: " + nilaiTertinggi + "\n";
     output += "Terendah: " + nilaiTerendah + "\n";
@@ -342,7 +493,8 @@ public class HomeController {
     output += "Jumlah Terendah: " + nilaiJumlahTerendah + " * " + hashMapCounter.get(nilaiJumlahTerendah) + " = " + jumlahTerendah + "\n";
     
     output = output.replaceAll("\n", "<br/>").trim();
-    return output;     
+    phase.commit();
+    return output;
     }
     
     
@@ -351,4 +503,117 @@ public class HomeController {
     public static String decode(String base64) {
         return new String(Base64.getDecoder().decode(base64));
     }
+
+    // Sama seperti decode(), tetapi mengembalikan null untuk input yang akan ditolak
+    // Base64.getDecoder() sehingga tidak ada exception yang dibuat
+    static String decodeOrNull(String base64) {
+        int length = base64.length();
+        int data = 0;
+        while (data < length && isBase64Char(base64.charAt(data))) {
+            data++;
+        }
+        int padding = length - data;
+        int sisa = data % 4;
+        if (padding == 0) {
+            if (sisa == 1) {
+                return null;
+            }
+        } else if (sisa == 2) {
+            if (padding != 2 || base64.charAt(data) != '=' || base64.charAt(data + 1) != '=') {
+                return null;
+            }
+        } else if (sisa != 3 || padding != 1 || base64.charAt(data) != '=') {
+            return null;
+        }
+        return decode(base64);
+    }
+
+    private static boolean isBase64Char(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/';
+    }
+
+    // Aturan sama dengan Integer.parseInt; INVALID jika input akan ditolak
+    static long parseIntOrInvalid(String text) {
+        int length = text.length();
+        int start = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            start = 1;
+        }
+        if (start == length) {
+            return INVALID;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+            if (value > limit) {
+                return INVALID;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    // Bentuk yang diterima Double.parseDouble untuk input yang sudah di-trim
+    static boolean isDouble(String text) {
+        int length = text.length();
+        int i = 0;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            i = 1;
+        }
+        String rest = text.substring(i);
+        if (rest.equals("NaN") || rest.equals("Infinity")) {
+            return true;
+        }
+        boolean hex = rest.startsWith("0x") || rest.startsWith("0X");
+        if (hex) {
+            i += 2;
+        }
+        int digits = 0;
+        while (i < length && isDigit(text.charAt(i), hex)) {
+            i++;
+            digits++;
+        }
+        if (i < length && text.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(text.charAt(i), hex)) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        // Literal heksadesimal wajib memiliki eksponen biner (p), desimal boleh memakai e
+        String exponentChars = hex ? "pP" : "eE";
+        if (hex && (i == length || exponentChars.indexOf(text.charAt(i)) < 0)) {
+            return false;
+        }
+        if (i < length && exponentChars.indexOf(text.charAt(i)) >= 0) {
+            i++;
+            if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                i++;
+            }
+            int exponent = i;
+            while (i < length && isDigit(text.charAt(i), false)) {
+                i++;
+            }
+            if (i == exponent) {
+                return false;
+            }
+        }
+        if (i < length && "fFdD".indexOf(text.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c, boolean hex) {
+        return (c >= '0' && c <= '9') || (hex && ((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package org.delcom.starter.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Memecah body request menjadi baris secara bertahap saat buffer datang.
+// Hasil akhirnya setara dengan text.trim().split("\\R") untuk pemisah CR, LF dan CRLF,
+// tanpa perlu menampung seluruh body sebagai satu String.
+public class LineAccumulator {
+
+    private final List<String> lines = new ArrayList<>();
+    private byte[] current = new byte[128];
+    private int length;
+    private boolean pendingCr;
+
+    public void feed(byte[] buffer, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            byte b = buffer[i];
+            if (pendingCr) {
+                pendingCr = false;
+                if (b == '\n') {
+                    continue;
+                }
+            }
+            if (b == '\r') {
+                endLine();
+                pendingCr = true;
+            } else if (b == '\n') {
+                endLine();
+            } else {
+                if (length == current.length) {
+                    current = Arrays.copyOf(current, length * 2);
+                }
+                current[length++] = b;
+            }
+        }
+    }
+
+    private void endLine() {
+        // Baris kosong di awal body akan dibuang oleh trim, tidak perlu disimpan
+        if (!lines.isEmpty() || !isBlank(current, length)) {
+            lines.add(new String(current, 0, length, StandardCharsets.UTF_8));
+        }
+        length = 0;
+    }
+
+    public int lineCount() {
+        return lines.size();
+    }
+
+    public String[] finish() {
+        if (length > 0) {
+            endLine();
+        }
+        int end = lines.size();
+        while (end > 0 && lines.get(end - 1).trim().isEmpty()) {
+            end--;
+        }
+        if (end == 0) {
+            return new String[] { "" };
+        }
+        String[] result = lines.subList(0, end).toArray(new String[0]);
+        result[0] = trimLeading(result[0]);
+        result[end - 1] = trimTrailing(result[end - 1]);
+        return result;
+    }
+
+    // Sama seperti String.trim(): karakter <= ' ' dianggap spasi
+    private static String trimLeading(String line) {
+        int start = 0;
+        while (line.charAt(start) <= ' ') {
+            start++;
+        }
+        return line.substring(start);
+    }
+
+    private static String trimTrailing(String line) {
+        int end = line.length();
+        while (line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    private static boolean isBlank(byte[] bytes, int count) {
+        for (int i = 0; i < count; i++) {
+            if ((bytes[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,144 @@
+package org.delcom.starter.controllers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.delcom.starter.configs.ClientRateLimiter;
+import org.delcom.starter.configs.ConcurrencyLimiters;
+import org.delcom.starter.configs.FastRejectFilter;
+import org.delcom.starter.configs.JwtVerifier;
+import org.delcom.starter.configs.RouteMetrics;
+import org.delcom.starter.configs.StartupInfoLogger;
+import org.delcom.starter.repositories.TodoCheckpointer;
+import org.delcom.starter.repositories.TodoShard;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoWal;
+import org.delcom.starter.services.TodoBulkService;
+import org.delcom.starter.services.TodoChangeFeed;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class MetricsController {
+
+    private final RouteMetrics routeMetrics;
+    private final ConcurrencyLimiters concurrencyLimiters;
+    private final FastRejectFilter fastRejectFilter;
+    private final StartupInfoLogger startupInfoLogger;
+    private final JwtVerifier jwtVerifier;
+    private final ClientRateLimiter clientRateLimiter;
+    private final TodoWal todoWal;
+    private final TodoCheckpointer todoCheckpointer;
+    private final TodoShards todoShards;
+    private final TodoBulkService todoBulkService;
+    private final TodoChangeFeed todoChangeFeed;
+
+    public MetricsController(RouteMetrics routeMetrics, ConcurrencyLimiters concurrencyLimiters,
+            FastRejectFilter fastRejectFilter, StartupInfoLogger startupInfoLogger, JwtVerifier jwtVerifier,
+            ClientRateLimiter clientRateLimiter, TodoWal todoWal, TodoCheckpointer todoCheckpointer,
+            TodoShards todoShards, TodoBulkService todoBulkService, TodoChangeFeed todoChangeFeed) {
+        this.routeMetrics = routeMetrics;
+        this.concurrencyLimiters = concurrencyLimiters;
+        this.fastRejectFilter = fastRejectFilter;
+        this.startupInfoLogger = startupInfoLogger;
+        this.jwtVerifier = jwtVerifier;
+        this.clientRateLimiter = clientRateLimiter;
+        this.todoWal = todoWal;
+        this.todoCheckpointer = todoCheckpointer;
+        this.todoShards = todoShards;
+        this.todoBulkService = todoBulkService;
+        this.todoChangeFeed = todoChangeFeed;
+    }
+
+    // Latensi, alokasi heap dan waktu CPU per route
+    @GetMapping("/metrics/routes")
+    public Map<String, Map<String, Object>> routes() {
+        return routeMetrics.snapshot();
+    }
+
+    // Batas konkurensi, antrian dan jumlah penolakan per kelompok endpoint
+    @GetMapping("/metrics/limits")
+    public Map<String, Map<String, Object>> limits() {
+        return concurrencyLimiters.snapshot();
+    }
+
+    // Jumlah request ke path tidak dikenal yang ditolak FastRejectFilter
+    @GetMapping("/metrics/rejected")
+    public Map<String, Object> rejected() {
+        return fastRejectFilter.snapshot();
+    }
+
+    // Waktu sampai aplikasi siap dan langkah startup paling lambat
+    @GetMapping("/metrics/startup")
+    public Map<String, Object> startup() {
+        return startupInfoLogger.getStartupReport();
+    }
+
+    // Hit/miss cache token terverifikasi, penolakan dan kunci yang aktif
+    @GetMapping("/metrics/jwt")
+    public Map<String, Object> jwt() {
+        return jwtVerifier.snapshot();
+    }
+
+    // Jumlah request yang diterima/ditolak rate limit dan jumlah bucket klien
+    @GetMapping("/metrics/rate-limit")
+    public Map<String, Object> rateLimit() {
+        return clientRateLimiter.snapshot();
+    }
+
+    // Jumlah record, group commit dan fsync WAL todo serta hasil replay saat startup
+    @GetMapping("/metrics/wal")
+    public Map<String, Object> wal() {
+        return todoWal.snapshot();
+    }
+
+    // Jumlah checkpoint serta ukuran dan durasi snapshot todo terakhir yang ditulis dan dimuat
+    @GetMapping("/metrics/snapshot")
+    public Map<String, Object> snapshot() {
+        return todoCheckpointer.snapshot();
+    }
+
+    // Jumlah todo, perkiraan byte, kuota dan latensi tulis/baca per shard todo
+    @GetMapping("/metrics/shards")
+    public Map<String, Object> shards() {
+        return todoShards.snapshot();
+    }
+
+    // Ukuran kamus dan posting list indeks pencarian todo serta jumlah update dan query, per shard
+    @GetMapping("/metrics/search")
+    public Map<String, Object> search() {
+        return perShard(shard -> shard.searchIndex().snapshot());
+    }
+
+    // Ukuran index filter list todo dan berapa kali setiap sumber kandidat dipilih planner, per shard,
+    // ditambah bitmap status dan prioritas yang dibagi semua shard
+    @GetMapping("/metrics/query")
+    public Map<String, Object> query() {
+        Map<String, Object> result = new LinkedHashMap<>(perShard(shard -> shard.queryIndex().snapshot()));
+        result.put("bitmaps", todoShards.queryBitmaps().snapshot());
+        return result;
+    }
+
+    // Jumlah import/export NDJSON dan todo yang dipindahkan
+    @GetMapping("/metrics/bulk")
+    public Map<String, Object> bulk() {
+        return todoBulkService.snapshot();
+    }
+
+    // Nomor urut change feed, jumlah subscriber SSE, batch terkirim dan klien lambat yang diputus
+    @GetMapping("/metrics/feed")
+    public Map<String, Object> feed() {
+        return todoChangeFeed.snapshot();
+    }
+
+    private Map<String, Object> perShard(Function<TodoShard, Map<String, Object>> metrics) {
+        List<Map<String, Object>> shards = new ArrayList<>(todoShards.shardCount());
+        for (int i = 0; i < todoShards.shardCount(); i++) {
+            shards.add(metrics.apply(todoShards.shard(i)));
+        }
+        return Map.of("shards", shards);
+    }
+}
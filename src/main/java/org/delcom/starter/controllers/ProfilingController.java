@@ -0,0 +1,66 @@
+package org.delcom.starter.controllers;
+
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.delcom.starter.configs.FlightRecorderService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/internal/jfr")
+public class ProfilingController {
+
+    private final FlightRecorderService flightRecorder;
+
+    public ProfilingController(FlightRecorderService flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(HttpServletRequest request) throws Exception {
+        if (!isLocal(request)) {
+            return forbidden();
+        }
+        boolean started = flightRecorder.start();
+        return ResponseEntity.ok(Map.of("recording", true, "started", started));
+    }
+
+    @PostMapping("/dump")
+    public ResponseEntity<Map<String, Object>> dump(HttpServletRequest request) throws Exception {
+        if (!isLocal(request)) {
+            return forbidden();
+        }
+        Path file = flightRecorder.dump();
+        if (file == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("recording", false, "message", "Recording belum dimulai"));
+        }
+        return ResponseEntity.ok(Map.of("recording", true, "file", file.toString()));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stop(HttpServletRequest request) throws Exception {
+        if (!isLocal(request)) {
+            return forbidden();
+        }
+        boolean stopped = flightRecorder.stop();
+        return ResponseEntity.ok(Map.of("recording", false, "stopped", stopped));
+    }
+
+    // Endpoint profiling hanya boleh dipanggil dari mesin yang sama
+    private static boolean isLocal(HttpServletRequest request) throws Exception {
+        return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+    }
+
+    private static ResponseEntity<Map<String, Object>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Map.of("message", "Endpoint profiling hanya untuk akses lokal"));
+    }
+}
@@ -0,0 +1,33 @@
+package org.delcom.starter.controllers;
+
+import java.util.Map;
+
+import org.delcom.starter.configs.WarmupRunner;
+import org.delcom.starter.repositories.TodoWal;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ReadinessController {
+
+    private final WarmupRunner warmupRunner;
+    private final TodoWal todoWal;
+
+    public ReadinessController(WarmupRunner warmupRunner, TodoWal todoWal) {
+        this.warmupRunner = warmupRunner;
+        this.todoWal = todoWal;
+    }
+
+    // Readiness probe: 503 selama warm-up JIT masih berjalan atau setelah WAL gagal menulis (perubahan
+    // todo ditolak sampai restart), 200 setelah warm-up selesai
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        if (todoWal.isFailed()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("status", "WAL_FAILED"));
+        }
+        HttpStatus status = warmupRunner.isCompleted() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(warmupRunner.getResult());
+    }
+}
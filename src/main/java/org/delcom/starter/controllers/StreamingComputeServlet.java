@@ -0,0 +1,187 @@
+package org.delcom.starter.controllers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Varian non-blocking dari endpoint komputasi HomeController.
+// Body (teks biasa, bukan Base64) dibaca dengan ReadListener servlet sehingga
+// tidak ada thread yang menunggu upload lambat, dipecah per baris saat buffer
+// datang, lalu perhitungan dijalankan di executor komputasi yang dibatasi.
+//
+//   POST /stream/perolehan-nilai
+//   POST /stream/perbedaan-l
+//   POST /stream/paling-ter
+public class StreamingComputeServlet extends HttpServlet {
+
+    public static final String PREFIX = "/stream/";
+
+    private static final String TEXT_PLAIN = "text/plain;charset=UTF-8";
+
+    private final Map<String, Function<String[], String>> endpoints;
+    private final Executor computeExecutor;
+    private final long maxBodyBytes;
+    private final long timeoutMillis;
+
+    public StreamingComputeServlet(HomeController controller, Executor computeExecutor,
+            long maxBodyBytes, long timeoutMillis) {
+        this.endpoints = Map.of(
+                "/perolehan-nilai", controller::hitungPerolehanNilai,
+                "/perbedaan-l", controller::hitungPerbedaanL,
+                "/paling-ter", controller::hitungPalingTer);
+        this.computeExecutor = computeExecutor;
+        this.maxBodyBytes = maxBodyBytes;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        Function<String[], String> endpoint = path == null ? null : endpoints.get(path);
+        if (endpoint == null) {
+            write(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint stream tidak ditemukan");
+            return;
+        }
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(timeoutMillis);
+        ServletInputStream input = request.getInputStream();
+        BodyReader reader = new BodyReader(async, input, endpoint);
+        async.addListener(reader);
+        input.setReadListener(reader);
+    }
+
+    // Membaca body sekaligus memantau siklus hidup AsyncContext. Response hanya ditulis oleh
+    // pihak yang pertama mengklaim completed: hasil perhitungan, penolakan, timeout atau error.
+    // Perhitungan yang selesai setelah timeout tidak menyentuh response yang sudah ditutup container.
+    private final class BodyReader implements ReadListener, AsyncListener {
+
+        private final AsyncContext async;
+        private final ServletInputStream input;
+        private final Function<String[], String> endpoint;
+        private final LineAccumulator lines = new LineAccumulator();
+        private final byte[] buffer = new byte[8192];
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private long received;
+
+        BodyReader(AsyncContext async, ServletInputStream input, Function<String[], String> endpoint) {
+            this.async = async;
+            this.input = input;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            // Baca selama data tersedia tanpa blocking; container memanggil lagi saat data berikutnya datang
+            while (!completed.get() && input.isReady()) {
+                int count = input.read(buffer);
+                if (count < 0) {
+                    return;
+                }
+                received += count;
+                if (received > maxBodyBytes) {
+                    finish(413, "Body melebihi batas " + maxBodyBytes + " byte");
+                    return;
+                }
+                lines.feed(buffer, 0, count);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (completed.get()) {
+                return;
+            }
+            try {
+                computeExecutor.execute(this::compute);
+            } catch (RejectedExecutionException e) {
+                finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server sedang sibuk, coba lagi");
+            }
+        }
+
+        private void compute() {
+            String output;
+            int status;
+            try {
+                output = endpoint.apply(lines.finish());
+                status = HttpServletResponse.SC_OK;
+            } catch (RuntimeException e) {
+                output = "Input tidak valid";
+                status = HttpServletResponse.SC_BAD_REQUEST;
+            }
+            finish(status, output);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (completed.compareAndSet(false, true)) {
+                complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Waktu pemrosesan habis");
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            completed.set(true);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            completed.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void finish(int status, String body) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                write((HttpServletResponse) async.getResponse(), status, body);
+            } catch (IOException | IllegalStateException e) {
+                // Klien sudah memutus koneksi atau container sudah menutup request
+            } finally {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Sudah diselesaikan container (timeout/error) bersamaan dengan kita
+            }
+        }
+    }
+
+    private static void write(HttpServletResponse response, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+            // Executor penuh atau waktu habis: klien boleh mencoba lagi sebentar kemudian
+            response.setHeader("Retry-After", "1");
+        }
+        response.setContentType(TEXT_PLAIN);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
@@ -0,0 +1,50 @@
+package org.delcom.starter.controllers;
+
+import java.io.IOException;
+
+import org.delcom.starter.configs.JwtAuthFilter;
+import org.delcom.starter.services.TodoBulkService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Pindah data todo massal dalam NDJSON, langsung dari body request dan ke body response tanpa
+// konversi pesan Spring (yang akan menampung seluruh body di memori).
+//
+//   POST /todos/import  body NDJSON, jawaban NDJSON berisi progress per batch dan baris yang ditolak
+//   GET  /todos/export  semua todo pengguna, satu todo per baris
+@RestController
+@RequestMapping("/todos")
+public class TodoBulkController {
+
+    static final String NDJSON = "application/x-ndjson;charset=UTF-8";
+
+    private final TodoBulkService bulkService;
+
+    public TodoBulkController(TodoBulkService bulkService) {
+        this.bulkService = bulkService;
+    }
+
+    @PostMapping("/import")
+    public void importTodos(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        bulkService.importTodos(TodoController.owner(subject), request.getInputStream(), response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    public void exportTodos(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        bulkService.exportTodos(TodoController.owner(subject), response.getOutputStream());
+    }
+}
@@ -0,0 +1,230 @@
+package org.delcom.starter.controllers;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+import org.delcom.starter.configs.JwtAuthFilter;
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.services.TodoBatchRequest;
+import org.delcom.starter.services.TodoFilterRequest;
+import org.delcom.starter.services.TodoRequest;
+import org.delcom.starter.services.TodoService;
+import org.delcom.starter.services.TodoWriteResult;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// CRUD todo. Pemilik todo diambil dari subject JWT (lihat JwtAuthFilter); tanpa JWT
+// semua todo dimiliki pengguna "anonymous". Create ditolak 507 jika kuota shard pemilik penuh.
+//
+// Response berisi todo membawa ETag = version todo. PUT dan DELETE dengan header If-Match hanya
+// diterapkan jika versi terbaru ada di daftar ETag-nya; jika tidak, jawabannya 412 dengan versi saat ini.
+// Weak ETag (W/"3") tidak pernah cocok karena If-Match memakai perbandingan strong.
+@RestController
+@RequestMapping("/todos")
+public class TodoController {
+
+    static final String ANONYMOUS = "anonymous";
+    private static final String PESAN_TIDAK_DITEMUKAN = "Todo tidak ditemukan";
+    private static final String PESAN_KONFLIK = "Versi todo sudah berubah";
+    private static final String PESAN_IF_MATCH = "Header If-Match tidak valid";
+    private static final String PESAN_KUOTA = "Kuota penyimpanan todo penuh";
+    // Versi yang tidak pernah dimiliki todo (versi dimulai dari 1), dipakai jika If-Match hanya berisi weak ETag
+    static final long NO_VERSION = 0;
+
+    private final TodoService todoService;
+
+    public TodoController(TodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Object> create(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @RequestBody(required = false) TodoRequest request) {
+        String error = todoService.validate(request, true);
+        if (error != null) {
+            return fail(HttpStatus.BAD_REQUEST, error);
+        }
+        Todo todo = todoService.create(owner(subject), request);
+        return todo == null ? fail(HttpStatus.INSUFFICIENT_STORAGE, PESAN_KUOTA) : versioned(HttpStatus.CREATED, todo);
+    }
+
+    // Halaman berikutnya diminta dengan ?cursor=<nextCursor> dari halaman sebelumnya. Filter
+    // opsional ?status=OPEN,IN_PROGRESS&priority=2,3&dueFrom=..&dueTo=.. memakai index sekunder.
+    @GetMapping
+    public ResponseEntity<Object> list(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(defaultValue = "0") int limit,
+            @ModelAttribute TodoFilterRequest filter) {
+        if (filter == null || filter.isEmpty()) {
+            return ResponseEntity.ok(todoService.list(owner(subject), cursor, limit));
+        }
+        String error = todoService.validateFilter(filter);
+        if (error != null) {
+            return fail(HttpStatus.BAD_REQUEST, error);
+        }
+        return ResponseEntity.ok(todoService.query(owner(subject), filter, cursor, limit));
+    }
+
+    // Pencarian full-text di judul dan deskripsi: kata dipisah spasi (AND), OR, dan awalan dengan *
+    @GetMapping("/search")
+    public ResponseEntity<Object> search(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "0") int limit) {
+        String error = todoService.validateQuery(q);
+        if (error != null) {
+            return fail(HttpStatus.BAD_REQUEST, error);
+        }
+        return ResponseEntity.ok(todoService.search(owner(subject), q, limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> get(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @PathVariable long id) {
+        Todo todo = todoService.get(owner(subject), id);
+        return todo == null ? fail(HttpStatus.NOT_FOUND, PESAN_TIDAK_DITEMUKAN) : versioned(HttpStatus.OK, todo);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Object> update(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @PathVariable long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody(required = false) TodoRequest request) {
+        long[] versions = expectedVersions(ifMatch);
+        if (versions == null) {
+            return fail(HttpStatus.BAD_REQUEST, PESAN_IF_MATCH);
+        }
+        String error = todoService.validate(request, false);
+        if (error != null) {
+            return fail(HttpStatus.BAD_REQUEST, error);
+        }
+        String owner = owner(subject);
+        TodoWriteResult result = conditional(versions, version -> todoService.update(owner, id, request, version));
+        return switch (result.outcome()) {
+            case APPLIED -> versioned(HttpStatus.OK, result.todo());
+            case CONFLICT -> conflict(result.todo());
+            case NOT_FOUND -> fail(HttpStatus.NOT_FOUND, PESAN_TIDAK_DITEMUKAN);
+        };
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Object> delete(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @PathVariable long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        long[] versions = expectedVersions(ifMatch);
+        if (versions == null) {
+            return fail(HttpStatus.BAD_REQUEST, PESAN_IF_MATCH);
+        }
+        String owner = owner(subject);
+        TodoWriteResult result = conditional(versions, version -> todoService.delete(owner, id, version));
+        return switch (result.outcome()) {
+            case APPLIED -> ResponseEntity.noContent().build();
+            case CONFLICT -> conflict(result.todo());
+            case NOT_FOUND -> fail(HttpStatus.NOT_FOUND, PESAN_TIDAK_DITEMUKAN);
+        };
+    }
+
+    // Banyak update dan hapus bersyarat dalam satu request; setiap operasi atomik per todo dan
+    // hasilnya dilaporkan per operasi, tanpa membatalkan operasi lain yang gagal
+    @PostMapping("/batch")
+    public ResponseEntity<Object> batch(
+            @RequestAttribute(name = JwtAuthFilter.SUBJECT_ATTRIBUTE, required = false) String subject,
+            @RequestBody(required = false) TodoBatchRequest request) {
+        String error = todoService.validateBatch(request);
+        if (error != null) {
+            return fail(HttpStatus.BAD_REQUEST, error);
+        }
+        return ResponseEntity.ok(todoService.applyBatch(owner(subject), request));
+    }
+
+    // Versi dari If-Match: satu ETag ("3" atau 3) atau daftar ("3", "4"); {ANY_VERSION} tanpa header
+    // atau untuk *, null jika tidak valid. Weak ETag (W/"3") dilewati karena tidak pernah cocok, sehingga
+    // If-Match yang hanya berisi weak ETag menjadi {NO_VERSION} dan dijawab 412.
+    static long[] expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return new long[] {TodoService.ANY_VERSION};
+        }
+        String[] tags = ifMatch.split(",", -1);
+        long[] versions = new long[tags.length];
+        int count = 0;
+        for (String tag : tags) {
+            String value = tag.strip();
+            boolean weak = value.startsWith("W/");
+            if (weak) {
+                value = value.substring(2);
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            long version;
+            try {
+                version = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (version <= 0) {
+                return null;
+            }
+            if (!weak) {
+                versions[count++] = version;
+            }
+        }
+        return count == 0 ? new long[] {NO_VERSION} : Arrays.copyOf(versions, count);
+    }
+
+    // Menjalankan write dengan versi pertama dari If-Match. Jika ditolak karena versi saat ini berbeda
+    // tetapi versi itu juga ada di daftar, write diulang dengan versi tersebut; versi todo hanya naik,
+    // jadi pengulangan paling banyak sepanjang daftar.
+    private static TodoWriteResult conditional(long[] versions, LongFunction<TodoWriteResult> write) {
+        TodoWriteResult result = write.apply(versions[0]);
+        while (result.outcome() == TodoWriteResult.Outcome.CONFLICT && contains(versions, result.todo().version())) {
+            result = write.apply(result.todo().version());
+        }
+        return result;
+    }
+
+    private static boolean contains(long[] versions, long version) {
+        for (long candidate : versions) {
+            if (candidate == version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String owner(String subject) {
+        return subject == null ? ANONYMOUS : subject;
+    }
+
+    private static ResponseEntity<Object> versioned(HttpStatus status, Todo todo) {
+        return ResponseEntity.status(status).eTag("\"" + todo.version() + "\"").body(todo);
+    }
+
+    private static ResponseEntity<Object> conflict(Todo current) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag("\"" + current.version() + "\"")
+                .body(Map.of("status", "fail", "message", PESAN_KONFLIK, "version", current.version()));
+    }
+
+    private static ResponseEntity<Object> fail(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("status", "fail", "message", message));
+    }
+}
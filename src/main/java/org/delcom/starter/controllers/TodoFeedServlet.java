@@ -0,0 +1,172 @@
+package org.delcom.starter.controllers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.delcom.starter.configs.JwtAuthFilter;
+import org.delcom.starter.services.TodoChangeFeed;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// GET /todos/feed: perubahan todo milik pengguna sebagai Server-Sent Events (lihat TodoChangeFeed).
+// Koneksi dibiarkan terbuka lewat AsyncContext tanpa thread yang menunggu; pesan ditulis thread
+// flusher dengan output non-blocking (WriteListener) sehingga klien lambat tidak menahan klien lain.
+// Melanjutkan dari nomor urut tertentu: header Last-Event-ID (otomatis dari EventSource) atau ?since=.
+public class TodoFeedServlet extends HttpServlet {
+
+    public static final String PATH = "/todos/feed";
+    private static final String EVENT_STREAM = "text/event-stream;charset=UTF-8";
+    // Klien EventSource mencoba lagi setelah 1 detik jika koneksi putus
+    private static final byte[] OPENING = "retry: 1000\n: terhubung\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final TodoChangeFeed feed;
+
+    public TodoFeedServlet(TodoChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String lastEventId = request.getHeader("Last-Event-ID");
+        String since = lastEventId != null ? lastEventId : request.getParameter("since");
+        long sequence;
+        try {
+            sequence = since == null || since.isBlank() ? -1 : Long.parseLong(since.strip());
+        } catch (NumberFormatException e) {
+            sequence = -2;
+        }
+        if (sequence < -1) {
+            write(response, HttpServletResponse.SC_BAD_REQUEST, "Nomor urut feed tidak valid");
+            return;
+        }
+
+        // Subscriber didaftarkan sebelum response dimulai: jika sudah penuh klien masih bisa dijawab
+        // 503 seperti penolakan limiter, bukan 200 yang langsung ditutup
+        Connection connection = new Connection();
+        TodoChangeFeed.Subscriber subscriber = feed.subscribe(
+                TodoController.owner((String) request.getAttribute(JwtAuthFilter.SUBJECT_ATTRIBUTE)), sequence,
+                connection);
+        if (subscriber == null) {
+            write(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Feed sedang penuh, coba lagi");
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(EVENT_STREAM);
+        response.setHeader("Cache-Control", "no-cache");
+        // Matikan buffering proxy (nginx) agar batch langsung sampai ke klien
+        response.setHeader("X-Accel-Buffering", "no");
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                feed.unsubscribe(subscriber);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                feed.unsubscribe(subscriber);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                feed.unsubscribe(subscriber);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        ServletOutputStream output = response.getOutputStream();
+        output.write(OPENING);
+        output.flush();
+
+        connection.attach(async, output);
+        output.setWriteListener(connection);
+    }
+
+    // Sink non-blocking di atas output servlet; onWritePossible tidak perlu menulis apa-apa karena
+    // flusher memeriksa isReady di tick berikutnya. Sink sudah terdaftar sebelum attach, dan selama
+    // itu isReady false sehingga flusher belum menulis apa pun.
+    static final class Connection implements TodoChangeFeed.Sink, WriteListener {
+
+        private volatile AsyncContext async;
+        private volatile ServletOutputStream output;
+        private volatile boolean closed;
+
+        void attach(AsyncContext async, ServletOutputStream output) {
+            this.output = output;
+            this.async = async;
+            if (closed) {
+                // Ditutup flusher (mis. saat shutdown) sebelum attach
+                complete(async);
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            ServletOutputStream current = output;
+            return !closed && current != null && current.isReady();
+        }
+
+        @Override
+        public void write(byte[] data) throws IOException {
+            try {
+                output.write(data);
+                if (output.isReady()) {
+                    output.flush();
+                }
+            } catch (IllegalStateException e) {
+                // Response sudah selesai (klien pergi di antara isReady dan write)
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                AsyncContext current = async;
+                if (current != null) {
+                    complete(current);
+                }
+            }
+        }
+
+        private static void complete(AsyncContext async) {
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Sudah diselesaikan container
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+    }
+
+    private static void write(HttpServletResponse response, int status, String message) throws IOException {
+        byte[] bytes = ("{\"status\":\"fail\",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+            response.setHeader("Retry-After", "1");
+        }
+        response.setContentType("application/json");
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+}
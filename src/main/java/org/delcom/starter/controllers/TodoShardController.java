@@ -0,0 +1,134 @@
+package org.delcom.starter.controllers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.repositories.TodoShard;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoSnapshots;
+import org.delcom.starter.services.TodoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Memindah todo antar node dengan format snapshot (TodoSnapshots): export satu shard, atau hanya
+// satu tenant dengan ?owner=, ke file di app.shards.export-dir; file itu lalu di-import di node
+// tujuan dan setiap todo masuk ke shard owner-nya di sana. Hanya boleh dari mesin yang sama,
+// seperti endpoint profiling. Setiap export menulis file sendiri (nama berisi owner dan suffix unik)
+// sehingga export bersamaan dari shard yang sama tidak berebut file .tmp dan rename yang sama.
+@RestController
+@RequestMapping("/internal/shards")
+public class TodoShardController {
+
+    private final TodoShards shards;
+    private final TodoSnapshots snapshots;
+    private final TodoService todoService;
+    private final Path exportDir;
+
+    public TodoShardController(TodoShards shards, TodoSnapshots snapshots, TodoService todoService,
+            @Value("${app.shards.export-dir:data/shards}") String exportDir) {
+        this.shards = shards;
+        this.snapshots = snapshots;
+        this.todoService = todoService;
+        this.exportDir = Path.of(exportDir);
+    }
+
+    @PostMapping("/{index}/export")
+    public ResponseEntity<Map<String, Object>> export(HttpServletRequest request, @PathVariable int index,
+            @RequestParam(required = false) String owner) throws Exception {
+        if (!isLocal(request)) {
+            return forbidden();
+        }
+        if (index < 0 || index >= shards.shardCount()) {
+            return fail(HttpStatus.NOT_FOUND, "Shard tidak ditemukan");
+        }
+        TodoShard shard = shards.shard(index);
+        if (owner != null && shards.shardFor(owner) != shard) {
+            return fail(HttpStatus.BAD_REQUEST, "Owner tidak berada di shard ini");
+        }
+        Path file = exportDir.resolve(fileName(index, owner));
+        long todos = snapshots.export(shard, owner, file);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("shard", index);
+        body.put("file", file.toString());
+        body.put("todos", todos);
+        return ResponseEntity.ok(body);
+    }
+
+    // Todo yang id-nya sudah dipakai pengguna lain di node ini mendapat id baru (renumbered); todo
+    // baru yang melewati kuota shard owner tidak dimasukkan (rejected)
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importFile(HttpServletRequest request, @RequestParam String file)
+            throws Exception {
+        if (!isLocal(request)) {
+            return forbidden();
+        }
+        Path path = Path.of(file);
+        if (!Files.isRegularFile(path)) {
+            return fail(HttpStatus.NOT_FOUND, "File export tidak ditemukan");
+        }
+        LongAdder renumbered = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        long todos;
+        try {
+            todos = snapshots.read(path, shards::reserveIds, todo -> {
+                Todo restored = todoService.restore(todo);
+                if (restored == null) {
+                    rejected.increment();
+                } else if (restored.id() != todo.id()) {
+                    renumbered.increment();
+                }
+            });
+        } catch (IOException e) {
+            return fail(HttpStatus.BAD_REQUEST, e.getMessage());
+        } finally {
+            // Todo yang sudah masuk sebelum file ternyata rusak tetap tercatat di WAL
+            todoService.awaitDurable();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("file", path.toString());
+        body.put("todos", todos);
+        body.put("renumbered", renumbered.sum());
+        body.put("rejected", rejected.sum());
+        return ResponseEntity.ok(body);
+    }
+
+    // todo-shard-<index>[-<owner>]-<uuid>.snapshot; karakter owner di luar huruf, angka, '-' dan '_'
+    // diganti '_' agar owner tidak bisa keluar dari export-dir
+    static String fileName(int index, String owner) {
+        StringBuilder name = new StringBuilder("todo-shard-").append(index);
+        if (owner != null) {
+            name.append('-');
+            owner.chars().limit(64).forEach(c -> name.append(
+                    c < 128 && (Character.isLetterOrDigit(c) || c == '-' || c == '_') ? (char) c : '_'));
+        }
+        return name.append('-').append(UUID.randomUUID()).append(".snapshot").toString();
+    }
+
+    // Endpoint pemindahan shard hanya boleh dipanggil dari mesin yang sama
+    private static boolean isLocal(HttpServletRequest request) throws Exception {
+        return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+    }
+
+    private static ResponseEntity<Map<String, Object>> forbidden() {
+        return fail(HttpStatus.FORBIDDEN, "Endpoint shard hanya untuk akses lokal");
+    }
+
+    private static ResponseEntity<Map<String, Object>> fail(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("status", "fail", "message", message));
+    }
+}
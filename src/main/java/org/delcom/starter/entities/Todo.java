@@ -0,0 +1,22 @@
+package org.delcom.starter.entities;
+
+// Todo disimpan sebagai record immutable dengan field primitif: tanpa Map atau wrapper per field.
+// Perubahan membuat instance baru sehingga pembaca tidak pernah melihat todo setengah diperbarui.
+//
+// priority: 0 (rendah) sampai 3 (mendesak); dueAt, createdAt, updatedAt: epoch milidetik,
+// dueAt = 0 berarti tanpa tenggat.
+//
+// version dimulai dari 1 dan naik setiap update; dipakai sebagai ETag untuk update dan hapus
+// bersyarat (If-Match) sehingga perubahan dari klien yang membaca versi lama ditolak.
+public record Todo(
+        long id,
+        String owner,
+        String title,
+        String description,
+        TodoStatus status,
+        int priority,
+        long dueAt,
+        long createdAt,
+        long updatedAt,
+        long version) {
+}
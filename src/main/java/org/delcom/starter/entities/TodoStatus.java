@@ -0,0 +1,19 @@
+package org.delcom.starter.entities;
+
+public enum TodoStatus {
+    OPEN,
+    IN_PROGRESS,
+    DONE;
+
+    private static final TodoStatus[] VALUES = values();
+
+    // null jika teks bukan nama status (tanpa membedakan huruf besar/kecil), tanpa exception
+    public static TodoStatus parse(String text) {
+        for (TodoStatus status : VALUES) {
+            if (status.name().equalsIgnoreCase(text)) {
+                return status;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package org.delcom.starter.repositories;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bitmap id todo untuk index sekunder TodoQueryIndex: satu bit per id, dibagi ke halaman
+// PAGE_WORDS x 64 bit yang dialokasikan saat pertama dipakai. Bit diubah dengan CAS per word
+// sehingga penulis untuk id berbeda tidak saling menunggu, dan pembaca membaca word tanpa lock.
+// Hanya menambah halaman yang mengambil lock (jarang: sekali per 65536 id).
+final class TodoBitmap {
+
+    static final int PAGE_WORDS = 1024;
+    private static final int PAGE_SHIFT = 16;
+
+    private volatile AtomicLongArray[] pages = new AtomicLongArray[0];
+    private final LongAdder cardinality = new LongAdder();
+
+    void set(long id) {
+        long mask = 1L << id;
+        long previous = page(id).getAndAccumulate(wordInPage(id), mask, (word, bit) -> word | bit);
+        if ((previous & mask) == 0) {
+            cardinality.increment();
+        }
+    }
+
+    void clear(long id) {
+        AtomicLongArray[] current = pages;
+        int page = (int) (id >>> PAGE_SHIFT);
+        if (page >= current.length || current[page] == null) {
+            return;
+        }
+        long mask = 1L << id;
+        long previous = current[page].getAndAccumulate(wordInPage(id), ~mask, (word, bits) -> word & bits);
+        if ((previous & mask) != 0) {
+            cardinality.decrement();
+        }
+    }
+
+    boolean get(long id) {
+        return (word(id >>> 6) & 1L << id) != 0;
+    }
+
+    // Word ke-index (id index*64 sampai index*64+63); 0 untuk halaman yang belum ada
+    long word(long index) {
+        AtomicLongArray[] current = pages;
+        int page = (int) (index >>> (PAGE_SHIFT - 6));
+        if (page >= current.length || current[page] == null) {
+            return 0;
+        }
+        return current[page].get((int) (index & (PAGE_WORDS - 1)));
+    }
+
+    long cardinality() {
+        return cardinality.sum();
+    }
+
+    long bytes() {
+        long total = 0;
+        for (AtomicLongArray page : pages) {
+            total += page == null ? 0 : PAGE_WORDS * 8L;
+        }
+        return total;
+    }
+
+    private static int wordInPage(long id) {
+        return (int) ((id >>> 6) & (PAGE_WORDS - 1));
+    }
+
+    private AtomicLongArray page(long id) {
+        int page = (int) (id >>> PAGE_SHIFT);
+        AtomicLongArray[] current = pages;
+        if (page < current.length && current[page] != null) {
+            return current[page];
+        }
+        synchronized (this) {
+            current = pages;
+            if (page >= current.length) {
+                current = Arrays.copyOf(current, Math.max(page + 1, current.length * 2));
+            }
+            if (current[page] == null) {
+                current[page] = new AtomicLongArray(PAGE_WORDS);
+            }
+            pages = current;
+            return current[page];
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.delcom.starter.repositories;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Checkpoint berkala: rotate WAL, tulis snapshot store di latar belakang, lalu hapus segmen WAL
+// yang sudah tercakup. Startup cukup memuat snapshot dan memutar log sejak checkpoint terakhir.
+// Checkpoint dilewati jika record WAL sejak checkpoint sebelumnya kurang dari app.snapshot.min-wal-records.
+// Tidak ada bean lain yang memakainya di jalur request, jadi harus dibuat saat startup walaupun
+// profil prod memakai lazy-initialization; jika tidak, jadwal checkpoint tidak pernah dimulai.
+@Component
+@Lazy(false)
+public class TodoCheckpointer implements DisposableBean {
+
+    private final TodoShards shards;
+    private final TodoWal wal;
+    private final TodoSnapshots snapshots;
+    private final long minWalRecords;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder checkpoints = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private long recordsAtLastCheckpoint;
+
+    public TodoCheckpointer(TodoShards shards, TodoWal wal, TodoSnapshots snapshots,
+            @Value("${app.snapshot.enabled:false}") boolean enabled,
+            @Value("${app.snapshot.interval-seconds:300}") long intervalSeconds,
+            @Value("${app.snapshot.min-wal-records:100000}") long minWalRecords) {
+        this.shards = shards;
+        this.wal = wal;
+        this.snapshots = snapshots;
+        this.minWalRecords = minWalRecords;
+        if (enabled && Boolean.TRUE.equals(wal.snapshot().get("enabled"))) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> Thread.ofPlatform()
+                    .name("todo-checkpoint")
+                    .daemon(true)
+                    .unstarted(task));
+            scheduler.scheduleWithFixedDelay(this::runScheduled, intervalSeconds, intervalSeconds,
+                    TimeUnit.SECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    // Exception tidak boleh keluar dari task terjadwal, karena jadwal berikutnya akan dibatalkan
+    void runScheduled() {
+        try {
+            if (wal.getRecordCount() - recordsAtLastCheckpoint < minWalRecords) {
+                skipped.increment();
+                return;
+            }
+            checkpoint();
+        } catch (IOException e) {
+            failures.increment();
+            System.err.println("> Checkpoint todo gagal: " + e.getMessage());
+        }
+    }
+
+    // Mengembalikan generation WAL yang sekarang tercakup snapshot
+    public synchronized long checkpoint() throws IOException {
+        long records = wal.getRecordCount();
+        long generation = wal.rotate();
+        snapshots.write(shards, generation);
+        wal.deleteSegments(generation);
+        recordsAtLastCheckpoint = records;
+        checkpoints.increment();
+        return generation;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", scheduler != null);
+        map.put("checkpoints", checkpoints.sum());
+        map.put("skipped", skipped.sum());
+        map.put("failures", failures.sum());
+        map.putAll(snapshots.snapshot());
+        return map;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Encoding biner satu todo, dipakai bersama oleh WAL dan snapshot:
+// id, owner/title/description (panjang int + UTF-8), status, prioritas, dueAt, createdAt, updatedAt, version.
+// Data yang ditulis sebelum todo memiliki version dibaca dengan versioned = false (version 1).
+final class TodoCodec {
+
+    private static final TodoStatus[] STATUSES = TodoStatus.values();
+
+    private TodoCodec() {
+    }
+
+    static int size(byte[] owner, byte[] title, byte[] description) {
+        return 8 + 12 + owner.length + title.length + description.length + 2 + 32;
+    }
+
+    static void write(ByteBuffer buffer, Todo todo, byte[] owner, byte[] title, byte[] description) {
+        buffer.putLong(todo.id());
+        buffer.putInt(owner.length).put(owner);
+        buffer.putInt(title.length).put(title);
+        buffer.putInt(description.length).put(description);
+        buffer.put((byte) todo.status().ordinal()).put((byte) todo.priority());
+        buffer.putLong(todo.dueAt()).putLong(todo.createdAt()).putLong(todo.updatedAt()).putLong(todo.version());
+    }
+
+    static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Buffer bisa berupa heap atau memory-mapped
+    static Todo read(ByteBuffer buffer, boolean versioned) {
+        long id = buffer.getLong();
+        String owner = readString(buffer);
+        String title = readString(buffer);
+        String description = readString(buffer);
+        TodoStatus status = STATUSES[buffer.get()];
+        int priority = buffer.get();
+        long dueAt = buffer.getLong();
+        long createdAt = buffer.getLong();
+        long updatedAt = buffer.getLong();
+        return new Todo(id, owner, title, description, status, priority, dueAt, createdAt, updatedAt,
+                versioned ? buffer.getLong() : 1);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
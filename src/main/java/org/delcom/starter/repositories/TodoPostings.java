@@ -0,0 +1,292 @@
+package org.delcom.starter.repositories;
+
+import java.util.Arrays;
+
+// Posting list immutable untuk satu term di TodoSearchIndex: nilai long terurut naik yang dibagi ke
+// blok berisi paling banyak BLOCK nilai. Nilai pertama setiap blok disimpan utuh di firsts (untuk
+// binary search), sisanya sebagai selisih dengan nilai sebelumnya dalam varint. Menambah atau
+// menghapus satu nilai hanya meng-encode ulang satu blok dan menyalin array referensi blok, sehingga
+// pembaca cukup membaca objek lama tanpa lock. Nilai yang lebih besar dari semua nilai (todo baru)
+// cukup ditambahkan ke ujung blok terakhir tanpa decode.
+final class TodoPostings {
+
+    static final int BLOCK = 128;
+
+    private final long[] firsts;
+    private final byte[][] blocks;
+    private final int[] counts;
+    private final int size;
+    private final long last;
+
+    private TodoPostings(long[] firsts, byte[][] blocks, int[] counts, int size, long last) {
+        this.firsts = firsts;
+        this.blocks = blocks;
+        this.counts = counts;
+        this.size = size;
+        this.last = last;
+    }
+
+    static TodoPostings of(long value) {
+        return new TodoPostings(new long[] { value }, new byte[][] { new byte[0] }, new int[] { 1 }, 1, value);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Perkiraan memori data posting (tanpa header objek)
+    long bytes() {
+        long total = firsts.length * 12L;
+        for (byte[] block : blocks) {
+            total += block.length;
+        }
+        return total;
+    }
+
+    // Blok terakhir yang nilai pertamanya <= value (0 jika value lebih kecil dari semua nilai)
+    private int blockFor(long value) {
+        int index = Arrays.binarySearch(firsts, value);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private long[] decode(int block) {
+        long[] values = new long[counts[block]];
+        byte[] data = blocks[block];
+        long value = firsts[block];
+        values[0] = value;
+        int position = 0;
+        for (int i = 1; i < values.length; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static int varintLength(long value) {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static int putVarint(byte[] data, int position, long value) {
+        while ((value & ~0x7fL) != 0) {
+            data[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        data[position++] = (byte) value;
+        return position;
+    }
+
+    private static byte[] encode(long[] values) {
+        int length = 0;
+        for (int i = 1; i < values.length; i++) {
+            length += varintLength(values[i] - values[i - 1]);
+        }
+        byte[] data = new byte[length];
+        int position = 0;
+        for (int i = 1; i < values.length; i++) {
+            position = putVarint(data, position, values[i] - values[i - 1]);
+        }
+        return data;
+    }
+
+    // Posting list baru yang memuat value; this jika value sudah ada
+    TodoPostings with(long value) {
+        if (value > last) {
+            return append(value);
+        }
+        int block = blockFor(value);
+        long[] values = decode(block);
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return this;
+        }
+        index = -index - 1;
+        long[] grown = new long[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, index);
+        grown[index] = value;
+        System.arraycopy(values, index, grown, index + 1, values.length - index);
+        if (grown.length <= BLOCK) {
+            return replace(block, new long[][] { grown }, size + 1);
+        }
+        // Blok penuh dipecah dua
+        int half = grown.length / 2;
+        return replace(block, new long[][] { Arrays.copyOf(grown, half),
+                Arrays.copyOfRange(grown, half, grown.length) }, size + 1);
+    }
+
+    private TodoPostings append(long value) {
+        int block = firsts.length - 1;
+        if (counts[block] == BLOCK) {
+            long[] newFirsts = Arrays.copyOf(firsts, block + 2);
+            byte[][] newBlocks = Arrays.copyOf(blocks, block + 2);
+            int[] newCounts = Arrays.copyOf(counts, block + 2);
+            newFirsts[block + 1] = value;
+            newBlocks[block + 1] = new byte[0];
+            newCounts[block + 1] = 1;
+            return new TodoPostings(newFirsts, newBlocks, newCounts, size + 1, value);
+        }
+        byte[] data = Arrays.copyOf(blocks[block], blocks[block].length + varintLength(value - last));
+        putVarint(data, blocks[block].length, value - last);
+        byte[][] newBlocks = blocks.clone();
+        int[] newCounts = counts.clone();
+        newBlocks[block] = data;
+        newCounts[block]++;
+        return new TodoPostings(firsts, newBlocks, newCounts, size + 1, value);
+    }
+
+    // Posting list baru tanpa value; this jika value tidak ada, null jika posting list menjadi kosong
+    TodoPostings without(long value) {
+        int block = blockFor(value);
+        long[] values = decode(block);
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return this;
+        }
+        if (size == 1) {
+            return null;
+        }
+        if (values.length == 1) {
+            return replace(block, new long[0][], size - 1);
+        }
+        long[] shrunk = new long[values.length - 1];
+        System.arraycopy(values, 0, shrunk, 0, index);
+        System.arraycopy(values, index + 1, shrunk, index, shrunk.length - index);
+        return replace(block, new long[][] { shrunk }, size - 1);
+    }
+
+    // Ganti satu blok dengan nol, satu atau dua blok baru
+    private TodoPostings replace(int block, long[][] replacement, int newSize) {
+        int length = firsts.length - 1 + replacement.length;
+        long[] newFirsts = new long[length];
+        byte[][] newBlocks = new byte[length][];
+        int[] newCounts = new int[length];
+        System.arraycopy(firsts, 0, newFirsts, 0, block);
+        System.arraycopy(blocks, 0, newBlocks, 0, block);
+        System.arraycopy(counts, 0, newCounts, 0, block);
+        for (int i = 0; i < replacement.length; i++) {
+            long[] values = replacement[i];
+            newFirsts[block + i] = values[0];
+            newBlocks[block + i] = encode(values);
+            newCounts[block + i] = values.length;
+        }
+        int tail = firsts.length - block - 1;
+        System.arraycopy(firsts, block + 1, newFirsts, block + replacement.length, tail);
+        System.arraycopy(blocks, block + 1, newBlocks, block + replacement.length, tail);
+        System.arraycopy(counts, block + 1, newCounts, block + replacement.length, tail);
+        TodoPostings postings = new TodoPostings(newFirsts, newBlocks, newCounts, newSize, last);
+        if (tail > 0) {
+            return postings;
+        }
+        // Blok terakhir berubah: nilai terbesar dihitung ulang
+        long[] lastBlock = postings.decode(length - 1);
+        return new TodoPostings(newFirsts, newBlocks, newCounts, newSize, lastBlock[lastBlock.length - 1]);
+    }
+
+    // Semua nilai, terurut naik
+    long[] toArray() {
+        long[] values = new long[size];
+        int position = 0;
+        for (int block = 0; block < firsts.length; block++) {
+            long[] decoded = decode(block);
+            System.arraycopy(decoded, 0, values, position, decoded.length);
+            position += decoded.length;
+        }
+        return values;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Pencarian berurutan naik: setiap blok paling banyak di-decode sekali per cursor, blok yang tidak
+    // mungkin memuat nilai yang dicari dilewati dengan binary search di firsts
+    final class Cursor {
+
+        private int block = -1;
+        private long[] values;
+        private int index;
+
+        // Nilai pertama >= from jika nilainya <= to, selain itu -1. from tidak boleh lebih kecil dari
+        // from pada panggilan sebelumnya.
+        long seek(long from, long to) {
+            if (values == null || values[values.length - 1] < from) {
+                int next = Math.max(blockFor(from), block + 1);
+                if (next == firsts.length) {
+                    return -1;
+                }
+                block = next;
+                values = decode(next);
+                index = 0;
+                if (values[values.length - 1] < from) {
+                    // Semua nilai blok ini < from; blok berikutnya dimulai setelah from
+                    if (next + 1 == firsts.length) {
+                        return -1;
+                    }
+                    block = next + 1;
+                    values = decode(block);
+                }
+            }
+            while (values[index] < from) {
+                index++;
+            }
+            return values[index] <= to ? values[index] : -1;
+        }
+    }
+
+    // Membangun posting list dari nilai yang datang terurut naik (rebuild saat startup) tanpa
+    // menyalin ulang blok untuk setiap nilai
+    static final class Builder {
+
+        private long[] firsts = new long[1];
+        private byte[][] blocks = new byte[1][];
+        private int[] counts = new int[1];
+        private int blockCount;
+        private byte[] current = new byte[16];
+        private int currentLength;
+        private int size;
+        private long previous = -1;
+
+        // Nilai harus lebih besar dari nilai sebelumnya
+        void add(long value) {
+            if (size > 0 && counts[blockCount - 1] < BLOCK) {
+                if (current.length < currentLength + 10) {
+                    current = Arrays.copyOf(current, current.length * 2);
+                }
+                currentLength = putVarint(current, currentLength, value - previous);
+                counts[blockCount - 1]++;
+            } else {
+                finishBlock();
+                if (blockCount == firsts.length) {
+                    firsts = Arrays.copyOf(firsts, blockCount * 2);
+                    blocks = Arrays.copyOf(blocks, blockCount * 2);
+                    counts = Arrays.copyOf(counts, blockCount * 2);
+                }
+                firsts[blockCount] = value;
+                counts[blockCount++] = 1;
+            }
+            previous = value;
+            size++;
+        }
+
+        private void finishBlock() {
+            if (blockCount > 0) {
+                blocks[blockCount - 1] = Arrays.copyOf(current, currentLength);
+                currentLength = 0;
+            }
+        }
+
+        // Builder minimal berisi satu nilai
+        TodoPostings build() {
+            finishBlock();
+            return new TodoPostings(Arrays.copyOf(firsts, blockCount), Arrays.copyOf(blocks, blockCount),
+                    Arrays.copyOf(counts, blockCount), size, previous);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.services.TodoChangeListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Index sekunder untuk list todo dengan filter status, prioritas dan rentang tenggat.
+//
+// - Daftar id per owner: TodoPostings (terkompresi, copy-on-write) yang diganti lewat compute di
+//   ConcurrentHashMap, sehingga pembaca selalu melihat daftar utuh tanpa lock.
+// - Bitmap per status dan per prioritas atas seluruh id (TodoBitmap), diubah per bit dengan CAS.
+//   Id dibagi semua shard, jadi bitmap per shard akan mencakup rentang id global yang sama dengan
+//   kepadatan 1/jumlah shard dan memorinya berlipat sebanyak jumlah shard (sekitar 140 MB untuk 10
+//   juta id dan 16 shard). Karena itu satu set bitmap (Bitmaps) dipakai bersama index semua shard;
+//   setiap id hanya diubah oleh shard owner-nya dan hasil bitmap tetap dicocokkan ke daftar id owner.
+// - Tenggat per owner: ConcurrentSkipListSet terurut (dueAt, id), hanya todo yang punya tenggat.
+//
+// Satu index per shard (TodoShard), berisi todo milik owner di shard itu saja (kecuali bitmap).
+// Index diperbarui sebagai TodoChangeListener di bawah lock id dari TodoService; nilai baru
+// dipasang sebelum yang lama dilepas. Query memilih satu sumber kandidat termurah (lihat plan),
+// memeriksa sisa filter ke bitmap, lalu mencocokkan todo di store sehingga hasil tetap benar
+// walau index sesaat tertinggal.
+public class TodoQueryIndex implements TodoChangeListener {
+
+    enum Plan {
+        OWNER,
+        BITMAP,
+        DUE
+    }
+
+    private static final int PRIORITIES = 4;
+
+    private final TodoStore store;
+    private final ConcurrentHashMap<String, TodoPostings> owners = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentSkipListSet<Due>> dueDates = new ConcurrentHashMap<>();
+    private final Bitmaps bitmaps;
+    private final TodoBitmap[] statuses;
+    private final TodoBitmap[] priorities;
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder[] plans = new LongAdder[Plan.values().length];
+    private volatile long rebuildMillis;
+
+    // Filter list todo. statuses dan priorities berupa bitmask (bit ordinal status / nilai prioritas),
+    // 0 berarti semua. Rentang tenggat [dueFrom, dueTo) hanya berlaku jika dueRange, dan todo tanpa
+    // tenggat tidak pernah cocok dengan rentang.
+    public record Filter(int statuses, int priorities, boolean dueRange, long dueFrom, long dueTo) {
+
+        public boolean matches(Todo todo) {
+            return (statuses == 0 || (statuses & 1 << todo.status().ordinal()) != 0)
+                    && (priorities == 0 || (priorities & 1 << todo.priority()) != 0)
+                    && (!dueRange || (todo.dueAt() != 0 && todo.dueAt() >= dueFrom && todo.dueAt() < dueTo));
+        }
+    }
+
+    // Todo cocok terurut id naik; nextCursor null jika tidak ada lagi
+    public record Page(List<Todo> items, Long nextCursor) {
+    }
+
+    record Due(long dueAt, long id) implements Comparable<Due> {
+
+        @Override
+        public int compareTo(Due other) {
+            int byDue = Long.compare(dueAt, other.dueAt);
+            return byDue != 0 ? byDue : Long.compare(id, other.id);
+        }
+    }
+
+    // Bitmap status dan prioritas atas id global, dipakai bersama index semua shard (TodoShards)
+    public static final class Bitmaps {
+
+        private final TodoBitmap[] statuses = new TodoBitmap[TodoStatus.values().length];
+        private final TodoBitmap[] priorities = new TodoBitmap[PRIORITIES];
+
+        public Bitmaps() {
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = new TodoBitmap();
+            }
+            for (int i = 0; i < priorities.length; i++) {
+                priorities[i] = new TodoBitmap();
+            }
+        }
+
+        // Jumlah todo di semua index yang memakai bitmap ini: setiap todo punya tepat satu status
+        long total() {
+            long total = 0;
+            for (TodoBitmap status : statuses) {
+                total += status.cardinality();
+            }
+            return total;
+        }
+
+        // Jumlah todo per status dan per prioritas serta memori bitmap
+        public Map<String, Object> snapshot() {
+            long bitmapBytes = 0;
+            Map<String, Object> statusCounts = new LinkedHashMap<>();
+            for (TodoStatus status : TodoStatus.values()) {
+                statusCounts.put(status.name(), statuses[status.ordinal()].cardinality());
+                bitmapBytes += statuses[status.ordinal()].bytes();
+            }
+            Map<String, Object> priorityCounts = new LinkedHashMap<>();
+            for (int i = 0; i < priorities.length; i++) {
+                priorityCounts.put(String.valueOf(i), priorities[i].cardinality());
+                bitmapBytes += priorities[i].bytes();
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("statuses", statusCounts);
+            map.put("priorities", priorityCounts);
+            map.put("bitmapBytes", bitmapBytes);
+            return map;
+        }
+    }
+
+    // Index dengan bitmap sendiri (satu shard saja)
+    public TodoQueryIndex(TodoStore store) {
+        this(store, new Bitmaps());
+    }
+
+    public TodoQueryIndex(TodoStore store, Bitmaps bitmaps) {
+        this.store = store;
+        this.bitmaps = bitmaps;
+        this.statuses = bitmaps.statuses;
+        this.priorities = bitmaps.priorities;
+        for (int i = 0; i < plans.length; i++) {
+            plans[i] = new LongAdder();
+        }
+    }
+
+    // Dipanggil TodoShards setelah TodoWal memulihkan store dan sebelum server menerima request.
+    // Todo dibaca berurutan id sehingga daftar id per owner dibangun sekali jalan lewat Builder
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<String, TodoPostings.Builder> builders = new HashMap<>();
+        long indexed = 0;
+        for (Todo todo : store.sortedTodos()) {
+            builders.computeIfAbsent(todo.owner(), owner -> new TodoPostings.Builder()).add(todo.id());
+            addAttributes(todo);
+            indexed++;
+        }
+        for (Map.Entry<String, TodoPostings.Builder> entry : builders.entrySet()) {
+            owners.put(entry.getKey(), entry.getValue().build());
+        }
+        documents.add(indexed);
+        rebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Override
+    public void onTodoChanged(Todo before, Todo after) {
+        if (before == null) {
+            owners.merge(after.owner(), TodoPostings.of(after.id()), (ids, ignored) -> ids.with(after.id()));
+            documents.increment();
+        }
+        if (after != null) {
+            addAttributes(after);
+        }
+        if (before != null) {
+            removeAttributes(before, after);
+        }
+        if (after == null) {
+            owners.computeIfPresent(before.owner(), (owner, ids) -> ids.without(before.id()));
+            documents.decrement();
+        }
+    }
+
+    private void addAttributes(Todo todo) {
+        statuses[todo.status().ordinal()].set(todo.id());
+        priorities[todo.priority()].set(todo.id());
+        if (todo.dueAt() != 0) {
+            dueDates.computeIfAbsent(todo.owner(), owner -> new ConcurrentSkipListSet<>())
+                    .add(new Due(todo.dueAt(), todo.id()));
+        }
+    }
+
+    // Atribut before yang tidak lagi dipakai after (null jika todo dihapus)
+    private void removeAttributes(Todo before, Todo after) {
+        if (after == null || after.status() != before.status()) {
+            statuses[before.status().ordinal()].clear(before.id());
+        }
+        if (after == null || after.priority() != before.priority()) {
+            priorities[before.priority()].clear(before.id());
+        }
+        if (before.dueAt() != 0 && (after == null || after.dueAt() != before.dueAt())) {
+            dueDates.get(before.owner()).remove(new Due(before.dueAt(), before.id()));
+        }
+    }
+
+    // Halaman todo milik owner dengan id > afterId yang cocok dengan filter
+    public Page query(String owner, Filter filter, long afterId, int limit) {
+        TodoPostings ids = owners.get(owner);
+        if (ids == null) {
+            return new Page(List.of(), null);
+        }
+        Plan plan = plan(owner, ids, filter, afterId);
+        plans[plan.ordinal()].increment();
+        return switch (plan) {
+            case OWNER -> scanOwner(owner, ids, filter, afterId, limit);
+            case BITMAP -> scanBitmaps(owner, ids, filter, afterId, limit);
+            case DUE -> scanDue(owner, filter, afterId, limit);
+        };
+    }
+
+    // Perkiraan jumlah kandidat yang diperiksa setiap sumber:
+    // - OWNER: semua id milik owner.
+    // - BITMAP: satu word per 64 id sisa, ditambah perkiraan id yang lolos bitmap (proporsi
+    //   kardinalitas bitmap terhadap seluruh todo di semua shard); hanya jika ada filter status atau
+    //   prioritas.
+    // - DUE: isi rentang tenggat owner, dihitung langsung tetapi berhenti di biaya sumber lain.
+    Plan plan(String owner, TodoPostings ids, Filter filter, long afterId) {
+        Plan best = Plan.OWNER;
+        long cost = ids.size();
+        if (filter.statuses() != 0 || filter.priorities() != 0) {
+            double total = Math.max(1, bitmaps.total());
+            double fraction = fraction(statuses, filter.statuses(), total) * fraction(priorities, filter.priorities(),
+                    total);
+            long span = Math.max(0, store.lastId() - afterId);
+            long bitmapCost = span / 64 + (long) (span * fraction);
+            if (bitmapCost < cost) {
+                best = Plan.BITMAP;
+                cost = bitmapCost;
+            }
+        }
+        if (filter.dueRange()) {
+            NavigableSet<Due> range = dueRange(owner, filter);
+            long count = 0;
+            for (Due ignored : range) {
+                if (++count >= cost) {
+                    return best;
+                }
+            }
+            best = Plan.DUE;
+        }
+        return best;
+    }
+
+    private static double fraction(TodoBitmap[] bitmaps, int mask, double total) {
+        if (mask == 0) {
+            return 1;
+        }
+        long count = 0;
+        for (int i = 0; i < bitmaps.length; i++) {
+            if ((mask & 1 << i) != 0) {
+                count += bitmaps[i].cardinality();
+            }
+        }
+        return Math.min(1, count / total);
+    }
+
+    private NavigableSet<Due> dueRange(String owner, Filter filter) {
+        ConcurrentSkipListSet<Due> dates = dueDates.get(owner);
+        if (dates == null) {
+            return new ConcurrentSkipListSet<>();
+        }
+        return dates.subSet(new Due(filter.dueFrom(), Long.MIN_VALUE), new Due(filter.dueTo(), Long.MIN_VALUE));
+    }
+
+    // Apakah id ada di salah satu bitmap yang dipilih mask; selalu true jika mask 0
+    private static boolean selected(TodoBitmap[] bitmaps, int mask, long id) {
+        if (mask == 0) {
+            return true;
+        }
+        for (int i = 0; i < bitmaps.length; i++) {
+            if ((mask & 1 << i) != 0 && bitmaps[i].get(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // OR word ke-index dari bitmap yang dipilih mask; semua bit jika mask 0
+    private static long word(TodoBitmap[] bitmaps, int mask, long index) {
+        if (mask == 0) {
+            return -1L;
+        }
+        long word = 0;
+        for (int i = 0; i < bitmaps.length; i++) {
+            if ((mask & 1 << i) != 0) {
+                word |= bitmaps[i].word(index);
+            }
+        }
+        return word;
+    }
+
+    // Id owner berurutan naik; status dan prioritas diperiksa ke bitmap sebelum todo dibaca
+    private Page scanOwner(String owner, TodoPostings ids, Filter filter, long afterId, int limit) {
+        PageCollector page = new PageCollector(owner, filter, limit);
+        TodoPostings.Cursor cursor = ids.cursor();
+        long id = cursor.seek(afterId + 1, Long.MAX_VALUE);
+        while (id >= 0 && !page.full()) {
+            if (selected(statuses, filter.statuses(), id) && selected(priorities, filter.priorities(), id)) {
+                page.offer(id);
+            }
+            id = cursor.seek(id + 1, Long.MAX_VALUE);
+        }
+        return page.finish(id >= 0);
+    }
+
+    // AND word per word dari bitmap status dan prioritas; kepemilikan diperiksa dengan cursor di
+    // daftar id owner (keduanya naik)
+    private Page scanBitmaps(String owner, TodoPostings ids, Filter filter, long afterId, int limit) {
+        PageCollector page = new PageCollector(owner, filter, limit);
+        TodoPostings.Cursor cursor = ids.cursor();
+        long lastWord = store.lastId() >>> 6;
+        long index = (afterId + 1) >>> 6;
+        // Bit id <= afterId di word pertama diabaikan
+        long word = word(statuses, filter.statuses(), index) & word(priorities, filter.priorities(), index)
+                & (-1L << ((afterId + 1) & 63));
+        while (!page.full()) {
+            while (word != 0 && !page.full()) {
+                long id = index << 6 | Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (cursor.seek(id, id) >= 0) {
+                    page.offer(id);
+                }
+            }
+            if (++index > lastWord) {
+                break;
+            }
+            word = word(statuses, filter.statuses(), index) & word(priorities, filter.priorities(), index);
+        }
+        return page.finish(page.full());
+    }
+
+    // Isi rentang tenggat owner yang lolos bitmap, diurutkan ke id
+    private Page scanDue(String owner, Filter filter, long afterId, int limit) {
+        List<Long> candidates = new ArrayList<>();
+        for (Due due : dueRange(owner, filter)) {
+            if (due.id() > afterId && selected(statuses, filter.statuses(), due.id())
+                    && selected(priorities, filter.priorities(), due.id())) {
+                candidates.add(due.id());
+            }
+        }
+        candidates.sort(null);
+        PageCollector page = new PageCollector(owner, filter, limit);
+        int next = 0;
+        while (next < candidates.size() && !page.full()) {
+            page.offer(candidates.get(next++));
+        }
+        return page.finish(next < candidates.size());
+    }
+
+    // Mengumpulkan todo yang masih cocok di store sampai limit
+    private final class PageCollector {
+
+        private final String owner;
+        private final Filter filter;
+        private final int limit;
+        private final List<Todo> items = new ArrayList<>();
+        private long lastId;
+
+        PageCollector(String owner, Filter filter, int limit) {
+            this.owner = owner;
+            this.filter = filter;
+            this.limit = limit;
+        }
+
+        boolean full() {
+            return items.size() == limit;
+        }
+
+        void offer(long id) {
+            Todo todo = store.get(id);
+            if (todo != null && todo.owner().equals(owner) && filter.matches(todo)) {
+                items.add(todo);
+                lastId = id;
+            }
+        }
+
+        Page finish(boolean more) {
+            return new Page(items, more ? lastId : null);
+        }
+    }
+
+    // Ukuran index dan berapa kali setiap sumber kandidat dipilih planner; statistik bitmap ada di
+    // Bitmaps.snapshot karena dibagi dengan shard lain
+    public Map<String, Object> snapshot() {
+        long dueEntries = 0;
+        for (ConcurrentSkipListSet<Due> dates : dueDates.values()) {
+            dueEntries += dates.size();
+        }
+        Map<String, Object> planCounts = new LinkedHashMap<>();
+        for (Plan plan : Plan.values()) {
+            planCounts.put(plan.name().toLowerCase(Locale.ROOT), plans[plan.ordinal()].sum());
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("documents", documents.sum());
+        map.put("owners", (long) owners.size());
+        map.put("dueEntries", dueEntries);
+        map.put("plans", planCounts);
+        map.put("rebuildMillis", rebuildMillis);
+        return map;
+    }
+}
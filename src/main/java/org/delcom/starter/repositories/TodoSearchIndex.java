@@ -0,0 +1,466 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.services.TodoChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Inverted index full-text untuk judul dan deskripsi todo.
+//
+// Setiap owner punya kamus sendiri berupa ConcurrentSkipListMap (terurut, untuk pencarian awalan)
+// dari term ke TodoPostings yang immutable. Pencarian selalu dibatasi ke todo milik pengguna,
+// sehingga query hanya menyentuh kamus dan posting pengguna itu, bukan posting semua pengguna lalu
+// disaring. Nilai posting adalah (id << 2) | field, dengan field 1 = judul dan 2 = deskripsi,
+// sehingga skor bisa memberi bobot lebih ke judul tanpa menyimpan data lain. Term kosong memuat
+// semua todo pengguna; ukurannya menjadi jumlah dokumen untuk idf.
+//
+// Satu index per shard (TodoShard), berisi todo milik owner di shard itu saja.
+//
+// Index diperbarui incremental sebagai TodoChangeListener (di bawah lock id dari TodoService,
+// sehingga perubahan satu todo diterapkan berurutan): hanya term yang berubah yang disentuh, masing-
+// masing dengan compute yang mengganti posting list lama dengan salinan baru. Pembaca tidak pernah
+// mengambil lock; paling buruk melihat perubahan satu todo yang baru sebagian diterapkan, dan
+// TodoService tetap memeriksa todo di store sebelum dikembalikan.
+//
+// Query: kata-kata dipisah spasi dicari dengan AND, "OR" memisahkan kelompok, akhiran * berarti
+// awalan. Skor = jumlah idf term x bobot field (judul 2, deskripsi 1, keduanya 3).
+public class TodoSearchIndex implements TodoChangeListener {
+
+    static final int MAX_TERM_LENGTH = 32;
+    static final int MAX_QUERY_TERMS = 16;
+    static final int MIN_PREFIX_LENGTH = 2;
+    // Jumlah term maksimum yang digabung untuk satu kata awalan
+    static final int MAX_PREFIX_EXPANSION = 64;
+    static final int TITLE = 1;
+    static final int DESCRIPTION = 2;
+    // Term yang tidak pernah dihasilkan tokenizer
+    private static final String ALL = "";
+    private static final SearchResult NO_RESULT = new SearchResult(new long[0], 0);
+
+    private final TodoStore store;
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<String, TodoPostings>> owners =
+            new ConcurrentHashMap<>();
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private volatile long rebuildMillis;
+
+    // Id todo terurut skor menurun dan jumlah seluruh todo yang cocok
+    public record SearchResult(long[] ids, int matched) {
+    }
+
+    record QueryTerm(String text, boolean prefix) {
+    }
+
+    public TodoSearchIndex(TodoStore store) {
+        this.store = store;
+    }
+
+    // Dipanggil TodoShards setelah TodoWal memulihkan store dan sebelum server menerima request.
+    // Todo dibaca berurutan id lalu dikelompokkan per owner, sehingga nilai setiap term datang terurut
+    // naik dan posting list dibangun sekali jalan lewat TodoPostings.Builder, bukan disalin ulang per
+    // todo. Builder dibuat per owner agar map yang sedang diisi tetap kecil.
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<String, List<Todo>> owners = new HashMap<>();
+        for (Todo todo : store.sortedTodos()) {
+            owners.computeIfAbsent(todo.owner(), owner -> new ArrayList<>()).add(todo);
+        }
+        long indexed = 0;
+        for (Map.Entry<String, List<Todo>> owned : owners.entrySet()) {
+            Map<String, TodoPostings.Builder> builders = new HashMap<>();
+            for (Todo todo : owned.getValue()) {
+                for (Map.Entry<String, Integer> entry : fields(todo).entrySet()) {
+                    builders.computeIfAbsent(entry.getKey(), term -> new TodoPostings.Builder())
+                            .add(todo.id() << 2 | entry.getValue());
+                }
+            }
+            ConcurrentSkipListMap<String, TodoPostings> terms = dictionary(owned.getKey());
+            for (Map.Entry<String, TodoPostings.Builder> entry : builders.entrySet()) {
+                terms.put(entry.getKey(), entry.getValue().build());
+            }
+            indexed += owned.getValue().size();
+        }
+        documents.add(indexed);
+        rebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // Posting baru ditambahkan sebelum yang lama dihapus: term yang hanya berpindah field tidak pernah
+    // hilang sesaat dari pandangan pembaca (sesaat bisa ada dua nilai untuk id yang sama). Owner todo
+    // tidak pernah berubah; kamus owner tetap ada meski semua todonya dihapus.
+    @Override
+    public void onTodoChanged(Todo before, Todo after) {
+        Map<String, Integer> removed = before == null ? Map.of() : fields(before);
+        Map<String, Integer> added = after == null ? Map.of() : fields(after);
+        Todo current = before == null ? after : before;
+        long id = current.id();
+        ConcurrentSkipListMap<String, TodoPostings> terms = dictionary(current.owner());
+        for (Map.Entry<String, Integer> entry : added.entrySet()) {
+            if (!entry.getValue().equals(removed.get(entry.getKey()))) {
+                long value = id << 2 | entry.getValue();
+                terms.merge(entry.getKey(), TodoPostings.of(value), (postings, ignored) -> postings.with(value));
+            }
+        }
+        for (Map.Entry<String, Integer> entry : removed.entrySet()) {
+            if (!entry.getValue().equals(added.get(entry.getKey()))) {
+                long value = id << 2 | entry.getValue();
+                terms.computeIfPresent(entry.getKey(), (term, postings) -> postings.without(value));
+            }
+        }
+        if (before == null) {
+            documents.increment();
+        } else if (after == null) {
+            documents.decrement();
+        }
+        updates.increment();
+    }
+
+    // Term beserta field tempat term itu muncul, ditambah term kosong untuk daftar todo owner (field 0)
+    private static Map<String, Integer> fields(Todo todo) {
+        Map<String, Integer> fields = new HashMap<>();
+        for (String term : tokens(todo.title())) {
+            fields.merge(term, TITLE, (a, b) -> a | b);
+        }
+        for (String term : tokens(todo.description())) {
+            fields.merge(term, DESCRIPTION, (a, b) -> a | b);
+        }
+        fields.put(ALL, 0);
+        return fields;
+    }
+
+    private ConcurrentSkipListMap<String, TodoPostings> dictionary(String owner) {
+        return owners.computeIfAbsent(owner, key -> new ConcurrentSkipListMap<>());
+    }
+
+    // Huruf dan angka berturut-turut dalam huruf kecil; term dipotong MAX_TERM_LENGTH karakter
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (term.length() < MAX_TERM_LENGTH) {
+                    term.append(Character.toLowerCase(c));
+                }
+            } else if (!term.isEmpty()) {
+                tokens.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    // Pesan kesalahan untuk klien, atau null jika query valid
+    public static String validate(String query) {
+        try {
+            parse(query);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    // Kelompok OR yang masing-masing berisi term AND
+    static List<List<QueryTerm>> parse(String query) {
+        List<List<QueryTerm>> groups = new ArrayList<>();
+        List<QueryTerm> group = new ArrayList<>();
+        int count = 0;
+        for (String word : query == null ? new String[0] : query.trim().split("\\s+")) {
+            if (word.equals("OR")) {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                    group = new ArrayList<>();
+                }
+                continue;
+            }
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = tokens(word);
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean last = prefix && i == tokens.size() - 1;
+                if (last && tokens.get(i).length() < MIN_PREFIX_LENGTH) {
+                    throw new IllegalArgumentException("Pencarian awalan (*) minimal " + MIN_PREFIX_LENGTH
+                            + " karakter");
+                }
+                group.add(new QueryTerm(tokens.get(i), last));
+                count++;
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Kata kunci pencarian wajib diisi");
+        }
+        if (count > MAX_QUERY_TERMS) {
+            throw new IllegalArgumentException("Kata kunci pencarian maksimal " + MAX_QUERY_TERMS + " kata");
+        }
+        return groups;
+    }
+
+    // Query harus sudah lolos validate; limit > 0
+    public SearchResult search(String owner, String query, int limit) {
+        queries.increment();
+        ConcurrentSkipListMap<String, TodoPostings> terms = owners.get(owner);
+        TodoPostings owned = terms == null ? null : terms.get(ALL);
+        if (owned == null) {
+            return NO_RESULT;
+        }
+        // idf dihitung terhadap todo milik pengguna itu sendiri
+        double total = owned.size();
+        Hits result = Hits.EMPTY;
+        for (List<QueryTerm> group : parse(query)) {
+            result = Hits.union(result, evaluate(terms, group, total), false);
+        }
+        return new SearchResult(result.top(limit), result.size);
+    }
+
+    // Satu kelompok AND: term biasa terkecil di-decode menjadi kandidat, term lain (termasuk semua
+    // ekspansi term awalan) hanya menyaring kandidat itu. Kelompok yang hanya berisi awalan memakai
+    // gabungan ekspansi awalan pertama sebagai kandidat.
+    private static Hits evaluate(ConcurrentSkipListMap<String, TodoPostings> terms, List<QueryTerm> group,
+            double total) {
+        List<TodoPostings> postings = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        List<List<TodoPostings>> prefixes = new ArrayList<>();
+        for (QueryTerm term : group) {
+            if (term.prefix()) {
+                prefixes.add(expand(terms, term.text()));
+            } else {
+                TodoPostings found = terms.get(term.text());
+                if (found == null) {
+                    return Hits.EMPTY;
+                }
+                postings.add(found);
+                weights.add(idf(found, total));
+            }
+        }
+        Hits result;
+        if (postings.isEmpty()) {
+            result = Hits.any(prefixes.get(0), idfs(prefixes.get(0), total));
+            prefixes = prefixes.subList(1, prefixes.size());
+        } else {
+            int smallest = 0;
+            for (int i = 1; i < postings.size(); i++) {
+                if (postings.get(i).size() < postings.get(smallest).size()) {
+                    smallest = i;
+                }
+            }
+            result = Hits.of(postings.get(smallest), weights.get(smallest));
+            for (int i = 0; i < postings.size(); i++) {
+                if (i != smallest) {
+                    result = result.probe(postings.get(i), weights.get(i));
+                }
+            }
+        }
+        for (List<TodoPostings> expansions : prefixes) {
+            result = result.probeAny(expansions, idfs(expansions, total));
+        }
+        return result;
+    }
+
+    private static List<TodoPostings> expand(ConcurrentSkipListMap<String, TodoPostings> terms, String prefix) {
+        List<TodoPostings> expansions = new ArrayList<>();
+        for (TodoPostings postings : terms.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            if (expansions.size() == MAX_PREFIX_EXPANSION) {
+                break;
+            }
+            expansions.add(postings);
+        }
+        return expansions;
+    }
+
+    private static double[] idfs(List<TodoPostings> postings, double total) {
+        double[] idfs = new double[postings.size()];
+        for (int i = 0; i < idfs.length; i++) {
+            idfs[i] = idf(postings.get(i), total);
+        }
+        return idfs;
+    }
+
+    private static double idf(TodoPostings postings, double total) {
+        return Math.log(1 + total / postings.size());
+    }
+
+    private static float weight(long value, double idf) {
+        int field = (int) (value & 3);
+        return (float) (idf * (((field & TITLE) != 0 ? 2 : 0) + ((field & DESCRIPTION) != 0 ? 1 : 0)));
+    }
+
+    // Id terurut naik beserta skornya
+    static final class Hits {
+
+        static final Hits EMPTY = new Hits(new long[0], new float[0], 0);
+
+        final long[] ids;
+        final float[] scores;
+        final int size;
+
+        Hits(long[] ids, float[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        // Dua nilai untuk id yang sama (update yang sedang berjalan) digabung dengan bobot terbesar
+        static Hits of(TodoPostings postings, double idf) {
+            long[] values = postings.toArray();
+            long[] ids = new long[values.length];
+            float[] scores = new float[values.length];
+            int size = 0;
+            for (long value : values) {
+                float score = weight(value, idf);
+                if (size > 0 && ids[size - 1] == value >>> 2) {
+                    scores[size - 1] = Math.max(scores[size - 1], score);
+                } else {
+                    ids[size] = value >>> 2;
+                    scores[size++] = score;
+                }
+            }
+            return new Hits(ids, scores, size);
+        }
+
+        // Hanya id yang juga ada di postings, skornya ditambah bobot term itu
+        Hits probe(TodoPostings postings, double idf) {
+            return probeAny(List.of(postings), new double[] { idf });
+        }
+
+        // Hanya id yang ada di salah satu postings, skornya ditambah bobot terbesar di antaranya. Posting
+        // list yang lebih kecil dari kandidat di-decode lalu dicari di kandidat dengan binary search;
+        // yang lebih besar diperiksa per kandidat dengan cursor yang hanya men-decode blok yang dilewati.
+        Hits probeAny(List<TodoPostings> postings, double[] idfs) {
+            float[] best = new float[size];
+            Arrays.fill(best, -1);
+            for (int p = 0; p < idfs.length; p++) {
+                TodoPostings list = postings.get(p);
+                if (list.size() < size) {
+                    int from = 0;
+                    for (long value : list.toArray()) {
+                        // from tidak dimajukan melewati id yang cocok: id yang sama bisa punya dua nilai
+                        int index = Arrays.binarySearch(ids, from, size, value >>> 2);
+                        if (index >= 0) {
+                            best[index] = Math.max(best[index], weight(value, idfs[p]));
+                            from = index;
+                        } else {
+                            from = -index - 1;
+                        }
+                    }
+                } else {
+                    TodoPostings.Cursor cursor = list.cursor();
+                    for (int i = 0; i < size; i++) {
+                        long value = cursor.seek(ids[i] << 2, ids[i] << 2 | 3);
+                        if (value >= 0) {
+                            best[i] = Math.max(best[i], weight(value, idfs[p]));
+                        }
+                    }
+                }
+            }
+            long[] keptIds = new long[size];
+            float[] keptScores = new float[size];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (best[i] >= 0) {
+                    keptIds[kept] = ids[i];
+                    keptScores[kept++] = scores[i] + best[i];
+                }
+            }
+            return new Hits(keptIds, keptScores, kept);
+        }
+
+        // Gabungan semua postings dengan skor terbesar per id. Digabung berpasangan sehingga setiap nilai
+        // hanya disalin log2(jumlah postings) kali.
+        static Hits any(List<TodoPostings> postings, double[] idfs) {
+            List<Hits> level = new ArrayList<>();
+            for (int i = 0; i < idfs.length; i++) {
+                level.add(of(postings.get(i), idfs[i]));
+            }
+            while (level.size() > 1) {
+                List<Hits> merged = new ArrayList<>();
+                for (int i = 0; i < level.size(); i += 2) {
+                    merged.add(i + 1 < level.size() ? union(level.get(i), level.get(i + 1), true) : level.get(i));
+                }
+                level = merged;
+            }
+            return level.isEmpty() ? EMPTY : level.get(0);
+        }
+
+        // max: skor id yang ada di keduanya diambil yang terbesar (ekspansi awalan), selain itu dijumlah
+        static Hits union(Hits a, Hits b, boolean max) {
+            long[] ids = new long[a.size + b.size];
+            float[] scores = new float[a.size + b.size];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.size || j < b.size) {
+                if (j == b.size || (i < a.size && a.ids[i] < b.ids[j])) {
+                    ids[size] = a.ids[i];
+                    scores[size++] = a.scores[i++];
+                } else if (i == a.size || a.ids[i] > b.ids[j]) {
+                    ids[size] = b.ids[j];
+                    scores[size++] = b.scores[j++];
+                } else {
+                    ids[size] = a.ids[i];
+                    scores[size++] = max ? Math.max(a.scores[i++], b.scores[j++]) : a.scores[i++] + b.scores[j++];
+                }
+            }
+            return new Hits(ids, scores, size);
+        }
+
+        // limit id dengan skor tertinggi (seri: id lebih baru dulu) memakai min-heap berukuran limit
+        long[] top(int limit) {
+            Comparator<Integer> order = (x, y) -> scores[x] != scores[y]
+                    ? Float.compare(scores[x], scores[y])
+                    : Long.compare(ids[x], ids[y]);
+            PriorityQueue<Integer> heap = new PriorityQueue<>(order);
+            for (int i = 0; i < size; i++) {
+                // Heap penuh: hanya id yang mengalahkan posisi terbawah yang masuk
+                if (heap.size() < limit) {
+                    heap.add(i);
+                } else if (order.compare(i, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(i);
+                }
+            }
+            long[] top = new long[heap.size()];
+            for (int i = top.length - 1; i >= 0; i--) {
+                top[i] = ids[heap.poll()];
+            }
+            return top;
+        }
+    }
+
+    // Ukuran kamus (pasangan owner dan term) dan posting dihitung dengan menelusuri seluruh kamus
+    public Map<String, Object> snapshot() {
+        long termCount = 0;
+        long postingCount = 0;
+        long bytes = 0;
+        for (ConcurrentSkipListMap<String, TodoPostings> terms : owners.values()) {
+            for (Map.Entry<String, TodoPostings> entry : terms.entrySet()) {
+                if (!entry.getKey().equals(ALL)) {
+                    termCount++;
+                    postingCount += entry.getValue().size();
+                    bytes += entry.getValue().bytes();
+                }
+            }
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("documents", documents.sum());
+        map.put("terms", termCount);
+        map.put("postings", postingCount);
+        map.put("postingBytes", bytes);
+        map.put("updates", updates.sum());
+        map.put("queries", queries.sum());
+        map.put("rebuildMillis", rebuildMillis);
+        return map;
+    }
+}
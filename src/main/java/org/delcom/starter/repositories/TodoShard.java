@@ -0,0 +1,185 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Satu shard todo (lihat TodoShards): store, index pencarian, index query dan lock per id sendiri,
+// sehingga owner yang sibuk di shard lain tidak berebut stripe store, lock maupun index dengan
+// owner di shard ini.
+//
+// Kuota memori berupa perkiraan byte todo di shard (footprint); create ditolak jika kuota penuh.
+// Kuota ini lunak: dua create bersamaan bisa sama-sama lolos dan sedikit melewatinya. Semua
+// perubahan store shard harus lewat method di sini agar hitungan byte tetap sesuai isi store.
+public final class TodoShard {
+
+    private static final int LOCK_STRIPES = 64;
+    // Perkiraan byte per todo di luar isi judul dan deskripsi: objek Todo, dua String dan slot tabel store
+    static final long TODO_OVERHEAD = 160;
+
+    private final int index;
+    private final TodoStore store;
+    private final TodoSearchIndex searchIndex;
+    private final TodoQueryIndex queryIndex;
+    private final long maxBytes;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final Latency writes = new Latency();
+    private final Latency reads = new Latency();
+
+    // Jumlah dan durasi operasi, seperti RouteMetrics
+    private static final class Latency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+        void record(long startNanos) {
+            long duration = System.nanoTime() - startNanos;
+            count.increment();
+            totalNanos.add(duration);
+            maxNanos.accumulate(duration);
+        }
+
+        void put(Map<String, Object> map, String name) {
+            long n = count.sum();
+            map.put(name, n);
+            map.put(name + "AvgLatencyMicros", totalNanos.sum() / Math.max(n, 1L) / 1_000);
+            map.put(name + "MaxLatencyMicros", maxNanos.get() / 1_000);
+        }
+    }
+
+    // ids dibagi semua shard; maxBytes 0 berarti tanpa kuota
+    TodoShard(int index, AtomicLong ids, long maxBytes) {
+        this(index, ids, new TodoQueryIndex.Bitmaps(), maxBytes);
+    }
+
+    // ids dan bitmaps dibagi semua shard
+    TodoShard(int index, AtomicLong ids, TodoQueryIndex.Bitmaps bitmaps, long maxBytes) {
+        this.index = index;
+        this.store = new TodoStore(ids);
+        this.searchIndex = new TodoSearchIndex(store);
+        this.queryIndex = new TodoQueryIndex(store, bitmaps);
+        this.maxBytes = maxBytes;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public TodoStore store() {
+        return store;
+    }
+
+    public TodoSearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    public TodoQueryIndex queryIndex() {
+        return queryIndex;
+    }
+
+    // Lock perubahan per id (di-stripe) yang dipegang TodoService selama compare-and-set dan listener
+    public Object lockFor(long id) {
+        return locks[(int) id & (LOCK_STRIPES - 1)];
+    }
+
+    public Todo get(long id) {
+        return store.get(id);
+    }
+
+    // Todo baru; false tanpa mengubah store jika kuota byte shard sudah penuh
+    public boolean insert(Todo todo) {
+        long size = footprint(todo);
+        if (maxBytes > 0 && bytes.sum() + size > maxBytes) {
+            rejected.increment();
+            return false;
+        }
+        store.put(todo);
+        bytes.add(size);
+        return true;
+    }
+
+    // Sisipkan atau ganti tanpa memeriksa kuota (recovery dan import); mengembalikan todo sebelumnya
+    public Todo put(Todo todo) {
+        Todo previous = store.put(todo);
+        bytes.add(footprint(todo) - (previous == null ? 0 : footprint(previous)));
+        return previous;
+    }
+
+    // Compare-and-set seperti TodoStore.replace
+    public boolean replace(long id, Todo expected, Todo update) {
+        if (!store.replace(id, expected, update)) {
+            return false;
+        }
+        bytes.add(footprint(update) - footprint(expected));
+        return true;
+    }
+
+    // Compare-and-set seperti TodoStore.remove(id, expected)
+    public boolean remove(long id, Todo expected) {
+        if (!store.remove(id, expected)) {
+            return false;
+        }
+        bytes.add(-footprint(expected));
+        return true;
+    }
+
+    public Todo remove(long id) {
+        Todo removed = store.remove(id);
+        if (removed != null) {
+            bytes.add(-footprint(removed));
+        }
+        return removed;
+    }
+
+    // Perbarui index shard; dipanggil TodoService di bawah lockFor(id) setelah store berubah
+    public void indexChange(Todo before, Todo after) {
+        searchIndex.onTodoChanged(before, after);
+        queryIndex.onTodoChanged(before, after);
+    }
+
+    void rebuildIndexes() {
+        searchIndex.rebuild();
+        queryIndex.rebuild();
+    }
+
+    // Durasi satu perubahan sejak startNanos, termasuk menunggu lock id
+    public void recordWrite(long startNanos) {
+        writes.record(startNanos);
+    }
+
+    // Durasi satu list, query atau pencarian sejak startNanos
+    public void recordRead(long startNanos) {
+        reads.record(startNanos);
+    }
+
+    static long footprint(Todo todo) {
+        return TODO_OVERHEAD + todo.title().length() + todo.description().length();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    // Ukuran, kuota dan latensi shard
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("shard", index);
+        map.put("todos", store.size());
+        map.put("bytes", bytes.sum());
+        map.put("maxBytes", maxBytes);
+        map.put("quotaRejected", rejected.sum());
+        writes.put(map, "writes");
+        reads.put(map, "reads");
+        return map;
+    }
+}
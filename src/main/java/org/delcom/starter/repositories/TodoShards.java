@@ -0,0 +1,152 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Todo dibagi ke app.shards.count shard independen (TodoShard) menurut owner, yaitu subject JWT,
+// agar pengguna yang sangat aktif hanya membebani lock, store dan index shard-nya sendiri. Setiap
+// shard punya kuota byte app.shards.max-bytes.
+//
+// Routing O(1): hash owner (String.hashCode yang di-cache String, dicampur seperti TodoStore.mix)
+// dipotong ke jumlah shard yang dibulatkan ke pangkat dua. Semua todo satu owner selalu di shard
+// yang sama, sehingga jumlah shard boleh diubah antar restart: recovery mengarahkan ulang setiap todo.
+// Id tetap satu urutan untuk seluruh node sehingga format WAL, snapshot dan URL /todos/{id} tidak
+// berubah; operasi yang hanya punya id (replay DELETE dari WAL, import) memeriksa setiap shard.
+//
+// Index setiap shard dibangun ulang paralel setelah TodoWal memulihkan isi store, sebelum server
+// menerima request.
+@Component
+@Lazy(false)
+public class TodoShards implements SmartInitializingSingleton {
+
+    private final TodoShard[] shards;
+    private final int mask;
+    private final AtomicLong ids = new AtomicLong();
+    // Bitmap status dan prioritas TodoQueryIndex, seperti ids dibagi semua shard
+    private final TodoQueryIndex.Bitmaps queryBitmaps = new TodoQueryIndex.Bitmaps();
+    private volatile long rebuildMillis;
+
+    public TodoShards(@Value("${app.shards.count:16}") int count,
+            @Value("${app.shards.max-bytes:0}") long maxBytes) {
+        int size = count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+        this.shards = new TodoShard[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            shards[i] = new TodoShard(i, ids, queryBitmaps, maxBytes);
+        }
+    }
+
+    public TodoShard shardFor(String owner) {
+        return shards[(int) TodoStore.mix(owner.hashCode()) & mask];
+    }
+
+    public TodoShard shard(int index) {
+        return shards[index];
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public TodoQueryIndex.Bitmaps queryBitmaps() {
+        return queryBitmaps;
+    }
+
+    // Id baru yang belum pernah dipakai di shard mana pun
+    public long nextId() {
+        return ids.incrementAndGet();
+    }
+
+    // Id terbesar yang pernah dibuat atau disimpan
+    public long lastId() {
+        return ids.get();
+    }
+
+    // Lihat TodoStore.reserveIds
+    public void reserveIds(long id) {
+        ids.accumulateAndGet(id, Math::max);
+    }
+
+    public long size() {
+        long size = 0;
+        for (TodoShard shard : shards) {
+            size += shard.store().size();
+        }
+        return size;
+    }
+
+    // Todo dengan id di shard mana pun; memeriksa setiap shard, jadi hanya untuk recovery dan import
+    public Todo get(long id) {
+        for (TodoShard shard : shards) {
+            Todo todo = shard.get(id);
+            if (todo != null) {
+                return todo;
+            }
+        }
+        return null;
+    }
+
+    // Sisipkan atau ganti di shard owner, tanpa kuota dan tanpa index (recovery)
+    public Todo put(Todo todo) {
+        return shardFor(todo.owner()).put(todo);
+    }
+
+    // Hapus id dari shard mana pun (replay DELETE lama tanpa owner dari WAL)
+    public Todo remove(long id) {
+        for (TodoShard shard : shards) {
+            Todo removed = shard.remove(id);
+            if (removed != null) {
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    // Hapus id dari shard owner hanya jika todo itu milik owner (replay DELETE_OWNED dari WAL)
+    public Todo remove(long id, String owner) {
+        TodoShard shard = shardFor(owner);
+        Todo current = shard.get(id);
+        if (current == null || !current.owner().equals(owner)) {
+            return null;
+        }
+        return shard.remove(id);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        Arrays.stream(shards).parallel().forEach(TodoShard::rebuildIndexes);
+        rebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("> Indeks todo: " + size() + " todo di " + shards.length + " shard dalam "
+                + rebuildMillis + " ms");
+    }
+
+    // Total dan metrik per shard (ukuran, kuota, latensi tulis dan baca)
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> perShard = new ArrayList<>(shards.length);
+        long bytes = 0;
+        for (TodoShard shard : shards) {
+            perShard.add(shard.snapshot());
+            bytes += shard.bytes();
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", shards.length);
+        map.put("todos", size());
+        map.put("bytes", bytes);
+        map.put("lastId", ids.get());
+        map.put("rebuildMillis", rebuildMillis);
+        map.put("shards", perShard);
+        return map;
+    }
+}
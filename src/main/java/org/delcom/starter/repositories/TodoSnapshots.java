@@ -0,0 +1,272 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+// Snapshot biner isi semua shard TodoShards, atau satu shard untuk dipindah ke node lain (export).
+//
+// Format: header [magic][versi][generation WAL yang tercakup][lastId][jumlah todo][jumlah blok],
+// lalu blok-blok [panjang int][jumlah todo int][CRC32C int][todo...] dengan encoding TodoCodec.
+// Versi 1 (todo tanpa version) masih bisa dimuat; snapshot baru selalu ditulis dengan VERSION.
+// Blok berukuran ~1 MB dan saling independen, sehingga saat startup setiap blok di-map dengan
+// FileChannel.map dan di-decode paralel langsung ke store tanpa menyalin file ke heap.
+//
+// Snapshot ditulis ke file .tmp lalu di-rename atomik setelah fsync: file lama tetap utuh jika
+// proses berhenti di tengah penulisan.
+@Component
+public class TodoSnapshots {
+
+    static final int MAGIC = 0x54534e50;
+    static final int VERSION = 2;
+    static final int UNVERSIONED_TODOS = 1;
+    static final int HEADER = 40;
+    static final int BLOCK_HEADER = 12;
+    static final int BLOCK_BYTES = 1 << 20;
+
+    private final Path path;
+
+    private volatile Map<String, Object> lastWrite = Map.of();
+    private volatile Map<String, Object> lastLoad = Map.of();
+
+    @Autowired
+    public TodoSnapshots(@Value("${app.snapshot.path:data/todo.snapshot}") String path) {
+        this(Path.of(path));
+    }
+
+    TodoSnapshots(Path path) {
+        this.path = path;
+    }
+
+    private record Written(long todos, int blocks) {
+    }
+
+    private record Loaded(long generation, long todos, int blocks, long bytes) {
+    }
+
+    // Tulis snapshot dari isi semua shard saat ini tanpa menghentikan penulis: setiap stripe disalin
+    // sendiri-sendiri (TodoStore.copyStripe) lalu di-encode di luar lock. Snapshot boleh memuat
+    // perubahan yang lebih baru dari generation; replay WAL yang idempoten membetulkannya.
+    public long write(TodoShards shards, long generation) throws IOException {
+        long start = System.nanoTime();
+        List<TodoStore> stores = new ArrayList<>(shards.shardCount());
+        for (int i = 0; i < shards.shardCount(); i++) {
+            stores.add(shards.shard(i).store());
+        }
+        Written written = writeFile(path, stores, null, shards.lastId(), generation);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generation", generation);
+        report.put("todos", written.todos());
+        report.put("blocks", written.blocks());
+        report.put("bytes", Files.size(path));
+        report.put("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        lastWrite = report;
+        return written.todos();
+    }
+
+    // Export satu shard ke target dengan format yang sama, untuk dipindah ke node lain dan dimuat
+    // lewat read. owner tidak null berarti hanya todo milik owner itu (memindah satu tenant).
+    // Generation 0 karena file ini bukan checkpoint WAL node ini.
+    public long export(TodoShard shard, String owner, Path target) throws IOException {
+        return writeFile(target, List.of(shard.store()), owner, 0, 0).todos();
+    }
+
+    private static Written writeFile(Path target, List<TodoStore> stores, String owner, long lastId, long generation)
+            throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        long todos = 0;
+        int blocks = 0;
+        long maxId = lastId;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER);
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES).position(BLOCK_HEADER);
+            int count = 0;
+            for (TodoStore store : stores) {
+                for (int stripe = 0; stripe < store.stripeCount(); stripe++) {
+                    for (Todo todo : store.copyStripe(stripe)) {
+                        if (todo == null || (owner != null && !owner.equals(todo.owner()))) {
+                            continue;
+                        }
+                        byte[] ownerBytes = TodoCodec.bytes(todo.owner());
+                        byte[] title = TodoCodec.bytes(todo.title());
+                        byte[] description = TodoCodec.bytes(todo.description());
+                        int size = TodoCodec.size(ownerBytes, title, description);
+                        if (count > 0 && block.remaining() < size) {
+                            writeBlock(channel, block, count);
+                            blocks++;
+                            count = 0;
+                        }
+                        if (block.remaining() < size) {
+                            // Satu todo lebih besar dari blok: blok ini dibuat khusus sebesar todo itu
+                            block = ByteBuffer.allocate(BLOCK_HEADER + size).position(BLOCK_HEADER);
+                        }
+                        TodoCodec.write(block, todo, ownerBytes, title, description);
+                        count++;
+                        todos++;
+                        maxId = Math.max(maxId, todo.id());
+                    }
+                }
+            }
+            if (count > 0) {
+                writeBlock(channel, block, count);
+                blocks++;
+            }
+            // Header ditulis penuh termasuk padding agar snapshot tanpa blok tetap sepanjang HEADER
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            header.putInt(MAGIC).putInt(VERSION).putLong(generation).putLong(maxId).putLong(todos)
+                    .putInt(blocks).clear();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new Written(todos, blocks);
+    }
+
+    private static void writeBlock(FileChannel channel, ByteBuffer block, int count) throws IOException {
+        int length = block.position() - BLOCK_HEADER;
+        CRC32C crc = new CRC32C();
+        crc.update(block.array(), BLOCK_HEADER, length);
+        block.putInt(0, length).putInt(4, count).putInt(8, (int) crc.getValue());
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear().position(BLOCK_HEADER);
+    }
+
+    // Muat snapshot ke shard owner masing-masing; mengembalikan generation WAL yang tercakup, atau 0
+    // jika belum ada snapshot. Snapshot yang rusak menggagalkan startup: segmen WAL yang dicakupnya
+    // sudah dihapus.
+    public long load(TodoShards shards) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Loaded loaded = readFile(path, shards::reserveIds, shards::put);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generation", loaded.generation());
+        report.put("todos", loaded.todos());
+        report.put("blocks", loaded.blocks());
+        report.put("bytes", loaded.bytes());
+        report.put("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        lastLoad = report;
+        return loaded.generation();
+    }
+
+    // Baca file hasil export (atau snapshot node lain): lastId file diberikan ke reserveIds sebelum
+    // todo pertama, lalu setiap todo ke sink secara paralel per blok. Mengembalikan jumlah todo.
+    public long read(Path file, LongConsumer reserveIds, Consumer<Todo> sink) throws IOException {
+        return readFile(file, reserveIds, sink).todos();
+    }
+
+    private static Loaded readFile(Path file, LongConsumer reserveIds, Consumer<Todo> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER) {
+                throw corrupt(file, "header terpotong");
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            int magic = header.getInt();
+            int version = header.getInt();
+            if (magic != MAGIC || (version != VERSION && version != UNVERSIONED_TODOS)) {
+                throw corrupt(file, "format tidak dikenal");
+            }
+            long generation = header.getLong();
+            long lastId = header.getLong();
+            long todos = header.getLong();
+            int blocks = header.getInt();
+            if (blocks < 0 || blocks > (size - HEADER) / BLOCK_HEADER) {
+                throw corrupt(file, "jumlah blok tidak valid");
+            }
+
+            // Indeks blok dari header-header blok, lalu decode paralel
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            long position = HEADER;
+            long counted = 0;
+            ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER);
+            for (int i = 0; i < blocks; i++) {
+                if (position + BLOCK_HEADER > size) {
+                    throw corrupt(file, "blok terpotong");
+                }
+                channel.read(blockHeader.clear(), position);
+                int length = blockHeader.getInt(0);
+                if (length < 0 || position + BLOCK_HEADER + length > size) {
+                    throw corrupt(file, "blok terpotong");
+                }
+                offsets[i] = position;
+                lengths[i] = length;
+                counted += blockHeader.getInt(4);
+                position += BLOCK_HEADER + length;
+            }
+            if (position != size || counted != todos) {
+                throw corrupt(file, "jumlah todo tidak cocok");
+            }
+            // Id baru yang dibuat selama import tidak boleh bertabrakan dengan id di file
+            reserveIds.accept(lastId);
+            try {
+                IntStream.range(0, blocks).parallel()
+                        .forEach(i -> loadBlock(file, channel, offsets[i], lengths[i], version == VERSION, sink));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new Loaded(generation, todos, blocks, size);
+        }
+    }
+
+    private static void loadBlock(Path file, FileChannel channel, long offset, int length, boolean versioned,
+            Consumer<Todo> sink) {
+        try {
+            MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, offset, BLOCK_HEADER + length);
+            int count = block.getInt(4);
+            int checksum = block.getInt(8);
+            block.position(BLOCK_HEADER);
+            CRC32C crc = new CRC32C();
+            crc.update(block.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw corrupt(file, "checksum blok di offset " + offset + " salah");
+            }
+            for (int i = 0; i < count; i++) {
+                sink.accept(TodoCodec.read(block, versioned));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static IOException corrupt(Path file, String reason) {
+        return new IOException("Snapshot todo " + file + " rusak: " + reason);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("path", path.toString());
+        map.put("lastWrite", lastWrite);
+        map.put("lastLoad", lastLoad);
+        return map;
+    }
+}
@@ -0,0 +1,291 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+// Penyimpanan todo di memori dengan key long primitif.
+// Data dibagi ke 64 stripe; setiap stripe adalah hash table open addressing (linear probing,
+// long[] key + Todo[] value) dengan StampedLock sendiri. Baca memakai optimistic read tanpa
+// lock dan baru mengambil read lock jika bertabrakan dengan penulisan; penulisan hanya mengunci
+// satu stripe. Tidak ada boxing Long atau node map per entri, dan hapus memakai backward-shift
+// sehingga tabel tidak menumpuk tombstone.
+// Setiap shard TodoShards punya TodoStore sendiri; penghitung id dibagi semua shard agar id tetap
+// unik di seluruh node.
+public class TodoStore {
+
+    private static final int STRIPE_BITS = 6;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final int INITIAL_CAPACITY = 16;
+    // Id valid dimulai dari 1, 0 menandai slot kosong
+    private static final long EMPTY = 0L;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicLong lastId;
+    private final LongAdder size = new LongAdder();
+
+    // keys dan values selalu diganti bersama agar pembaca optimistic tidak memakai array dari generasi berbeda
+    private static final class Table {
+        final long[] keys;
+        final Todo[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Todo[capacity];
+        }
+    }
+
+    private static final class Stripe {
+        final StampedLock lock = new StampedLock();
+        volatile Table table = new Table(INITIAL_CAPACITY);
+        int count;
+    }
+
+    public TodoStore() {
+        this(new AtomicLong());
+    }
+
+    TodoStore(AtomicLong ids) {
+        this.lastId = ids;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Finalizer MurmurHash3: bit atas memilih stripe, bit bawah memilih slot
+    static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes[(int) (hash >>> (Long.SIZE - STRIPE_BITS))];
+    }
+
+    // Id baru yang belum pernah dipakai
+    public long nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    // Id terbesar yang pernah dibuat atau disimpan
+    public long lastId() {
+        return lastId.get();
+    }
+
+    // Pastikan id baru lebih besar dari id; dipakai saat recovery agar id todo yang sudah dihapus tidak dipakai ulang
+    public void reserveIds(long id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    public long size() {
+        return size.sum();
+    }
+
+    public int stripeCount() {
+        return STRIPES;
+    }
+
+    // Salinan isi satu stripe (slot kosong berisi null) untuk snapshot di latar belakang.
+    // Hanya array referensi yang disalin karena Todo immutable; penulis ke stripe ini tidak
+    // pernah diblokir kecuali salinan optimistic bertabrakan dan harus diulang dengan read lock.
+    public Todo[] copyStripe(int index) {
+        Stripe stripe = stripes[index];
+        long stamp = stripe.lock.tryOptimisticRead();
+        Todo[] copy = stripe.table.values.clone();
+        if (stripe.lock.validate(stamp)) {
+            return copy;
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.table.values.clone();
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    // Semua todo urut id naik, dari salinan per stripe seperti copyStripe. Dipakai index untuk dibangun
+    // dari isi store ini saja, tanpa memindai rentang id yang dibagi dengan shard lain.
+    public List<Todo> sortedTodos() {
+        List<Todo> todos = new ArrayList<>((int) size());
+        for (int i = 0; i < STRIPES; i++) {
+            for (Todo todo : copyStripe(i)) {
+                if (todo != null) {
+                    todos.add(todo);
+                }
+            }
+        }
+        todos.sort(Comparator.comparingLong(Todo::id));
+        return todos;
+    }
+
+    public Todo get(long id) {
+        long hash = mix(id);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        Table table = stripe.table;
+        Todo found = find(table.keys, table.values, id, hash);
+        if (stripe.lock.validate(stamp)) {
+            return found;
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            table = stripe.table;
+            return find(table.keys, table.values, id, hash);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    // Probe dibatasi panjang tabel: pembaca optimistic bisa melihat tabel yang sedang diubah
+    static Todo find(long[] keys, Todo[] values, long id, long hash) {
+        int mask = keys.length - 1;
+        int index = (int) hash & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long key = keys[index];
+            if (key == id) {
+                return values[index];
+            }
+            if (key == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    // Slot berisi id, atau slot kosong tempat id seharusnya disisipkan. Dipanggil dengan write lock.
+    private static int slotOf(long[] keys, long id, long hash) {
+        int mask = keys.length - 1;
+        int index = (int) hash & mask;
+        while (keys[index] != id && keys[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    // Sisipkan atau ganti; mengembalikan todo sebelumnya atau null
+    public Todo put(Todo todo) {
+        long id = todo.id();
+        if (id <= EMPTY) {
+            throw new IllegalArgumentException("Id todo harus positif: " + id);
+        }
+        lastId.accumulateAndGet(id, Math::max);
+        long hash = mix(id);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Table table = stripe.table;
+            int slot = slotOf(table.keys, id, hash);
+            if (table.keys[slot] == id) {
+                Todo previous = table.values[slot];
+                table.values[slot] = todo;
+                return previous;
+            }
+            // Beban maksimum 3/4 sehingga selalu ada slot kosong untuk mengakhiri probe
+            if ((stripe.count + 1) * 4L > table.keys.length * 3L) {
+                table = grow(stripe);
+                slot = slotOf(table.keys, id, hash);
+            }
+            table.values[slot] = todo;
+            table.keys[slot] = id;
+            stripe.count++;
+            size.increment();
+            return null;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    // Ganti hanya jika nilai saat ini adalah expected (identitas objek yang sama)
+    public boolean replace(long id, Todo expected, Todo update) {
+        long hash = mix(id);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Table table = stripe.table;
+            int slot = slotOf(table.keys, id, hash);
+            Todo current = table.values[slot];
+            if (current == null || current != expected) {
+                return false;
+            }
+            table.values[slot] = update;
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public Todo remove(long id) {
+        return removeMatching(id, null);
+    }
+
+    // Hapus hanya jika nilai saat ini adalah expected; expected null berarti hapus apa pun nilainya
+    public boolean remove(long id, Todo expected) {
+        return removeMatching(id, expected) != null;
+    }
+
+    private Todo removeMatching(long id, Todo expected) {
+        long hash = mix(id);
+        Stripe stripe = stripeFor(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            Table table = stripe.table;
+            long[] keys = table.keys;
+            Todo[] values = table.values;
+            int gap = slotOf(keys, id, hash);
+            Todo removed = values[gap];
+            if (removed == null || (expected != null && removed != expected)) {
+                return null;
+            }
+            // Backward-shift: geser entri setelahnya yang boleh menempati slot kosong
+            int mask = keys.length - 1;
+            int index = gap;
+            while (true) {
+                index = (index + 1) & mask;
+                long key = keys[index];
+                if (key == EMPTY) {
+                    break;
+                }
+                int home = (int) mix(key) & mask;
+                if (((index - home) & mask) >= ((index - gap) & mask)) {
+                    keys[gap] = key;
+                    values[gap] = values[index];
+                    gap = index;
+                }
+            }
+            keys[gap] = EMPTY;
+            values[gap] = null;
+            stripe.count--;
+            size.decrement();
+            return removed;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    // Dipanggil dengan write lock; tabel baru dipublikasikan lewat field volatile
+    private static Table grow(Stripe stripe) {
+        Table old = stripe.table;
+        Table table = new Table(old.keys.length * 2);
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key != EMPTY) {
+                int slot = slotOf(table.keys, key, mix(key));
+                table.keys[slot] = key;
+                table.values[slot] = old.values[i];
+            }
+        }
+        stripe.table = table;
+        return table;
+    }
+}
@@ -0,0 +1,533 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.services.TodoChangeListener;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Write-ahead log biner append-only untuk perubahan todo.
+// Thread request hanya menaruh record ke buffer (di bawah lock id dari TodoService, sehingga urutan
+// di log sama dengan urutan di store) lalu menunggu di awaitDurable(). Satu thread penulis
+// mengambil semua record yang mengantri dan menulisnya dengan satu write (group commit), lalu
+// fsync sesuai app.wal.fsync:
+//   ALWAYS   - fsync setiap group commit, request baru dijawab setelah data ada di disk
+//   INTERVAL - fsync paling lama setiap app.wal.fsync-interval-ms, request dijawab setelah write
+//   OS       - tanpa fsync eksplisit, kernel yang menentukan kapan data ditulis ke disk
+//
+// Format record: [panjang payload int][CRC32C payload int][payload]. Payload PUT_VERSIONED berisi
+// todo lengkap termasuk version (PUT lama tanpa version masih dibaca) dan DELETE_OWNED berisi id dan
+// owner, sehingga replay saat startup idempoten: memutar log yang sama berkali-kali menghasilkan isi
+// store yang sama. Owner di DELETE_OWNED membuat replay hanya menghapus todo owner itu di shard-nya:
+// delete owner lain hanya memegang lock id di shard-nya sendiri, jadi DELETE id X bisa tercatat
+// setelah PUT todo owner lain yang baru di-restore dengan id X yang sama (DELETE lama tanpa owner
+// masih dibaca dan menghapus id dari shard mana pun). Ekor log yang terpotong (crash saat menulis)
+// atau rusak dibuang saat replay.
+//
+// Setelah write atau fsync pertama gagal, thread penulis berhenti dan WAL menolak perubahan baru
+// di beforeChange sebelum store disentuh, sehingga tidak ada perubahan yang terlihat di store tetapi
+// tidak pernah tercatat; /ready melaporkan 503 sampai aplikasi di-restart.
+//
+// Recovery saat startup: snapshot terakhir (TodoSnapshots), lalu segmen log lama <path>.<n>
+// yang belum tercakup snapshot, lalu log aktif. TodoCheckpointer memutar log (rotate) sebelum
+// menulis snapshot dan menghapus segmen setelah snapshot berhasil.
+@Component
+@Lazy(false)
+public class TodoWal implements TodoChangeListener, DisposableBean {
+
+    public enum FsyncMode {
+        ALWAYS, INTERVAL, OS
+    }
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte PUT_VERSIONED = 3;
+    static final byte DELETE_OWNED = 4;
+    static final int HEADER = 8;
+    static final int MAX_RECORD = 1 << 20;
+    private static final String FAILED = "WAL todo gagal ditulis";
+
+    private final TodoShards shards;
+    private final boolean enabled;
+    private final Path path;
+    private final Path directory;
+    private final Pattern segmentName;
+    private final FsyncMode mode;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final Thread writer;
+
+    // File log aktif; diganti saat rotate, hanya diakses di bawah fileLock
+    private final ReentrantLock fileLock = new ReentrantLock();
+    private FileChannel channel;
+    private long generation;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    // Dua buffer bergantian: request mengisi pending selama penulis menulis spare ke file
+    private byte[] pending = new byte[64 * 1024];
+    private byte[] spare = new byte[64 * 1024];
+    private int pendingSize;
+    // Nomor urut record terakhir yang diantrikan, sudah di-write, dan sudah di-fsync
+    private long enqueued;
+    private long written;
+    private long synced;
+    private boolean closed;
+    // Ditulis di bawah lock, dibaca tanpa lock oleh beforeChange
+    private volatile IOException failure;
+    // Hanya diakses thread penulis (atau destroy setelah penulis berhenti)
+    private long lastSyncNanos;
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder fsyncs = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+    private long replayedRecords;
+    private long replayMillis;
+    private long truncatedBytes;
+    private Map<String, Object> recoveryReport = Map.of("enabled", false);
+
+    @Autowired
+    public TodoWal(TodoShards shards, TodoSnapshots snapshots,
+            @Value("${app.wal.enabled:false}") boolean enabled,
+            @Value("${app.wal.path:data/todo.wal}") String path,
+            @Value("${app.wal.fsync:INTERVAL}") String fsync,
+            @Value("${app.wal.fsync-interval-ms:10}") long intervalMillis) throws IOException {
+        this(shards, snapshots, enabled, Path.of(path), FsyncMode.valueOf(fsync.trim().toUpperCase(Locale.ROOT)),
+                intervalMillis, true, System::nanoTime);
+    }
+
+    TodoWal(TodoShards shards, TodoSnapshots snapshots, boolean enabled, Path path, FsyncMode mode,
+            long intervalMillis, boolean startWriter, LongSupplier nanoClock) throws IOException {
+        this.shards = shards;
+        this.enabled = enabled;
+        this.path = path;
+        this.directory = path.toAbsolutePath().getParent();
+        this.segmentName = Pattern.compile(Pattern.quote(path.getFileName().toString()) + "\\.(\\d{1,18})");
+        this.mode = mode;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.nanoClock = nanoClock;
+        if (!enabled) {
+            this.channel = null;
+            this.writer = null;
+            return;
+        }
+        Files.createDirectories(directory);
+        recover(snapshots);
+        this.lastSyncNanos = nanoClock.getAsLong();
+        this.writer = Thread.ofPlatform()
+                .name("todo-wal-writer")
+                .daemon(true)
+                .unstarted(this::runLoop);
+        if (startWriter) {
+            writer.start();
+        }
+    }
+
+    private void recover(TodoSnapshots snapshots) throws IOException {
+        long start = System.nanoTime();
+        long covered = snapshots.load(shards);
+        long snapshotNanos = System.nanoTime() - start;
+        long snapshotTodos = shards.size();
+
+        generation = covered;
+        for (long segment : segments()) {
+            Path file = segment(segment);
+            if (segment <= covered) {
+                // Sisa checkpoint yang berhenti setelah snapshot ditulis tapi sebelum segmen dihapus
+                Files.delete(file);
+            } else {
+                replay(file);
+                generation = segment;
+            }
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long valid = replay(path);
+        long size = channel.size();
+        if (valid < size) {
+            channel.truncate(valid);
+            truncatedBytes = size - valid;
+        }
+        channel.position(valid);
+        long totalNanos = System.nanoTime() - start;
+        replayMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos - snapshotNanos);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", true);
+        report.put("todos", shards.size());
+        report.put("recoveryMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        report.put("snapshotGeneration", covered);
+        report.put("snapshotTodos", snapshotTodos);
+        report.put("snapshotMillis", TimeUnit.NANOSECONDS.toMillis(snapshotNanos));
+        report.put("walRecords", replayedRecords);
+        report.put("walMillis", replayMillis);
+        report.put("truncatedBytes", truncatedBytes);
+        recoveryReport = report;
+        System.out.println("> WAL todo: " + snapshotTodos + " todo dari snapshot dalam " + report.get("snapshotMillis")
+                + " ms, " + replayedRecords + " record log diputar ulang dalam " + replayMillis + " ms"
+                + (truncatedBytes > 0 ? ", " + truncatedBytes + " byte ekor rusak dibuang" : ""));
+    }
+
+    // Nomor segmen log lama yang masih ada, urut naik
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> segmentName.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segment(long number) {
+        return directory.resolve(path.getFileName() + "." + number);
+    }
+
+    // Putar ulang satu file log ke store; mengembalikan panjang bagian yang valid
+    private long replay(Path file) throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            byte[] payload = new byte[256];
+            while (true) {
+                int length;
+                int crc;
+                try {
+                    length = in.readInt();
+                    crc = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD) {
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[length];
+                }
+                if (in.readNBytes(payload, 0, length) < length || checksum(payload, 0, length) != crc
+                        || !apply(ByteBuffer.wrap(payload, 0, length))) {
+                    break;
+                }
+                valid += HEADER + length;
+                replayedRecords++;
+            }
+        }
+        return valid;
+    }
+
+    // false jika jenis record tidak dikenal (dianggap rusak)
+    private boolean apply(ByteBuffer payload) {
+        byte op = payload.get();
+        if (op == DELETE) {
+            shards.remove(payload.getLong());
+            return true;
+        }
+        if (op == DELETE_OWNED) {
+            long id = payload.getLong();
+            shards.remove(id, TodoCodec.readString(payload));
+            return true;
+        }
+        if (op != PUT && op != PUT_VERSIONED) {
+            return false;
+        }
+        shards.put(TodoCodec.read(payload, op == PUT_VERSIONED));
+        return true;
+    }
+
+    static byte[] encodePut(Todo todo) {
+        byte[] owner = TodoCodec.bytes(todo.owner());
+        byte[] title = TodoCodec.bytes(todo.title());
+        byte[] description = TodoCodec.bytes(todo.description());
+        int length = 1 + TodoCodec.size(owner, title, description);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + length).position(HEADER);
+        buffer.put(PUT_VERSIONED);
+        TodoCodec.write(buffer, todo, owner, title, description);
+        return frame(buffer, length);
+    }
+
+    static byte[] encodeDelete(Todo todo) {
+        byte[] owner = TodoCodec.bytes(todo.owner());
+        int length = 1 + 8 + 4 + owner.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + length).position(HEADER);
+        buffer.put(DELETE_OWNED).putLong(todo.id()).putInt(owner.length).put(owner);
+        return frame(buffer, length);
+    }
+
+    private static byte[] frame(ByteBuffer buffer, int length) {
+        byte[] record = buffer.array();
+        buffer.putInt(0, length).putInt(4, checksum(record, HEADER, length));
+        return record;
+    }
+
+    private static int checksum(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    // Dipanggil TodoService di bawah lock id sebelum store diubah
+    @Override
+    public void beforeChange() {
+        IOException cause = failure;
+        if (cause != null) {
+            throw new UncheckedIOException(FAILED, cause);
+        }
+    }
+
+    // Dipanggil TodoService di bawah lock id; hanya menyalin record ke buffer, tanpa I/O
+    @Override
+    public void onTodoChanged(Todo before, Todo after) {
+        if (!enabled) {
+            return;
+        }
+        byte[] record = after == null ? encodeDelete(before) : encodePut(after);
+        lock.lock();
+        try {
+            if (failure != null) {
+                // Gagal setelah beforeChange lolos: record tidak lagi disimpan karena penulis sudah
+                // berhenti, awaitDurable melaporkan kegagalannya
+                enqueued++;
+                return;
+            }
+            if (pendingSize + record.length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + record.length));
+            }
+            System.arraycopy(record, 0, pending, pendingSize, record.length);
+            pendingSize += record.length;
+            enqueued++;
+            records.increment();
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Menunggu sampai semua record yang sudah diantrikan tertulis (ALWAYS: sampai di-fsync)
+    @Override
+    public void awaitDurable() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            long target = enqueued;
+            while (durable() < target && failure == null) {
+                committed.awaitUninterruptibly();
+            }
+            if (durable() < target) {
+                throw new UncheckedIOException(FAILED, failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long durable() {
+        return mode == FsyncMode.ALWAYS ? synced : written;
+    }
+
+    private void runLoop() {
+        try {
+            while (awaitWork()) {
+                commit();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            lock.lock();
+            try {
+                failure = e;
+                // Record yang mengantri tidak akan pernah ditulis
+                pending = new byte[0];
+                spare = pending;
+                pendingSize = 0;
+                committed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Menunggu record baru, atau sampai fsync INTERVAL jatuh tempo untuk data yang sudah di-write;
+    // false jika WAL ditutup
+    boolean awaitWork() throws InterruptedException {
+        lock.lock();
+        try {
+            while (pendingSize == 0 && !closed) {
+                if (mode != FsyncMode.INTERVAL || synced == written) {
+                    workAvailable.await();
+                } else if (workAvailable.awaitNanos(intervalNanos) <= 0) {
+                    break;
+                }
+            }
+            return !closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Satu group commit: semua record yang mengantri ditulis dengan satu write, lalu fsync sesuai mode
+    void commit() throws IOException {
+        byte[] batch;
+        int size;
+        long upTo;
+        lock.lock();
+        try {
+            batch = pending;
+            size = pendingSize;
+            upTo = enqueued;
+            pending = spare;
+            pendingSize = 0;
+            spare = batch;
+        } finally {
+            lock.unlock();
+        }
+        long now = nanoClock.getAsLong();
+        boolean sync = mode == FsyncMode.ALWAYS
+                || (mode == FsyncMode.INTERVAL && now - lastSyncNanos >= intervalNanos);
+        fileLock.lock();
+        try {
+            if (size > 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(batch, 0, size);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                commits.increment();
+                bytes.add(size);
+            }
+            if (sync) {
+                channel.force(false);
+                fsyncs.increment();
+                lastSyncNanos = now;
+            }
+        } finally {
+            fileLock.unlock();
+        }
+        lock.lock();
+        try {
+            written = upTo;
+            if (sync) {
+                synced = upTo;
+            }
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Jadikan log aktif segmen <path>.<n> dan mulai file log baru. Semua record di segmen itu sudah
+    // ada di store, jadi snapshot yang dimulai setelah rotate mencakup segmen ini dan segmen sebelumnya;
+    // record yang masih mengantri masuk ke file baru. Mengembalikan n.
+    public long rotate() throws IOException {
+        fileLock.lock();
+        try {
+            long next = generation + 1;
+            channel.force(false);
+            channel.close();
+            Files.move(path, segment(next), StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            generation = next;
+            rotations.increment();
+            return next;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    // Hapus segmen yang sudah tercakup snapshot
+    public void deleteSegments(long upTo) throws IOException {
+        for (long segment : segments()) {
+            if (segment <= upTo) {
+                Files.delete(segment(segment));
+            }
+        }
+    }
+
+    // true jika write atau fsync gagal dan WAL tidak lagi menerima perubahan
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public long getRecordCount() {
+        return records.sum();
+    }
+
+    // Hasil recovery saat startup (untuk laporan startup)
+    public Map<String, Object> getRecoveryReport() {
+        return recoveryReport;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("enabled", enabled);
+        map.put("path", path.toString());
+        map.put("fsync", mode.name());
+        map.put("failed", failure != null);
+        map.put("records", records.sum());
+        map.put("commits", commits.sum());
+        map.put("fsyncs", fsyncs.sum());
+        map.put("bytes", bytes.sum());
+        map.put("rotations", rotations.sum());
+        map.put("replayedRecords", replayedRecords);
+        map.put("replayMillis", replayMillis);
+        map.put("truncatedBytes", truncatedBytes);
+        return map;
+    }
+
+    // Tulis dan fsync record yang masih mengantri sebelum file ditutup. TodoCheckpointer bergantung
+    // pada bean ini sehingga sudah berhenti (tidak ada rotate lagi) saat destroy dipanggil.
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        try {
+            if (failure == null) {
+                commit();
+                channel.force(false);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
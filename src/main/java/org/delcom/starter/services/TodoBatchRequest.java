@@ -0,0 +1,12 @@
+package org.delcom.starter.services;
+
+import java.util.List;
+
+// Body POST /todos/batch: daftar update atau hapus yang diterapkan berurutan. version adalah
+// versi todo yang terakhir dibaca klien (null berarti tanpa syarat); todo berisi field yang
+// diubah seperti PUT /todos/{id} dan diabaikan jika delete.
+public record TodoBatchRequest(List<Operation> operations) {
+
+    public record Operation(Long id, Long version, boolean delete, TodoRequest todo) {
+    }
+}
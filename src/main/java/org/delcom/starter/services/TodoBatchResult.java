@@ -0,0 +1,13 @@
+package org.delcom.starter.services;
+
+import java.util.List;
+
+import org.delcom.starter.entities.Todo;
+
+// Hasil per operasi sesuai urutan request. status: updated, deleted, conflict (todo berisi
+// versi saat ini), not_found atau invalid (message berisi alasannya).
+public record TodoBatchResult(List<Item> results, int applied, int failed) {
+
+    public record Item(Long id, String status, String message, Todo todo) {
+    }
+}
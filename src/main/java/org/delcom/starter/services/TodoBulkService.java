@@ -0,0 +1,202 @@
+package org.delcom.starter.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.delcom.starter.entities.Todo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Import dan export todo massal dalam format NDJSON (satu objek JSON per baris) dengan memori
+// terbatas: import membaca body per potongan dan hanya menahan satu baris serta satu batch,
+// export menulis per halaman dari TodoQueryIndex sehingga tidak pernah membangun list semua todo.
+//
+// Import menjawab dengan NDJSON juga: satu baris per baris input yang ditolak
+// {"line":n,"message":...}, satu baris progress setelah setiap batch masuk ke store dan WAL
+// {"imported":n,"failed":n,"lines":n}, lalu ringkasan {"status":"success",...} di akhir.
+// Batch yang sudah dilaporkan tetap tersimpan walau koneksi putus di tengah import.
+@Service
+public class TodoBulkService {
+
+    // Baris lebih panjang dari ini ditolak tanpa ditampung (deskripsi maksimal 2000 karakter)
+    static final int MAX_LINE_BYTES = 16 * 1024;
+    private static final int READ_BUFFER = 64 * 1024;
+    private static final int REPORT_BUFFER = 8 * 1024;
+
+    private final TodoService todoService;
+    private final int batchSize;
+
+    private final LongAdder imports = new LongAdder();
+    private final LongAdder importedTodos = new LongAdder();
+    private final LongAdder rejectedLines = new LongAdder();
+    private final LongAdder exports = new LongAdder();
+    private final LongAdder exportedTodos = new LongAdder();
+
+    @Autowired
+    public TodoBulkService(TodoService todoService, @Value("${app.bulk.batch-size:1000}") int batchSize) {
+        this.todoService = todoService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Membaca NDJSON dari input sampai habis; progress dan baris yang ditolak ditulis ke output
+    public void importTodos(String owner, InputStream input, OutputStream output) throws IOException {
+        imports.increment();
+        new Import(owner, output).run(input);
+    }
+
+    private final class Import {
+
+        private final String owner;
+        private final OutputStream output;
+        private final List<TodoRequest> batch = new ArrayList<>(batchSize);
+        private final StringBuilder report = new StringBuilder();
+        private byte[] line = new byte[256];
+        private int length;
+        private boolean overflow;
+        private long lines;
+        private long imported;
+        private long failed;
+
+        Import(String owner, OutputStream output) {
+            this.owner = owner;
+            this.output = output;
+        }
+
+        void run(InputStream input) throws IOException {
+            byte[] buffer = new byte[READ_BUFFER];
+            int count;
+            while ((count = input.read(buffer)) >= 0) {
+                for (int i = 0; i < count; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        endLine();
+                    } else if (length == MAX_LINE_BYTES) {
+                        overflow = true;
+                    } else {
+                        if (length == line.length) {
+                            line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE_BYTES));
+                        }
+                        line[length++] = b;
+                    }
+                }
+            }
+            if (length > 0) {
+                endLine();
+            }
+            if (!batch.isEmpty()) {
+                flushBatch();
+            }
+            report.append("{\"status\":\"success\",\"imported\":").append(imported)
+                    .append(",\"failed\":").append(failed).append(",\"lines\":").append(lines).append("}\n");
+            writeReport();
+        }
+
+        private void endLine() throws IOException {
+            int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+            boolean tooLong = overflow;
+            length = 0;
+            overflow = false;
+            // Nomor baris di laporan adalah baris fisik input, termasuk baris kosong yang dilewati
+            lines++;
+            if (!tooLong && isBlank(line, end)) {
+                return;
+            }
+            String error;
+            if (tooLong) {
+                error = "Baris melebihi " + MAX_LINE_BYTES + " byte";
+            } else {
+                try {
+                    TodoRequest request = TodoNdjson.parse(new String(line, 0, end, StandardCharsets.UTF_8));
+                    error = todoService.validate(request, true);
+                    if (error == null) {
+                        batch.add(request);
+                    }
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                failed++;
+                rejectedLines.increment();
+                report.append("{\"line\":").append(lines).append(",\"message\":");
+                TodoNdjson.string(error, report);
+                report.append("}\n");
+                if (report.length() >= REPORT_BUFFER) {
+                    // Input yang sebagian besar ditolak tidak menumpuk laporan di memori
+                    writeReport();
+                }
+            }
+            if (batch.size() == batchSize) {
+                flushBatch();
+            }
+        }
+
+        // Batch masuk ke store dan WAL, lalu progress dikirim ke klien
+        private void flushBatch() throws IOException {
+            int created = todoService.createAll(owner, batch);
+            // Todo yang tidak masuk ditolak kuota shard
+            failed += batch.size() - created;
+            batch.clear();
+            imported += created;
+            importedTodos.add(created);
+            report.append("{\"imported\":").append(imported).append(",\"failed\":").append(failed)
+                    .append(",\"lines\":").append(lines).append("}\n");
+            writeReport();
+        }
+
+        private void writeReport() throws IOException {
+            output.write(report.toString().getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            report.setLength(0);
+        }
+    }
+
+    private static boolean isBlank(byte[] bytes, int count) {
+        for (int i = 0; i < count; i++) {
+            if ((bytes[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Semua todo milik owner urut id, satu halaman per write. Write yang blocking saat klien
+    // lambat membaca menahan halaman berikutnya (backpressure dari TCP), memori tetap satu halaman.
+    public void exportTodos(String owner, OutputStream output) throws IOException {
+        exports.increment();
+        StringBuilder page = new StringBuilder();
+        Long cursor = 0L;
+        while (cursor != null) {
+            TodoPage todos = todoService.list(owner, cursor, TodoService.MAX_LIMIT);
+            for (Todo todo : todos.items()) {
+                TodoNdjson.write(todo, page);
+            }
+            output.write(page.toString().getBytes(StandardCharsets.UTF_8));
+            page.setLength(0);
+            exportedTodos.add(todos.items().size());
+            cursor = todos.nextCursor();
+        }
+        output.flush();
+    }
+
+    // Jumlah import/export dan todo yang dipindahkan sejak aplikasi berjalan
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("batchSize", batchSize);
+        map.put("imports", imports.sum());
+        map.put("importedTodos", importedTodos.sum());
+        map.put("rejectedLines", rejectedLines.sum());
+        map.put("exports", exports.sum());
+        map.put("exportedTodos", exportedTodos.sum());
+        return map;
+    }
+}
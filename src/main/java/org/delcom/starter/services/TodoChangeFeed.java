@@ -0,0 +1,300 @@
+package org.delcom.starter.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.delcom.starter.entities.Todo;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// Change feed todo untuk Server-Sent Events, pengganti polling list dari front-end.
+//
+// Setiap perubahan mendapat nomor urut dan disimpan di ring berkapasitas tetap (app.feed.capacity);
+// event lama tertimpa. Satu thread flusher setiap app.feed.flush-interval-ms mengirim semua event
+// baru milik pengguna subscriber sebagai satu pesan SSE (batch), dengan id = nomor urut terakhir
+// sehingga klien bisa melanjutkan dari nomor itu (Last-Event-ID atau ?since=). Event baru per tick
+// dikelompokkan per owner dan pesannya di-encode sekali untuk semua subscriber owner itu; hanya
+// subscriber yang tertinggal membaca ring sendiri, dan hanya membangun pesan untuk owner-nya. Jika nomor yang diminta sudah tertimpa (atau
+// berasal dari proses sebelumnya), klien mendapat event reset dan harus memuat ulang data.
+//
+// Sink ditulis non-blocking: klien yang belum membaca pesan sebelumnya dilewati, dan diputus jika
+// tertahan lebih dari app.feed.slow-consumer-ms atau tertinggal lebih jauh dari kapasitas ring.
+@Component
+@Lazy(false)
+public class TodoChangeFeed implements TodoChangeListener, DisposableBean {
+
+    // Tujuan tulis satu subscriber; semua method dipanggil dari thread flusher
+    public interface Sink {
+
+        // false selama pesan sebelumnya belum terkirim ke klien
+        boolean isReady();
+
+        void write(byte[] data) throws IOException;
+
+        void close();
+    }
+
+    record Event(long sequence, String owner, String json) {
+    }
+
+    // Status satu koneksi; hanya diubah thread flusher setelah terdaftar
+    public final class Subscriber {
+
+        private final String owner;
+        private final Sink sink;
+        private long next;
+        private long lastWriteNanos;
+        private long blockedSinceNanos;
+        private boolean blocked;
+
+        Subscriber(String owner, Sink sink, long next, long now) {
+            this.owner = owner;
+            this.sink = sink;
+            this.next = next;
+            this.lastWriteNanos = now;
+        }
+    }
+
+    private static final byte[] PING = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Event[] ring;
+    private final long mask;
+    private final int maxSubscribers;
+    private final long flushIntervalMillis;
+    private final long heartbeatNanos;
+    private final long slowConsumerNanos;
+    private final LongSupplier nanoClock;
+    private final Thread flusher;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Nomor urut terakhir; last hanya diubah di bawah lock this, published dibaca tanpa lock
+    private long last;
+    private volatile long published;
+    // Nomor urut terakhir yang sudah dikirim flusher; hanya diakses thread flusher
+    private long flushed;
+    private volatile boolean closed;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public TodoChangeFeed(
+            @Value("${app.feed.capacity:65536}") int capacity,
+            @Value("${app.feed.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.feed.flush-interval-ms:100}") long flushIntervalMillis,
+            @Value("${app.feed.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${app.feed.slow-consumer-ms:10000}") long slowConsumerMillis) {
+        this(capacity, maxSubscribers, flushIntervalMillis, TimeUnit.SECONDS.toNanos(heartbeatSeconds),
+                TimeUnit.MILLISECONDS.toNanos(slowConsumerMillis), true, System::nanoTime);
+    }
+
+    TodoChangeFeed(int capacity, int maxSubscribers, long flushIntervalMillis, long heartbeatNanos,
+            long slowConsumerNanos, boolean startFlusher, LongSupplier nanoClock) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new Event[size];
+        this.mask = size - 1;
+        this.maxSubscribers = maxSubscribers;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.heartbeatNanos = heartbeatNanos;
+        this.slowConsumerNanos = slowConsumerNanos;
+        this.nanoClock = nanoClock;
+        this.flusher = Thread.ofPlatform()
+                .name("todo-feed-flusher")
+                .daemon(true)
+                .unstarted(this::runLoop);
+        if (startFlusher) {
+            flusher.start();
+        }
+    }
+
+    // Dipanggil TodoService di bawah lock id: JSON event dibuat di luar lock ring, di dalam lock
+    // hanya nomor urut dan slot ring
+    @Override
+    public void onTodoChanged(Todo before, Todo after) {
+        Todo todo = after != null ? after : before;
+        StringBuilder json = new StringBuilder(256);
+        json.append(",\"type\":\"").append(before == null ? "created" : after == null ? "deleted" : "updated")
+                .append("\",\"id\":").append(todo.id());
+        if (after != null) {
+            json.append(",\"todo\":");
+            TodoNdjson.object(after, json);
+        }
+        json.append('}');
+        String payload = json.toString();
+        synchronized (this) {
+            long sequence = ++last;
+            ring[(int) (sequence & mask)] = new Event(sequence, todo.owner(), payload);
+            published = sequence;
+        }
+        events.increment();
+    }
+
+    // Mendaftarkan koneksi baru. since: nomor urut terakhir yang sudah diterima klien, atau -1 untuk
+    // hanya event baru. null jika jumlah subscriber sudah maksimum.
+    public Subscriber subscribe(String owner, long since, Sink sink) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejected.increment();
+            return null;
+        }
+        long current = published;
+        // Nomor dari masa depan berarti klien terhubung ke proses sebelumnya: 0 memaksa reset
+        long next = since < 0 ? current + 1 : since > current ? 0 : since + 1;
+        Subscriber subscriber = new Subscriber(owner, sink, next, nanoClock.getAsLong());
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    // Dipanggil saat koneksi selesai atau error; sink tidak ditutup lagi
+    public void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void runLoop() {
+        while (!closed) {
+            try {
+                Thread.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            flush();
+        }
+    }
+
+    // Satu tick: kirim event baru ke semua subscriber
+    void flush() {
+        long upTo = published;
+        long oldest = Math.max(1, upTo - ring.length + 1);
+        long now = nanoClock.getAsLong();
+        Map<String, byte[]> fresh = frames(flushed + 1, upTo, null);
+        for (Subscriber subscriber : subscribers) {
+            deliver(subscriber, upTo, oldest, fresh, now);
+        }
+        flushed = upTo;
+    }
+
+    private void deliver(Subscriber subscriber, long upTo, long oldest, Map<String, byte[]> fresh, long now) {
+        Sink sink = subscriber.sink;
+        if (!sink.isReady()) {
+            if (!subscriber.blocked) {
+                subscriber.blocked = true;
+                subscriber.blockedSinceNanos = now;
+            }
+            if (now - subscriber.blockedSinceNanos >= slowConsumerNanos || subscriber.next < oldest) {
+                slowDisconnects.increment();
+                disconnect(subscriber);
+            }
+            return;
+        }
+        subscriber.blocked = false;
+        Map<String, byte[]> batch = subscriber.next == flushed + 1 ? fresh
+                : frames(subscriber.next, upTo, subscriber.owner);
+        byte[] frame;
+        if (batch == null) {
+            // Event yang belum diterima sudah tertimpa: klien harus memuat ulang data lalu lanjut dari upTo
+            resets.increment();
+            frame = ("id: " + upTo + "\nevent: reset\ndata: {\"seq\":" + upTo + "}\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } else {
+            frame = batch.get(subscriber.owner);
+        }
+        // Subscriber yang mendaftar setelah upTo dibaca tidak boleh mundur ke event sebelum since
+        subscriber.next = Math.max(subscriber.next, upTo + 1);
+        if (frame == null && now - subscriber.lastWriteNanos >= heartbeatNanos) {
+            // Komentar SSE menjaga koneksi tetap hidup di proxy dan mendeteksi klien yang sudah pergi
+            frame = PING;
+        }
+        if (frame == null) {
+            return;
+        }
+        try {
+            sink.write(frame);
+            subscriber.lastWriteNanos = now;
+            batches.increment();
+            bytes.add(frame.length);
+        } catch (IOException e) {
+            disconnect(subscriber);
+        }
+    }
+
+    // Pesan SSE per owner untuk event from..to, atau null jika salah satunya sudah tertimpa
+    // (tertinggal lebih dari kapasitas ring, termasuk yang tertimpa selama tick ini). owner selain
+    // null membatasi pesan ke owner itu saja (catch-up satu subscriber): event owner lain tetap
+    // diperiksa nomor urutnya tetapi tidak di-encode.
+    private Map<String, byte[]> frames(long from, long to, String owner) {
+        if (from > to) {
+            return Map.of();
+        }
+        Map<String, StringBuilder> data = new HashMap<>();
+        for (long sequence = from; sequence <= to; sequence++) {
+            Event event = ring[(int) (sequence & mask)];
+            if (event == null || event.sequence() != sequence) {
+                return null;
+            }
+            if (owner != null && !owner.equals(event.owner())) {
+                continue;
+            }
+            StringBuilder builder = data.get(event.owner());
+            if (builder == null) {
+                builder = new StringBuilder("id: ").append(to).append("\nevent: todos\ndata: [");
+                data.put(event.owner(), builder);
+            } else {
+                builder.append(',');
+            }
+            builder.append("{\"seq\":").append(sequence).append(event.json());
+        }
+        Map<String, byte[]> frames = new HashMap<>(data.size() * 2);
+        for (Map.Entry<String, StringBuilder> entry : data.entrySet()) {
+            frames.put(entry.getKey(), entry.getValue().append("]\n\n").toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return frames;
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.sink.close();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        flusher.interrupt();
+        if (flusher.isAlive()) {
+            flusher.join();
+        }
+        for (Subscriber subscriber : subscribers) {
+            disconnect(subscriber);
+        }
+    }
+
+    // Nomor urut terakhir, jumlah subscriber dan pesan yang dikirim
+    public Map<String, Object> snapshot() {
+        long current = published;
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("capacity", ring.length);
+        map.put("sequence", current);
+        map.put("oldestSequence", Math.max(1, current - ring.length + 1));
+        map.put("subscribers", subscribers.size());
+        map.put("events", events.sum());
+        map.put("batches", batches.sum());
+        map.put("bytes", bytes.sum());
+        map.put("resets", resets.sum());
+        map.put("slowDisconnects", slowDisconnects.sum());
+        map.put("rejected", rejected.sum());
+        return map;
+    }
+}
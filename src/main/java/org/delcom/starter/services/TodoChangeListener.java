@@ -0,0 +1,23 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+
+// Dipanggil TodoService setelah perubahan berhasil masuk ke store, di thread yang melakukan perubahan.
+// before null saat todo dibuat, after null saat todo dihapus.
+public interface TodoChangeListener {
+
+    // Dipanggil sebelum store diubah, di bawah lock id yang sama dengan onTodoChanged; melempar
+    // exception untuk menolak perubahan tanpa menyentuh store (misalnya WAL yang sudah gagal menulis,
+    // sehingga perubahan tidak akan pernah tercatat)
+    default void beforeChange() {
+    }
+
+    // Dipanggil sambil memegang lock id todo sehingga urutan panggilan per id sama dengan urutan
+    // perubahan di store; jangan melakukan I/O blocking di sini
+    void onTodoChanged(Todo before, Todo after);
+
+    // Dipanggil setelah lock dilepas, sebelum request dijawab; boleh blocking
+    // (misalnya menunggu WAL menulis perubahan ke disk)
+    default void awaitDurable() {
+    }
+}
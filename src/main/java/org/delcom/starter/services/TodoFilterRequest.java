@@ -0,0 +1,15 @@
+package org.delcom.starter.services;
+
+// Filter list todo dari query string GET /todos. status dan priority boleh berisi beberapa nilai
+// dipisah koma (salah satu cocok); rentang tenggat [dueFrom, dueTo) dalam epoch milidetik, salah
+// satu batas boleh kosong. Semua null berarti tanpa filter.
+public record TodoFilterRequest(
+        String status,
+        String priority,
+        Long dueFrom,
+        Long dueTo) {
+
+    public boolean isEmpty() {
+        return status == null && priority == null && dueFrom == null && dueTo == null;
+    }
+}
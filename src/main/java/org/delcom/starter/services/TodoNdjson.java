@@ -0,0 +1,248 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+
+// Satu baris NDJSON untuk import dan export todo massal.
+// Baris import berupa objek JSON datar dengan field TodoRequest (title, description, status,
+// priority, dueAt); field lain seperti id, owner, createdAt, updatedAt dan version dari hasil export
+// diabaikan, sehingga file export bisa langsung di-import ulang. Parser ditulis tangan karena
+// hanya perlu string, bilangan bulat dan null, tanpa membuat tree JSON per baris.
+public final class TodoNdjson {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TodoNdjson() {
+    }
+
+    // IllegalArgumentException berisi pesan untuk klien jika baris tidak valid
+    public static TodoRequest parse(String line) {
+        return new Parser(line).request();
+    }
+
+    // Satu todo sebagai baris JSON, diakhiri '\n'
+    public static void write(Todo todo, StringBuilder out) {
+        object(todo, out);
+        out.append('\n');
+    }
+
+    // Satu todo sebagai objek JSON tanpa akhir baris
+    static void object(Todo todo, StringBuilder out) {
+        out.append("{\"id\":").append(todo.id()).append(",\"owner\":");
+        string(todo.owner(), out);
+        out.append(",\"title\":");
+        string(todo.title(), out);
+        out.append(",\"description\":");
+        string(todo.description(), out);
+        out.append(",\"status\":\"").append(todo.status().name())
+                .append("\",\"priority\":").append(todo.priority())
+                .append(",\"dueAt\":").append(todo.dueAt())
+                .append(",\"createdAt\":").append(todo.createdAt())
+                .append(",\"updatedAt\":").append(todo.updatedAt())
+                .append(",\"version\":").append(todo.version())
+                .append('}');
+    }
+
+    public static void string(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 15]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static final class Parser {
+
+        private static final String INVALID = "JSON tidak valid";
+        private static final Object NULL = new Object();
+
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        TodoRequest request() {
+            String title = null;
+            String description = null;
+            String status = null;
+            Integer priority = null;
+            Long dueAt = null;
+            expect('{');
+            if (peek() == '}') {
+                position++;
+            } else {
+                while (true) {
+                    String name = string();
+                    expect(':');
+                    Object value = value();
+                    switch (name) {
+                        case "title" -> title = text(name, value);
+                        case "description" -> description = text(name, value);
+                        case "status" -> status = text(name, value);
+                        case "priority" -> {
+                            Long number = number(name, value);
+                            if (number != null && (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE)) {
+                                throw new IllegalArgumentException("Prioritas harus antara 0 dan 3");
+                            }
+                            priority = number == null ? null : number.intValue();
+                        }
+                        case "dueAt" -> dueAt = number(name, value);
+                        default -> {
+                            // Field lain (id, owner, createdAt, updatedAt, version) diabaikan
+                        }
+                    }
+                    char next = peek();
+                    position++;
+                    if (next == '}') {
+                        break;
+                    }
+                    if (next != ',') {
+                        throw new IllegalArgumentException(INVALID);
+                    }
+                }
+            }
+            if (peek() != 0) {
+                throw new IllegalArgumentException(INVALID);
+            }
+            return new TodoRequest(title, description, status, priority, dueAt);
+        }
+
+        private static String text(String name, Object value) {
+            if (value == NULL) {
+                return null;
+            }
+            if (!(value instanceof String string)) {
+                throw new IllegalArgumentException("Field " + name + " harus berupa string");
+            }
+            return string;
+        }
+
+        private static Long number(String name, Object value) {
+            if (value == NULL) {
+                return null;
+            }
+            if (!(value instanceof Long number)) {
+                throw new IllegalArgumentException("Field " + name + " harus berupa bilangan bulat");
+            }
+            return number;
+        }
+
+        // Karakter berikutnya setelah spasi, 0 jika teks habis
+        private char peek() {
+            while (position < text.length() && text.charAt(position) <= ' ') {
+                position++;
+            }
+            return position < text.length() ? text.charAt(position) : 0;
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException(INVALID);
+            }
+            position++;
+        }
+
+        // String, Long, Boolean atau NULL; objek dan array tidak didukung
+        private Object value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return integer();
+            }
+            if (text.startsWith("null", position)) {
+                position += 4;
+                return NULL;
+            }
+            if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            throw new IllegalArgumentException(INVALID);
+        }
+
+        private Long integer() {
+            int start = position;
+            if (text.charAt(position) == '-') {
+                position++;
+            }
+            while (position < text.length() && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+                position++;
+            }
+            if (position < text.length() && ".eE".indexOf(text.charAt(position)) >= 0) {
+                // Pecahan dan eksponen dibaca sebagai angka tidak bulat
+                while (position < text.length() && "+-.eE0123456789".indexOf(text.charAt(position)) >= 0) {
+                    position++;
+                }
+                return null;
+            }
+            try {
+                return Long.parseLong(text, start, position, 10);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(INVALID);
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (true) {
+                if (position >= text.length()) {
+                    throw new IllegalArgumentException(INVALID);
+                }
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return out.toString();
+                }
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    throw new IllegalArgumentException(INVALID);
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> out.append(escaped);
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException(INVALID);
+                        }
+                        try {
+                            out.append((char) Integer.parseInt(text, position, position + 4, 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException(INVALID);
+                        }
+                        position += 4;
+                    }
+                    default -> throw new IllegalArgumentException(INVALID);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.delcom.starter.services;
+
+import java.util.List;
+
+import org.delcom.starter.entities.Todo;
+
+// Satu halaman hasil list; nextCursor dikirim kembali sebagai ?cursor= untuk halaman berikutnya,
+// null jika tidak ada lagi
+public record TodoPage(List<Todo> items, Long nextCursor) {
+}
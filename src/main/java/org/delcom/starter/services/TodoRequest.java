@@ -0,0 +1,11 @@
+package org.delcom.starter.services;
+
+// Body JSON untuk membuat atau memperbarui todo. Field yang null memakai nilai bawaan
+// (saat membuat) atau nilai lama (saat memperbarui), kecuali title yang wajib diisi.
+public record TodoRequest(
+        String title,
+        String description,
+        String status,
+        Integer priority,
+        Long dueAt) {
+}
@@ -0,0 +1,9 @@
+package org.delcom.starter.services;
+
+import java.util.List;
+
+import org.delcom.starter.entities.Todo;
+
+// Hasil pencarian: todo dengan skor tertinggi lebih dulu, matched = jumlah seluruh todo yang cocok
+public record TodoSearchResult(List<Todo> items, int matched) {
+}
@@ -0,0 +1,450 @@
+package org.delcom.starter.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoQueryIndex;
+import org.delcom.starter.repositories.TodoSearchIndex;
+import org.delcom.starter.repositories.TodoShard;
+import org.delcom.starter.repositories.TodoShards;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Aturan bisnis todo di atas TodoShards: validasi, kepemilikan dan pagination. Setiap operasi
+// hanya menyentuh shard milik owner (store, index dan lock shard itu).
+// Perubahan memakai compare-and-set (replace/remove dengan nilai yang dibaca) sehingga
+// dua update bersamaan tidak saling menimpa. Update dan hapus bisa bersyarat pada version todo
+// (If-Match): versi dibandingkan dengan nilai yang sama yang menjadi dasar compare-and-set, jadi
+// optimistic concurrency tanpa lock yang dipegang di antara klien membaca dan menulis.
+// Perubahan store, index shard dan pemberitahuan listener dilakukan di bawah lock per id milik
+// shard agar listener seperti WAL melihat perubahan satu todo dengan urutan yang sama seperti
+// store; baca tidak pernah mengambil lock ini.
+@Service
+public class TodoService {
+
+    static final int MAX_TITLE = 200;
+    static final int MAX_DESCRIPTION = 2000;
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+    // Jumlah operasi maksimum per POST /todos/batch
+    static final int MAX_BATCH = 1000;
+    private static final TodoFilterRequest NO_FILTER = new TodoFilterRequest(null, null, null, null);
+    private static final String PESAN_TIDAK_DITEMUKAN = "Todo tidak ditemukan";
+    private static final String PESAN_KONFLIK = "Versi todo sudah berubah";
+
+    // Update atau hapus tanpa memeriksa versi (tanpa If-Match, atau If-Match: *)
+    public static final long ANY_VERSION = -1;
+
+    private static final int RESTORE_STRIPES = 64;
+
+    private final TodoShards shards;
+    private final List<TodoChangeListener> listeners;
+    private final LongSupplier clock;
+    // Lock restore per id (di-stripe) untuk semua shard: id dari file bisa sudah dipakai owner di shard
+    // lain, sehingga lock id shard owner saja tidak cukup untuk pemeriksaan kepemilikan
+    private final Object[] restoreLocks = new Object[RESTORE_STRIPES];
+
+    @Autowired
+    public TodoService(TodoShards shards, ObjectProvider<TodoChangeListener> listeners) {
+        this(shards, listeners.orderedStream().toList(), System::currentTimeMillis);
+    }
+
+    TodoService(TodoShards shards, List<TodoChangeListener> listeners, LongSupplier clock) {
+        this.shards = shards;
+        this.listeners = List.copyOf(listeners);
+        this.clock = clock;
+        for (int i = 0; i < RESTORE_STRIPES; i++) {
+            restoreLocks[i] = new Object();
+        }
+    }
+
+    // Pesan kesalahan untuk ditampilkan ke klien, atau null jika request valid.
+    // Saat membuat todo, title wajib diisi; saat memperbarui, title null berarti tidak diubah.
+    public String validate(TodoRequest request, boolean create) {
+        if (request == null) {
+            return "Data todo wajib diisi";
+        }
+        String title = request.title();
+        if (title == null ? create : title.isBlank()) {
+            return "Judul todo wajib diisi";
+        }
+        if (title != null && title.length() > MAX_TITLE) {
+            return "Judul todo maksimal " + MAX_TITLE + " karakter";
+        }
+        if (request.description() != null && request.description().length() > MAX_DESCRIPTION) {
+            return "Deskripsi todo maksimal " + MAX_DESCRIPTION + " karakter";
+        }
+        if (request.status() != null && TodoStatus.parse(request.status()) == null) {
+            return "Status harus OPEN, IN_PROGRESS atau DONE";
+        }
+        if (request.priority() != null && (request.priority() < 0 || request.priority() > 3)) {
+            return "Prioritas harus antara 0 dan 3";
+        }
+        if (request.dueAt() != null && request.dueAt() < 0) {
+            return "Tenggat tidak valid";
+        }
+        return null;
+    }
+
+    // Request harus sudah lolos validate(request, true); null jika kuota shard owner penuh
+    public Todo create(String owner, TodoRequest request) {
+        Todo todo = insert(shards.shardFor(owner), owner, request, clock.getAsLong());
+        if (todo != null) {
+            awaitDurable();
+        }
+        return todo;
+    }
+
+    // Import massal: setiap request (sudah lolos validate(request, true)) dimasukkan seperti create,
+    // tetapi awaitDurable hanya sekali per batch sehingga WAL menulis seluruh batch dalam sedikit
+    // group commit, bukan satu commit per todo. Mengembalikan jumlah todo yang masuk; sisanya
+    // ditolak kuota shard.
+    public int createAll(String owner, List<TodoRequest> requests) {
+        TodoShard shard = shards.shardFor(owner);
+        long now = clock.getAsLong();
+        int created = 0;
+        for (TodoRequest request : requests) {
+            if (insert(shard, owner, request, now) != null) {
+                created++;
+            }
+        }
+        awaitDurable();
+        return created;
+    }
+
+    private Todo insert(TodoShard shard, String owner, TodoRequest request, long now) {
+        long start = System.nanoTime();
+        Todo todo = new Todo(shards.nextId(), owner, request.title().strip(),
+                request.description() == null ? "" : request.description(),
+                request.status() == null ? TodoStatus.OPEN : TodoStatus.parse(request.status()),
+                request.priority() == null ? 0 : request.priority(),
+                request.dueAt() == null ? 0 : request.dueAt(),
+                now, now, 1);
+        synchronized (shard.lockFor(todo.id())) {
+            beforeChange();
+            if (!shard.insert(todo)) {
+                return null;
+            }
+            shard.indexChange(null, todo);
+            notifyListeners(null, todo);
+        }
+        shard.recordWrite(start);
+        return todo;
+    }
+
+    // null jika todo tidak ada atau milik pengguna lain
+    public Todo get(String owner, long id) {
+        return get(shards.shardFor(owner), owner, id);
+    }
+
+    private static Todo get(TodoShard shard, String owner, long id) {
+        Todo todo = shard.get(id);
+        return todo != null && todo.owner().equals(owner) ? todo : null;
+    }
+
+    // Request harus sudah lolos validate(request, false); null jika todo tidak ditemukan
+    public Todo update(String owner, long id, TodoRequest request) {
+        TodoWriteResult result = update(owner, id, request, ANY_VERSION);
+        return result.outcome() == TodoWriteResult.Outcome.APPLIED ? result.todo() : null;
+    }
+
+    // Seperti update, tetapi hanya diterapkan jika version todo saat ini sama dengan expectedVersion
+    public TodoWriteResult update(String owner, long id, TodoRequest request, long expectedVersion) {
+        TodoShard shard = shards.shardFor(owner);
+        long start = System.nanoTime();
+        TodoWriteResult result;
+        synchronized (shard.lockFor(id)) {
+            result = replace(shard, owner, id, request, expectedVersion);
+        }
+        shard.recordWrite(start);
+        if (result.outcome() == TodoWriteResult.Outcome.APPLIED) {
+            awaitDurable();
+        }
+        return result;
+    }
+
+    private TodoWriteResult replace(TodoShard shard, String owner, long id, TodoRequest request,
+            long expectedVersion) {
+        while (true) {
+            Todo current = get(shard, owner, id);
+            if (current == null) {
+                return TodoWriteResult.NOT_FOUND;
+            }
+            if (expectedVersion != ANY_VERSION && current.version() != expectedVersion) {
+                return new TodoWriteResult(TodoWriteResult.Outcome.CONFLICT, current);
+            }
+            Todo updated = new Todo(id, owner,
+                    request.title() == null ? current.title() : request.title().strip(),
+                    request.description() == null ? current.description() : request.description(),
+                    request.status() == null ? current.status() : TodoStatus.parse(request.status()),
+                    request.priority() == null ? current.priority() : request.priority(),
+                    request.dueAt() == null ? current.dueAt() : request.dueAt(),
+                    current.createdAt(), clock.getAsLong(), current.version() + 1);
+            beforeChange();
+            if (shard.replace(id, current, updated)) {
+                shard.indexChange(current, updated);
+                notifyListeners(current, updated);
+                return new TodoWriteResult(TodoWriteResult.Outcome.APPLIED, updated);
+            }
+        }
+    }
+
+    public boolean delete(String owner, long id) {
+        return delete(owner, id, ANY_VERSION).outcome() == TodoWriteResult.Outcome.APPLIED;
+    }
+
+    // Seperti delete, tetapi hanya diterapkan jika version todo saat ini sama dengan expectedVersion
+    public TodoWriteResult delete(String owner, long id, long expectedVersion) {
+        TodoShard shard = shards.shardFor(owner);
+        long start = System.nanoTime();
+        TodoWriteResult result;
+        synchronized (shard.lockFor(id)) {
+            result = remove(shard, owner, id, expectedVersion);
+        }
+        shard.recordWrite(start);
+        if (result.outcome() == TodoWriteResult.Outcome.APPLIED) {
+            awaitDurable();
+        }
+        return result;
+    }
+
+    private TodoWriteResult remove(TodoShard shard, String owner, long id, long expectedVersion) {
+        while (true) {
+            Todo current = get(shard, owner, id);
+            if (current == null) {
+                return TodoWriteResult.NOT_FOUND;
+            }
+            if (expectedVersion != ANY_VERSION && current.version() != expectedVersion) {
+                return new TodoWriteResult(TodoWriteResult.Outcome.CONFLICT, current);
+            }
+            beforeChange();
+            if (shard.remove(id, current)) {
+                shard.indexChange(current, null);
+                notifyListeners(current, null);
+                return new TodoWriteResult(TodoWriteResult.Outcome.APPLIED, current);
+            }
+        }
+    }
+
+    // Pesan kesalahan batch untuk klien, atau null jika valid; operasi yang tidak valid
+    // dilaporkan per item oleh applyBatch
+    public String validateBatch(TodoBatchRequest request) {
+        if (request == null || request.operations() == null || request.operations().isEmpty()) {
+            return "Daftar operasi wajib diisi";
+        }
+        if (request.operations().size() > MAX_BATCH) {
+            return "Maksimal " + MAX_BATCH + " operasi per batch";
+        }
+        return null;
+    }
+
+    // Request harus sudah lolos validateBatch. Operasi diterapkan berurutan dan masing-masing
+    // atomik per todo (compare-and-set dengan versinya sendiri); operasi yang gagal tidak
+    // membatalkan yang lain. Seperti createAll, awaitDurable hanya sekali untuk seluruh batch.
+    public TodoBatchResult applyBatch(String owner, TodoBatchRequest request) {
+        TodoShard shard = shards.shardFor(owner);
+        List<TodoBatchResult.Item> results = new ArrayList<>(request.operations().size());
+        int applied = 0;
+        for (TodoBatchRequest.Operation operation : request.operations()) {
+            String error = validateOperation(operation);
+            if (error != null) {
+                results.add(new TodoBatchResult.Item(operation == null ? null : operation.id(), "invalid", error, null));
+                continue;
+            }
+            long id = operation.id();
+            long version = operation.version() == null ? ANY_VERSION : operation.version();
+            long start = System.nanoTime();
+            TodoWriteResult result;
+            synchronized (shard.lockFor(id)) {
+                result = operation.delete()
+                        ? remove(shard, owner, id, version)
+                        : replace(shard, owner, id, operation.todo(), version);
+            }
+            shard.recordWrite(start);
+            if (result.outcome() == TodoWriteResult.Outcome.APPLIED) {
+                applied++;
+            }
+            results.add(item(id, operation.delete(), result));
+        }
+        if (applied > 0) {
+            awaitDurable();
+        }
+        return new TodoBatchResult(results, applied, results.size() - applied);
+    }
+
+    private static TodoBatchResult.Item item(long id, boolean delete, TodoWriteResult result) {
+        return switch (result.outcome()) {
+            case APPLIED -> delete
+                    ? new TodoBatchResult.Item(id, "deleted", null, null)
+                    : new TodoBatchResult.Item(id, "updated", null, result.todo());
+            case CONFLICT -> new TodoBatchResult.Item(id, "conflict", PESAN_KONFLIK, result.todo());
+            case NOT_FOUND -> new TodoBatchResult.Item(id, "not_found", PESAN_TIDAK_DITEMUKAN, null);
+        };
+    }
+
+    private String validateOperation(TodoBatchRequest.Operation operation) {
+        if (operation == null || operation.id() == null || operation.id() <= 0) {
+            return "Id todo wajib diisi";
+        }
+        if (operation.version() != null && operation.version() <= 0) {
+            return "Versi todo tidak valid";
+        }
+        return operation.delete() ? null : validate(operation.todo(), false);
+    }
+
+    // Memasukkan todo dari export shard node lain (TodoSnapshots.export) dengan owner, isi dan
+    // versinya, lewat index dan listener seperti create sehingga tercatat di WAL dan change feed.
+    // Id dipertahankan jika belum dipakai atau milik owner yang sama (import ulang menimpa); jika
+    // sudah dipakai pengguna lain, todo mendapat id baru. Pemeriksaan kepemilikan dan put terjadi di
+    // bawah lock restore id (blok snapshot paralel dan import lain dengan id yang sama) dan lock id
+    // shard owner (update dan delete). Create tidak berebut id file karena reserveIds dipanggil
+    // sebelum file dibaca. Todo baru dikenai kuota shard seperti create; menimpa todo owner yang sama
+    // tidak, seperti update. Tanpa awaitDurable: panggil awaitDurable sekali setelah semua todo
+    // dimasukkan. Mengembalikan todo yang disimpan, atau null jika kuota shard penuh.
+    public Todo restore(Todo todo) {
+        TodoShard shard = shards.shardFor(todo.owner());
+        long start = System.nanoTime();
+        synchronized (restoreLocks[(int) todo.id() & (RESTORE_STRIPES - 1)]) {
+            synchronized (shard.lockFor(todo.id())) {
+                Todo existing = shards.get(todo.id());
+                if (existing == null || existing.owner().equals(todo.owner())) {
+                    return restoreLocked(shard, existing, todo, start) ? todo : null;
+                }
+            }
+        }
+        // Id dipakai pengguna lain; id dari nextId belum dipakai siapa pun, cukup lock id itu
+        Todo renumbered = new Todo(shards.nextId(), todo.owner(), todo.title(), todo.description(), todo.status(),
+                todo.priority(), todo.dueAt(), todo.createdAt(), todo.updatedAt(), todo.version());
+        synchronized (shard.lockFor(renumbered.id())) {
+            return restoreLocked(shard, null, renumbered, start) ? renumbered : null;
+        }
+    }
+
+    // Dipanggil di bawah lockFor(todo.id()); previous adalah todo owner yang sama di shard ini atau null
+    private boolean restoreLocked(TodoShard shard, Todo previous, Todo todo, long start) {
+        beforeChange();
+        if (previous != null) {
+            shard.put(todo);
+        } else if (!shard.insert(todo)) {
+            return false;
+        }
+        shard.indexChange(previous, todo);
+        notifyListeners(previous, todo);
+        shard.recordWrite(start);
+        return true;
+    }
+
+    // Todo milik owner dengan id > afterId, urut naik, dengan cursor id terakhir di halaman. Tanpa
+    // filter TodoQueryIndex memakai daftar id owner (rencana OWNER), sehingga biaya halaman hanya
+    // bergantung pada todo pengguna itu sendiri, bukan pada seluruh ruang id.
+    public TodoPage list(String owner, long afterId, int limit) {
+        return query(owner, NO_FILTER, afterId, limit);
+    }
+
+    // Pesan kesalahan filter list untuk klien, atau null jika valid
+    public String validateFilter(TodoFilterRequest filter) {
+        if (filter.status() != null) {
+            for (String status : filter.status().split(",", -1)) {
+                if (TodoStatus.parse(status.strip()) == null) {
+                    return "Status harus OPEN, IN_PROGRESS atau DONE";
+                }
+            }
+        }
+        if (filter.priority() != null) {
+            for (String priority : filter.priority().split(",", -1)) {
+                if (priorityOf(priority) < 0) {
+                    return "Prioritas harus antara 0 dan 3";
+                }
+            }
+        }
+        if ((filter.dueFrom() != null && filter.dueFrom() < 0) || (filter.dueTo() != null && filter.dueTo() < 0)) {
+            return "Tenggat tidak valid";
+        }
+        if (filter.dueFrom() != null && filter.dueTo() != null && filter.dueFrom() >= filter.dueTo()) {
+            return "Rentang tenggat tidak valid";
+        }
+        return null;
+    }
+
+    // -1 jika teks bukan angka prioritas 0 sampai 3, tanpa exception
+    private static int priorityOf(String text) {
+        String value = text.strip();
+        return value.length() == 1 && value.charAt(0) >= '0' && value.charAt(0) <= '3' ? value.charAt(0) - '0' : -1;
+    }
+
+    // Filter harus sudah lolos validateFilter. Seperti list, halaman berikutnya diminta dengan
+    // cursor id terakhir; sumber kandidat (daftar id owner, bitmap atau rentang tenggat) dipilih
+    // TodoQueryIndex sehingga filter yang selektif tidak memindai semua todo pengguna.
+    public TodoPage query(String owner, TodoFilterRequest filter, long afterId, int limit) {
+        TodoShard shard = shards.shardFor(owner);
+        long start = System.nanoTime();
+        int size = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        int statuses = 0;
+        if (filter.status() != null) {
+            for (String status : filter.status().split(",", -1)) {
+                statuses |= 1 << TodoStatus.parse(status.strip()).ordinal();
+            }
+        }
+        int priorities = 0;
+        if (filter.priority() != null) {
+            for (String priority : filter.priority().split(",", -1)) {
+                priorities |= 1 << priorityOf(priority);
+            }
+        }
+        TodoQueryIndex.Filter query = new TodoQueryIndex.Filter(statuses, priorities,
+                filter.dueFrom() != null || filter.dueTo() != null,
+                filter.dueFrom() == null ? 0 : filter.dueFrom(),
+                filter.dueTo() == null ? Long.MAX_VALUE : filter.dueTo());
+        TodoQueryIndex.Page page = shard.queryIndex().query(owner, query, Math.max(afterId, 0), size);
+        shard.recordRead(start);
+        return new TodoPage(page.items(), page.nextCursor());
+    }
+
+    // Pesan kesalahan query pencarian untuk klien, atau null jika valid
+    public String validateQuery(String query) {
+        return TodoSearchIndex.validate(query);
+    }
+
+    // Query harus sudah lolos validateQuery. Id dari index diperiksa lagi di store karena index
+    // bisa tertinggal sesaat dari perubahan yang sedang berjalan.
+    public TodoSearchResult search(String owner, String query, int limit) {
+        TodoShard shard = shards.shardFor(owner);
+        long start = System.nanoTime();
+        int size = limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        TodoSearchIndex.SearchResult result = shard.searchIndex().search(owner, query, size);
+        List<Todo> items = new ArrayList<>(result.ids().length);
+        for (long id : result.ids()) {
+            Todo todo = get(shard, owner, id);
+            if (todo != null) {
+                items.add(todo);
+            }
+        }
+        shard.recordRead(start);
+        return new TodoSearchResult(items, result.matched());
+    }
+
+    private void beforeChange() {
+        for (TodoChangeListener listener : listeners) {
+            listener.beforeChange();
+        }
+    }
+
+    private void notifyListeners(Todo before, Todo after) {
+        for (TodoChangeListener listener : listeners) {
+            listener.onTodoChanged(before, after);
+        }
+    }
+
+    // Menunggu semua perubahan sebelumnya tahan crash (WAL); dipanggil sekali setelah restore massal
+    public void awaitDurable() {
+        for (TodoChangeListener listener : listeners) {
+            listener.awaitDurable();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+
+// Hasil update atau hapus bersyarat. todo: hasil update atau todo yang dihapus saat APPLIED,
+// todo saat ini (dengan versi terbarunya) saat CONFLICT, null saat NOT_FOUND.
+public record TodoWriteResult(Outcome outcome, Todo todo) {
+
+    public enum Outcome {
+        APPLIED, NOT_FOUND, CONFLICT
+    }
+
+    static final TodoWriteResult NOT_FOUND = new TodoWriteResult(Outcome.NOT_FOUND, null);
+}
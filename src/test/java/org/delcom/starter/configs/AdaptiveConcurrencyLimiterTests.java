@@ -0,0 +1,138 @@
+package org.delcom.starter.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    @DisplayName("Menolak request saat batas dan antrian penuh")
+    void testRejectsWhenLimitAndQueueAreFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("heavy", 1, 1, 4, 0, 10);
+
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+
+        Map<String, Object> snapshot = limiter.snapshot();
+        assertEquals(1, snapshot.get("inFlight"));
+        assertEquals(1L, snapshot.get("accepted"));
+        assertEquals(1L, snapshot.get("rejected"));
+        assertEquals(0L, snapshot.get("minLatencyMicros"));
+        assertEquals("heavy", limiter.getName());
+    }
+
+    @Test
+    @DisplayName("Request yang mengantri menunggu slot kosong atau ditolak saat timeout")
+    void testQueuedRequestWaitsForRelease() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("heavy", 1, 1, 1, 1, 5_000);
+        assertTrue(limiter.acquire());
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((int) limiter.snapshot().get("queued") == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+
+        AdaptiveConcurrencyLimiter shortWait = new AdaptiveConcurrencyLimiter("heavy", 1, 1, 1, 1, 20);
+        assertTrue(shortWait.acquire());
+        assertFalse(shortWait.acquire());
+        assertEquals(1L, shortWait.snapshot().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Batas naik saat latensi stabil dan turun saat latensi membengkak")
+    void testLimitAdaptsToLatency() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("heavy", 4, 2, 8, 0, 10);
+
+        // Latensi stabil dengan semua slot terpakai: batas naik sampai maksimum
+        for (int i = 0; i < 20; i++) {
+            while (limiter.acquire()) {
+                // isi semua slot
+            }
+            int limit = limiter.getLimit();
+            for (int j = 0; j < limit; j++) {
+                limiter.release(1_000_000);
+            }
+        }
+        assertEquals(8, limiter.getLimit());
+
+        // Latensi 10x lipat menandakan antrian di dalam server: batas turun sampai minimum
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(10_000_000);
+        }
+        assertEquals(2, limiter.getLimit());
+        assertEquals(1_000L, limiter.snapshot().get("minLatencyMicros"));
+
+        // Latensi kembali normal: EWMA turun bertahap, lalu satu request sekaligus hanya menaikkan batas
+        // selama slot masih terpakai separuhnya
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(1_000_000);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Latensi minimum bergerak bertahap ke minimum EWMA setiap jendela probe")
+    void testReprobesMinimumLatency() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("default", 2, 1, 4, 0, 10);
+
+        assertTrue(limiter.acquire());
+        limiter.release(1_000);
+        for (int i = 0; i < 1_999; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(5_000);
+        }
+        // Jendela pertama masih berisi sampel 1us; jendela kedua menaikkan baseline separuh jalan ke 5us
+        assertEquals(3L, limiter.snapshot().get("minLatencyMicros"));
+        assertEquals(5L, limiter.snapshot().get("latencyMicros"));
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(5_000);
+        }
+        assertEquals(4L, limiter.snapshot().get("minLatencyMicros"));
+
+        // Latensi sedikit di atas minimum: batas tidak berubah
+        int limit = limiter.getLimit();
+        assertTrue(limiter.acquire());
+        limiter.release(8_000);
+        assertEquals(limit, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Sampel probe yang menyimpang tidak menjadi baseline baru")
+    void testProbeOutlierDoesNotResetBaseline() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("heavy", 2, 1, 4, 0, 10);
+        for (int i = 0; i < 999; i++) {
+            assertTrue(limiter.acquire());
+            limiter.release(5_000);
+        }
+        int limit = limiter.getLimit();
+
+        // Sampel ke-1000 (saat probe) adalah payload besar
+        assertTrue(limiter.acquire());
+        limiter.release(500_000);
+        assertEquals(5L, limiter.snapshot().get("minLatencyMicros"));
+
+        // Request kecil berikutnya tidak dianggap jauh lebih cepat dari baseline sehingga batas tidak naik
+        assertTrue(limiter.acquire());
+        limiter.release(5_000);
+        assertTrue(limiter.getLimit() <= limit);
+    }
+}
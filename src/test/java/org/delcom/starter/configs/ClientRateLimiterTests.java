@@ -0,0 +1,136 @@
+package org.delcom.starter.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    // 10 token/detik (1 token per 100 ms), burst 3 token
+    private static ClientRateLimiter limiter(AtomicLong clock, int maxClients, String... costs) {
+        return new ClientRateLimiter(10, 3, List.of(costs), 1, maxClients, 1, clock::get);
+    }
+
+    @Test
+    @DisplayName("Burst diterima, request berikutnya menunggu sampai token terisi lagi")
+    void testBurstThenRefill() {
+        AtomicLong clock = new AtomicLong(-5_000 * MILLIS);
+        ClientRateLimiter limiter = limiter(clock, 100);
+
+        assertEquals(0, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+        assertEquals(0, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+        assertEquals(0, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+        assertEquals(100 * MILLIS, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+
+        clock.addAndGet(60 * MILLIS);
+        assertEquals(40 * MILLIS, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+        clock.addAndGet(40 * MILLIS);
+        assertEquals(0, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+
+        Map<String, Object> snapshot = limiter.snapshot();
+        assertEquals(4L, snapshot.get("allowed"));
+        assertEquals(2L, snapshot.get("rejected"));
+        assertEquals(1, snapshot.get("addresses"));
+        assertEquals(0, snapshot.get("subjects"));
+    }
+
+    @Test
+    @DisplayName("Endpoint berat memakai lebih banyak token")
+    void testCostWeights() {
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter limiter = limiter(clock, 100, "/paling-ter:3", " /stream/ : 2 ");
+
+        assertEquals(3, limiter.cost("/paling-ter"));
+        assertEquals(1, limiter.cost("/paling-ter/lain"));
+        assertEquals(2, limiter.cost("/stream/paling-ter"));
+        assertEquals(1, limiter.cost("/stream"));
+
+        assertEquals(0, limiter.acquire(null, "10.0.0.1", "/paling-ter"));
+        assertEquals(100 * MILLIS, limiter.acquire(null, "10.0.0.1", "/hello/a"));
+    }
+
+    @Test
+    @DisplayName("Klien dengan token dibatasi per subject, terpisah dari bucket IP")
+    void testSubjectsAndAddressesAreSeparate() {
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter limiter = limiter(clock, 100, "/paling-ter:3");
+
+        assertEquals(0, limiter.acquire("10.0.0.1", "10.0.0.1", "/paling-ter"));
+        assertTrue(limiter.acquire("10.0.0.1", "10.0.0.9", "/hello/a") > 0);
+        assertEquals(0, limiter.acquire(null, "10.0.0.1", "/paling-ter"));
+        assertEquals(0, limiter.acquire("bob", "10.0.0.1", "/paling-ter"));
+
+        Map<String, Object> snapshot = limiter.snapshot();
+        assertEquals(2, snapshot.get("subjects"));
+        assertEquals(1, snapshot.get("addresses"));
+    }
+
+    @Test
+    @DisplayName("Bucket yang idle dibuang saat stripe membuat bucket baru")
+    void testIdleBucketsAreEvicted() {
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter limiter = limiter(clock, 100);
+        limiter.acquire(null, "a", "/");
+
+        clock.set(1_500 * MILLIS);
+        limiter.acquire(null, "b", "/");
+        assertEquals(1L, limiter.snapshot().get("evicted"));
+
+        clock.set(2_000 * MILLIS);
+        limiter.acquire(null, "c", "/");
+        assertEquals(1L, limiter.snapshot().get("evicted"));
+        assertEquals(2, limiter.snapshot().get("addresses"));
+
+        clock.set(3_000 * MILLIS);
+        limiter.acquire(null, "d", "/");
+        assertEquals(2L, limiter.snapshot().get("evicted"));
+        assertEquals(2, limiter.snapshot().get("addresses"));
+    }
+
+    @Test
+    @DisplayName("Klien baru di atas batas berbagi bucket overflow")
+    void testOverflowBucketWhenFull() {
+        AtomicLong clock = new AtomicLong();
+        ClientRateLimiter limiter = limiter(clock, 2);
+        limiter.acquire(null, "a", "/");
+        limiter.acquire(null, "b", "/");
+
+        assertEquals(0, limiter.acquire(null, "c", "/"));
+        assertEquals(0, limiter.acquire(null, "d", "/"));
+        assertEquals(0, limiter.acquire(null, "e", "/"));
+        assertTrue(limiter.acquire(null, "f", "/") > 0);
+
+        Map<String, Object> snapshot = limiter.snapshot();
+        assertEquals(2, snapshot.get("addresses"));
+        assertEquals(4L, snapshot.get("overflowed"));
+    }
+
+    @Test
+    @DisplayName("Konfigurasi biaya yang tidak valid ditolak")
+    void testInvalidCosts() {
+        AtomicLong clock = new AtomicLong();
+        assertThrows(IllegalArgumentException.class, () -> limiter(clock, 100, "/paling-ter"));
+        assertThrows(IllegalArgumentException.class, () -> limiter(clock, 100, ":3"));
+        assertThrows(IllegalArgumentException.class, () -> limiter(clock, 100, "/paling-ter:0"));
+        assertThrows(IllegalArgumentException.class, () -> limiter(clock, 100, "/paling-ter:4"));
+        assertThrows(NumberFormatException.class, () -> limiter(clock, 100, "/paling-ter:x"));
+    }
+
+    @Test
+    @DisplayName("Konstruktor Spring memakai 64 stripe dan jam sistem")
+    void testSpringConstructor() {
+        ClientRateLimiter limiter = new ClientRateLimiter(20, 40, List.of("/paling-ter:10"), 60, 100_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.acquire(null, "10.0.0." + i, "/paling-ter"));
+        }
+        assertEquals(100, limiter.snapshot().get("addresses"));
+    }
+}
@@ -0,0 +1,167 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitFilterTests {
+
+    private static ConcurrencyLimiters limiters(int heavyMax) {
+        return new ConcurrencyLimiters(Set.of("/paling-ter"), List.of("/berat/"), heavyMax, 0, 100, 0, 10);
+    }
+
+    private static ConcurrencyLimitFilter filter(ConcurrencyLimiters limiters, boolean enabled) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiters);
+        ReflectionTestUtils.setField(filter, "enabled", enabled);
+        return filter;
+    }
+
+    private static HttpServletRequest request(String uri) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn(uri);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Meneruskan request dan melepas slot setelah selesai")
+    void testPassesThroughAndReleases() throws Exception {
+        ConcurrencyLimiters limiters = limiters(1);
+        ConcurrencyLimitFilter filter = filter(limiters, true);
+        HttpServletRequest request = request("/paling-ter");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        assertEquals(0, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("inFlight"));
+        assertEquals(1L, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("accepted"));
+    }
+
+    @Test
+    @DisplayName("Menolak dengan 503 dan Retry-After saat kelompok endpoint penuh")
+    void testRejectsWhenSaturated() throws Exception {
+        ConcurrencyLimiters limiters = limiters(1);
+        ConcurrencyLimitFilter filter = filter(limiters, true);
+        AdaptiveConcurrencyLimiter heavy = limiters.forPath("/paling-ter");
+        int limit = heavy.getLimit();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(heavy.acquire());
+        }
+
+        HttpServletRequest request = request("/paling-ter");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(output);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain, never()).doFilter(request, response);
+        verify(response).setStatus(503);
+        verify(response).setHeader("Retry-After", "1");
+        verify(output).write(any(byte[].class));
+
+        // Endpoint ringan tetap dilayani meski kelompok heavy penuh
+        HttpServletRequest light = request("/hello/abdullah");
+        filter.doFilterInternal(light, response, chain);
+        verify(chain).doFilter(light, response);
+    }
+
+    @Test
+    @DisplayName("Thread yang diinterupsi saat mengantri ditolak")
+    void testInterruptedWhileQueued() throws Exception {
+        ConcurrencyLimiters limiters = new ConcurrencyLimiters(Set.of("/paling-ter"), List.of(), 1, 1, 100, 0,
+                10_000);
+        ConcurrencyLimitFilter filter = filter(limiters, true);
+        AdaptiveConcurrencyLimiter heavy = limiters.forPath("/paling-ter");
+        int limit = heavy.getLimit();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(heavy.acquire());
+        }
+
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        FilterChain chain = mock(FilterChain.class);
+
+        Thread.currentThread().interrupt();
+        filter.doFilterInternal(request("/paling-ter"), response, chain);
+
+        assertTrue(Thread.interrupted());
+        verify(response).setStatus(503);
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    @DisplayName("Request async melepas slot saat AsyncContext selesai")
+    void testAsyncRequestReleasesOnCompletion() throws Exception {
+        ConcurrencyLimiters limiters = limiters(4);
+        ConcurrencyLimitFilter filter = filter(limiters, true);
+        HttpServletRequest request = request("/paling-ter");
+        AsyncContext async = mock(AsyncContext.class);
+        when(request.isAsyncStarted()).thenReturn(true);
+        when(request.getAsyncContext()).thenReturn(async);
+
+        filter.doFilterInternal(request, mock(HttpServletResponse.class), mock(FilterChain.class));
+
+        assertEquals(1, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("inFlight"));
+        ArgumentCaptor<AsyncListener> captor = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async).addListener(captor.capture());
+        AsyncListener listener = captor.getValue();
+
+        listener.onStartAsync(null);
+        listener.onComplete(null);
+        listener.onTimeout(null);
+        listener.onError(null);
+        assertEquals(0, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("inFlight"));
+
+        ConcurrencyLimitFilter.ReleaseOnComplete timeout = new ConcurrencyLimitFilter.ReleaseOnComplete(
+                limiters.forPath("/berat/x"), System.nanoTime());
+        assertTrue(limiters.forPath("/berat/x").acquire());
+        timeout.onTimeout(null);
+        ConcurrencyLimitFilter.ReleaseOnComplete error = new ConcurrencyLimitFilter.ReleaseOnComplete(
+                limiters.forPath("/berat/x"), System.nanoTime());
+        assertTrue(limiters.forPath("/berat/x").acquire());
+        error.onError(null);
+        assertEquals(0, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("Filter nonaktif meneruskan semua request")
+    void testDisabled() throws Exception {
+        ConcurrencyLimiters limiters = limiters(1);
+        ConcurrencyLimitFilter filter = filter(limiters, false);
+        HttpServletRequest request = request("/paling-ter");
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        assertEquals(0L, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("accepted"));
+    }
+
+    @Test
+    @DisplayName("Koneksi SSE /todos/feed dan upload /stream/* tidak dibatasi filter")
+    void testSkipsLongLivedConnections() {
+        ConcurrencyLimitFilter filter = filter(limiters(1), true);
+
+        assertTrue(filter.shouldNotFilter(request("/todos/feed")));
+        assertTrue(filter.shouldNotFilter(request("/stream/paling-ter")));
+        assertFalse(filter.shouldNotFilter(request("/todos")));
+        assertFalse(filter.shouldNotFilter(request("/paling-ter")));
+    }
+}
@@ -0,0 +1,58 @@
+package org.delcom.starter.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsoleLogWriterTests {
+
+    @Test
+    @DisplayName("Menulis baris log secara asinkron lewat thread penulis")
+    void testWritesAsynchronously() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ConsoleLogWriter writer = new ConsoleLogWriter(16, new PrintStream(buffer, true), true);
+
+        writer.log("GET /hello/abdullah 200");
+        writer.log("GET /paling-ter 200");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!buffer.toString().contains("/paling-ter") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.destroy();
+
+        String output = buffer.toString();
+        assertTrue(output.contains("GET /hello/abdullah 200"));
+        assertTrue(output.contains("GET /paling-ter 200"));
+        assertEquals(0, writer.getDropped());
+    }
+
+    @Test
+    @DisplayName("Membuang baris saat antrian penuh tanpa memblokir request")
+    void testDropsWhenQueueIsFull() throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ConsoleLogWriter writer = new ConsoleLogWriter(1, new PrintStream(buffer, true), false);
+
+        writer.log("pertama");
+        writer.log("kedua");
+
+        assertEquals(1, writer.getDropped());
+
+        writer.destroy();
+        assertTrue(buffer.toString().contains("pertama"));
+        assertFalse(buffer.toString().contains("kedua"));
+    }
+
+    @Test
+    @DisplayName("Membuat writer default yang menulis ke System.out")
+    void testDefaultConstructor() throws Exception {
+        ConsoleLogWriter writer = new ConsoleLogWriter(8);
+        writer.log("startup");
+        writer.destroy();
+        assertEquals(0, writer.getDropped());
+    }
+}
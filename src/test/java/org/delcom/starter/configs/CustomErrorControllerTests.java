@@ -2,6 +2,7 @@ package org.delcom.starter.configs;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
@@ -9,12 +10,21 @@ import org.springframework.boot.webmvc.error.ErrorAttributes;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.ServletWebRequest;
 
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class CustomErrorControllerTest {
@@ -76,4 +86,83 @@ class CustomErrorControllerTest {
         assertEquals("Not Found", result.getBody().get("error"));
         assertEquals("/error404", result.getBody().get("path"));
     }
+
+    @Test
+    @DisplayName("404 tanpa exception ditulis langsung dari body yang sudah dibuat")
+    void testHandleErrorFastPath404() throws Exception {
+        ErrorAttributes errorAttributes = Mockito.mock(ErrorAttributes.class);
+        CustomErrorController controller = new CustomErrorController(errorAttributes);
+
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE)).thenReturn(404);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        ServletOutputStream output = Mockito.mock(ServletOutputStream.class);
+        Mockito.when(response.getOutputStream()).thenReturn(output);
+
+        ResponseEntity<Map<String, Object>> result = controller.handleError(new ServletWebRequest(request, response));
+
+        assertNull(result);
+        verify(response).setStatus(404);
+        verify(response).setContentType("application/json");
+        assertEquals("{\"status\":\"fail\",\"error\":\"Not Found\","
+                + "\"message\":\"Endpoint tidak ditemukan atau terjadi error\"}", written(output));
+        verifyNoInteractions(errorAttributes);
+    }
+
+    @Test
+    @DisplayName("400 tanpa path memakai body yang sama di setiap request")
+    void testHandleErrorFastPath400WithoutPath() throws Exception {
+        ErrorAttributes errorAttributes = Mockito.mock(ErrorAttributes.class);
+        CustomErrorController controller = new CustomErrorController(errorAttributes);
+
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE)).thenReturn(400);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        ServletOutputStream output = Mockito.mock(ServletOutputStream.class);
+        Mockito.when(response.getOutputStream()).thenReturn(output);
+
+        ResponseEntity<Map<String, Object>> first = controller.handleError(new ServletWebRequest(request, response));
+        ResponseEntity<Map<String, Object>> second = controller.handleError(new ServletWebRequest(request, response));
+
+        assertNull(first);
+        assertNull(second);
+        verify(response, times(2)).setStatus(400);
+        assertTrue(written(output).contains("\"error\":\"Bad Request\""));
+        verifyNoInteractions(errorAttributes);
+    }
+
+    @Test
+    @DisplayName("Error dengan exception atau status lain memakai ErrorAttributes")
+    void testHandleErrorSlowPathForExceptionsAndOtherStatus() throws Exception {
+        ErrorAttributes errorAttributes = Mockito.mock(ErrorAttributes.class);
+        Mockito.when(
+                errorAttributes.getErrorAttributes(
+                        any(ServletWebRequest.class),
+                        any(ErrorAttributeOptions.class)))
+                .thenReturn(Map.of("status", 500, "error", "Internal Server Error", "path", "/x"));
+        CustomErrorController controller = new CustomErrorController(errorAttributes);
+
+        HttpServletRequest withException = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(withException.getAttribute(RequestDispatcher.ERROR_STATUS_CODE)).thenReturn(404);
+        Mockito.when(withException.getAttribute(RequestDispatcher.ERROR_EXCEPTION))
+                .thenReturn(new IllegalStateException("gagal"));
+        HttpServletRequest otherStatus = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(otherStatus.getAttribute(RequestDispatcher.ERROR_STATUS_CODE)).thenReturn(500);
+
+        for (HttpServletRequest request : new HttpServletRequest[] { withException, otherStatus }) {
+            ServletWebRequest webRequest = new ServletWebRequest(request, Mockito.mock(HttpServletResponse.class));
+
+            ResponseEntity<Map<String, Object>> result = controller.handleError(webRequest);
+
+            assertEquals(500, result.getStatusCode().value());
+            assertEquals("error", result.getBody().get("status"));
+            assertEquals("Internal Server Error", result.getBody().get("error"));
+        }
+    }
+
+    private static String written(ServletOutputStream output) throws Exception {
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(output, atLeastOnce()).write(body.capture());
+        return new String(body.getValue(), StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,176 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FastRejectFilterTests {
+
+    private static FastRejectFilter filter(boolean enabled, int maxTrackedPaths) {
+        FastRejectFilter filter = new FastRejectFilter(List.of("/stream/"), maxTrackedPaths);
+        ReflectionTestUtils.setField(filter, "enabled", enabled);
+        return filter;
+    }
+
+    private static HttpServletRequest request(String uri) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn(uri);
+        when(request.getContextPath()).thenReturn("");
+        return request;
+    }
+
+    private static HttpServletResponse response() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        return response;
+    }
+
+    private static ContextRefreshedEvent refreshed(String... patterns) {
+        RequestMappingInfo info = mock(RequestMappingInfo.class);
+        when(info.getPatternValues()).thenReturn(Set.of(patterns));
+        RequestMappingHandlerMapping mapping = mock(RequestMappingHandlerMapping.class);
+        when(mapping.getHandlerMethods()).thenReturn(patterns.length == 0 ? Map.of() : Map.of(info, new Object()));
+        ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBeansOfType(RequestMappingHandlerMapping.class))
+                .thenReturn(Map.of("requestMappingHandlerMapping", mapping));
+        ContextRefreshedEvent event = mock(ContextRefreshedEvent.class);
+        when(event.getApplicationContext()).thenReturn(context);
+        return event;
+    }
+
+    @Test
+    @DisplayName("Sebelum route diketahui semua request diteruskan")
+    void testPassesThroughBeforeRoutesAreKnown() throws Exception {
+        FastRejectFilter filter = filter(true, 10);
+        HttpServletRequest request = request("/wp-admin");
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Context tanpa handler tidak mengosongkan daftar route")
+    void testEmptyContextKeepsRoutes() throws Exception {
+        FastRejectFilter filter = filter(true, 10);
+        filter.onApplicationEvent(refreshed("/hello/{name}"));
+        filter.onApplicationEvent(refreshed());
+        FilterChain chain = mock(FilterChain.class);
+
+        HttpServletRequest known = request("/hello/budi");
+        filter.doFilterInternal(known, response(), chain);
+        HttpServletRequest unknown = request("/wp-admin");
+        filter.doFilterInternal(unknown, response(), chain);
+
+        verify(chain).doFilter(eq(known), any());
+        verify(chain, never()).doFilter(eq(unknown), any());
+    }
+
+    @Test
+    @DisplayName("Route terdaftar dan prefix tambahan diteruskan")
+    void testPassesKnownRoutes() throws Exception {
+        FastRejectFilter filter = filter(true, 10);
+        filter.onApplicationEvent(refreshed("/", "/paling-ter"));
+        FilterChain chain = mock(FilterChain.class);
+
+        HttpServletRequest request = request("/app/paling-ter");
+        when(request.getContextPath()).thenReturn("/app");
+        HttpServletResponse response = response();
+        filter.doFilterInternal(request, response, chain);
+        HttpServletRequest stream = request("/stream/paling-ter");
+        filter.doFilterInternal(stream, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(chain).doFilter(stream, response);
+        assertEquals(0L, filter.snapshot().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Path tidak dikenal dijawab 404 dengan body JSON siap pakai")
+    void testRejectsUnknownPath() throws Exception {
+        FastRejectFilter filter = filter(true, 10);
+        filter.onApplicationEvent(refreshed("/paling-ter"));
+        HttpServletRequest request = request("/wp-admin/index.php");
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request, response, chain);
+        filter.doFilterInternal(request, response(), chain);
+
+        verify(chain, never()).doFilter(any(), any());
+        verify(response).setStatus(404);
+        verify(response).setContentType("application/json");
+        verify(response.getOutputStream()).write(any(byte[].class));
+        assertEquals(2L, filter.snapshot().get("rejected"));
+        assertEquals(Map.of("/wp-admin/index.php", 2L), filter.snapshot().get("topPaths"));
+    }
+
+    @Test
+    @DisplayName("Jumlah path yang dilacak dibatasi")
+    void testTrackedPathsAreBounded() throws Exception {
+        FastRejectFilter filter = filter(true, 2);
+        filter.onApplicationEvent(refreshed("/paling-ter"));
+        FilterChain chain = mock(FilterChain.class);
+
+        for (String path : new String[] { "/a", "/b", "/c", "/d", "/e" }) {
+            filter.doFilterInternal(request(path), response(), chain);
+        }
+
+        Map<String, Object> snapshot = filter.snapshot();
+        assertEquals(5L, snapshot.get("rejected"));
+        assertEquals(3, snapshot.get("trackedPaths"));
+        @SuppressWarnings("unchecked")
+        Map<String, Long> top = (Map<String, Long>) snapshot.get("topPaths");
+        assertEquals(3L, top.get(FastRejectFilter.OTHER));
+        assertEquals(1L, top.get("/a"));
+        assertEquals(1L, top.get("/b"));
+        assertEquals(FastRejectFilter.OTHER, top.keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Path panjang dipotong sebelum dihitung")
+    void testLongPathsAreTruncated() throws Exception {
+        FastRejectFilter filter = filter(true, 10);
+        filter.onApplicationEvent(refreshed("/paling-ter"));
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request("/" + "a".repeat(300)), response(), chain);
+        filter.doFilterInternal(request("/" + "a".repeat(400)), response(), chain);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> top = (Map<String, Long>) filter.snapshot().get("topPaths");
+        assertEquals(Map.of("/" + "a".repeat(127), 2L), top);
+    }
+
+    @Test
+    @DisplayName("Filter nonaktif meneruskan semua request")
+    void testDisabledPassesThrough() throws Exception {
+        FastRejectFilter filter = filter(false, 10);
+        filter.onApplicationEvent(refreshed("/paling-ter"));
+        HttpServletRequest request = request("/wp-admin");
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+    }
+}
@@ -0,0 +1,76 @@
+package org.delcom.starter.configs;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.delcom.starter.controllers.HomeController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FlightRecorderServiceTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Merekam event fase HomeController dan menulisnya ke file")
+    void testRecordsPhaseEvents() throws Exception {
+        FlightRecorderService service = new FlightRecorderService(false, "default", 1, tempDir.toString());
+
+        assertNull(service.dump());
+        assertFalse(service.stop());
+
+        assertTrue(service.start());
+        assertFalse(service.start());
+        assertTrue(service.isRecording());
+
+        new HomeController().palingTer("MQ0KMQ0KMw0KMw0KMg0KMg0KMg0KNA0KNQ0KMQ0KLS0tDQo=");
+
+        Path file = service.dump();
+        assertNotNull(file);
+        assertTrue(file.startsWith(tempDir));
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<String> phases = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.delcom.starter.Phase"))
+                .map(e -> e.getString("phase"))
+                .sorted()
+                .collect(Collectors.toList());
+        // Satu event per fase, termasuk parse yang mencakup split dan parsing
+        assertEquals(List.of("compute", "decode", "parse", "render"), phases);
+
+        assertTrue(service.stop());
+        assertFalse(service.isRecording());
+    }
+
+    @Test
+    @DisplayName("Memulai recording saat aplikasi siap jika diaktifkan")
+    void testStartsOnBoot() {
+        FlightRecorderService service = new FlightRecorderService(true, "default", 1, tempDir.toString());
+
+        service.onApplicationEvent(mock(ApplicationReadyEvent.class));
+
+        assertTrue(service.isRecording());
+        assertTrue(service.stop());
+    }
+
+    @Test
+    @DisplayName("Tidak memulai recording saat dinonaktifkan atau konfigurasi tidak valid")
+    void testDoesNotStartOnBoot() {
+        FlightRecorderService disabled = new FlightRecorderService(false, "default", 1, tempDir.toString());
+        disabled.onApplicationEvent(mock(ApplicationReadyEvent.class));
+        assertFalse(disabled.isRecording());
+
+        FlightRecorderService invalid = new FlightRecorderService(true, "tidak-ada", 1, tempDir.toString());
+        invalid.onApplicationEvent(mock(ApplicationReadyEvent.class));
+        assertFalse(invalid.isRecording());
+    }
+}
@@ -0,0 +1,115 @@
+package org.delcom.starter.configs;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTests {
+
+    private static JwtAuthFilter filter(JwtVerifier verifier, boolean enabled) {
+        JwtAuthFilter filter = new JwtAuthFilter(verifier, List.of("/todos", "/internal/"));
+        ReflectionTestUtils.setField(filter, "enabled", enabled);
+        return filter;
+    }
+
+    private static HttpServletRequest request(String uri, String authorization) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn(uri);
+        when(request.getHeader("Authorization")).thenReturn(authorization);
+        return request;
+    }
+
+    private static HttpServletResponse response() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        return response;
+    }
+
+    @Test
+    @DisplayName("Filter nonaktif meneruskan semua request tanpa memeriksa token")
+    void testDisabledPassesThrough() throws Exception {
+        JwtVerifier verifier = mock(JwtVerifier.class);
+        HttpServletRequest request = request("/todos", null);
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(verifier, false).doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(verifier);
+    }
+
+    @Test
+    @DisplayName("Request tanpa token ke path publik diteruskan")
+    void testMissingTokenOnPublicPath() throws Exception {
+        HttpServletRequest request = request("/hello/abdullah", null);
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(mock(JwtVerifier.class), true).doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(request, never()).setAttribute(eq(JwtAuthFilter.SUBJECT_ATTRIBUTE), any());
+    }
+
+    @Test
+    @DisplayName("Request tanpa token Bearer ke path wajib autentikasi ditolak 401")
+    void testMissingTokenOnRequiredPath() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        JwtAuthFilter filter = filter(mock(JwtVerifier.class), true);
+
+        HttpServletResponse noHeader = response();
+        filter.doFilterInternal(request("/todos/1", null), noHeader, chain);
+        HttpServletResponse basic = response();
+        filter.doFilterInternal(request("/internal/jfr/dump", "Basic dXNlcjpwYXNz"), basic, chain);
+
+        verify(noHeader).setStatus(401);
+        verify(noHeader).setHeader("WWW-Authenticate", "Bearer");
+        verify(noHeader.getOutputStream()).write(any(byte[].class));
+        verify(basic).setStatus(401);
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    @DisplayName("Token tidak valid selalu ditolak 401, juga di path publik")
+    void testInvalidTokenIsRejected() throws Exception {
+        JwtVerifier verifier = mock(JwtVerifier.class);
+        when(verifier.verify("rusak")).thenReturn(null);
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(verifier, true).doFilterInternal(request("/hello/abdullah", "Bearer rusak"), response, chain);
+
+        verify(response).setStatus(401);
+        verify(response).setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    @DisplayName("Token valid menaruh subject dan claims di atribut request")
+    void testValidTokenSetsAttributes() throws Exception {
+        Claims claims = mock(Claims.class);
+        JwtVerifier verifier = mock(JwtVerifier.class);
+        when(verifier.verify("token-valid")).thenReturn(new VerifiedToken("alice", claims, "k1", Long.MAX_VALUE));
+        HttpServletRequest request = request("/todos", "bearer  token-valid ");
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(verifier, true).doFilterInternal(request, response, chain);
+
+        verify(request).setAttribute(JwtAuthFilter.SUBJECT_ATTRIBUTE, "alice");
+        verify(request).setAttribute(JwtAuthFilter.CLAIMS_ATTRIBUTE, claims);
+        verify(chain).doFilter(request, response);
+        verify(response, never()).setStatus(anyInt());
+    }
+}
@@ -0,0 +1,192 @@
+package org.delcom.starter.configs;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JwtVerifierTests {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static byte[] secret(int seed) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) seed);
+        return bytes;
+    }
+
+    private static SecretKey key(int seed) {
+        return Keys.hmacShaKeyFor(secret(seed));
+    }
+
+    private static String keyEntry(String kid, int seed) {
+        return kid + ":" + Base64.getEncoder().encodeToString(secret(seed));
+    }
+
+    private static String token(String kid, String subject, SecretKey key, Long expiresAt) {
+        var builder = Jwts.builder();
+        if (kid != null) {
+            builder.header().keyId(kid).and();
+        }
+        if (subject != null) {
+            builder.subject(subject);
+        }
+        if (expiresAt != null) {
+            builder.expiration(new Date(expiresAt));
+        }
+        return builder.signWith(key).compact();
+    }
+
+    private static JwtVerifier verifier(AtomicLong clock, String... keys) {
+        return new JwtVerifier(List.of(keys), new VerifiedTokenCache(100, 60_000), clock::get);
+    }
+
+    @Test
+    @DisplayName("Token valid diverifikasi sekali lalu dilayani dari cache")
+    void testVerifiesOnceThenHitsCache() {
+        JwtVerifier verifier = verifier(new AtomicLong(NOW), keyEntry("k1", 1));
+        String token = token("k1", "alice", key(1), NOW + 3_600_000);
+
+        VerifiedToken first = verifier.verify(token);
+        VerifiedToken second = verifier.verify(token);
+
+        assertEquals("alice", first.subject());
+        assertEquals("k1", first.keyId());
+        assertEquals(NOW + 3_600_000, first.expiresAtMillis());
+        assertEquals("alice", first.claims().getSubject());
+        assertSame(first, second);
+        Map<String, Object> snapshot = verifier.snapshot();
+        assertEquals(1L, snapshot.get("cacheHits"));
+        assertEquals(1L, snapshot.get("cacheMisses"));
+        assertEquals(1, snapshot.get("cacheSize"));
+        assertEquals(List.of("k1"), snapshot.get("keyIds"));
+        assertEquals("k1", snapshot.get("primaryKeyId"));
+    }
+
+    @Test
+    @DisplayName("Token tanpa kid dan tanpa exp memakai kunci utama")
+    void testTokenWithoutKidUsesPrimaryKey() {
+        JwtVerifier verifier = verifier(new AtomicLong(NOW), keyEntry("k1", 1), keyEntry("k2", 2));
+
+        VerifiedToken verified = verifier.verify(token(null, "bob", key(2), null));
+
+        assertEquals("bob", verified.subject());
+        assertNull(verified.keyId());
+        assertEquals(Long.MAX_VALUE, verified.expiresAtMillis());
+        assertNull(verifier.verify(token(null, "bob", key(1), null)));
+    }
+
+    @Test
+    @DisplayName("Token rusak, bertanda tangan salah, kedaluwarsa atau tanpa subject ditolak")
+    void testRejectsInvalidTokens() {
+        AtomicLong clock = new AtomicLong(NOW);
+        JwtVerifier verifier = verifier(clock, keyEntry("k1", 1));
+
+        assertNull(verifier.verify("bukan.token.jwt"));
+        assertNull(verifier.verify(""));
+        assertNull(verifier.verify(token("k1", "alice", key(9), null)));
+        assertNull(verifier.verify(token("k9", "alice", key(1), null)));
+        assertNull(verifier.verify(token("k1", "alice", key(1), NOW - 1_000)));
+        assertNull(verifier.verify(token("k1", null, key(1), null)));
+        assertEquals(6L, verifier.snapshot().get("rejected"));
+        assertEquals(0, verifier.snapshot().get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("Entri cache tidak dipakai lagi setelah token kedaluwarsa")
+    void testCachedTokenExpires() {
+        AtomicLong clock = new AtomicLong(NOW);
+        JwtVerifier verifier = verifier(clock, keyEntry("k1", 1));
+        String token = token("k1", "alice", key(1), NOW + 1_000);
+        assertNotNull(verifier.verify(token));
+
+        clock.set(NOW + 1_000);
+
+        assertNull(verifier.verify(token));
+        assertEquals(0L, verifier.snapshot().get("cacheHits"));
+    }
+
+    @Test
+    @DisplayName("Rotasi kunci: token lama tetap valid sampai kuncinya dipensiunkan")
+    void testKeyRotation() {
+        JwtVerifier verifier = verifier(new AtomicLong(NOW), keyEntry("k1", 1));
+        String oldToken = token("k1", "alice", key(1), null);
+        assertNotNull(verifier.verify(oldToken));
+
+        verifier.rotateKey("k2", key(2));
+        assertNotNull(verifier.verify(oldToken));
+        assertNotNull(verifier.verify(token("k2", "bob", key(2), null)));
+        assertEquals("k2", verifier.snapshot().get("primaryKeyId"));
+
+        assertTrue(verifier.retireKey("k1"));
+        assertFalse(verifier.retireKey("k1"));
+        assertNull(verifier.verify(oldToken));
+        assertEquals(List.of("k2"), verifier.snapshot().get("keyIds"));
+        assertEquals("k2", verifier.snapshot().get("primaryKeyId"));
+    }
+
+    @Test
+    @DisplayName("Token tanpa kid di cache tidak berlaku lagi saat kunci utama berganti")
+    void testPrimaryRotationInvalidatesTokensWithoutKid() {
+        JwtVerifier verifier = verifier(new AtomicLong(NOW), keyEntry("k1", 1));
+        String token = token(null, "alice", key(1), null);
+        assertNotNull(verifier.verify(token));
+
+        verifier.rotateKey("k2", key(2));
+
+        assertNull(verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("Memensiunkan kunci utama menghapus kunci utama")
+    void testRetiringPrimaryKey() {
+        JwtVerifier verifier = verifier(new AtomicLong(NOW), keyEntry("k1", 1));
+
+        assertTrue(verifier.retireKey("k1"));
+
+        assertNull(verifier.snapshot().get("primaryKeyId"));
+        assertNull(verifier.verify(token(null, "alice", key(1), null)));
+    }
+
+    @Test
+    @DisplayName("Entri app.jwt.keys tanpa kid ditolak")
+    void testInvalidKeyEntry() {
+        AtomicLong clock = new AtomicLong(NOW);
+        String secret = Base64.getEncoder().encodeToString(secret(1));
+        assertThrows(IllegalArgumentException.class, () -> verifier(clock, secret));
+        assertThrows(IllegalArgumentException.class, () -> verifier(clock, ":" + secret));
+    }
+
+    @Test
+    @DisplayName("Header tanpa proteksi memakai kunci utama")
+    void testLocateKeyForUnprotectedHeader() {
+        SecretKey key = key(1);
+
+        assertSame(key, JwtVerifier.locateKey(Map.of("k1", key), "k1", mock(Header.class)));
+    }
+
+    @Test
+    @DisplayName("Konstruktor Spring membuat verifier dengan cache berbasis waktu sistem")
+    void testSpringConstructor() {
+        JwtVerifier verifier = new JwtVerifier(List.of(keyEntry("k1", 1)), 10, 60);
+
+        String token = token("k1", "alice", key(1), System.currentTimeMillis() + 60_000);
+
+        assertEquals("alice", verifier.verify(token).subject());
+        assertEquals("alice", verifier.verify(token).subject());
+        assertEquals(1L, verifier.snapshot().get("cacheHits"));
+    }
+}
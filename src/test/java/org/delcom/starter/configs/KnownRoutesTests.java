@@ -0,0 +1,58 @@
+package org.delcom.starter.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnownRoutesTests {
+
+    private static final KnownRoutes ROUTES = new KnownRoutes(
+            List.of("/", "/hello/{name}", "/informasi-nim", "/files/**", "/docs/{*rest}", "/img/*.png", "/a//b"),
+            List.of("/stream/"));
+
+    @Test
+    @DisplayName("Route literal, variabel dan wildcard dikenali")
+    void testMatchesRegisteredRoutes() {
+        assertTrue(ROUTES.matches("/"));
+        assertTrue(ROUTES.matches("/hello/budi"));
+        assertTrue(ROUTES.matches("/informasi-nim"));
+        assertTrue(ROUTES.matches("/files"));
+        assertTrue(ROUTES.matches("/files/a/b"));
+        assertTrue(ROUTES.matches("/docs/a/b"));
+        assertTrue(ROUTES.matches("/img/logo.png"));
+        assertTrue(ROUTES.matches("/a/b"));
+        assertTrue(ROUTES.matches("/stream/paling-ter"));
+    }
+
+    @Test
+    @DisplayName("Path yang tidak terdaftar ditolak")
+    void testRejectsUnknownPaths() {
+        assertFalse(ROUTES.matches("/wp-admin/index.php"));
+        assertFalse(ROUTES.matches("/.env"));
+        assertFalse(ROUTES.matches("/hello"));
+        assertFalse(ROUTES.matches("/hello/"));
+        assertFalse(ROUTES.matches("/hello/budi/lagi"));
+        assertFalse(ROUTES.matches("/informasi-nim/"));
+    }
+
+    @Test
+    @DisplayName("Path ter-encode atau tidak ternormalisasi diserahkan ke Spring MVC")
+    void testDefersUnusualPaths() {
+        assertTrue(ROUTES.matches(""));
+        assertTrue(ROUTES.matches("wp-admin"));
+        assertTrue(ROUTES.matches("/wp%2dadmin"));
+        assertTrue(ROUTES.matches("/wp-admin;jsessionid=1"));
+        assertTrue(ROUTES.matches("//wp-admin"));
+    }
+
+    @Test
+    @DisplayName("Root hanya dikenali jika terdaftar atau tercakup wildcard")
+    void testRootPath() {
+        assertFalse(new KnownRoutes(List.of("/hello/{name}"), List.of()).matches("/"));
+        assertTrue(new KnownRoutes(List.of("/**"), List.of()).matches("/"));
+        assertTrue(new KnownRoutes(List.of(""), List.of()).matches("/"));
+    }
+}
@@ -0,0 +1,80 @@
+package org.delcom.starter.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTests {
+
+    private static RateLimitFilter filter(ClientRateLimiter limiter, boolean enabled) {
+        RateLimitFilter filter = new RateLimitFilter(limiter);
+        ReflectionTestUtils.setField(filter, "enabled", enabled);
+        return filter;
+    }
+
+    private static HttpServletRequest request(Object subject) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/paling-ter");
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(request.getAttribute(JwtAuthFilter.SUBJECT_ATTRIBUTE)).thenReturn(subject);
+        return request;
+    }
+
+    private static HttpServletResponse response() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(mock(ServletOutputStream.class));
+        return response;
+    }
+
+    @Test
+    @DisplayName("Filter nonaktif tidak memakai token")
+    void testDisabledPassesThrough() throws Exception {
+        ClientRateLimiter limiter = mock(ClientRateLimiter.class);
+        HttpServletRequest request = request(null);
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(limiter, false).doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(limiter);
+    }
+
+    @Test
+    @DisplayName("Request dengan subject JWT dibatasi per subject")
+    void testAllowsBySubject() throws Exception {
+        ClientRateLimiter limiter = mock(ClientRateLimiter.class);
+        when(limiter.acquire("alice", "10.0.0.1", "/paling-ter")).thenReturn(0L);
+        HttpServletRequest request = request("alice");
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(limiter, true).doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    @DisplayName("Request tanpa subject ditolak 429 dengan Retry-After dibulatkan ke atas")
+    void testRejectsWithRetryAfter() throws Exception {
+        ClientRateLimiter limiter = mock(ClientRateLimiter.class);
+        when(limiter.acquire(null, "10.0.0.1", "/paling-ter")).thenReturn(1_200_000_000L);
+        HttpServletResponse response = response();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter(limiter, true).doFilterInternal(request(42), response, chain);
+
+        verify(response).setStatus(429);
+        verify(response).setIntHeader("Retry-After", 2);
+        verify(response.getOutputStream()).write(any(byte[].class));
+        verifyNoInteractions(chain);
+    }
+}
@@ -7,8 +7,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.mockito.Mockito.*;
 
@@ -18,7 +22,7 @@ class RequestLoggingFilterTests {
     @DisplayName("Filter menampilkan log dengan warna cyan untuk status 100")
     void testLogCyanFor100() throws ServletException, IOException {
         // Arrange
-        RequestLoggingFilter filter = new RequestLoggingFilter();
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteMetrics(), mock(ConsoleLogWriter.class));
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
 
@@ -42,7 +46,8 @@ class RequestLoggingFilterTests {
     @DisplayName("Filter menampilkan log dengan warna hijau untuk status 200")
     void testLogGreenFor200() throws ServletException, IOException {
         // Arrange
-        RequestLoggingFilter filter = new RequestLoggingFilter();
+        ConsoleLogWriter logWriter = mock(ConsoleLogWriter.class);
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteMetrics(), logWriter);
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
 
@@ -60,12 +65,13 @@ class RequestLoggingFilterTests {
 
         // Assert
         verify(chain, times(1)).doFilter(request, response);
+        verify(logWriter, times(1)).log(contains("/api/test"));
     }
 
     @Test
     @DisplayName("Filter menampilkan log warna kuning untuk status 404")
     void testLogYellowFor404() throws ServletException, IOException {
-        RequestLoggingFilter filter = new RequestLoggingFilter();
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteMetrics(), mock(ConsoleLogWriter.class));
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
 
@@ -86,7 +92,7 @@ class RequestLoggingFilterTests {
     @Test
     @DisplayName("Filter menampilkan log warna merah untuk status 500")
     void testLogRedFor500() throws ServletException, IOException {
-        RequestLoggingFilter filter = new RequestLoggingFilter();
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteMetrics(), mock(ConsoleLogWriter.class));
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
 
@@ -107,7 +113,8 @@ class RequestLoggingFilterTests {
     @Test
     @DisplayName("Filter tidak menampilkan log untuk URI /.well-known")
     void testSkipWellKnown() throws ServletException, IOException {
-        RequestLoggingFilter filter = new RequestLoggingFilter();
+        ConsoleLogWriter logWriter = mock(ConsoleLogWriter.class);
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteMetrics(), logWriter);
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
 
@@ -123,6 +130,73 @@ class RequestLoggingFilterTests {
         filter.doFilterInternal(request, response, chain);
 
         verify(chain, times(1)).doFilter(request, response);
+        verify(logWriter, never()).log(anyString());
+    }
+
+    @Test
+    @DisplayName("Mode lean menulis log polos tanpa warna dan asal kode")
+    void testLeanLogWithoutColorAndOrigin() throws ServletException, IOException {
+        ConsoleLogWriter logWriter = mock(ConsoleLogWriter.class);
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteMetrics(), logWriter);
+        ReflectionTestUtils.setField(filter, "lean", true);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/hello/abdullah");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(response.getStatus()).thenReturn(200);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain, times(1)).doFilter(request, response);
+        verify(logWriter, times(1)).log(matches("GET /hello/abdullah 200 \\d+ms from 127\\.0\\.0\\.1"));
+    }
+
+    @Test
+    @DisplayName("Filter mencatat metrik per pola route")
+    void testRecordsMetricsPerRoutePattern() throws ServletException, IOException {
+        RouteMetrics metrics = new RouteMetrics();
+        RequestLoggingFilter filter = new RequestLoggingFilter(metrics, mock(ConsoleLogWriter.class));
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/hello/abdullah");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/hello/{name}");
+        when(response.getStatus()).thenReturn(200);
+
+        filter.doFilterInternal(request, response, chain);
+        filter.doFilterInternal(request, response, chain);
+
+        Map<String, Map<String, Object>> snapshot = metrics.snapshot();
+        assertEquals(2L, snapshot.get("/hello/{name}").get("count"));
     }
 
+    @Test
+    @DisplayName("Filter tetap mencatat latensi saat alokasi dan CPU tidak didukung")
+    void testRecordsWithoutThreadAccounting() throws ServletException, IOException {
+        RouteMetrics metrics = mock(RouteMetrics.class);
+        when(metrics.currentThreadAllocatedBytes()).thenReturn(-1L);
+        when(metrics.currentThreadCpuNanos()).thenReturn(-1L);
+        RequestLoggingFilter filter = new RequestLoggingFilter(metrics, mock(ConsoleLogWriter.class));
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/random");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(response.getStatus()).thenReturn(404);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(metrics).record(isNull(), anyLong(), eq(-1L), eq(-1L));
+    }
 }
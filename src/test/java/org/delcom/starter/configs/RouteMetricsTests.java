@@ -0,0 +1,82 @@
+package org.delcom.starter.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RouteMetricsTests {
+
+    @Test
+    @DisplayName("Mengagregasi latensi, alokasi dan CPU per route")
+    void testAggregatesPerRoute() {
+        RouteMetrics metrics = new RouteMetrics();
+
+        metrics.record("/paling-ter", 2_000_000, 1_000, 500_000);
+        metrics.record("/paling-ter", 4_000_000, 3_000, 1_500_000);
+        metrics.record(null, 1_000, -1, -1);
+
+        Map<String, Map<String, Object>> snapshot = metrics.snapshot();
+        Map<String, Object> stats = snapshot.get("/paling-ter");
+
+        assertEquals(2L, stats.get("count"));
+        assertEquals(3_000L, stats.get("avgLatencyMicros"));
+        assertEquals(4_000L, stats.get("maxLatencyMicros"));
+        assertEquals(2_000L, stats.get("avgAllocatedBytes"));
+        assertEquals(3_000L, stats.get("maxAllocatedBytes"));
+        assertEquals(4_000L, stats.get("totalAllocatedBytes"));
+        assertEquals(1_000L, stats.get("avgCpuMicros"));
+        assertEquals(1_500L, stats.get("maxCpuMicros"));
+
+        Map<String, Object> unmatched = snapshot.get(RouteMetrics.UNMATCHED);
+        assertEquals(1L, unmatched.get("count"));
+        assertEquals(0L, unmatched.get("totalAllocatedBytes"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Membaca alokasi dan CPU thread dari JVM")
+    void testReadsThreadCounters() {
+        com.sun.management.ThreadMXBean bean = mock(com.sun.management.ThreadMXBean.class);
+        when(bean.isThreadAllocatedMemorySupported()).thenReturn(true);
+        when(bean.isThreadAllocatedMemoryEnabled()).thenReturn(true);
+        when(bean.isCurrentThreadCpuTimeSupported()).thenReturn(true);
+        when(bean.isThreadCpuTimeEnabled()).thenReturn(true);
+        when(bean.getCurrentThreadAllocatedBytes()).thenReturn(42L);
+        when(bean.getCurrentThreadCpuTime()).thenReturn(7L);
+
+        RouteMetrics metrics = new RouteMetrics(bean);
+
+        assertEquals(42L, metrics.currentThreadAllocatedBytes());
+        assertEquals(7L, metrics.currentThreadCpuNanos());
+    }
+
+    @Test
+    @DisplayName("Mengembalikan -1 jika JVM tidak mendukung pengukuran thread")
+    void testUnsupportedThreadCounters() {
+        com.sun.management.ThreadMXBean disabled = mock(com.sun.management.ThreadMXBean.class);
+        when(disabled.isThreadAllocatedMemorySupported()).thenReturn(true);
+        when(disabled.isThreadAllocatedMemoryEnabled()).thenReturn(false);
+        when(disabled.isCurrentThreadCpuTimeSupported()).thenReturn(true);
+        when(disabled.isThreadCpuTimeEnabled()).thenReturn(false);
+
+        RouteMetrics disabledMetrics = new RouteMetrics(disabled);
+        assertEquals(-1L, disabledMetrics.currentThreadAllocatedBytes());
+        assertEquals(-1L, disabledMetrics.currentThreadCpuNanos());
+
+        com.sun.management.ThreadMXBean unsupported = mock(com.sun.management.ThreadMXBean.class);
+        RouteMetrics unsupportedMetrics = new RouteMetrics(unsupported);
+        assertEquals(-1L, unsupportedMetrics.currentThreadAllocatedBytes());
+        assertEquals(-1L, unsupportedMetrics.currentThreadCpuNanos());
+
+        RouteMetrics plainMetrics = new RouteMetrics(mock(ThreadMXBean.class));
+        assertEquals(-1L, plainMetrics.currentThreadAllocatedBytes());
+        assertEquals(-1L, plainMetrics.currentThreadCpuNanos());
+    }
+}
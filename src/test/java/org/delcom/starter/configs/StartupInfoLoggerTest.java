@@ -1,15 +1,21 @@
 package org.delcom.starter.configs;
 
+import org.delcom.starter.repositories.TodoWal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class StartupInfoLoggerTest {
@@ -66,4 +72,58 @@ class StartupInfoLoggerTest {
 
         assertTrue(output.contains("> LiveReload: DISABLED"));
     }
+
+    @Test
+    void testStartupReportListsSlowestSteps() throws Exception {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(16);
+        startup.start("spring.beans.instantiate").tag("beanName", "homeController").end();
+        var slow = startup.start("spring.context.refresh");
+        Thread.sleep(20);
+        slow.end();
+        when(context.getApplicationStartup()).thenReturn(startup);
+        when(event.getTimeTaken()).thenReturn(Duration.ofMillis(1500));
+
+        logger.onApplicationEvent(event);
+
+        String output = outContent.toString();
+        assertTrue(output.contains("> Startup: siap dalam 1500 ms"));
+        assertTrue(output.contains("spring.context.refresh"));
+        assertTrue(output.contains("spring.beans.instantiate [beanName=homeController]"));
+
+        Map<String, Object> report = logger.getStartupReport();
+        assertEquals(1500L, report.get("timeToReadyMillis"));
+        List<?> steps = (List<?>) report.get("slowestSteps");
+        assertEquals(2, steps.size());
+        assertEquals("spring.context.refresh", ((Map<?, ?>) steps.get(0)).get("name"));
+        assertEquals("", ((Map<?, ?>) steps.get(0)).get("tags"));
+    }
+
+    @Test
+    void testStartupReportWithoutRecorder() {
+        when(context.getApplicationStartup()).thenReturn(ApplicationStartup.DEFAULT);
+
+        logger.onApplicationEvent(event);
+
+        assertTrue(outContent.toString().contains("> Startup: siap dalam -1 ms"));
+        assertEquals(List.of(), logger.getStartupReport().get("slowestSteps"));
+    }
+
+    @Test
+    void testStartupReportIncludesTodoRecovery() {
+        TodoWal wal = mock(TodoWal.class);
+        when(wal.getRecoveryReport()).thenReturn(Map.of("enabled", true, "todos", 1000, "recoveryMillis", 42L,
+                "snapshotMillis", 40L, "walMillis", 2L));
+        when(context.getBeansOfType(TodoWal.class)).thenReturn(Map.of("todoWal", wal));
+        when(context.getApplicationStartup()).thenReturn(ApplicationStartup.DEFAULT);
+
+        logger.onApplicationEvent(event);
+
+        assertTrue(outContent.toString().contains("> Recovery todo: 1000 todo dalam 42 ms (snapshot 40 ms, WAL 2 ms)"));
+        assertEquals(42L, ((Map<?, ?>) logger.getStartupReport().get("todoRecovery")).get("recoveryMillis"));
+
+        when(wal.getRecoveryReport()).thenReturn(Map.of("enabled", false));
+        outContent.reset();
+        logger.onApplicationEvent(event);
+        assertFalse(outContent.toString().contains("> Recovery todo"));
+    }
 }
@@ -0,0 +1,88 @@
+package org.delcom.starter.configs;
+
+import org.delcom.starter.controllers.HomeController;
+import org.delcom.starter.controllers.StreamingComputeServlet;
+import org.delcom.starter.controllers.TodoFeedServlet;
+import org.delcom.starter.services.TodoChangeFeed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Base64;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StreamingConfigTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    @DisplayName("Executor komputasi memakai jumlah core jika tidak dikonfigurasi")
+    void testComputeExecutorSizing() {
+        StreamingConfig config = new StreamingConfig();
+
+        ThreadPoolExecutor byCores = config.streamComputeExecutor(0, 8);
+        assertEquals(Runtime.getRuntime().availableProcessors(), byCores.getMaximumPoolSize());
+        assertEquals(8, byCores.getQueue().remainingCapacity());
+        byCores.shutdown();
+
+        ThreadPoolExecutor fixed = config.streamComputeExecutor(3, 8);
+        assertEquals(3, fixed.getMaximumPoolSize());
+        fixed.shutdown();
+    }
+
+    @Test
+    @DisplayName("Servlet stream terdaftar di /stream/* dengan dukungan async")
+    void testServletRegistration() {
+        StreamingConfig config = new StreamingConfig();
+        ThreadPoolExecutor executor = config.streamComputeExecutor(1, 1);
+
+        ServletRegistrationBean<StreamingComputeServlet> registration = config.streamingComputeServlet(
+                new HomeController(), executor, 1024, 1000);
+
+        assertTrue(registration.getUrlMappings().contains("/stream/*"));
+        assertTrue(registration.isAsyncSupported());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Servlet change feed terdaftar di /todos/feed dengan dukungan async")
+    void testFeedServletRegistration() throws Exception {
+        TodoChangeFeed feed = new TodoChangeFeed(16, 10, 100, 15, 10_000);
+
+        ServletRegistrationBean<TodoFeedServlet> registration = new StreamingConfig().todoFeedServlet(feed);
+
+        assertTrue(registration.getUrlMappings().contains("/todos/feed"));
+        assertTrue(registration.isAsyncSupported());
+        feed.destroy();
+    }
+
+    @Test
+    @DisplayName("POST /stream/paling-ter lewat Tomcat sama dengan GET /paling-ter")
+    void testStreamingEndpointOverHttp() throws Exception {
+        String body = "1\r\n1\r\n3\r\n3\r\n2\r\n2\r\n2\r\n4\r\n5\r\n1\r\n---\r\n";
+        String base64 = Base64.getEncoder().encodeToString(body.getBytes());
+        String baseUrl = "http://127.0.0.1:" + environment.getProperty("local.server.port");
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> streamed = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/stream/paling-ter"))
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, streamed.statusCode());
+            assertEquals(new HomeController().palingTer(base64), streamed.body());
+        }
+    }
+}
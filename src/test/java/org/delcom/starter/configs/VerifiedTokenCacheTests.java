@@ -0,0 +1,110 @@
+package org.delcom.starter.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class VerifiedTokenCacheTests {
+
+    private static VerifiedToken token(String subject, long expiresAt) {
+        return new VerifiedToken(subject, null, "k1", expiresAt);
+    }
+
+    @Test
+    @DisplayName("Digest token sama untuk token yang sama dan berbeda untuk token lain")
+    void testDigestIsStable() {
+        assertEquals(VerifiedTokenCache.digest("a.b.c"), VerifiedTokenCache.digest("a.b.c"));
+        assertNotEquals(VerifiedTokenCache.digest("a.b.c"), VerifiedTokenCache.digest("a.b.d"));
+    }
+
+    @Test
+    @DisplayName("Algoritma digest yang tidak tersedia menjadi IllegalStateException")
+    void testUnknownDigestAlgorithm() {
+        assertThrows(IllegalStateException.class, () -> VerifiedTokenCache.messageDigest("TIDAK-ADA"));
+    }
+
+    @Test
+    @DisplayName("Entri berlaku sampai exp token atau ttl, mana yang lebih dulu")
+    void testEntryExpiresAtEarliestDeadline() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 1_000);
+        SecretKey key = mock(SecretKey.class);
+        VerifiedTokenCache.TokenDigest shortLived = VerifiedTokenCache.digest("pendek");
+        VerifiedTokenCache.TokenDigest longLived = VerifiedTokenCache.digest("panjang");
+
+        cache.put(shortLived, token("alice", 500), key, 0);
+        cache.put(longLived, token("bob", Long.MAX_VALUE), key, 0);
+
+        assertNull(cache.get(VerifiedTokenCache.digest("lain"), 0));
+        assertEquals("alice", cache.get(shortLived, 499).token().subject());
+        assertSame(key, cache.get(shortLived, 499).key());
+        assertNull(cache.get(shortLived, 500));
+        assertEquals("bob", cache.get(longLived, 999).token().subject());
+        assertNull(cache.get(longLived, 1_000));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Cache dengan kapasitas 0 tidak menyimpan apa pun")
+    void testDisabledCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, 1_000);
+        VerifiedTokenCache.TokenDigest digest = VerifiedTokenCache.digest("token");
+
+        cache.put(digest, token("alice", Long.MAX_VALUE), mock(SecretKey.class), 0);
+
+        assertNull(cache.get(digest, 0));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Cache penuh membuang entri kedaluwarsa lebih dulu")
+    void testFullCacheDropsExpiredEntriesFirst() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, 1_000);
+        SecretKey key = mock(SecretKey.class);
+        cache.put(VerifiedTokenCache.digest("a"), token("a", 100), key, 0);
+        cache.put(VerifiedTokenCache.digest("b"), token("b", Long.MAX_VALUE), key, 0);
+
+        cache.put(VerifiedTokenCache.digest("c"), token("c", Long.MAX_VALUE), key, 200);
+
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictions());
+        assertNotNull(cache.get(VerifiedTokenCache.digest("b"), 200));
+        assertNotNull(cache.get(VerifiedTokenCache.digest("c"), 200));
+    }
+
+    @Test
+    @DisplayName("Cache penuh tanpa entri kedaluwarsa membuang 1/8 kapasitas")
+    void testFullCacheEvictsEighth() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(16, 1_000);
+        SecretKey key = mock(SecretKey.class);
+        for (int i = 0; i < 16; i++) {
+            cache.put(VerifiedTokenCache.digest("t" + i), token("t" + i, Long.MAX_VALUE), key, 0);
+        }
+
+        cache.put(VerifiedTokenCache.digest("baru"), token("baru", Long.MAX_VALUE), key, 0);
+
+        assertEquals(2, cache.getEvictions());
+        assertEquals(15, cache.size());
+        assertNotNull(cache.get(VerifiedTokenCache.digest("baru"), 0));
+    }
+
+    @Test
+    @DisplayName("Cache berkapasitas 1 mengganti satu-satunya entri")
+    void testSingleEntryCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(1, 1_000);
+        SecretKey key = mock(SecretKey.class);
+        cache.put(VerifiedTokenCache.digest("a"), token("a", Long.MAX_VALUE), key, 0);
+
+        cache.put(VerifiedTokenCache.digest("b"), token("b", Long.MAX_VALUE), key, 0);
+
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(VerifiedTokenCache.digest("a"), 0));
+        assertNotNull(cache.get(VerifiedTokenCache.digest("b"), 0));
+
+        cache.remove(VerifiedTokenCache.digest("b"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,110 @@
+package org.delcom.starter.configs;
+
+import org.delcom.starter.controllers.HomeController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+
+import java.lang.management.CompilationMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTests {
+
+    private static CompilationMXBean compilation(boolean supported) {
+        CompilationMXBean bean = mock(CompilationMXBean.class);
+        when(bean.isCompilationTimeMonitoringSupported()).thenReturn(supported);
+        return bean;
+    }
+
+    @Test
+    @DisplayName("Warm-up nonaktif langsung siap tanpa memanggil endpoint")
+    void testDisabledIsReadyImmediately() {
+        HomeController controller = mock(HomeController.class);
+        WarmupRunner runner = new WarmupRunner(controller, false, 100, 1000);
+        assertFalse(runner.isCompleted());
+        assertEquals("WARMING_UP", runner.getResult().get("status"));
+
+        runner.onApplicationEvent(mock(ApplicationStartedEvent.class));
+
+        assertTrue(runner.isCompleted());
+        assertEquals("UP", runner.getResult().get("status"));
+        assertEquals("disabled", runner.getResult().get("warmupStopReason"));
+        verifyNoInteractions(controller);
+    }
+
+    @Test
+    @DisplayName("Payload warm-up valid untuk HomeController asli")
+    void testReplaysEveryEndpointWithRealController() {
+        WarmupRunner runner = new WarmupRunner(new HomeController(), true, 40, 60_000, null);
+
+        runner.run();
+
+        assertTrue(runner.isCompleted());
+        assertEquals(40, runner.getResult().get("warmupIterations"));
+        assertEquals("iterations", runner.getResult().get("warmupStopReason"));
+    }
+
+    @Test
+    @DisplayName("Berhenti lebih awal saat JIT tidak lagi mengompilasi")
+    void testStopsWhenCompilationSettles() {
+        HomeController controller = mock(HomeController.class);
+        CompilationMXBean bean = compilation(true);
+        when(bean.getTotalCompilationTime()).thenReturn(100L);
+        WarmupRunner runner = new WarmupRunner(controller, true, 1_000_000, 60_000, bean);
+
+        runner.run();
+
+        int expected = WarmupRunner.CHECK_INTERVAL * WarmupRunner.SETTLED_CHECKS;
+        assertEquals(expected, runner.getResult().get("warmupIterations"));
+        assertEquals("settled", runner.getResult().get("warmupStopReason"));
+        verify(controller, times(expected)).palingTer(anyString());
+    }
+
+    @Test
+    @DisplayName("JIT yang masih aktif membuat warm-up berjalan sampai batas iterasi")
+    void testRunsToIterationLimitWhileCompiling() {
+        HomeController controller = mock(HomeController.class);
+        CompilationMXBean bean = compilation(true);
+        AtomicLong compileMillis = new AtomicLong();
+        when(bean.getTotalCompilationTime()).thenAnswer(invocation -> compileMillis.incrementAndGet());
+        WarmupRunner runner = new WarmupRunner(controller, true, 2_000, 60_000, bean);
+
+        runner.run();
+
+        assertEquals(2_000, runner.getResult().get("warmupIterations"));
+        assertEquals("iterations", runner.getResult().get("warmupStopReason"));
+        verify(controller, times(2_000)).perolehanNilai(anyString());
+    }
+
+    @Test
+    @DisplayName("Batas waktu menghentikan warm-up")
+    void testStopsAtTimeBudget() {
+        HomeController controller = mock(HomeController.class);
+        WarmupRunner runner = new WarmupRunner(controller, true, 1_000, 0, null);
+
+        runner.run();
+
+        assertTrue(runner.isCompleted());
+        assertEquals(0, runner.getResult().get("warmupIterations"));
+        assertEquals("time-budget", runner.getResult().get("warmupStopReason"));
+    }
+
+    @Test
+    @DisplayName("MXBean tanpa dukungan waktu kompilasi diabaikan")
+    void testIgnoresUnsupportedCompilationBean() {
+        HomeController controller = mock(HomeController.class);
+        CompilationMXBean bean = compilation(false);
+        WarmupRunner runner = new WarmupRunner(controller, true, WarmupRunner.CHECK_INTERVAL * 2, 60_000, bean);
+
+        runner.run();
+
+        assertEquals("iterations", runner.getResult().get("warmupStopReason"));
+        verify(bean, never()).getTotalCompilationTime();
+        verify(controller, times(WarmupRunner.CHECK_INTERVAL * 2)).perbedaanL(anyString());
+        verify(controller, times(WarmupRunner.CHECK_INTERVAL * 2)).informasiNim(anyString());
+    }
+}
@@ -0,0 +1,406 @@
+package org.delcom.starter.controllers;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.delcom.starter.configs.ClientRateLimiter;
+import org.delcom.starter.configs.ConcurrencyLimiters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BatchControllerTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final List<ThreadPoolExecutor> executors = new ArrayList<>();
+
+    // HomeController yang gagal di /perbedaan-l dan menunggu latch di /paling-ter
+    private static final class SlowHomeController extends HomeController {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String perbedaanL(String strBase64) {
+            throw new IllegalStateException("gagal");
+        }
+
+        @Override
+        public String palingTer(String strBase64) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "selesai";
+        }
+    }
+
+    private static final class CapturingOutput extends ServletOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        String text() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        executors.forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    private ThreadPoolExecutor executor(int threads, int queue) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), new ThreadPoolExecutor.AbortPolicy());
+        executors.add(executor);
+        return executor;
+    }
+
+    private static BatchRequest request(String path, String param, String value) {
+        Map<String, String> params = new HashMap<>();
+        params.put(param, value);
+        return new BatchRequest(path, params);
+    }
+
+    // Request dengan body JSON yang dibaca lewat getInputStream
+    private static HttpServletRequest body(String json) throws Exception {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getInputStream()).thenReturn(new ServletInputStream() {
+            @Override
+            public int read() {
+                return bytes.read();
+            }
+
+            @Override
+            public boolean isFinished() {
+                return bytes.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+            }
+        });
+        return request;
+    }
+
+    private static String read(BatchController controller, String json) {
+        return controller.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), new ArrayList<>());
+    }
+
+    private static String[] run(BatchController controller, List<BatchRequest> requests) throws Exception {
+        CapturingOutput output = new CapturingOutput();
+        controller.run(requests, "alice", "127.0.0.1", output);
+        return output.text().split("\n");
+    }
+
+    @Test
+    @DisplayName("Sub-request dijalankan paralel dan hasilnya dikirim berurutan sesuai index")
+    void batch_ShouldStreamResultsInOrder() throws Exception {
+        BatchController controller = new BatchController(new HomeController(), executor(4, 16), JSON, null, null, 32,
+                10_000);
+        String base64 = Base64.getEncoder().encodeToString("5\n10\n20\n20\n30\n---\n".getBytes(StandardCharsets.UTF_8));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        CapturingOutput output = new CapturingOutput();
+        when(response.getOutputStream()).thenReturn(output);
+
+        controller.batch(null, body("[{\"path\":\"/\"},"
+                + "{\"path\":\"/hello/Budi \\\"B\\\"\",\"params\":{}},"
+                + "{\"path\":\"/informasi-nim\",\"params\":{\"nim\":\"11S23001\"}},"
+                + "{\"path\":\"/paling-ter\",\"params\":{\"strBase64\":\"" + base64 + "\"}}]"), response);
+
+        verify(response).setStatus(200);
+        verify(response).setContentType(BatchController.NDJSON);
+        String[] lines = output.text().split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("{\"index\":0,\"path\":\"/\",\"status\":200,"
+                + "\"body\":\"Hay, selamat datang di aplikasi dengan Spring Boot!\"}", lines[0]);
+        assertEquals("{\"index\":1,\"path\":\"/hello/Budi \\\"B\\\"\",\"status\":200,"
+                + "\"body\":\"Hello, Budi \\\"B\\\"!\"}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"index\":2,\"path\":\"/informasi-nim\",\"status\":200,\"body\":"));
+        assertTrue(lines[3].startsWith("{\"index\":3,\"path\":\"/paling-ter\",\"status\":200,\"body\":"));
+        assertEquals("{\"status\":\"success\",\"succeeded\":4,\"failed\":0}", lines[4]);
+    }
+
+    @Test
+    @DisplayName("Kesalahan per sub-request hanya dilaporkan di barisnya sendiri")
+    void invalidSubRequests_ShouldFailIndividually() throws Exception {
+        BatchController controller = new BatchController(new SlowHomeController(), executor(2, 16), JSON, null, null, 32, 10_000);
+
+        String[] lines = run(controller, Arrays.asList(
+                null,
+                new BatchRequest(null, Map.of()),
+                new BatchRequest("/hello/", null),
+                new BatchRequest("/hello/a/b", null),
+                new BatchRequest("/hellox", null),
+                new BatchRequest("/informasi-nim", null),
+                request("/perolehan-nilai", "nim", "x"),
+                request("/perbedaan-l", "strBase64", "x"),
+                new BatchRequest("/hello/ani", null)));
+
+        assertEquals("{\"index\":0,\"path\":null,\"status\":400,\"message\":\"Path sub-request wajib diisi\"}", lines[0]);
+        assertEquals("{\"index\":1,\"path\":null,\"status\":400,\"message\":\"Path sub-request wajib diisi\"}", lines[1]);
+        assertEquals("{\"index\":2,\"path\":\"/hello/\",\"status\":404,\"message\":\"Endpoint tidak ditemukan\"}", lines[2]);
+        assertEquals("{\"index\":3,\"path\":\"/hello/a/b\",\"status\":404,\"message\":\"Endpoint tidak ditemukan\"}",
+                lines[3]);
+        assertEquals("{\"index\":4,\"path\":\"/hellox\",\"status\":404,\"message\":\"Endpoint tidak ditemukan\"}", lines[4]);
+        assertEquals("{\"index\":5,\"path\":\"/informasi-nim\",\"status\":400,\"message\":\"Parameter nim wajib diisi\"}",
+                lines[5]);
+        assertEquals("{\"index\":6,\"path\":\"/perolehan-nilai\",\"status\":400,"
+                + "\"message\":\"Parameter strBase64 wajib diisi\"}", lines[6]);
+        assertEquals("{\"index\":7,\"path\":\"/perbedaan-l\",\"status\":400,\"message\":\"Input tidak valid\"}", lines[7]);
+        assertEquals("{\"index\":8,\"path\":\"/hello/ani\",\"status\":200,\"body\":\"Hello, ani!\"}", lines[8]);
+        assertEquals("{\"status\":\"success\",\"succeeded\":1,\"failed\":8}", lines[9]);
+    }
+
+    @Test
+    @DisplayName("Executor penuh menghasilkan 503 hanya untuk sub-request yang ditolak")
+    void saturatedExecutor_ShouldRejectExtraSubRequests() throws Exception {
+        ThreadPoolExecutor executor = executor(1, 1);
+        BatchController controller = new BatchController(new HomeController(), executor, JSON, null, null, 32, 10_000);
+        // Pekerja dan antrian ditahan supaya sub-request batch ditolak
+        CountDownLatch hold = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                hold.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+
+        String[] lines;
+        try {
+            lines = run(controller, List.of(new BatchRequest("/", null)));
+        } finally {
+            hold.countDown();
+        }
+
+        assertEquals("{\"index\":0,\"path\":\"/\",\"status\":503,\"message\":\"Server sedang sibuk, coba lagi\"}", lines[0]);
+        assertEquals("{\"status\":\"success\",\"succeeded\":0,\"failed\":1}", lines[1]);
+    }
+
+    @Test
+    @DisplayName("Sub-request yang melewati batas waktu dijawab 504 dan dibatalkan")
+    void slowSubRequest_ShouldTimeOut() throws Exception {
+        SlowHomeController home = new SlowHomeController();
+        BatchController controller = new BatchController(home, executor(2, 16), JSON, null, null, 32, 50);
+
+        String[] lines = run(controller, List.of(
+                request("/paling-ter", "strBase64", "x"),
+                new BatchRequest("/", null)));
+
+        assertEquals("{\"index\":0,\"path\":\"/paling-ter\",\"status\":504,\"message\":\"Waktu sub-request habis\"}",
+                lines[0]);
+        assertTrue(lines[1].startsWith("{\"index\":1,\"path\":\"/\",\"status\":200,"));
+        assertEquals("{\"status\":\"success\",\"succeeded\":1,\"failed\":1}", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Thread request yang diinterupsi berhenti menunggu dan tetap menyimpan status interrupt")
+    void interruptedRequest_ShouldStopWaiting() throws Exception {
+        SlowHomeController home = new SlowHomeController();
+        BatchController controller = new BatchController(home, executor(1, 16), JSON, null, null, 32, 10_000);
+
+        Thread.currentThread().interrupt();
+        String[] lines;
+        try {
+            lines = run(controller, List.of(request("/paling-ter", "strBase64", "x")));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals("{\"index\":0,\"path\":\"/paling-ter\",\"status\":504,\"message\":\"Waktu sub-request habis\"}",
+                lines[0]);
+    }
+
+    @Test
+    @DisplayName("Batch kosong atau terlalu besar ditolak 400")
+    void invalidBatch_ShouldReturnBadRequest() throws Exception {
+        BatchController controller = new BatchController(new HomeController(), executor(1, 1), JSON, null, null, 2,
+                10_000);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        CapturingOutput output = new CapturingOutput();
+        when(response.getOutputStream()).thenReturn(output);
+
+        // Pembacaan berhenti di elemen ketiga, sisa body yang rusak tidak pernah dibaca
+        controller.batch(null, body("[{\"path\":\"/\"},{\"path\":\"/\"},{\"path\":\"/\"},{\"path\""), response);
+
+        verify(response).setStatus(400);
+        assertEquals("{\"status\":\"fail\",\"message\":\"Maksimal 2 sub-request per batch\"}", output.text());
+        assertEquals("Daftar sub-request wajib diisi", read(controller, ""));
+        assertEquals("Daftar sub-request wajib diisi", read(controller, "null"));
+        assertEquals("Daftar sub-request wajib diisi", read(controller, "[]"));
+        assertEquals("Body harus berupa array sub-request", read(controller, "{\"path\":\"/\"}"));
+        assertEquals("JSON tidak valid", read(controller, "[{\"path\":"));
+        assertEquals("JSON tidak valid", read(controller, "[{\"path\":\"/\"}"));
+        List<BatchRequest> requests = new ArrayList<>();
+        assertNull(controller.read(new ByteArrayInputStream(
+                "[{\"path\":\"/x\",\"params\":{\"a\":\"b\"},\"lain\":1},null]".getBytes(StandardCharsets.UTF_8)),
+                requests));
+        assertEquals(Arrays.asList(new BatchRequest("/x", Map.of("a", "b")), null), requests);
+    }
+
+    @Test
+    @DisplayName("Setiap sub-request membayar biaya rate limit path-nya sendiri")
+    void rateLimit_ShouldChargeEachSubRequest() throws Exception {
+        // Burst 11 token: satu /paling-ter (10) lalu satu request biasa (1)
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 11, List.of("/paling-ter:10"), 60, 100);
+        BatchController controller = new BatchController(new HomeController(), executor(2, 16), JSON, rateLimiter, null,
+                32, 10_000);
+        String base64 = Base64.getEncoder().encodeToString("5\n10\n---\n".getBytes(StandardCharsets.UTF_8));
+
+        String[] lines = run(controller, Arrays.asList(
+                request("/paling-ter", "strBase64", base64),
+                request("/paling-ter", "strBase64", base64),
+                new BatchRequest("/", null),
+                new BatchRequest("/", null),
+                null));
+
+        assertTrue(lines[0].startsWith("{\"index\":0,\"path\":\"/paling-ter\",\"status\":200,"));
+        assertEquals("{\"index\":1,\"path\":\"/paling-ter\",\"status\":429,"
+                + "\"message\":\"Terlalu banyak request, coba lagi nanti\"}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"index\":2,\"path\":\"/\",\"status\":200,"));
+        assertTrue(lines[3].startsWith("{\"index\":3,\"path\":\"/\",\"status\":429,"));
+        // Sub-request tanpa path tidak punya route dan tidak dikenai biaya
+        assertTrue(lines[4].startsWith("{\"index\":4,\"path\":null,\"status\":400,"));
+        assertEquals(2L, rateLimiter.snapshot().get("allowed"));
+        assertEquals(2L, rateLimiter.snapshot().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Sub-request berat memegang izin limiter heavy dan melepasnya setelah selesai atau batal")
+    void concurrencyLimiter_ShouldHoldPermitPerSubRequest() throws Exception {
+        // Heavy: batas 1 tanpa antrian
+        ConcurrencyLimiters limiters = new ConcurrencyLimiters(Set.of("/paling-ter"), List.of(), 1, 0, 10, 0, 10);
+        SlowHomeController home = new SlowHomeController();
+        BatchController controller = new BatchController(home, executor(2, 16), JSON, null, limiters, 32, 50);
+
+        String[] lines = run(controller, Arrays.asList(
+                request("/paling-ter", "strBase64", "x"),
+                request("/paling-ter", "strBase64", "x"),
+                new BatchRequest("/", null),
+                null));
+
+        assertEquals("{\"index\":0,\"path\":\"/paling-ter\",\"status\":504,\"message\":\"Waktu sub-request habis\"}",
+                lines[0]);
+        assertEquals("{\"index\":1,\"path\":\"/paling-ter\",\"status\":503,"
+                + "\"message\":\"Server sedang sibuk, coba lagi\"}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"index\":2,\"path\":\"/\",\"status\":200,"));
+        // Sub-request tanpa path tidak memakai limiter
+        assertTrue(lines[3].startsWith("{\"index\":3,\"path\":null,\"status\":400,"));
+
+        // Task yang dibatalkan saat berjalan melepas izinnya sendiri; setelah itu heavy bisa dipakai lagi
+        home.release.countDown();
+        String[] again = new String[0];
+        for (int attempt = 0; attempt < 100; attempt++) {
+            again = run(controller, List.of(request("/paling-ter", "strBase64", "x")));
+            if (!again[0].contains("\"status\":503")) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        assertTrue(again[0].contains("\"status\":200"));
+        assertEquals(0, limiters.snapshot().get(ConcurrencyLimiters.HEAVY).get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("Izin limiter dilepas jika executor menolak atau task batal sebelum berjalan")
+    void rejectedOrCancelledTask_ShouldReleasePermit() throws Exception {
+        // Limiter default mulai dari minimal 4 izin sehingga ketiga sub-request lolos limiter
+        ConcurrencyLimiters limiters = new ConcurrencyLimiters(Set.of(), List.of(), 1, 0, 10, 0, 10);
+        ThreadPoolExecutor executor = executor(1, 1);
+        SlowHomeController home = new SlowHomeController();
+        BatchController controller = new BatchController(home, executor, JSON, null, limiters, 32, 50);
+
+        // Pekerja ditahan sub-request pertama, yang kedua menunggu di antrian lalu batal, yang ketiga ditolak
+        String[] lines = run(controller, List.of(
+                request("/paling-ter", "strBase64", "x"),
+                request("/paling-ter", "strBase64", "x"),
+                request("/paling-ter", "strBase64", "x")));
+        home.release.countDown();
+
+        assertTrue(lines[0].contains("\"status\":504"));
+        assertTrue(lines[1].contains("\"status\":504"));
+        assertTrue(lines[2].contains("\"status\":503"));
+        for (int attempt = 0; attempt < 100
+                && !Integer.valueOf(0).equals(limiters.snapshot().get(ConcurrencyLimiters.DEFAULT).get("inFlight"));
+                attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, limiters.snapshot().get(ConcurrencyLimiters.DEFAULT).get("inFlight"));
+    }
+
+    @Test
+    @DisplayName("Limiter yang dinonaktifkan tidak dipakai dan antrian limiter yang terinterupsi menjawab 503")
+    void disabledOrInterruptedLimiter_ShouldBeHandled() throws Exception {
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(1, 1, List.of(), 60, 100);
+        ConcurrencyLimiters limiters = new ConcurrencyLimiters(Set.of("/paling-ter"), List.of(), 1, 1, 10, 0, 1_000);
+        ThreadPoolExecutor executor = executor(2, 16);
+
+        BatchController disabled = new BatchController(new HomeController(), executor, JSON, rateLimiter, limiters,
+                false, false, 32, 10_000);
+        String[] lines = run(disabled, List.of(new BatchRequest("/", null), new BatchRequest("/", null)));
+        assertTrue(lines[1].contains("\"status\":200"));
+        assertEquals(0L, rateLimiter.snapshot().get("allowed"));
+
+        SlowHomeController home = new SlowHomeController();
+        BatchController enabled = new BatchController(home, executor, JSON, rateLimiter, limiters, false, true, 32,
+                10_000);
+        Thread.currentThread().interrupt();
+        try {
+            // Sub-request pertama memegang satu-satunya izin heavy, yang kedua harus antri tetapi thread terinterupsi
+            lines = run(enabled, List.of(
+                    request("/paling-ter", "strBase64", "x"),
+                    request("/paling-ter", "strBase64", "x")));
+        } finally {
+            Thread.interrupted();
+            home.release.countDown();
+        }
+
+        assertTrue(lines[0].contains("\"status\":504"));
+        assertEquals("{\"index\":1,\"path\":\"/paling-ter\",\"status\":503,"
+                + "\"message\":\"Server sedang sibuk, coba lagi\"}", lines[1]);
+        assertEquals(0L, rateLimiter.snapshot().get("allowed"));
+    }
+}
@@ -613,4 +613,100 @@ class HomeControllerUnitTest {
             assertEquals(expected, result);
         }
     }
-}
\ No newline at end of file
+
+    // Test validasi input tanpa exception
+    // --------------------------------
+    @Test
+    @DisplayName("Input yang tidak valid dilaporkan sebagai pesan, bukan exception")
+    void inputTidakValid_dilaporkan_tanpa_exception() throws Exception {
+        HomeController controller = new HomeController();
+
+        // Base64 tidak valid
+        assertEquals("Input Base64 tidak valid", controller.perolehanNilai("!!!"));
+        assertEquals("Input Base64 tidak valid", controller.perbedaanL("Q"));
+        assertEquals("Input Base64 tidak valid", controller.palingTer("QQ="));
+
+        // Urutan NIM bukan angka
+        assertEquals("Urutan NIM harus berupa angka", controller.informasiNim("11S18abc"));
+
+        // perolehan-nilai
+        assertEquals("Data tidak lengkap", controller.perolehanNilai("MTAKMTAKMTAKMTAKMTAK"));
+        assertEquals("Bobot pada baris 3 harus berupa angka", controller.perolehanNilai("MTAKMTAKeAoxMAoxMAo1MAotLS0K"));
+        assertEquals("Format baris 7 tidak valid", controller.perolehanNilai("MTAKMTAKMTAKMTAKMTAKNTAKUEEKLS0tCg=="));
+        assertEquals("Format baris 7 tidak valid", controller.perolehanNilai("MTAKMTAKMTAKMTAKMTAKNTAKUEF8eHwxCi0tLQo="));
+        {
+            String expected = """
+                    Perolehan nilai tidak valid
+                    Perolehan nilai tidak valid
+                    Perolehan Nilai:
+                    >> Partisipatif: 0/100 (0.00/10)
+                    >> Tugas: 0/100 (0.00/10)
+                    >> Kuis: 50/100 (5.00/10)
+                    >> Proyek: 0/100 (0.00/10)
+                    >> UTS: 0/100 (0.00/10)
+                    >> UAS: 0/100 (0.00/50)
+
+                    >> Nilai Akhir: 5.00
+                    >> Grade: E
+                    """;
+            expected = expected.replaceAll("\n", "<br/>").trim();
+            assertEquals(expected, controller.perolehanNilai("MTAKMTAKMTAKMTAKMTAKNTAKUEF8MTB8eApUfDEwfCAKS3wxMHw1Ci0tLQo="));
+        }
+
+        // perbedaan-l
+        assertEquals("Ukuran matriks harus berupa angka positif", controller.perbedaanL("eAoxCg=="));
+        assertEquals("Ukuran matriks harus berupa angka positif", controller.perbedaanL("MAo="));
+        assertEquals("Data tidak lengkap", controller.perbedaanL("MwoxIDIgMwo0IDUgNgo="));
+        assertEquals("Data tidak lengkap", controller.perbedaanL("MgoxIDIKMwo="));
+        assertEquals("Isi matriks harus berupa angka", controller.perbedaanL("MgoxIDIKMyB5Cg=="));
+
+        // paling-ter
+        assertEquals("Nilai pada baris 3 harus berupa angka", controller.palingTer("MQoyCmFiYwotLS0K"));
+        assertEquals("Informasi tidak tersedia", controller.palingTer("NQo="));
+    }
+
+    @Test
+    @DisplayName("decodeOrNull menolak input yang sama dengan Base64.getDecoder()")
+    void decodeOrNull_sama_dengan_decoder_bawaan() {
+        String[] valid = { "", "QQ", "QQ==", "QWI", "QWI=", "QUJD", "AZaz09+/" };
+        for (String input : valid) {
+            assertEquals(HomeController.decode(input), HomeController.decodeOrNull(input), input);
+        }
+        String[] invalid = { "Q", "QQ=", "QQ!=", "QQ=!", "QQ===", "QUJD=", "QWI==", "QWI!", "!AAA", "[AAA", "{AAA", ":AAA" };
+        for (String input : invalid) {
+            assertNull(HomeController.decodeOrNull(input), input);
+            assertThrows(IllegalArgumentException.class, () -> HomeController.decode(input), input);
+        }
+    }
+
+    @Test
+    @DisplayName("parseIntOrInvalid mengikuti aturan Integer.parseInt")
+    void parseIntOrInvalid_sama_dengan_parseInt() {
+        String[] valid = { "0", "7", "+7", "-7", "007", "2147483647", "-2147483648", "\u0663" };
+        for (String input : valid) {
+            assertEquals(Integer.parseInt(input), HomeController.parseIntOrInvalid(input), input);
+        }
+        String[] invalid = { "", "-", "+", "x", "1x", "2147483648", "-2147483649", "99999999999", " 1" };
+        for (String input : invalid) {
+            assertEquals(Long.MIN_VALUE, HomeController.parseIntOrInvalid(input), input);
+            assertThrows(NumberFormatException.class, () -> Integer.parseInt(input), input);
+        }
+    }
+
+    @Test
+    @DisplayName("isDouble mengikuti aturan Double.parseDouble")
+    void isDouble_sama_dengan_parseDouble() {
+        String[] valid = { "1", "-1", "+1.5", ".5", "5.", "1e3", "1E-5d", "1e+5", "1.5f", "2D", "NaN", "+NaN",
+                "-Infinity", "0x1p3", "0X1P3", "0x1.8p1", "0xab.Fp-1", "0x.8P+1f" };
+        for (String input : valid) {
+            assertTrue(HomeController.isDouble(input), input);
+            assertDoesNotThrow(() -> Double.parseDouble(input), input);
+        }
+        String[] invalid = { "", "-", ".", "x", "1x", "1e", "1e+", ".e5", "1fd", "Infinityx", "0x", "0x1",
+                "0x1z", "0xgp1", "0xp1", "0x1.p", "1p3", "1 2" };
+        for (String input : invalid) {
+            assertFalse(HomeController.isDouble(input), input);
+            assertThrows(NumberFormatException.class, () -> Double.parseDouble(input), input);
+        }
+    }
+}
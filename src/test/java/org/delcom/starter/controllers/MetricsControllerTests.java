@@ -0,0 +1,233 @@
+package org.delcom.starter.controllers;
+
+import org.delcom.starter.configs.ClientRateLimiter;
+import org.delcom.starter.configs.ConcurrencyLimiters;
+import org.delcom.starter.configs.FastRejectFilter;
+import org.delcom.starter.configs.JwtVerifier;
+import org.delcom.starter.configs.RouteMetrics;
+import org.delcom.starter.configs.StartupInfoLogger;
+import org.delcom.starter.repositories.TodoCheckpointer;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoSnapshots;
+import org.delcom.starter.repositories.TodoWal;
+import org.delcom.starter.services.TodoBulkService;
+import org.delcom.starter.services.TodoChangeFeed;
+import org.delcom.starter.services.TodoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MetricsControllerTests {
+
+    private static ConcurrencyLimiters limiters() {
+        return new ConcurrencyLimiters(Set.of("/paling-ter"), List.of("/stream/"), 0, 4, 100, 4, 10);
+    }
+
+    private static FastRejectFilter fastRejectFilter() {
+        return new FastRejectFilter(List.of("/stream/"), 10);
+    }
+
+    private static JwtVerifier jwtVerifier() {
+        return new JwtVerifier(List.of(), 10, 60);
+    }
+
+    private static ClientRateLimiter rateLimiter() {
+        return new ClientRateLimiter(10, 10, List.of(), 60, 100);
+    }
+
+    private static TodoWal todoWal() throws IOException {
+        return new TodoWal(new TodoShards(4, 0), new TodoSnapshots("data/todo.snapshot"), false, "data/todo.wal", "INTERVAL", 10);
+    }
+
+    private static TodoBulkService bulkService() {
+        return new TodoBulkService(mock(TodoService.class), 1000);
+    }
+
+    private static TodoChangeFeed feed() {
+        return new TodoChangeFeed(16, 10, 100, 15, 10_000);
+    }
+
+    private static TodoCheckpointer checkpointer() throws IOException {
+        return new TodoCheckpointer(new TodoShards(4, 0), todoWal(), new TodoSnapshots("data/todo.snapshot"), false, 300,
+                100_000);
+    }
+
+    @Test
+    @DisplayName("Mengembalikan metrik per route")
+    void routes_ShouldReturnSnapshot() throws Exception {
+        RouteMetrics metrics = new RouteMetrics();
+        metrics.record("/perbedaan-l", 1_000_000, 2_048, 10_000);
+
+        MetricsController controller = new MetricsController(metrics, limiters(), fastRejectFilter(), new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+        Map<String, Map<String, Object>> result = controller.routes();
+
+        assertEquals(1L, result.get("/perbedaan-l").get("count"));
+        assertEquals(2_048L, result.get("/perbedaan-l").get("maxAllocatedBytes"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan batas konkurensi per kelompok endpoint")
+    void limits_ShouldReturnLimiterSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(), new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Map<String, Object>> result = controller.limits();
+
+        assertTrue(result.containsKey(ConcurrencyLimiters.HEAVY));
+        assertTrue(result.containsKey(ConcurrencyLimiters.DEFAULT));
+        assertEquals(0L, result.get(ConcurrencyLimiters.HEAVY).get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan jumlah penolakan path tidak dikenal")
+    void rejected_ShouldReturnFastRejectSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(), new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.rejected();
+
+        assertEquals(0L, result.get("rejected"));
+        assertEquals(Map.of(), result.get("topPaths"));
+    }
+
+    @Test
+    @DisplayName("Laporan startup kosong sebelum aplikasi siap")
+    void startup_ShouldReturnStartupReport() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        assertEquals(Map.of(), controller.startup());
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik cache token JWT")
+    void jwt_ShouldReturnVerifierSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.jwt();
+
+        assertEquals(0L, result.get("cacheHits"));
+        assertEquals(List.of(), result.get("keyIds"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik rate limit per klien")
+    void rateLimit_ShouldReturnLimiterSnapshot() throws Exception {
+        ClientRateLimiter rateLimiter = rateLimiter();
+        rateLimiter.acquire(null, "127.0.0.1", "/hello/abdullah");
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter, todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.rateLimit();
+
+        assertEquals(1L, result.get("allowed"));
+        assertEquals(1, result.get("addresses"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik WAL todo")
+    void wal_ShouldReturnWalSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.wal();
+
+        assertEquals(false, result.get("enabled"));
+        assertEquals("INTERVAL", result.get("fsync"));
+        assertEquals(0L, result.get("records"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik checkpoint snapshot todo")
+    void snapshot_ShouldReturnCheckpointerSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(), new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.snapshot();
+
+        assertEquals(false, result.get("enabled"));
+        assertEquals(0L, result.get("checkpoints"));
+        assertEquals("data/todo.snapshot", result.get("path"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan ukuran, kuota dan latensi setiap shard todo")
+    void shards_ShouldReturnShardSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(),
+                new TodoShards(4, 1_000), bulkService(), feed());
+
+        Map<String, Object> result = controller.shards();
+
+        assertEquals(4, result.get("count"));
+        assertEquals(0L, result.get("todos"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> shards = (List<Map<String, Object>>) result.get("shards");
+        assertEquals(4, shards.size());
+        assertEquals(1_000L, shards.get(0).get("maxBytes"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik indeks pencarian todo per shard")
+    @SuppressWarnings("unchecked")
+    void search_ShouldReturnIndexSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(),
+                new TodoShards(4, 0), bulkService(), feed());
+
+        List<Map<String, Object>> result = (List<Map<String, Object>>) controller.search().get("shards");
+
+        assertEquals(4, result.size());
+        assertEquals(0L, result.get(0).get("documents"));
+        assertEquals(0L, result.get(3).get("terms"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik indeks query todo per shard")
+    @SuppressWarnings("unchecked")
+    void query_ShouldReturnIndexSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(),
+                new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> query = controller.query();
+        List<Map<String, Object>> result = (List<Map<String, Object>>) query.get("shards");
+
+        assertEquals(4, result.size());
+        assertEquals(0L, result.get(0).get("documents"));
+        assertEquals(0L, ((Map<String, Object>) query.get("bitmaps")).get("bitmapBytes"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik import/export todo")
+    void bulk_ShouldReturnBulkSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(),
+                new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.bulk();
+
+        assertEquals(1000, result.get("batchSize"));
+        assertEquals(0L, result.get("importedTodos"));
+    }
+
+    @Test
+    @DisplayName("Mengembalikan statistik change feed todo")
+    void feed_ShouldReturnFeedSnapshot() throws Exception {
+        MetricsController controller = new MetricsController(new RouteMetrics(), limiters(), fastRejectFilter(),
+                new StartupInfoLogger(), jwtVerifier(), rateLimiter(), todoWal(), checkpointer(),
+                new TodoShards(4, 0), bulkService(), feed());
+
+        Map<String, Object> result = controller.feed();
+
+        assertEquals(16, result.get("capacity"));
+        assertEquals(0, result.get("subscribers"));
+        assertEquals(0L, result.get("sequence"));
+    }
+}
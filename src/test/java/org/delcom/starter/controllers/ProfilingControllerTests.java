@@ -0,0 +1,69 @@
+package org.delcom.starter.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.delcom.starter.configs.FlightRecorderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProfilingControllerTests {
+
+    private HttpServletRequest requestFrom(String address) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn(address);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Menjalankan start, dump dan stop dari loopback")
+    void localRequests_ShouldControlRecording() throws Exception {
+        FlightRecorderService service = mock(FlightRecorderService.class);
+        when(service.start()).thenReturn(true);
+        when(service.dump()).thenReturn(Path.of("/tmp/delcom.jfr"));
+        when(service.stop()).thenReturn(true);
+        ProfilingController controller = new ProfilingController(service);
+        HttpServletRequest local = requestFrom("127.0.0.1");
+
+        ResponseEntity<Map<String, Object>> started = controller.start(local);
+        assertEquals(200, started.getStatusCode().value());
+        assertEquals(true, started.getBody().get("started"));
+
+        ResponseEntity<Map<String, Object>> dumped = controller.dump(local);
+        assertEquals(200, dumped.getStatusCode().value());
+        assertEquals("/tmp/delcom.jfr", dumped.getBody().get("file"));
+
+        ResponseEntity<Map<String, Object>> stopped = controller.stop(local);
+        assertEquals(200, stopped.getStatusCode().value());
+        assertEquals(true, stopped.getBody().get("stopped"));
+    }
+
+    @Test
+    @DisplayName("Dump tanpa recording menghasilkan 409")
+    void dumpWithoutRecording_ShouldReturnConflict() throws Exception {
+        FlightRecorderService service = mock(FlightRecorderService.class);
+        ProfilingController controller = new ProfilingController(service);
+
+        ResponseEntity<Map<String, Object>> result = controller.dump(requestFrom("::1"));
+
+        assertEquals(409, result.getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Menolak akses profiling dari alamat non-lokal")
+    void remoteRequests_ShouldBeForbidden() throws Exception {
+        FlightRecorderService service = mock(FlightRecorderService.class);
+        ProfilingController controller = new ProfilingController(service);
+        HttpServletRequest remote = requestFrom("10.0.0.1");
+
+        assertEquals(403, controller.start(remote).getStatusCode().value());
+        assertEquals(403, controller.dump(remote).getStatusCode().value());
+        assertEquals(403, controller.stop(remote).getStatusCode().value());
+        verifyNoInteractions(service);
+    }
+}
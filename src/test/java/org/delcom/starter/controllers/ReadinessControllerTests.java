@@ -0,0 +1,78 @@
+package org.delcom.starter.controllers;
+
+import org.delcom.starter.configs.WarmupRunner;
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoSnapshots;
+import org.delcom.starter.repositories.TodoWal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadinessControllerTests {
+
+    @TempDir
+    Path dir;
+
+    private TodoWal todoWal(boolean enabled) throws IOException {
+        return new TodoWal(new TodoShards(4, 0), new TodoSnapshots(dir.resolve("todo.snapshot").toString()), enabled,
+                dir.resolve("todo.wal").toString(), "ALWAYS", 10);
+    }
+
+    @Test
+    @DisplayName("503 selama warm-up berjalan")
+    void ready_ShouldReturn503WhileWarmingUp() throws Exception {
+        WarmupRunner runner = new WarmupRunner(mock(HomeController.class), true, 10, 1000);
+        ReadinessController controller = new ReadinessController(runner, todoWal(false));
+
+        ResponseEntity<Map<String, Object>> result = controller.ready();
+
+        assertEquals(503, result.getStatusCode().value());
+        assertEquals("WARMING_UP", result.getBody().get("status"));
+    }
+
+    @Test
+    @DisplayName("200 setelah warm-up selesai")
+    void ready_ShouldReturn200AfterWarmup() throws Exception {
+        WarmupRunner runner = new WarmupRunner(mock(HomeController.class), true, 10, 1000);
+        runner.run();
+        ReadinessController controller = new ReadinessController(runner, todoWal(false));
+
+        ResponseEntity<Map<String, Object>> result = controller.ready();
+
+        assertEquals(200, result.getStatusCode().value());
+        assertEquals("UP", result.getBody().get("status"));
+        assertEquals(10, result.getBody().get("warmupIterations"));
+    }
+
+    @Test
+    @DisplayName("503 setelah WAL gagal menulis meskipun warm-up sudah selesai")
+    void ready_ShouldReturn503AfterWalFailure() throws Exception {
+        WarmupRunner runner = new WarmupRunner(mock(HomeController.class), true, 10, 1000);
+        runner.run();
+        TodoWal wal = todoWal(true);
+        ReadinessController controller = new ReadinessController(runner, wal);
+        assertEquals(200, controller.ready().getStatusCode().value());
+
+        ((FileChannel) ReflectionTestUtils.getField(wal, "channel")).close();
+        wal.onTodoChanged(null, new Todo(1, "alice", "a", "", TodoStatus.OPEN, 0, 0, 1, 1, 1));
+        assertThrows(UncheckedIOException.class, wal::awaitDurable);
+        ResponseEntity<Map<String, Object>> result = controller.ready();
+        wal.destroy();
+
+        assertEquals(503, result.getStatusCode().value());
+        assertEquals("WAL_FAILED", result.getBody().get("status"));
+    }
+}
@@ -0,0 +1,275 @@
+package org.delcom.starter.controllers;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StreamingComputeServletTests {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    // Response palsu yang menampung body ke memori
+    private static final class CapturingOutput extends ServletOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+        }
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        String text() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Exchange {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        final AsyncContext async = mock(AsyncContext.class);
+        final ServletInputStream input = mock(ServletInputStream.class);
+        final CapturingOutput output = new CapturingOutput();
+
+        Exchange(String path) throws IOException {
+            when(request.getPathInfo()).thenReturn(path);
+            when(request.startAsync()).thenReturn(async);
+            when(request.getInputStream()).thenReturn(input);
+            when(async.getResponse()).thenReturn(response);
+            when(response.getOutputStream()).thenReturn(output);
+        }
+
+        ReadListener listener() {
+            ArgumentCaptor<ReadListener> captor = ArgumentCaptor.forClass(ReadListener.class);
+            verify(input).setReadListener(captor.capture());
+            return captor.getValue();
+        }
+
+        AsyncListener asyncListener() {
+            ArgumentCaptor<AsyncListener> captor = ArgumentCaptor.forClass(AsyncListener.class);
+            verify(async).addListener(captor.capture());
+            return captor.getValue();
+        }
+    }
+
+    // Kirim body dalam potongan kecil seperti upload lambat
+    private static void stream(Exchange exchange, ReadListener listener, byte[] body, int chunk) throws IOException {
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            int start = offset;
+            int count = Math.min(chunk, body.length - offset);
+            when(exchange.input.isReady()).thenReturn(true, false);
+            when(exchange.input.read(any(byte[].class))).thenAnswer(invocation -> {
+                byte[] buffer = invocation.getArgument(0);
+                System.arraycopy(body, start, buffer, 0, count);
+                return count;
+            });
+            listener.onDataAvailable();
+        }
+        listener.onAllDataRead();
+    }
+
+    private static String post(StreamingComputeServlet servlet, String path, String base64) throws IOException {
+        Exchange exchange = new Exchange(path);
+        servlet.doPost(exchange.request, exchange.response);
+        stream(exchange, exchange.listener(), Base64.getDecoder().decode(base64), 7);
+        verify(exchange.async).complete();
+        return exchange.output.text();
+    }
+
+    @Test
+    @DisplayName("Hasil stream sama dengan HomeController untuk semua endpoint komputasi")
+    void streamingResults_ShouldMatchHomeController() throws Exception {
+        HomeController controller = new HomeController();
+        StreamingComputeServlet servlet = new StreamingComputeServlet(controller, DIRECT, 1 << 20, 1000);
+
+        String[] nilai = {
+                "MA0KMzUNCjENCjE2DQoyMg0KMjYNClR8OTB8MjENClVBU3w5Mnw4Mg0KVUFTfDYzfDE1DQpUfDEwfDUNClVBU3w4OXw3NA0KVHw5NXwzNQ0KUEF8NzV8NDUNClBBfDkwfDc3DQpQQXw4NnwxNA0KVVRTfDIxfDANCkt8NTB8NDQNCi0tLQ0K",
+                Base64.getEncoder().encodeToString("10\n20\n10\n20\n20\n20\nPA|100|80\nT|100\nUAS|50|40\n---\n".getBytes()) };
+        for (String input : nilai) {
+            assertEquals(controller.perolehanNilai(input), post(servlet, "/perolehan-nilai", input));
+        }
+
+        String[] matriks = { "MQ0KMTkNCg==", "Mg0KODMgNTUNCjY2IDc1DQo=", "Mw0KMSAyIDMNCjQgNSA2DQo3IDggOQ0K" };
+        for (String input : matriks) {
+            assertEquals(controller.perbedaanL(input), post(servlet, "/perbedaan-l", input));
+        }
+
+        String[] nilaiTer = { "LS0tDQo=", "MQ0KMQ0KMw0KMw0KMg0KMg0KMg0KNA0KNQ0KMQ0KLS0tDQo=" };
+        for (String input : nilaiTer) {
+            assertEquals(controller.palingTer(input), post(servlet, "/paling-ter", input));
+        }
+    }
+
+    @Test
+    @DisplayName("Path yang tidak dikenal menghasilkan 404 tanpa memulai async")
+    void unknownPath_ShouldReturn404() throws Exception {
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), DIRECT, 1024, 1000);
+
+        Exchange unknown = new Exchange("/tidak-ada");
+        servlet.doPost(unknown.request, unknown.response);
+        verify(unknown.response).setStatus(404);
+        verify(unknown.request, never()).startAsync();
+
+        Exchange root = new Exchange(null);
+        servlet.doPost(root.request, root.response);
+        verify(root.response).setStatus(404);
+    }
+
+    @Test
+    @DisplayName("Body yang melebihi batas ditolak dengan 413")
+    void oversizedBody_ShouldReturn413() throws Exception {
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), DIRECT, 4, 1000);
+        Exchange exchange = new Exchange("/paling-ter");
+        servlet.doPost(exchange.request, exchange.response);
+        ReadListener listener = exchange.listener();
+
+        stream(exchange, listener, "1\n2\n3\n---\n".getBytes(), 8);
+
+        verify(exchange.response).setStatus(413);
+        verify(exchange.async, times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Input yang tidak valid dijawab dengan pesan validasi")
+    void invalidInput_ShouldReturnValidationMessage() throws Exception {
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), DIRECT, 1024, 1000);
+        Exchange exchange = new Exchange("/perbedaan-l");
+        servlet.doPost(exchange.request, exchange.response);
+
+        stream(exchange, exchange.listener(), "bukan angka\n".getBytes(), 4);
+
+        verify(exchange.response).setStatus(200);
+        assertEquals("Ukuran matriks harus berupa angka positif", exchange.output.text());
+    }
+
+    @Test
+    @DisplayName("Exception saat perhitungan menghasilkan 400")
+    void failingComputation_ShouldReturn400() throws Exception {
+        HomeController controller = mock(HomeController.class);
+        when(controller.hitungPerbedaanL(any())).thenThrow(new IllegalStateException("gagal"));
+        StreamingComputeServlet servlet = new StreamingComputeServlet(controller, DIRECT, 1024, 1000);
+        Exchange exchange = new Exchange("/perbedaan-l");
+        servlet.doPost(exchange.request, exchange.response);
+
+        stream(exchange, exchange.listener(), "1\n5\n".getBytes(), 4);
+
+        verify(exchange.response).setStatus(400);
+        assertEquals("Input tidak valid", exchange.output.text());
+    }
+
+    @Test
+    @DisplayName("Executor penuh menghasilkan 503 dengan Retry-After")
+    void saturatedExecutor_ShouldReturn503() throws Exception {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException("penuh");
+        };
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), rejecting, 1024, 1000);
+        Exchange exchange = new Exchange("/paling-ter");
+        servlet.doPost(exchange.request, exchange.response);
+
+        stream(exchange, exchange.listener(), "1\n---\n".getBytes(), 16);
+
+        verify(exchange.response).setStatus(503);
+        verify(exchange.response).setHeader("Retry-After", "1");
+    }
+
+    @Test
+    @DisplayName("Akhir stream, error koneksi dan kegagalan tulis ditangani tanpa exception")
+    void endOfStreamAndErrors_ShouldCompleteAsync() throws Exception {
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), DIRECT, 1024, 1000);
+
+        Exchange eof = new Exchange("/paling-ter");
+        servlet.doPost(eof.request, eof.response);
+        ReadListener eofListener = eof.listener();
+        when(eof.input.isReady()).thenReturn(true);
+        when(eof.input.read(any(byte[].class))).thenReturn(-1);
+        eofListener.onDataAvailable();
+        verify(eof.async, never()).complete();
+
+        Exchange broken = new Exchange("/paling-ter");
+        servlet.doPost(broken.request, broken.response);
+        ReadListener brokenListener = broken.listener();
+        brokenListener.onError(new IOException("reset"));
+        brokenListener.onAllDataRead();
+        verify(broken.async, times(1)).complete();
+
+        Exchange closed = new Exchange("/paling-ter");
+        when(closed.response.getOutputStream()).thenThrow(new IOException("closed"));
+        servlet.doPost(closed.request, closed.response);
+        stream(closed, closed.listener(), "1\n---\n".getBytes(), 16);
+        verify(closed.async, times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Timeout menjawab 503 sekali dan perhitungan yang terlambat tidak menulis lagi")
+    void timeout_ShouldRespondOnceAndSkipLateResult() throws Exception {
+        Runnable[] pending = new Runnable[1];
+        Executor deferred = task -> pending[0] = task;
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), deferred, 1024, 1000);
+        Exchange exchange = new Exchange("/paling-ter");
+        servlet.doPost(exchange.request, exchange.response);
+        AsyncListener asyncListener = exchange.asyncListener();
+        verify(exchange.async).setTimeout(1000);
+
+        stream(exchange, exchange.listener(), "1\n---\n".getBytes(), 16);
+        asyncListener.onStartAsync(mock(AsyncEvent.class));
+        asyncListener.onTimeout(mock(AsyncEvent.class));
+        pending[0].run();
+        asyncListener.onTimeout(mock(AsyncEvent.class));
+        asyncListener.onComplete(mock(AsyncEvent.class));
+
+        verify(exchange.response, times(1)).setStatus(anyInt());
+        verify(exchange.response).setStatus(503);
+        verify(exchange.response).setHeader("Retry-After", "1");
+        assertEquals("Waktu pemrosesan habis", exchange.output.text());
+        verify(exchange.async, times(1)).complete();
+    }
+
+    @Test
+    @DisplayName("Request yang sudah ditutup container tidak ditulis dan tidak melempar exception")
+    void completedByContainer_ShouldNotWrite() throws Exception {
+        StreamingComputeServlet servlet = new StreamingComputeServlet(new HomeController(), DIRECT, 1024, 1000);
+
+        Exchange failed = new Exchange("/paling-ter");
+        servlet.doPost(failed.request, failed.response);
+        failed.asyncListener().onError(mock(AsyncEvent.class));
+        stream(failed, failed.listener(), "1\n---\n".getBytes(), 16);
+        failed.listener().onError(new IOException("reset"));
+        verify(failed.response, never()).setStatus(anyInt());
+        verify(failed.async, never()).complete();
+
+        // Response dan AsyncContext yang sudah didaur ulang container melempar IllegalStateException
+        Exchange recycled = new Exchange("/paling-ter");
+        when(recycled.response.getOutputStream()).thenThrow(new IllegalStateException("recycled"));
+        doThrow(new IllegalStateException("selesai")).when(recycled.async).complete();
+        servlet.doPost(recycled.request, recycled.response);
+        assertDoesNotThrow(() -> stream(recycled, recycled.listener(), "1\n---\n".getBytes(), 16));
+        verify(recycled.async, times(1)).complete();
+    }
+}
@@ -0,0 +1,48 @@
+package org.delcom.starter.controllers;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.delcom.starter.services.TodoBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.mockito.Mockito.*;
+
+class TodoBulkControllerTests {
+
+    @Test
+    @DisplayName("POST /todos/import meneruskan body dan response ke TodoBulkService sebagai NDJSON")
+    void testImport() throws IOException {
+        TodoBulkService service = mock(TodoBulkService.class);
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletInputStream input = mock(ServletInputStream.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        when(request.getInputStream()).thenReturn(input);
+        when(response.getOutputStream()).thenReturn(output);
+
+        new TodoBulkController(service).importTodos(null, request, response);
+
+        verify(response).setStatus(200);
+        verify(response).setContentType(TodoBulkController.NDJSON);
+        verify(service).importTodos(TodoController.ANONYMOUS, input, output);
+    }
+
+    @Test
+    @DisplayName("GET /todos/export menulis todo milik subject JWT sebagai NDJSON")
+    void testExport() throws IOException {
+        TodoBulkService service = mock(TodoBulkService.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        when(response.getOutputStream()).thenReturn(output);
+
+        new TodoBulkController(service).exportTodos("alice", response);
+
+        verify(response).setContentType(TodoBulkController.NDJSON);
+        verify(service).exportTodos("alice", output);
+    }
+}
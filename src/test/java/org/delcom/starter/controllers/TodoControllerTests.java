@@ -0,0 +1,258 @@
+package org.delcom.starter.controllers;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.services.TodoBatchRequest;
+import org.delcom.starter.services.TodoBatchResult;
+import org.delcom.starter.services.TodoFilterRequest;
+import org.delcom.starter.services.TodoPage;
+import org.delcom.starter.services.TodoRequest;
+import org.delcom.starter.services.TodoSearchResult;
+import org.delcom.starter.services.TodoService;
+import org.delcom.starter.services.TodoWriteResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TodoControllerTests {
+
+    private static final Todo TODO = new Todo(1, "alice", "a", "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    private static final Todo NEWER = new Todo(1, "alice", "b", "", TodoStatus.OPEN, 0, 0, 1, 2, 2);
+    private static final TodoRequest REQUEST = new TodoRequest("a", null, null, null, null);
+    private static final TodoWriteResult MISSING = new TodoWriteResult(TodoWriteResult.Outcome.NOT_FOUND, null);
+
+    @Test
+    @DisplayName("POST /todos membuat todo untuk subject JWT atau anonymous")
+    void testCreate() {
+        TodoService service = mock(TodoService.class);
+        when(service.create("alice", REQUEST)).thenReturn(TODO);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> created = controller.create("alice", REQUEST);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertSame(TODO, created.getBody());
+        assertEquals("\"1\"", created.getHeaders().getETag());
+
+        controller.create(null, REQUEST);
+        verify(service).create(TodoController.ANONYMOUS, REQUEST);
+    }
+
+    @Test
+    @DisplayName("POST /todos ditolak 507 jika kuota shard pengguna penuh")
+    void testCreateOverQuota() {
+        TodoService service = mock(TodoService.class);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> created = controller.create("alice", REQUEST);
+        assertEquals(HttpStatus.INSUFFICIENT_STORAGE, created.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Kuota penyimpanan todo penuh"), created.getBody());
+    }
+
+    @Test
+    @DisplayName("Data yang tidak valid ditolak 400 dengan pesan validasi")
+    void testValidationFailure() {
+        TodoService service = mock(TodoService.class);
+        when(service.validate(null, true)).thenReturn("Data todo wajib diisi");
+        when(service.validate(REQUEST, false)).thenReturn("Judul todo wajib diisi");
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> created = controller.create("alice", null);
+        assertEquals(HttpStatus.BAD_REQUEST, created.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Data todo wajib diisi"), created.getBody());
+
+        assertEquals(HttpStatus.BAD_REQUEST, controller.update("alice", 1, null, REQUEST).getStatusCode());
+        verify(service, never()).create(any(), any());
+        verify(service, never()).update(any(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("GET dan PUT /todos/{id} mengembalikan 404 untuk todo yang tidak ditemukan")
+    void testGetAndUpdate() {
+        TodoService service = mock(TodoService.class);
+        when(service.get("alice", 1)).thenReturn(TODO);
+        when(service.update("alice", 1, REQUEST, TodoService.ANY_VERSION))
+                .thenReturn(new TodoWriteResult(TodoWriteResult.Outcome.APPLIED, NEWER));
+        when(service.update("alice", 2, REQUEST, TodoService.ANY_VERSION)).thenReturn(MISSING);
+        TodoController controller = new TodoController(service);
+
+        assertSame(TODO, controller.get("alice", 1).getBody());
+        assertEquals("\"1\"", controller.get("alice", 1).getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_FOUND, controller.get("alice", 2).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.get(null, 1).getStatusCode());
+
+        ResponseEntity<Object> updated = controller.update("alice", 1, null, REQUEST);
+        assertSame(NEWER, updated.getBody());
+        assertEquals("\"2\"", updated.getHeaders().getETag());
+        ResponseEntity<Object> missing = controller.update("alice", 2, "*", REQUEST);
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Todo tidak ditemukan"), missing.getBody());
+    }
+
+    @Test
+    @DisplayName("DELETE /todos/{id} mengembalikan 204 atau 404")
+    void testDelete() {
+        TodoService service = mock(TodoService.class);
+        when(service.delete("alice", 1, TodoService.ANY_VERSION))
+                .thenReturn(new TodoWriteResult(TodoWriteResult.Outcome.APPLIED, TODO));
+        when(service.delete("alice", 2, TodoService.ANY_VERSION)).thenReturn(MISSING);
+        TodoController controller = new TodoController(service);
+
+        assertEquals(HttpStatus.NO_CONTENT, controller.delete("alice", 1, null).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.delete("alice", 2, null).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("PUT dan DELETE dengan If-Match versi lama ditolak 412 dengan versi saat ini")
+    void testConditionalWrites() {
+        TodoService service = mock(TodoService.class);
+        TodoWriteResult conflict = new TodoWriteResult(TodoWriteResult.Outcome.CONFLICT, NEWER);
+        when(service.update("alice", 1, REQUEST, 1)).thenReturn(conflict);
+        when(service.delete("alice", 1, 1)).thenReturn(conflict);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> updated = controller.update("alice", 1, "\"1\"", REQUEST);
+        assertEquals(HttpStatus.PRECONDITION_FAILED, updated.getStatusCode());
+        assertEquals("\"2\"", updated.getHeaders().getETag());
+        assertEquals(Map.of("status", "fail", "message", "Versi todo sudah berubah", "version", 2L),
+                updated.getBody());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, controller.delete("alice", 1, "1").getStatusCode());
+
+        ResponseEntity<Object> invalid = controller.update("alice", 1, "\"1\", abc", REQUEST);
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Header If-Match tidak valid"), invalid.getBody());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.delete("alice", 1, "abc").getStatusCode());
+        verify(service).validate(REQUEST, false);
+    }
+
+    @Test
+    @DisplayName("Weak ETag di If-Match tidak pernah cocok sehingga dijawab 412")
+    void testWeakIfMatch() {
+        TodoService service = mock(TodoService.class);
+        TodoWriteResult conflict = new TodoWriteResult(TodoWriteResult.Outcome.CONFLICT, NEWER);
+        when(service.update("alice", 1, REQUEST, TodoController.NO_VERSION)).thenReturn(conflict);
+        when(service.delete("alice", 1, TodoController.NO_VERSION)).thenReturn(conflict);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> updated = controller.update("alice", 1, "W/\"2\"", REQUEST);
+        assertEquals(HttpStatus.PRECONDITION_FAILED, updated.getStatusCode());
+        assertEquals("\"2\"", updated.getHeaders().getETag());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, controller.delete("alice", 1, "W/\"2\", W/\"1\"").getStatusCode());
+        verify(service, never()).update("alice", 1, REQUEST, 2);
+        verify(service, never()).delete("alice", 1, 2);
+    }
+
+    @Test
+    @DisplayName("If-Match berisi daftar ETag diterapkan jika versi terbaru ada di daftar")
+    void testIfMatchList() {
+        TodoService service = mock(TodoService.class);
+        TodoWriteResult conflict = new TodoWriteResult(TodoWriteResult.Outcome.CONFLICT, NEWER);
+        when(service.update("alice", 1, REQUEST, 1)).thenReturn(conflict);
+        when(service.update("alice", 1, REQUEST, 2))
+                .thenReturn(new TodoWriteResult(TodoWriteResult.Outcome.APPLIED, NEWER));
+        when(service.delete("alice", 1, 1)).thenReturn(conflict);
+        when(service.delete("alice", 1, 2)).thenReturn(new TodoWriteResult(TodoWriteResult.Outcome.APPLIED, NEWER));
+        when(service.delete("alice", 1, 3)).thenReturn(conflict);
+        when(service.delete("alice", 2, 1)).thenReturn(MISSING);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> updated = controller.update("alice", 1, "\"1\", \"2\"", REQUEST);
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertSame(NEWER, updated.getBody());
+        assertEquals(HttpStatus.NO_CONTENT, controller.delete("alice", 1, "\"1\", W/\"3\", 2").getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, controller.delete("alice", 1, "\"3\", \"4\"").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.delete("alice", 2, "\"1\", \"2\"").getStatusCode());
+        verify(service, never()).delete("alice", 1, 4);
+    }
+
+    @Test
+    @DisplayName("If-Match dibaca sebagai daftar versi todo")
+    void testExpectedVersions() {
+        assertArrayEquals(new long[] {TodoService.ANY_VERSION}, TodoController.expectedVersions(null));
+        assertArrayEquals(new long[] {TodoService.ANY_VERSION}, TodoController.expectedVersions(" * "));
+        assertArrayEquals(new long[] {3}, TodoController.expectedVersions("\"3\""));
+        assertArrayEquals(new long[] {3}, TodoController.expectedVersions(" 3 "));
+        assertArrayEquals(new long[] {1, 2}, TodoController.expectedVersions("\"1\", \"2\""));
+        assertArrayEquals(new long[] {2}, TodoController.expectedVersions("W/\"1\", \"2\""));
+        assertArrayEquals(new long[] {TodoController.NO_VERSION}, TodoController.expectedVersions("W/\"1\""));
+        assertNull(TodoController.expectedVersions("\"0\""));
+        assertNull(TodoController.expectedVersions("\""));
+        assertNull(TodoController.expectedVersions("\"3"));
+        assertNull(TodoController.expectedVersions("W/abc"));
+        assertNull(TodoController.expectedVersions("\"1\","));
+        assertNull(TodoController.expectedVersions("*, \"1\""));
+    }
+
+    @Test
+    @DisplayName("POST /todos/batch meneruskan operasi ke service, batch kosong ditolak 400")
+    void testBatch() {
+        TodoService service = mock(TodoService.class);
+        TodoBatchRequest request = new TodoBatchRequest(
+                List.of(new TodoBatchRequest.Operation(1L, 1L, false, REQUEST)));
+        TodoBatchResult result = new TodoBatchResult(
+                List.of(new TodoBatchResult.Item(1L, "updated", null, NEWER)), 1, 0);
+        when(service.validateBatch(null)).thenReturn("Daftar operasi wajib diisi");
+        when(service.applyBatch(TodoController.ANONYMOUS, request)).thenReturn(result);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> rejected = controller.batch("alice", null);
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Daftar operasi wajib diisi"), rejected.getBody());
+        assertSame(result, controller.batch(null, request).getBody());
+    }
+
+    @Test
+    @DisplayName("GET /todos meneruskan cursor dan limit")
+    void testList() {
+        TodoService service = mock(TodoService.class);
+        TodoPage page = new TodoPage(List.of(TODO), 1L);
+        when(service.list(TodoController.ANONYMOUS, 0, 20)).thenReturn(page);
+        TodoController controller = new TodoController(service);
+
+        assertSame(page, controller.list(null, 0, 20, null).getBody());
+        assertSame(page, controller.list(null, 0, 20, new TodoFilterRequest(null, null, null, null)).getBody());
+        verify(service, never()).query(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /todos dengan filter memakai query index, filter tidak valid ditolak 400")
+    void testListWithFilter() {
+        TodoService service = mock(TodoService.class);
+        TodoFilterRequest open = new TodoFilterRequest("OPEN", null, null, 1_000L);
+        TodoFilterRequest invalid = new TodoFilterRequest("SELESAI", null, null, null);
+        TodoPage page = new TodoPage(List.of(TODO), null);
+        when(service.validateFilter(invalid)).thenReturn("Status harus OPEN, IN_PROGRESS atau DONE");
+        when(service.query("alice", open, 5, 10)).thenReturn(page);
+        TodoController controller = new TodoController(service);
+
+        assertSame(page, controller.list("alice", 5, 10, open).getBody());
+        ResponseEntity<Object> rejected = controller.list("alice", 0, 10, invalid);
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Status harus OPEN, IN_PROGRESS atau DONE"),
+                rejected.getBody());
+        verify(service, never()).list(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /todos/search menolak query kosong dan meneruskan query yang valid")
+    void testSearch() {
+        TodoService service = mock(TodoService.class);
+        TodoSearchResult result = new TodoSearchResult(List.of(TODO), 1);
+        when(service.validateQuery("")).thenReturn("Kata kunci pencarian wajib diisi");
+        when(service.search(TodoController.ANONYMOUS, "laporan", 0)).thenReturn(result);
+        TodoController controller = new TodoController(service);
+
+        ResponseEntity<Object> invalid = controller.search("alice", "", 0);
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+        assertEquals(Map.of("status", "fail", "message", "Kata kunci pencarian wajib diisi"), invalid.getBody());
+        verify(service, never()).search(any(), any(), anyInt());
+
+        assertSame(result, controller.search(null, "laporan", 0).getBody());
+    }
+}
@@ -0,0 +1,172 @@
+package org.delcom.starter.controllers;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.delcom.starter.configs.JwtAuthFilter;
+import org.delcom.starter.services.TodoChangeFeed;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TodoFeedServletTests {
+
+    private static HttpServletRequest request(String lastEventId, String since, AsyncContext async) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("Last-Event-ID")).thenReturn(lastEventId);
+        when(request.getParameter("since")).thenReturn(since);
+        when(request.getAttribute(JwtAuthFilter.SUBJECT_ATTRIBUTE)).thenReturn("alice");
+        when(request.startAsync()).thenReturn(async);
+        return request;
+    }
+
+    private static HttpServletResponse response(ServletOutputStream output) throws IOException {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(output);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Nomor urut yang bukan angka atau negatif ditolak dengan 400")
+    void testInvalidSince() throws Exception {
+        TodoFeedServlet servlet = new TodoFeedServlet(mock(TodoChangeFeed.class));
+        for (String since : new String[] { "abc", "-5" }) {
+            ServletOutputStream output = mock(ServletOutputStream.class);
+            HttpServletRequest request = request(null, since, null);
+            HttpServletResponse response = response(output);
+
+            servlet.doGet(request, response);
+
+            verify(response).setStatus(400);
+            verify(output).write(any(byte[].class));
+            verify(request, never()).startAsync();
+        }
+    }
+
+    @Test
+    @DisplayName("Membuka stream SSE async dan mendaftarkan subscriber sampai koneksi selesai")
+    void testSubscribe() throws Exception {
+        TodoChangeFeed feed = new TodoChangeFeed(16, 10, 100, 15, 10_000);
+        AsyncContext async = mock(AsyncContext.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        HttpServletResponse response = response(output);
+
+        new TodoFeedServlet(feed).doGet(request(null, " ", async), response);
+        new TodoFeedServlet(feed).doGet(request("2", "x", async), response);
+        new TodoFeedServlet(feed).doGet(request(null, "0", async), response);
+
+        verify(response, times(3)).setStatus(200);
+        verify(response, times(3)).setContentType("text/event-stream;charset=UTF-8");
+        verify(response, times(3)).setHeader("Cache-Control", "no-cache");
+        verify(async, times(3)).setTimeout(0);
+        verify(output, times(3)).flush();
+        assertEquals(3, feed.snapshot().get("subscribers"));
+
+        ArgumentCaptor<AsyncListener> listeners = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(async, times(3)).addListener(listeners.capture());
+        listeners.getAllValues().get(0).onStartAsync(null);
+        listeners.getAllValues().get(0).onComplete(null);
+        listeners.getAllValues().get(1).onTimeout(null);
+        listeners.getAllValues().get(2).onError(null);
+        assertEquals(0, feed.snapshot().get("subscribers"));
+        feed.destroy();
+    }
+
+    @Test
+    @DisplayName("Subscriber maksimum dijawab 503 dengan Retry-After tanpa membuka stream")
+    void testSubscriberLimit() throws Exception {
+        TodoChangeFeed feed = new TodoChangeFeed(16, 0, 100, 15, 10_000);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        HttpServletRequest request = request(null, null, mock(AsyncContext.class));
+        HttpServletResponse response = response(output);
+
+        new TodoFeedServlet(feed).doGet(request, response);
+
+        verify(response).setStatus(503);
+        verify(response).setHeader("Retry-After", "1");
+        verify(response).setContentType("application/json");
+        verify(response, never()).setStatus(200);
+        verify(request, never()).startAsync();
+        verify(output).write(any(byte[].class));
+        assertEquals(1L, feed.snapshot().get("rejected"));
+        assertEquals(0, feed.snapshot().get("subscribers"));
+        feed.destroy();
+    }
+
+    @Test
+    @DisplayName("Sink menulis non-blocking dan menutup AsyncContext sekali")
+    void testConnection() throws Exception {
+        AsyncContext async = mock(AsyncContext.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        TodoFeedServlet.Connection connection = new TodoFeedServlet.Connection();
+        byte[] data = { 1 };
+
+        when(output.isReady()).thenReturn(true);
+        assertFalse(connection.isReady(), "belum attach ke response");
+        connection.attach(async, output);
+        assertTrue(connection.isReady());
+        connection.write(data);
+        verify(output).flush();
+
+        when(output.isReady()).thenReturn(false);
+        assertFalse(connection.isReady());
+        connection.write(data);
+        verify(output, times(2)).write(data);
+        verify(output).flush();
+
+        doThrow(new IllegalStateException()).when(output).write(data);
+        assertThrows(IOException.class, () -> connection.write(data));
+
+        connection.onWritePossible();
+        connection.onError(new IOException());
+        connection.close();
+        verify(async).complete();
+        when(output.isReady()).thenReturn(true);
+        assertFalse(connection.isReady());
+
+        AsyncContext finished = mock(AsyncContext.class);
+        doThrow(new IllegalStateException()).when(finished).complete();
+        TodoFeedServlet.Connection attached = new TodoFeedServlet.Connection();
+        attached.attach(finished, output);
+        attached.close();
+        verify(finished).complete();
+    }
+
+    @Test
+    @DisplayName("Sink yang ditutup sebelum attach menyelesaikan AsyncContext saat attach")
+    void testConnectionClosedBeforeAttach() throws Exception {
+        AsyncContext async = mock(AsyncContext.class);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+        when(output.isReady()).thenReturn(true);
+        TodoFeedServlet.Connection connection = new TodoFeedServlet.Connection();
+
+        connection.close();
+        verify(async, never()).complete();
+        connection.attach(async, output);
+
+        verify(async).complete();
+        assertFalse(connection.isReady());
+    }
+
+    @Test
+    @DisplayName("WriteListener yang didaftarkan adalah sink subscriber")
+    void testWriteListenerRegistered() throws Exception {
+        TodoChangeFeed feed = new TodoChangeFeed(16, 10, 100, 15, 10_000);
+        ServletOutputStream output = mock(ServletOutputStream.class);
+
+        new TodoFeedServlet(feed).doGet(request(null, null, mock(AsyncContext.class)), response(output));
+
+        ArgumentCaptor<WriteListener> listener = ArgumentCaptor.forClass(WriteListener.class);
+        verify(output).setWriteListener(listener.capture());
+        assertInstanceOf(TodoFeedServlet.Connection.class, listener.getValue());
+        feed.destroy();
+    }
+}
@@ -0,0 +1,199 @@
+package org.delcom.starter.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShards;
+import org.delcom.starter.repositories.TodoSnapshots;
+import org.delcom.starter.services.TodoChangeListener;
+import org.delcom.starter.services.TodoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TodoShardControllerTests {
+
+    @TempDir
+    Path dir;
+
+    private HttpServletRequest requestFrom(String address) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn(address);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TodoShardController controller(TodoShards shards) {
+        ObjectProvider<TodoChangeListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenReturn(Stream.empty());
+        return new TodoShardController(shards, new TodoSnapshots(dir.resolve("todo.snapshot").toString()),
+                new TodoService(shards, listeners), dir.resolve("export").toString());
+    }
+
+    private static Todo todo(long id, String owner) {
+        return new Todo(id, owner, "todo " + id, "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Export satu owner dari node asal lalu import ke node tujuan")
+    void exportThenImport_ShouldMoveTodos() throws Exception {
+        TodoShards source = new TodoShards(4, 0);
+        source.put(todo(1, "alice"));
+        source.put(todo(2, "bob"));
+        source.put(todo(3, "alice"));
+        int index = source.shardFor("alice").index();
+        HttpServletRequest local = requestFrom("127.0.0.1");
+
+        // Tanpa owner: seluruh isi shard
+        int other = source.shardFor("bob").index();
+        assertEquals(other == index ? 3L : 1L, controller(source).export(local, other, null).getBody().get("todos"));
+
+        ResponseEntity<Map<String, Object>> exported = controller(source).export(local, index, "alice");
+        assertEquals(200, exported.getStatusCode().value());
+        assertEquals(index, exported.getBody().get("shard"));
+        assertEquals(2L, exported.getBody().get("todos"));
+        String file = (String) exported.getBody().get("file");
+        assertTrue(Files.exists(Path.of(file)));
+
+        // Id 1 di node tujuan sudah dipakai carol sehingga todo alice itu mendapat id baru
+        TodoShards target = new TodoShards(2, 0);
+        target.put(todo(1, "carol"));
+        ResponseEntity<Map<String, Object>> imported = controller(target).importFile(local, file);
+        assertEquals(200, imported.getStatusCode().value());
+        assertEquals(2L, imported.getBody().get("todos"));
+        assertEquals(1L, imported.getBody().get("renumbered"));
+        assertEquals(0L, imported.getBody().get("rejected"));
+        assertEquals("carol", target.get(1).owner());
+        assertEquals("alice", target.get(3).owner());
+        assertEquals("alice", target.get(4).owner());
+        assertEquals(3, target.size());
+    }
+
+    @Test
+    @DisplayName("Import melewati kuota shard tujuan melaporkan todo yang ditolak")
+    void importOverQuota_ShouldReportRejected() throws Exception {
+        TodoShards source = new TodoShards(1, 0);
+        source.put(todo(1, "alice"));
+        source.put(todo(2, "alice"));
+        HttpServletRequest local = requestFrom("127.0.0.1");
+        String file = (String) controller(source).export(local, 0, "alice").getBody().get("file");
+
+        // Satu todo "todo n" sekitar 166 byte: hanya satu yang muat
+        TodoShards target = new TodoShards(1, 200);
+        ResponseEntity<Map<String, Object>> imported = controller(target).importFile(local, file);
+
+        assertEquals(200, imported.getStatusCode().value());
+        assertEquals(2L, imported.getBody().get("todos"));
+        assertEquals(1L, imported.getBody().get("rejected"));
+        assertEquals(1, target.size());
+    }
+
+    @Test
+    @DisplayName("Export bersamaan dari shard yang sama menulis file masing-masing")
+    void concurrentExports_ShouldUseSeparateFiles() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        for (long id = 1; id <= 100; id++) {
+            shards.put(todo(id, "alice"));
+        }
+        TodoShardController controller = controller(shards);
+        HttpServletRequest local = requestFrom("127.0.0.1");
+        int index = shards.shardFor("alice").index();
+        CyclicBarrier start = new CyclicBarrier(8);
+        Set<String> files = ConcurrentHashMap.newKeySet();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String owner = t % 2 == 0 ? "alice" : null;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    ResponseEntity<Map<String, Object>> result = controller.export(local, index, owner);
+                    assertEquals(100L, result.getBody().get("todos"));
+                    files.add((String) result.getBody().get("file"));
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), errors);
+        assertEquals(8, files.size());
+        for (String file : files) {
+            TodoShards target = new TodoShards(4, 0);
+            assertEquals(100L, controller(target).importFile(local, file).getBody().get("todos"));
+        }
+        try (Stream<Path> exported = Files.list(dir.resolve("export"))) {
+            assertEquals(8, exported.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Nama file export berisi shard, owner yang disaring dan suffix unik")
+    void exportFileName_ShouldBeSafeAndUnique() {
+        String name = TodoShardController.fileName(2, "a-b_c/../\u00e9");
+        assertTrue(name.matches("todo-shard-2-a-b_c_____-[0-9a-f-]{36}\\.snapshot"), name);
+        assertTrue(TodoShardController.fileName(0, null).matches("todo-shard-0-[0-9a-f-]{36}\\.snapshot"));
+        assertTrue(TodoShardController.fileName(0, "x".repeat(100)).startsWith("todo-shard-0-" + "x".repeat(64) + "-"));
+        assertNotEquals(TodoShardController.fileName(1, "alice"), TodoShardController.fileName(1, "alice"));
+    }
+
+    @Test
+    @DisplayName("Shard yang tidak ada, owner di shard lain dan file yang tidak ada ditolak")
+    void invalidRequests_ShouldFail() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoShardController controller = controller(shards);
+        HttpServletRequest local = requestFrom("::1");
+        int other = (shards.shardFor("alice").index() + 1) % 4;
+
+        assertEquals(404, controller.export(local, -1, null).getStatusCode().value());
+        assertEquals(404, controller.export(local, 4, null).getStatusCode().value());
+        assertEquals(400, controller.export(local, other, "alice").getStatusCode().value());
+        assertEquals(404, controller.importFile(local, dir.resolve("tidak-ada").toString()).getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("File import yang rusak ditolak 400")
+    void corruptImport_ShouldReturnBadRequest() throws Exception {
+        Path file = dir.resolve("rusak.snapshot");
+        Files.write(file, new byte[10]);
+
+        ResponseEntity<Map<String, Object>> result = controller(new TodoShards(4, 0))
+                .importFile(requestFrom("127.0.0.1"), file.toString());
+
+        assertEquals(400, result.getStatusCode().value());
+        assertTrue(((String) result.getBody().get("message")).endsWith("rusak: header terpotong"));
+    }
+
+    @Test
+    @DisplayName("Menolak akses shard dari alamat non-lokal")
+    void remoteRequests_ShouldBeForbidden() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoShardController controller = controller(shards);
+        HttpServletRequest remote = requestFrom("10.0.0.1");
+
+        assertEquals(403, controller.export(remote, 0, null).getStatusCode().value());
+        assertEquals(403, controller.importFile(remote, "x").getStatusCode().value());
+        assertEquals(0, shards.size());
+    }
+}
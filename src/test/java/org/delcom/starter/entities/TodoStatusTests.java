@@ -0,0 +1,24 @@
+package org.delcom.starter.entities;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoStatusTests {
+
+    @Test
+    @DisplayName("Nama status dikenali tanpa membedakan huruf besar/kecil")
+    void testParse() {
+        assertEquals(TodoStatus.OPEN, TodoStatus.parse("OPEN"));
+        assertEquals(TodoStatus.IN_PROGRESS, TodoStatus.parse("in_progress"));
+        assertEquals(TodoStatus.DONE, TodoStatus.parse("Done"));
+    }
+
+    @Test
+    @DisplayName("Teks yang bukan status menghasilkan null")
+    void testParseUnknown() {
+        assertNull(TodoStatus.parse("SELESAI"));
+        assertNull(TodoStatus.parse(null));
+    }
+}
@@ -0,0 +1,51 @@
+package org.delcom.starter.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoBitmapTests {
+
+    @Test
+    @DisplayName("Bit diset dan dihapus per id, kardinalitas hanya berubah jika bit berubah")
+    void testSetAndClear() {
+        TodoBitmap bitmap = new TodoBitmap();
+        bitmap.set(3);
+        bitmap.set(3);
+        bitmap.set(64);
+
+        assertTrue(bitmap.get(3));
+        assertFalse(bitmap.get(4));
+        assertEquals(2, bitmap.cardinality());
+        assertEquals(1L << 3, bitmap.word(0));
+        assertEquals(1L, bitmap.word(1));
+
+        bitmap.clear(4);
+        bitmap.clear(3);
+        assertFalse(bitmap.get(3));
+        assertEquals(1, bitmap.cardinality());
+    }
+
+    @Test
+    @DisplayName("Halaman dialokasikan saat pertama dipakai; halaman yang tidak ada dibaca sebagai nol")
+    void testPages() {
+        TodoBitmap bitmap = new TodoBitmap();
+        long pageBits = TodoBitmap.PAGE_WORDS * 64L;
+        // Halaman 0 dan 1 belum ada
+        bitmap.clear(5);
+        assertFalse(bitmap.get(pageBits * 3));
+
+        bitmap.set(pageBits * 2 + 1);
+        assertEquals(0, bitmap.word(0));
+        assertEquals(0, bitmap.word(TodoBitmap.PAGE_WORDS * 10L));
+        bitmap.clear(pageBits);
+        // Halaman 0 dibuat di array yang sudah cukup panjang
+        bitmap.set(1);
+
+        assertTrue(bitmap.get(1));
+        assertTrue(bitmap.get(pageBits * 2 + 1));
+        assertEquals(2, bitmap.cardinality());
+        assertEquals(2L * TodoBitmap.PAGE_WORDS * 8, bitmap.bytes());
+    }
+}
@@ -0,0 +1,132 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoCheckpointerTests {
+
+    @TempDir
+    Path dir;
+
+    private static Todo todo(long id) {
+        return new Todo(id, "alice", "todo " + id, "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    }
+
+    private TodoWal wal(TodoShards shards, TodoSnapshots snapshots) throws Exception {
+        return new TodoWal(shards, snapshots, true, dir.resolve("todo.wal"), TodoWal.FsyncMode.OS, 10, false,
+                System::nanoTime);
+    }
+
+    private static void put(TodoShards shards, TodoWal wal, long id) throws Exception {
+        shards.put(todo(id));
+        wal.onTodoChanged(null, todo(id));
+        wal.commit();
+    }
+
+    @Test
+    @DisplayName("Checkpoint tidak dijadwalkan jika snapshot atau WAL nonaktif")
+    void testDisabled() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoSnapshots snapshots = new TodoSnapshots(dir.resolve("todo.snapshot"));
+        TodoWal disabledWal = new TodoWal(shards, snapshots, false, dir.resolve("todo.wal").toString(), "OS", 10);
+
+        TodoCheckpointer walDisabled = new TodoCheckpointer(shards, disabledWal, snapshots, true, 300, 1);
+        assertEquals(false, walDisabled.snapshot().get("enabled"));
+        walDisabled.destroy();
+
+        TodoWal wal = wal(shards, snapshots);
+        TodoCheckpointer snapshotDisabled = new TodoCheckpointer(shards, wal, snapshots, false, 300, 1);
+        assertEquals(false, snapshotDisabled.snapshot().get("enabled"));
+        snapshotDisabled.destroy();
+        wal.destroy();
+    }
+
+    @Test
+    @DisplayName("Profil prod memakai lazy-initialization, checkpointer tetap dibuat saat startup")
+    void testCreatedEagerlyWithProdLazyInitialization() throws Exception {
+        assertEquals("true", PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"))
+                .getProperty("spring.main.lazy-initialization"));
+
+        TodoShards shards = new TodoShards(4, 0);
+        TodoSnapshots snapshots = new TodoSnapshots(dir.resolve("todo.snapshot"));
+        TodoWal wal = wal(shards, snapshots);
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            // Post-processor yang sama dengan yang dipasang Spring Boot untuk spring.main.lazy-initialization=true
+            context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+            context.registerBean(TodoShards.class, () -> shards);
+            context.registerBean(TodoSnapshots.class, () -> snapshots);
+            context.registerBean(TodoWal.class, () -> wal);
+            context.register(TodoCheckpointer.class);
+            context.refresh();
+
+            assertTrue(context.getBeanFactory().containsSingleton("todoCheckpointer"));
+        }
+    }
+
+    @Test
+    @DisplayName("Checkpoint terjadwal dilewati sampai cukup record WAL, lalu menulis snapshot dan menghapus segmen")
+    void testScheduledCheckpoint() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoSnapshots snapshots = new TodoSnapshots(dir.resolve("todo.snapshot"));
+        TodoWal wal = wal(shards, snapshots);
+        TodoCheckpointer checkpointer = new TodoCheckpointer(shards, wal, snapshots, true, 300, 2);
+        assertEquals(true, checkpointer.snapshot().get("enabled"));
+
+        put(shards, wal, 1);
+        checkpointer.runScheduled();
+        assertEquals(1L, checkpointer.snapshot().get("skipped"));
+
+        put(shards, wal, 2);
+        checkpointer.runScheduled();
+        assertEquals(1L, checkpointer.snapshot().get("checkpoints"));
+        assertTrue(Files.exists(dir.resolve("todo.snapshot")));
+        assertFalse(Files.exists(dir.resolve("todo.wal.1")));
+
+        // Record setelah checkpoint dihitung dari checkpoint itu
+        put(shards, wal, 3);
+        checkpointer.runScheduled();
+        assertEquals(2L, checkpointer.snapshot().get("skipped"));
+        checkpointer.destroy();
+        wal.destroy();
+
+        TodoShards recovered = new TodoShards(4, 0);
+        TodoWal replayed = wal(recovered, new TodoSnapshots(dir.resolve("todo.snapshot")));
+        assertEquals(3, recovered.size());
+        Map<String, Object> report = replayed.getRecoveryReport();
+        assertEquals(2L, report.get("snapshotTodos"));
+        assertEquals(1L, report.get("walRecords"));
+        assertEquals(2, replayed.rotate());
+        replayed.destroy();
+    }
+
+    @Test
+    @DisplayName("Checkpoint yang gagal dihitung dan tidak menghentikan jadwal")
+    void testCheckpointFailure() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoWal wal = wal(shards, new TodoSnapshots(dir.resolve("todo.snapshot")));
+        // Induk file snapshot berupa file biasa sehingga direktori tidak bisa dibuat
+        Files.writeString(dir.resolve("bukan-direktori"), "");
+        TodoSnapshots broken = new TodoSnapshots(dir.resolve("bukan-direktori/todo.snapshot"));
+        TodoCheckpointer checkpointer = new TodoCheckpointer(shards, wal, broken, false, 300, 0);
+
+        put(shards, wal, 1);
+        checkpointer.runScheduled();
+
+        assertEquals(1L, checkpointer.snapshot().get("failures"));
+        assertEquals(0L, checkpointer.snapshot().get("checkpoints"));
+        wal.destroy();
+    }
+}
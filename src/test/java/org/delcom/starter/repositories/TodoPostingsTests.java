@@ -0,0 +1,115 @@
+package org.delcom.starter.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoPostingsTests {
+
+    @Test
+    @DisplayName("Hasil tambah dan hapus acak sama dengan TreeSet, termasuk selisih varint yang besar")
+    void testMatchesTreeSet() {
+        Random random = new Random(42);
+        TreeSet<Long> expected = new TreeSet<>();
+        TodoPostings postings = null;
+        for (int i = 0; i < 50_000; i++) {
+            long value = random.nextInt(4) == 0 ? random.nextLong(1L << 50) : random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(value);
+                postings = postings == null ? null : postings.without(value);
+            } else {
+                expected.add(value);
+                postings = postings == null ? TodoPostings.of(value) : postings.with(value);
+            }
+            if (i % 997 == 0 && postings != null) {
+                assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), postings.toArray());
+            }
+        }
+        assertEquals(expected.size(), postings.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), postings.toArray());
+        // Cursor dengan from yang naik, kadang melompati beberapa blok sekaligus
+        TodoPostings.Cursor cursor = postings.cursor();
+        long from = 0;
+        while (from < 1L << 50) {
+            from += random.nextInt(4) == 0 ? random.nextLong(1L << 46) : random.nextInt(8);
+            long to = from + random.nextInt(8);
+            Long ceiling = expected.ceiling(from);
+            assertEquals(ceiling != null && ceiling <= to ? ceiling : -1, cursor.seek(from, to));
+        }
+        assertTrue(postings.bytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Nilai yang sudah ada atau tidak ada mengembalikan objek yang sama")
+    void testUnchanged() {
+        TodoPostings postings = TodoPostings.of(10).with(20);
+
+        assertSame(postings, postings.with(10));
+        assertSame(postings, postings.without(15));
+        TodoPostings.Cursor cursor = postings.cursor();
+        assertEquals(-1, cursor.seek(0, 9));
+        assertEquals(10, cursor.seek(0, 10));
+        assertEquals(20, cursor.seek(11, 20));
+        assertEquals(-1, cursor.seek(21, 30));
+    }
+
+    @Test
+    @DisplayName("Blok penuh dipecah, blok kosong dibuang, dan posting list kosong menjadi null")
+    void testBlocks() {
+        TodoPostings postings = TodoPostings.of(0);
+        for (long value = 1; value <= TodoPostings.BLOCK * 3L; value++) {
+            postings = postings.with(value);
+        }
+        long[] values = postings.toArray();
+        assertEquals(TodoPostings.BLOCK * 3 + 1, values.length);
+        assertEquals(70, postings.cursor().seek(70, 70));
+
+        // 0..BLOCK dipecah menjadi [0, BLOCK/2) dan [BLOCK/2, BLOCK]; blok kedua dikosongkan satu per satu
+        TodoPostings split = TodoPostings.of(0);
+        for (long value = 1; value <= TodoPostings.BLOCK; value++) {
+            split = split.with(value);
+        }
+        // Rentang setelah nilai terakhir satu blok ditemukan lewat nilai pertama blok berikutnya
+        TodoPostings gap = split;
+        for (long value = TodoPostings.BLOCK / 2; value < 100; value++) {
+            gap = gap.without(value);
+        }
+        assertEquals(100, gap.cursor().seek(TodoPostings.BLOCK / 2, 100));
+        assertEquals(-1, gap.cursor().seek(TodoPostings.BLOCK / 2, 99));
+
+        for (long value = TodoPostings.BLOCK / 2; value <= TodoPostings.BLOCK; value++) {
+            split = split.without(value);
+        }
+        assertEquals(TodoPostings.BLOCK / 2, split.size());
+        assertEquals(TodoPostings.BLOCK / 2 - 1, split.toArray()[split.size() - 1]);
+        assertEquals(-1, split.cursor().seek(TodoPostings.BLOCK / 2, Long.MAX_VALUE));
+        // Nilai terbesar dihitung ulang: nilai yang lebih besar kembali masuk lewat jalur append
+        assertArrayEquals(new long[] { TodoPostings.BLOCK / 2 - 2, TodoPostings.BLOCK / 2 - 1, 1000 },
+                Arrays.copyOfRange(split.with(1000).toArray(), TodoPostings.BLOCK / 2 - 2, TodoPostings.BLOCK / 2 + 1));
+
+        assertNull(TodoPostings.of(7).without(7));
+    }
+
+    @Test
+    @DisplayName("Builder menghasilkan posting list yang sama dengan tambah satu per satu")
+    void testBuilder() {
+        TodoPostings.Builder builder = new TodoPostings.Builder();
+        TodoPostings expected = TodoPostings.of(3);
+        builder.add(3);
+        for (long value = 4; value < 3 + TodoPostings.BLOCK * 5L; value += 1 + value % 300) {
+            builder.add(value << 20);
+            expected = expected.with(value << 20);
+        }
+        TodoPostings built = builder.build();
+
+        assertArrayEquals(expected.toArray(), built.toArray());
+        assertEquals(expected.bytes(), built.bytes());
+        // Nilai terbesar hasil builder dipakai jalur append
+        assertEquals(Long.MAX_VALUE, built.with(Long.MAX_VALUE).toArray()[built.size()]);
+    }
+}
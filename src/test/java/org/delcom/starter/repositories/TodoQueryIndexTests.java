@@ -0,0 +1,198 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoQueryIndexTests {
+
+    private static final int ALL = 0;
+    private static final int OPEN = 1 << TodoStatus.OPEN.ordinal();
+    private static final int DONE = 1 << TodoStatus.DONE.ordinal();
+
+    private static Todo todo(long id, String owner, TodoStatus status, int priority, long dueAt) {
+        return new Todo(id, owner, "t" + id, "", status, priority, dueAt, 1, 1, 1);
+    }
+
+    private static TodoQueryIndex.Filter filter(int statuses, int priorities) {
+        return new TodoQueryIndex.Filter(statuses, priorities, false, 0, Long.MAX_VALUE);
+    }
+
+    private static TodoQueryIndex.Filter due(int statuses, long from, long to) {
+        return new TodoQueryIndex.Filter(statuses, 0, true, from, to);
+    }
+
+    // Store dan index diisi lewat listener seperti TodoService
+    private static void put(TodoStore store, TodoQueryIndex index, Todo todo) {
+        Todo before = store.get(todo.id());
+        store.put(todo);
+        index.onTodoChanged(before, todo);
+    }
+
+    private static List<Long> ids(TodoQueryIndex.Page page) {
+        return page.items().stream().map(Todo::id).toList();
+    }
+
+    @Test
+    @DisplayName("Filter cocok dengan status, prioritas dan rentang tenggat; todo tanpa tenggat tidak masuk rentang")
+    void testFilterMatches() {
+        Todo todo = todo(1, "alice", TodoStatus.OPEN, 2, 100);
+
+        assertTrue(filter(ALL, ALL).matches(todo));
+        assertTrue(filter(OPEN | DONE, 1 << 2).matches(todo));
+        assertFalse(filter(DONE, ALL).matches(todo));
+        assertFalse(filter(ALL, 1 << 3).matches(todo));
+        assertTrue(due(ALL, 100, 101).matches(todo));
+        assertFalse(due(ALL, 101, 200).matches(todo));
+        assertFalse(due(ALL, 0, 100).matches(todo));
+        assertFalse(due(ALL, 0, 200).matches(todo(2, "alice", TodoStatus.OPEN, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Planner memilih sumber kandidat termurah: daftar owner, bitmap atau rentang tenggat")
+    void testPlan() {
+        TodoStore store = new TodoStore();
+        TodoQueryIndex index = new TodoQueryIndex(store);
+        // alice: 1 dari setiap 4 todo; DONE hanya 1 dari 100 todo
+        for (long id = 1; id <= 4_000; id++) {
+            put(store, index, todo(id, id % 4 == 0 ? "alice" : "bob", id % 100 == 1 ? TodoStatus.DONE : TodoStatus.OPEN,
+                    0, id % 4 == 0 && id < 40 ? id : 0));
+        }
+        TodoPostings alice = TodoPostings.of(4);
+
+        assertEquals(TodoQueryIndex.Plan.OWNER, index.plan("alice", alice, filter(ALL, ALL), 0));
+        assertEquals(TodoQueryIndex.Plan.OWNER, index.plan("alice", alice, filter(OPEN, ALL), 0));
+        assertEquals(TodoQueryIndex.Plan.BITMAP, index.plan("bob", ownerIds(index, "bob"), filter(DONE, ALL), 0));
+        assertEquals(TodoQueryIndex.Plan.DUE, index.plan("bob", ownerIds(index, "bob"), due(ALL, 0, 40), 0));
+        assertEquals(TodoQueryIndex.Plan.DUE, index.plan("alice", ownerIds(index, "alice"), due(ALL, 0, 40), 0));
+        // Rentang yang memuat lebih banyak todo dari daftar owner tidak dipilih
+        assertEquals(TodoQueryIndex.Plan.OWNER, index.plan("alice", TodoPostings.of(4).with(8), due(ALL, 0, 40), 0));
+
+        assertEquals(List.of(1L, 101L, 201L), ids(index.query("bob", filter(DONE, ALL), 0, 3)));
+        assertEquals(List.of(4L, 8L), ids(index.query("alice", due(OPEN, 0, 9), 0, 10)));
+        Map<?, ?> plans = (Map<?, ?>) index.snapshot().get("plans");
+        assertEquals(1L, plans.get("bitmap"));
+        assertEquals(1L, plans.get("due"));
+    }
+
+    private static TodoPostings ownerIds(TodoQueryIndex index, String owner) {
+        TodoPostings.Builder builder = new TodoPostings.Builder();
+        for (Todo todo : index.query(owner, filter(ALL, ALL), 0, Integer.MAX_VALUE).items()) {
+            builder.add(todo.id());
+        }
+        return builder.build();
+    }
+
+    @Test
+    @DisplayName("Setiap plan memberi hasil yang sama dengan memeriksa semua todo, termasuk cursor antar halaman")
+    void testPlansMatchScan() {
+        TodoStore store = new TodoStore();
+        TodoQueryIndex index = new TodoQueryIndex(store);
+        Random random = new Random(7);
+        for (long id = 1; id <= 3_000; id++) {
+            put(store, index, todo(id, "user" + random.nextInt(3), TodoStatus.values()[random.nextInt(3)],
+                    random.nextInt(4), random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(1_000)));
+        }
+        // Sebagian todo diperbarui dan dihapus
+        for (long id = 1; id <= 3_000; id += 7) {
+            Todo current = store.get(id);
+            put(store, index, todo(id, current.owner(), TodoStatus.values()[random.nextInt(3)], random.nextInt(4),
+                    random.nextInt(2) == 0 ? 0 : 1 + random.nextInt(1_000)));
+        }
+        for (long id = 3; id <= 3_000; id += 11) {
+            index.onTodoChanged(store.remove(id), null);
+        }
+
+        List<TodoQueryIndex.Filter> filters = List.of(filter(ALL, ALL), filter(OPEN, ALL), filter(OPEN | DONE, 1 << 3),
+                filter(ALL, 1 << 1 | 1 << 2), due(ALL, 200, 260), due(DONE, 0, 500), due(OPEN, 900, Long.MAX_VALUE),
+                new TodoQueryIndex.Filter(OPEN, 1, true, 100, 700));
+        for (TodoQueryIndex.Filter filter : filters) {
+            List<Long> expected = new java.util.ArrayList<>();
+            for (long id = 1; id <= store.lastId(); id++) {
+                Todo todo = store.get(id);
+                if (todo != null && todo.owner().equals("user1") && filter.matches(todo)) {
+                    expected.add(id);
+                }
+            }
+            List<Long> actual = new java.util.ArrayList<>();
+            Long cursor = 0L;
+            while (cursor != null) {
+                TodoQueryIndex.Page page = index.query("user1", filter, cursor, 17);
+                actual.addAll(ids(page));
+                cursor = page.nextCursor();
+            }
+            assertEquals(expected, actual, filter.toString());
+            // Halaman pertama saja
+            assertEquals(expected.stream().limit(17).toList(), ids(index.query("user1", filter, 0, 17)));
+        }
+    }
+
+    @Test
+    @DisplayName("Perubahan status, prioritas, tenggat dan penghapusan memindahkan todo antar index")
+    void testUpdates() {
+        TodoStore store = new TodoStore();
+        TodoQueryIndex.Bitmaps bitmaps = new TodoQueryIndex.Bitmaps();
+        TodoQueryIndex index = new TodoQueryIndex(store, bitmaps);
+        put(store, index, todo(1, "alice", TodoStatus.OPEN, 1, 50));
+        put(store, index, todo(2, "alice", TodoStatus.OPEN, 1, 0));
+
+        put(store, index, todo(1, "alice", TodoStatus.DONE, 1, 50));
+        put(store, index, todo(2, "alice", TodoStatus.OPEN, 3, 70));
+        put(store, index, todo(2, "alice", TodoStatus.OPEN, 3, 80));
+
+        assertEquals(List.of(2L), ids(index.query("alice", filter(OPEN, ALL), 0, 10)));
+        assertEquals(List.of(2L), ids(index.query("alice", filter(ALL, 1 << 3), 0, 10)));
+        assertEquals(List.of(1L), ids(index.query("alice", due(ALL, 0, 75), 0, 10)));
+        Map<String, Object> snapshot = index.snapshot();
+        assertEquals(2L, snapshot.get("dueEntries"));
+        assertEquals(Map.of("OPEN", 1L, "IN_PROGRESS", 0L, "DONE", 1L), bitmaps.snapshot().get("statuses"));
+
+        index.onTodoChanged(store.remove(1), null);
+        index.onTodoChanged(store.remove(2), null);
+        snapshot = index.snapshot();
+        assertEquals(0L, snapshot.get("documents"));
+        assertEquals(0L, snapshot.get("owners"));
+        assertEquals(0L, snapshot.get("dueEntries"));
+        assertEquals(Map.of("0", 0L, "1", 0L, "2", 0L, "3", 0L), bitmaps.snapshot().get("priorities"));
+        assertEquals(List.of(), index.query("alice", filter(ALL, ALL), 0, 10).items());
+    }
+
+    @Test
+    @DisplayName("Owner tanpa tenggat dan todo yang berubah setelah dibaca index tidak dikembalikan")
+    void testStaleAndEmpty() {
+        TodoStore store = new TodoStore();
+        TodoQueryIndex index = new TodoQueryIndex(store);
+        put(store, index, todo(1, "alice", TodoStatus.OPEN, 0, 0));
+        put(store, index, todo(2, "alice", TodoStatus.OPEN, 0, 0));
+
+        assertEquals(List.of(), index.query("alice", due(ALL, 0, 10), 0, 10).items());
+        // Store berubah tanpa listener: index tertinggal, hasil tetap dicocokkan ke store
+        store.put(todo(1, "alice", TodoStatus.DONE, 0, 0));
+        store.remove(2);
+        TodoQueryIndex.Page page = index.query("alice", filter(OPEN, ALL), 0, 10);
+        assertEquals(List.of(), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Index dibangun dari isi store setelah recovery")
+    void testRebuild() {
+        TodoStore store = new TodoStore();
+        store.put(todo(1, "alice", TodoStatus.OPEN, 0, 10));
+        store.put(todo(3, "bob", TodoStatus.DONE, 2, 0));
+        TodoQueryIndex index = new TodoQueryIndex(store);
+
+        index.rebuild();
+
+        assertEquals(List.of(1L), ids(index.query("alice", due(OPEN, 0, 20), 0, 10)));
+        assertEquals(List.of(3L), ids(index.query("bob", filter(DONE, 1 << 2), 0, 10)));
+        assertEquals(2L, index.snapshot().get("documents"));
+    }
+}
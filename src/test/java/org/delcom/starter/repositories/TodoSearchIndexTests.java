@@ -0,0 +1,204 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSearchIndexTests {
+
+    private static Todo todo(long id, String owner, String title, String description) {
+        return new Todo(id, owner, title, description, TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    }
+
+    private static long[] search(TodoSearchIndex index, String query) {
+        return index.search("alice", query, 10).ids();
+    }
+
+    @Test
+    @DisplayName("Tokenizer memecah huruf dan angka, huruf kecil, dan memotong term yang terlalu panjang")
+    void testTokens() {
+        assertEquals(List.of("laporan", "praktikum", "2024", "über"),
+                TodoSearchIndex.tokens("Laporan-Praktikum, 2024 ÜBER!"));
+        assertEquals(List.of("a".repeat(TodoSearchIndex.MAX_TERM_LENGTH)),
+                TodoSearchIndex.tokens("a".repeat(TodoSearchIndex.MAX_TERM_LENGTH + 5)));
+        assertEquals(List.of(), TodoSearchIndex.tokens(" -- "));
+    }
+
+    @Test
+    @DisplayName("Query dipecah menjadi kelompok OR berisi term AND dan awalan")
+    void testParse() {
+        assertEquals(List.of(
+                List.of(new TodoSearchIndex.QueryTerm("e", false), new TodoSearchIndex.QueryTerm("mail", true)),
+                List.of(new TodoSearchIndex.QueryTerm("surat", false))),
+                TodoSearchIndex.parse("OR e-mail* OR OR Surat OR"));
+
+        assertNull(TodoSearchIndex.validate("laporan bab*"));
+        assertEquals("Kata kunci pencarian wajib diisi", TodoSearchIndex.validate(null));
+        assertEquals("Kata kunci pencarian wajib diisi", TodoSearchIndex.validate(" -- OR "));
+        assertEquals("Pencarian awalan (*) minimal 2 karakter", TodoSearchIndex.validate("a*"));
+        assertEquals("Kata kunci pencarian maksimal 16 kata", TodoSearchIndex.validate("a ".repeat(17)));
+    }
+
+    @Test
+    @DisplayName("AND, OR dan awalan hanya mengembalikan todo milik pengguna, judul diberi bobot lebih")
+    void testSearch() {
+        TodoSearchIndex index = new TodoSearchIndex(new TodoStore());
+        index.onTodoChanged(null, todo(1, "alice", "Laporan praktikum", "kirim ke asisten"));
+        index.onTodoChanged(null, todo(2, "alice", "Belanja", "laporan keuangan bulanan"));
+        index.onTodoChanged(null, todo(3, "alice", "Laptop servis", ""));
+        index.onTodoChanged(null, todo(4, "bob", "Laporan praktikum", ""));
+
+        // Judul (bobot 2) di atas deskripsi (bobot 1)
+        assertArrayEquals(new long[] { 1, 2 }, search(index, "laporan"));
+        assertArrayEquals(new long[] { 1 }, search(index, "laporan praktikum"));
+        assertArrayEquals(new long[] { 3, 2 }, search(index, "keuangan OR servis"));
+        // Term yang lebih jarang (servis) lebih tinggi dari term yang muncul di lebih banyak todo alice;
+        // idf hanya menghitung todo milik pengguna, laporan milik bob tidak ikut
+        assertArrayEquals(new long[] { 3, 1, 2 }, search(index, "servis OR laporan"));
+        assertArrayEquals(new long[] { 3, 1, 2 }, search(index, "lap*"));
+        assertArrayEquals(new long[] { 1 }, search(index, "lap* asisten"));
+        assertArrayEquals(new long[0], search(index, "lap* tidakada"));
+        assertArrayEquals(new long[] { 1 }, search(index, "lap* kir*"));
+        assertArrayEquals(new long[0], search(index, "zz*"));
+        assertArrayEquals(new long[0], search(index, "tidak* laporan"));
+        assertArrayEquals(new long[0], search(index, "laporan tidakada"));
+        assertArrayEquals(new long[] { 4 }, index.search("bob", "laporan", 10).ids());
+        assertArrayEquals(new long[0], index.search("bob", "servis OR lap* keuangan", 10).ids());
+        assertEquals(0, index.search("carol", "laporan", 10).matched());
+
+        TodoSearchIndex.SearchResult limited = index.search("alice", "lap*", 1);
+        assertArrayEquals(new long[] { 3 }, limited.ids());
+        assertEquals(3, limited.matched());
+    }
+
+    @Test
+    @DisplayName("Todo yang cocok dengan beberapa term awalan atau punya dua nilai posting dihitung sekali")
+    void testDuplicateIds() {
+        TodoSearchIndex index = new TodoSearchIndex(new TodoStore());
+        index.onTodoChanged(null, todo(1, "alice", "Laporan laptop", "lapangan"));
+
+        TodoSearchIndex.SearchResult result = index.search("alice", "lap*", 10);
+        assertArrayEquals(new long[] { 1 }, result.ids());
+        assertEquals(1, result.matched());
+
+        // Update yang sedang berjalan: term baru sudah ditambah (judul), yang lama belum dihapus (deskripsi)
+        TodoSearchIndex.Hits hits = TodoSearchIndex.Hits.of(
+                TodoPostings.of(1L << 2 | TodoSearchIndex.DESCRIPTION).with(1L << 2 | TodoSearchIndex.TITLE), 1.0);
+        assertEquals(1, hits.size);
+        assertEquals(2.0f, hits.scores[0]);
+    }
+
+    @Test
+    @DisplayName("Skor yang sama diurutkan dari todo terbaru")
+    void testTiesPreferNewest() {
+        TodoSearchIndex index = new TodoSearchIndex(new TodoStore());
+        for (long id = 1; id <= 5; id++) {
+            index.onTodoChanged(null, todo(id, "alice", "rapat", ""));
+        }
+
+        assertArrayEquals(new long[] { 5, 4, 3 }, index.search("alice", "rapat", 3).ids());
+    }
+
+    @Test
+    @DisplayName("Update hanya memindahkan term yang berubah dan delete menghapus semua posting")
+    void testIncrementalUpdates() {
+        TodoSearchIndex index = new TodoSearchIndex(new TodoStore());
+        Todo original = todo(1, "alice", "Laporan", "draf praktikum");
+        index.onTodoChanged(null, original);
+        // praktikum pindah dari deskripsi ke judul, draf hilang, revisi baru
+        Todo updated = todo(1, "alice", "Laporan praktikum", "revisi");
+        index.onTodoChanged(original, updated);
+
+        assertArrayEquals(new long[] { 1 }, search(index, "praktikum"));
+        assertArrayEquals(new long[] { 1 }, search(index, "revisi"));
+        assertArrayEquals(new long[0], search(index, "draf"));
+        Map<String, Object> snapshot = index.snapshot();
+        assertEquals(1L, snapshot.get("documents"));
+        assertEquals(3L, snapshot.get("terms"));
+        assertEquals(3L, snapshot.get("postings"));
+
+        index.onTodoChanged(updated, null);
+        assertArrayEquals(new long[0], search(index, "laporan"));
+        snapshot = index.snapshot();
+        assertEquals(0L, snapshot.get("documents"));
+        assertEquals(0L, snapshot.get("terms"));
+        assertEquals(0L, snapshot.get("postingBytes"));
+        assertEquals(3L, snapshot.get("updates"));
+        assertEquals(4L, snapshot.get("queries"));
+    }
+
+    @Test
+    @DisplayName("Awalan hanya menggabung MAX_PREFIX_EXPANSION term pertama")
+    void testPrefixExpansionLimit() {
+        TodoSearchIndex index = new TodoSearchIndex(new TodoStore());
+        for (int i = 0; i <= TodoSearchIndex.MAX_PREFIX_EXPANSION; i++) {
+            index.onTodoChanged(null, todo(i + 1, "alice", "kode" + (char) ('a' + i / 26) + (char) ('a' + i % 26), ""));
+        }
+
+        assertEquals(TodoSearchIndex.MAX_PREFIX_EXPANSION, index.search("alice", "kode*", 100).matched());
+    }
+
+    @Test
+    @DisplayName("Index dibangun dari isi store setelah recovery")
+    void testRebuild() {
+        TodoStore store = new TodoStore();
+        store.put(todo(1, "alice", "Laporan", ""));
+        store.put(todo(2, "alice", "Belanja", ""));
+        // Id 3 sudah dihapus
+        store.put(todo(4, "alice", "Laporan akhir", ""));
+        TodoSearchIndex index = new TodoSearchIndex(store);
+
+        index.rebuild();
+
+        assertArrayEquals(new long[] { 4, 1 }, search(index, "laporan"));
+        assertEquals(3L, index.snapshot().get("documents"));
+    }
+
+    @Test
+    @DisplayName("Pembaca tetap mendapat hasil yang konsisten selama todo terus diperbarui")
+    void testConcurrentReaders() throws Exception {
+        TodoSearchIndex index = new TodoSearchIndex(new TodoStore());
+        for (long id = 1; id <= 500; id++) {
+            index.onTodoChanged(null, todo(id, "alice", "tugas " + id, "stabil"));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        // Todo 1-500 selalu memuat "stabil" di salah satu field
+                        assertEquals(500, index.search("alice", "stabil", 5).matched());
+                    }
+                } catch (Throwable t) {
+                    error.set(t);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        for (int round = 0; round < 20; round++) {
+            for (long id = 1; id <= 500; id++) {
+                index.onTodoChanged(todo(id, "alice", "tugas " + id, "stabil"),
+                        todo(id, "alice", "stabil " + id, "stabil revisi"));
+                index.onTodoChanged(todo(id, "alice", "stabil " + id, "stabil revisi"),
+                        todo(id, "alice", "tugas " + id, "stabil"));
+            }
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(error.get());
+    }
+}
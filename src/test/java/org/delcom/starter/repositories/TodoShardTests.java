@@ -0,0 +1,88 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoShardTests {
+
+    private static Todo todo(long id, String title, String description) {
+        return new Todo(id, "alice", title, description, TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Perkiraan byte mengikuti setiap perubahan store shard")
+    void testByteAccounting() {
+        TodoShard shard = new TodoShard(0, new AtomicLong(), 0);
+        Todo first = todo(1, "abc", "de");
+        Todo longer = todo(1, "abcdef", "de");
+
+        assertEquals(TodoShard.TODO_OVERHEAD + 5, TodoShard.footprint(first));
+        assertTrue(shard.insert(first));
+        assertEquals(TodoShard.footprint(first), shard.bytes());
+
+        assertFalse(shard.replace(1, longer, first));
+        assertTrue(shard.replace(1, first, longer));
+        assertEquals(TodoShard.footprint(longer), shard.bytes());
+
+        assertSame(longer, shard.put(first));
+        assertNull(shard.put(todo(2, "", "")));
+        assertEquals(TodoShard.footprint(first) + TodoShard.TODO_OVERHEAD, shard.bytes());
+
+        assertFalse(shard.remove(1, longer));
+        assertTrue(shard.remove(1, first));
+        assertSame(shard.get(2), shard.remove(2));
+        assertNull(shard.remove(2));
+        assertEquals(0L, shard.bytes());
+    }
+
+    @Test
+    @DisplayName("Insert ditolak tanpa mengubah store jika kuota byte shard penuh")
+    void testQuota() {
+        TodoShard shard = new TodoShard(3, new AtomicLong(), 2 * TodoShard.TODO_OVERHEAD);
+
+        assertTrue(shard.insert(todo(1, "", "")));
+        assertFalse(shard.insert(todo(2, "a", "")));
+        assertTrue(shard.insert(todo(3, "", "")));
+        assertFalse(shard.insert(todo(4, "", "")));
+        // Recovery dan import tidak dibatasi kuota
+        assertNull(shard.put(todo(5, "", "")));
+
+        Map<String, Object> snapshot = shard.snapshot();
+        assertEquals(3, snapshot.get("shard"));
+        assertEquals(3L, snapshot.get("todos"));
+        assertEquals(2 * TodoShard.TODO_OVERHEAD, snapshot.get("maxBytes"));
+        assertEquals(2L, snapshot.get("quotaRejected"));
+        assertNull(shard.get(2));
+    }
+
+    @Test
+    @DisplayName("Perubahan index dan latensi tulis serta baca tercatat per shard")
+    void testIndexAndLatency() {
+        TodoShard shard = new TodoShard(0, new AtomicLong(), 0);
+        Todo todo = todo(1, "Laporan", "");
+        shard.insert(todo);
+        shard.indexChange(null, todo);
+
+        assertArrayEquals(new long[] { 1 }, shard.searchIndex().search("alice", "laporan", 10).ids());
+        assertEquals(1L, shard.queryIndex().snapshot().get("documents"));
+        assertSame(shard.lockFor(1), shard.lockFor(65));
+        assertNotSame(shard.lockFor(1), shard.lockFor(2));
+
+        shard.recordWrite(System.nanoTime() - 5_000_000);
+        shard.recordWrite(System.nanoTime() - 1_000_000);
+        shard.recordRead(System.nanoTime());
+        Map<String, Object> snapshot = shard.snapshot();
+        assertEquals(2L, snapshot.get("writes"));
+        assertTrue((Long) snapshot.get("writesAvgLatencyMicros") >= 3_000);
+        assertTrue((Long) snapshot.get("writesMaxLatencyMicros") >= 5_000);
+        assertEquals(1L, snapshot.get("reads"));
+        assertTrue(snapshot.containsKey("readsAvgLatencyMicros"));
+    }
+}
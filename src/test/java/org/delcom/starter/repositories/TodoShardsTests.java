@@ -0,0 +1,140 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoShardsTests {
+
+    private static Todo todo(long id, String owner) {
+        return new Todo(id, owner, "Laporan " + id, "bab", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Jumlah shard dibulatkan ke pangkat dua dan owner selalu diarahkan ke shard yang sama")
+    void testRouting() {
+        assertEquals(1, new TodoShards(0, 0).shardCount());
+        assertEquals(1, new TodoShards(1, 0).shardCount());
+        assertEquals(4, new TodoShards(3, 0).shardCount());
+        assertEquals(16, new TodoShards(16, 0).shardCount());
+
+        TodoShards shards = new TodoShards(16, 0);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            TodoShard shard = shards.shardFor("user" + i);
+            assertSame(shard, shards.shardFor("user" + i));
+            assertSame(shard, shards.shard(shard.index()));
+            used.add(shard.index());
+        }
+        // Owner tersebar ke semua shard
+        assertEquals(16, used.size());
+    }
+
+    @Test
+    @DisplayName("Id dibagi semua shard; get dan remove berdasarkan id memeriksa setiap shard")
+    void testSharedIdsAndCrossShardLookup() {
+        TodoShards shards = new TodoShards(8, 0);
+        for (long id = 1; id <= 40; id++) {
+            assertNull(shards.put(todo(id, "user" + id)));
+        }
+
+        assertEquals(40, shards.size());
+        assertEquals(40, shards.lastId());
+        assertEquals(41, shards.nextId());
+        shards.reserveIds(100);
+        shards.reserveIds(50);
+        assertEquals(100, shards.lastId());
+
+        assertEquals("user7", shards.get(7).owner());
+        assertSame(shards.get(7), shards.shardFor("user7").get(7));
+        assertNull(shards.get(99));
+        assertEquals("user7", shards.remove(7).owner());
+        assertNull(shards.remove(7));
+        assertNull(shards.get(7));
+        assertEquals(39, shards.size());
+    }
+
+    @Test
+    @DisplayName("Remove dengan owner hanya menghapus todo owner itu di shard-nya")
+    void testRemoveOwned() {
+        TodoShards shards = new TodoShards(1, 0);
+        shards.put(todo(5, "alice"));
+
+        assertNull(shards.remove(5, "bob"));
+        assertNull(shards.remove(6, "alice"));
+        assertEquals("alice", shards.remove(5, "alice").owner());
+        assertEquals(0, shards.size());
+    }
+
+    @Test
+    @DisplayName("Index setiap shard dibangun ulang dari isi store shard itu saja")
+    void testRebuildIndexes() {
+        TodoShards shards = new TodoShards(4, 0);
+        for (long id = 1; id <= 20; id++) {
+            shards.put(todo(id, "user" + (id % 5)));
+        }
+
+        shards.afterSingletonsInstantiated();
+
+        long documents = 0;
+        for (int i = 0; i < shards.shardCount(); i++) {
+            TodoShard shard = shards.shard(i);
+            documents += (Long) shard.searchIndex().snapshot().get("documents");
+            assertEquals((long) shard.store().size(), shard.queryIndex().snapshot().get("documents"));
+        }
+        assertEquals(20, documents);
+        TodoShard shard = shards.shardFor("user2");
+        assertArrayEquals(new long[] { 17, 12, 7, 2 }, shard.searchIndex().search("user2", "laporan", 10).ids());
+    }
+
+    @Test
+    @DisplayName("Bitmap query dibagi semua shard sehingga memorinya tidak berlipat sebanyak jumlah shard")
+    void testSharedQueryBitmaps() {
+        TodoShards single = new TodoShards(1, 0);
+        TodoShards sharded = new TodoShards(16, 0);
+        for (long id = 1; id <= 200_000; id++) {
+            Todo todo = new Todo(id, "user" + (id % 64), "t", "", TodoStatus.values()[(int) (id % 3)], (int) (id % 4),
+                    0, 1, 1, 1);
+            single.put(todo);
+            sharded.put(todo);
+        }
+
+        single.afterSingletonsInstantiated();
+        sharded.afterSingletonsInstantiated();
+
+        Map<String, Object> bitmaps = sharded.queryBitmaps().snapshot();
+        assertEquals(single.queryBitmaps().snapshot(), bitmaps);
+        // 7 bitmap x 4 halaman 8 KiB untuk id sampai 200000
+        assertEquals(7 * 4 * 8192L, bitmaps.get("bitmapBytes"));
+        TodoQueryIndex.Filter done = new TodoQueryIndex.Filter(1 << TodoStatus.DONE.ordinal(), 1 << 2, false, 0, 0);
+        TodoShard shard = sharded.shardFor("user10");
+        assertEquals(single.shard(0).queryIndex().query("user10", done, 0, 50).items(),
+                shard.queryIndex().query("user10", done, 0, 50).items());
+    }
+
+    @Test
+    @DisplayName("Snapshot berisi total dan metrik setiap shard")
+    void testSnapshot() {
+        TodoShards shards = new TodoShards(2, 1_000);
+        Todo todo = todo(1, "alice");
+        shards.put(todo);
+
+        Map<String, Object> snapshot = shards.snapshot();
+        assertEquals(2, snapshot.get("count"));
+        assertEquals(1L, snapshot.get("todos"));
+        assertEquals(TodoShard.footprint(todo), snapshot.get("bytes"));
+        assertEquals(1L, snapshot.get("lastId"));
+        assertEquals(0L, snapshot.get("rebuildMillis"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> perShard = (List<Map<String, Object>>) snapshot.get("shards");
+        assertEquals(List.of(0, 1), perShard.stream().map(shard -> shard.get("shard")).toList());
+    }
+}
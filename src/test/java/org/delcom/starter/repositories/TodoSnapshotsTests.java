@@ -0,0 +1,234 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSnapshotsTests {
+
+    @TempDir
+    Path dir;
+
+    private static Todo todo(long id, String description) {
+        return new Todo(id, "user" + (id % 7), "todo " + id, description, TodoStatus.values()[(int) (id % 3)],
+                (int) (id % 4), id * 10, id, id + 1, id % 5 + 1);
+    }
+
+    private TodoSnapshots snapshots() {
+        return new TodoSnapshots(dir.resolve("snap/todo.snapshot"));
+    }
+
+    private Path file() {
+        return dir.resolve("snap/todo.snapshot");
+    }
+
+    @Test
+    @DisplayName("Snapshot belum ada berarti generation 0 dan store kosong")
+    void testMissingSnapshot() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+
+        assertEquals(0, snapshots().load(shards));
+        assertEquals(0, shards.size());
+        assertEquals(Map.of(), snapshots().snapshot().get("lastLoad"));
+    }
+
+    @Test
+    @DisplayName("Snapshot beberapa blok dimuat kembali dengan isi dan id terakhir yang sama")
+    void testRoundTrip() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        for (long id = 1; id <= 20_000; id++) {
+            shards.put(todo(id, "deskripsi " + "x".repeat((int) (id % 100))));
+        }
+        // Lebih besar dari satu blok sehingga mendapat blok sendiri
+        shards.put(todo(20_001, "y".repeat(TodoSnapshots.BLOCK_BYTES)));
+        shards.remove(5);
+        shards.reserveIds(30_000);
+        TodoSnapshots writer = snapshots();
+        assertEquals(20_000, writer.write(shards, 7));
+        assertFalse(Files.exists(dir.resolve("snap/todo.snapshot.tmp")));
+
+        TodoShards loaded = new TodoShards(4, 0);
+        TodoSnapshots reader = snapshots();
+        assertEquals(7, reader.load(loaded));
+        assertEquals(shards.size(), loaded.size());
+        for (long id = 1; id <= 20_001; id++) {
+            assertEquals(shards.get(id), loaded.get(id));
+        }
+        assertEquals(30_001, loaded.nextId());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> written = (Map<String, Object>) writer.snapshot().get("lastWrite");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> read = (Map<String, Object>) reader.snapshot().get("lastLoad");
+        assertTrue((Integer) written.get("blocks") > 2);
+        assertEquals(written.get("blocks"), read.get("blocks"));
+        assertEquals(Files.size(file()), read.get("bytes"));
+        assertEquals(20_000L, read.get("todos"));
+    }
+
+    @Test
+    @DisplayName("Store kosong menghasilkan snapshot tanpa blok dan snapshot lama diganti")
+    void testEmptyStoreReplacesSnapshot() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        shards.put(todo(1, ""));
+        snapshots().write(shards, 1);
+        shards.remove(1);
+        snapshots().write(shards, 2);
+
+        TodoShards loaded = new TodoShards(4, 0);
+        assertEquals(2, snapshots().load(loaded));
+        assertEquals(0, loaded.size());
+        assertEquals(TodoSnapshots.HEADER, Files.size(file()));
+    }
+
+    @Test
+    @DisplayName("Snapshot versi 1 (todo tanpa version) tetap dimuat dengan version 1")
+    void testLoadsUnversionedSnapshot() throws Exception {
+        Todo todo = todo(3, "lama");
+        byte[] owner = TodoCodec.bytes(todo.owner());
+        byte[] title = TodoCodec.bytes(todo.title());
+        byte[] description = TodoCodec.bytes(todo.description());
+        ByteBuffer encoded = ByteBuffer.allocate(TodoCodec.size(owner, title, description));
+        TodoCodec.write(encoded, todo, owner, title, description);
+        // Format lama berakhir di updatedAt
+        int length = encoded.capacity() - 8;
+        CRC32C crc = new CRC32C();
+        crc.update(encoded.array(), 0, length);
+        ByteBuffer legacy = ByteBuffer.allocate(TodoSnapshots.HEADER + TodoSnapshots.BLOCK_HEADER + length);
+        legacy.putInt(TodoSnapshots.MAGIC).putInt(TodoSnapshots.UNVERSIONED_TODOS).putLong(4).putLong(3).putLong(1)
+                .putInt(1);
+        legacy.position(TodoSnapshots.HEADER).putInt(length).putInt(1).putInt((int) crc.getValue())
+                .put(encoded.array(), 0, length);
+        Files.createDirectories(file().getParent());
+        Files.write(file(), legacy.array());
+
+        TodoShards shards = new TodoShards(4, 0);
+        assertEquals(4, snapshots().load(shards));
+        assertEquals(4, todo.version());
+        assertEquals(new Todo(3, todo.owner(), todo.title(), todo.description(), todo.status(), todo.priority(),
+                todo.dueAt(), todo.createdAt(), todo.updatedAt(), 1), shards.get(3));
+    }
+
+    @Test
+    @DisplayName("Export satu shard atau satu owner dibaca kembali lewat read")
+    void testExportAndRead() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        for (long id = 1; id <= 70; id++) {
+            shards.put(todo(id, "d"));
+        }
+        TodoShard shard = shards.shardFor("user3");
+        Path file = dir.resolve("export/shard.snapshot");
+
+        long all = snapshots().export(shard, null, file);
+        List<Todo> read = new ArrayList<>();
+        AtomicLong reserved = new AtomicLong();
+        assertEquals(all, snapshots().read(file, reserved::set, todo -> {
+            synchronized (read) {
+                read.add(todo);
+            }
+        }));
+        assertEquals(shard.store().size(), all);
+        assertEquals(all, read.size());
+        assertTrue(read.stream().allMatch(todo -> shards.shardFor(todo.owner()) == shard));
+
+        assertEquals(10, snapshots().export(shard, "user3", file));
+        read.clear();
+        assertEquals(10, snapshots().read(file, reserved::set, read::add));
+        assertTrue(read.stream().allMatch(todo -> todo.owner().equals("user3")));
+        // Id terakhir file adalah id terbesar yang di-export
+        assertEquals(66, reserved.get());
+        assertFalse(Files.exists(dir.resolve("export/shard.snapshot.tmp")));
+    }
+
+    private void writeValid() throws IOException {
+        TodoShards shards = new TodoShards(4, 0);
+        shards.put(todo(1, "a"));
+        shards.put(todo(2, "b"));
+        snapshots().write(shards, 3);
+    }
+
+    private void patchInt(long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, value), position);
+        }
+    }
+
+    private void assertCorrupt(String reason) {
+        IOException e = assertThrows(IOException.class, () -> snapshots().load(new TodoShards(4, 0)));
+        assertTrue(e.getMessage().endsWith("rusak: " + reason), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Header yang terpotong atau tidak dikenal ditolak")
+    void testInvalidHeader() throws Exception {
+        Files.createDirectories(file().getParent());
+        Files.write(file(), new byte[10]);
+        assertCorrupt("header terpotong");
+
+        writeValid();
+        patchInt(0, 0x12345678);
+        assertCorrupt("format tidak dikenal");
+
+        writeValid();
+        patchInt(4, TodoSnapshots.VERSION + 1);
+        assertCorrupt("format tidak dikenal");
+
+        writeValid();
+        patchInt(32, -1);
+        assertCorrupt("jumlah blok tidak valid");
+
+        writeValid();
+        patchInt(32, 1_000);
+        assertCorrupt("jumlah blok tidak valid");
+    }
+
+    @Test
+    @DisplayName("Blok yang terpotong, berlebih atau jumlah todo yang tidak cocok ditolak")
+    void testInvalidBlocks() throws Exception {
+        writeValid();
+        patchInt(32, 2);
+        assertCorrupt("blok terpotong");
+
+        writeValid();
+        patchInt(TodoSnapshots.HEADER, -1);
+        assertCorrupt("blok terpotong");
+
+        writeValid();
+        patchInt(TodoSnapshots.HEADER, Integer.MAX_VALUE);
+        assertCorrupt("blok terpotong");
+
+        writeValid();
+        Files.write(file(), new byte[3], StandardOpenOption.APPEND);
+        assertCorrupt("jumlah todo tidak cocok");
+
+        writeValid();
+        patchInt(TodoSnapshots.HEADER + 4, 5);
+        assertCorrupt("jumlah todo tidak cocok");
+    }
+
+    @Test
+    @DisplayName("Checksum blok yang salah menggagalkan load")
+    void testChecksumMismatch() throws Exception {
+        writeValid();
+        patchInt(TodoSnapshots.HEADER + TodoSnapshots.BLOCK_HEADER + 8, 0x7f7f7f7f);
+
+        IOException e = assertThrows(IOException.class, () -> snapshots().load(new TodoShards(4, 0)));
+        assertTrue(e.getMessage().contains("checksum blok di offset " + TodoSnapshots.HEADER + " salah"));
+    }
+}
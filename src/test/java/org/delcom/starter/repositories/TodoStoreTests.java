@@ -0,0 +1,208 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoStoreTests {
+
+    private static Todo todo(long id, String title) {
+        return new Todo(id, "alice", title, "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("Todo yang disimpan bisa dibaca, diganti dan dihapus")
+    void testPutGetRemove() {
+        TodoStore store = new TodoStore();
+        Todo first = todo(7, "a");
+        Todo second = todo(7, "b");
+
+        assertNull(store.put(first));
+        assertSame(first, store.get(7));
+        assertSame(first, store.put(second));
+        assertSame(second, store.get(7));
+        assertEquals(1, store.size());
+        assertEquals(7, store.lastId());
+
+        assertSame(second, store.remove(7));
+        assertNull(store.get(7));
+        assertNull(store.remove(7));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Id baru selalu lebih besar dari id yang pernah disimpan")
+    void testNextIdAfterPut() {
+        TodoStore store = new TodoStore();
+        assertEquals(1, store.nextId());
+        store.put(todo(100, "a"));
+        assertEquals(101, store.nextId());
+        store.put(todo(5, "b"));
+        assertEquals(101, store.lastId());
+    }
+
+    @Test
+    @DisplayName("Id nol atau negatif ditolak dan tidak pernah ditemukan")
+    void testNonPositiveIds() {
+        TodoStore store = new TodoStore();
+        assertThrows(IllegalArgumentException.class, () -> store.put(todo(0, "a")));
+        assertThrows(IllegalArgumentException.class, () -> store.put(todo(-1, "a")));
+        assertNull(store.get(0));
+        assertNull(store.remove(0));
+        assertFalse(store.replace(0, null, todo(1, "a")));
+        assertNull(store.get(1));
+    }
+
+    @Test
+    @DisplayName("replace dan remove bersyarat hanya berhasil jika nilai saat ini sama")
+    void testConditionalUpdates() {
+        TodoStore store = new TodoStore();
+        Todo current = todo(3, "a");
+        Todo stale = todo(3, "a");
+        Todo update = todo(3, "b");
+        store.put(current);
+
+        assertFalse(store.replace(4, current, update));
+        assertFalse(store.replace(3, stale, update));
+        assertTrue(store.replace(3, current, update));
+        assertSame(update, store.get(3));
+
+        assertFalse(store.remove(3, current));
+        assertFalse(store.remove(4, update));
+        assertTrue(store.remove(3, update));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Banyak operasi acak tetap sama dengan HashMap (tabrakan, resize, backward-shift)")
+    void testMatchesHashMap() {
+        TodoStore store = new TodoStore();
+        Map<Long, Todo> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(20_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Todo todo = todo(id, "t" + i);
+                    assertSame(expected.put(id, todo), store.put(todo));
+                }
+                case 1 -> assertSame(expected.remove(id), store.remove(id));
+                default -> assertSame(expected.get(id), store.get(id));
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (long id = 1; id <= 20_000; id++) {
+            assertSame(expected.get(id), store.get(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Probe pembaca berhenti setelah satu putaran pada tabel yang penuh")
+    void testFindOnFullTable() {
+        long[] keys = { 1, 2, 3, 4 };
+        Todo[] values = { todo(1, "a"), todo(2, "b"), todo(3, "c"), todo(4, "d") };
+
+        assertSame(values[2], TodoStore.find(keys, values, 3, 1));
+        assertNull(TodoStore.find(keys, values, 9, 1));
+    }
+
+    @Test
+    @DisplayName("Pembaca yang bertabrakan dengan penulisan membaca ulang dengan read lock")
+    void testReadFallsBackToReadLock() throws Exception {
+        TodoStore store = new TodoStore();
+        Todo todo = todo(11, "a");
+        store.put(todo);
+
+        Object[] stripes = (Object[]) ReflectionTestUtils.getField(store, "stripes");
+        Object stripe = stripes[(int) (TodoStore.mix(11) >>> 58)];
+        StampedLock lock = (StampedLock) ReflectionTestUtils.getField(stripe, "lock");
+
+        AtomicReference<Todo> result = new AtomicReference<>();
+        long stamp = lock.writeLock();
+        Thread reader = new Thread(() -> result.set(store.get(11)));
+        reader.start();
+        while (reader.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        lock.unlockWrite(stamp);
+        reader.join();
+
+        assertSame(todo, result.get());
+    }
+
+    @Test
+    @DisplayName("Salinan stripe memuat semua todo dan diulang dengan read lock jika bertabrakan")
+    void testCopyStripe() throws Exception {
+        TodoStore store = new TodoStore();
+        for (long id = 1; id <= 1_000; id++) {
+            store.put(todo(id, "todo " + id));
+        }
+        long copied = 0;
+        for (int index = 0; index < store.stripeCount(); index++) {
+            for (Todo todo : store.copyStripe(index)) {
+                if (todo != null) {
+                    assertSame(todo, store.get(todo.id()));
+                    copied++;
+                }
+            }
+        }
+        assertEquals(1_000, copied);
+
+        int index = (int) (TodoStore.mix(11) >>> 58);
+        Object stripe = ((Object[]) ReflectionTestUtils.getField(store, "stripes"))[index];
+        StampedLock lock = (StampedLock) ReflectionTestUtils.getField(stripe, "lock");
+        AtomicReference<Todo[]> result = new AtomicReference<>();
+        long stamp = lock.writeLock();
+        Thread copier = new Thread(() -> result.set(store.copyStripe(index)));
+        copier.start();
+        while (copier.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        lock.unlockWrite(stamp);
+        copier.join();
+
+        assertTrue(Arrays.asList(result.get()).contains(store.get(11)));
+    }
+
+    @Test
+    @DisplayName("reserveIds hanya memajukan id terakhir")
+    void testReserveIds() {
+        TodoStore store = new TodoStore();
+        store.reserveIds(40);
+        store.reserveIds(7);
+
+        assertEquals(40, store.lastId());
+        assertEquals(41, store.nextId());
+    }
+
+    @Test
+    @DisplayName("sortedTodos berisi semua todo urut id, dan store yang berbagi counter memakai id bersama")
+    void testSortedTodosAndSharedIds() {
+        AtomicLong ids = new AtomicLong();
+        TodoStore first = new TodoStore(ids);
+        TodoStore second = new TodoStore(ids);
+        for (long id : new long[] { 900, 3, 70, 12 }) {
+            first.put(todo(id, "t" + id));
+        }
+        first.remove(70);
+
+        assertEquals(Arrays.asList(3L, 12L, 900L), first.sortedTodos().stream().map(Todo::id).toList());
+        assertEquals(900, second.lastId());
+        assertEquals(901, second.nextId());
+        assertEquals(0, second.sortedTodos().size());
+    }
+}
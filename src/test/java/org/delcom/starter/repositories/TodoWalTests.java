@@ -0,0 +1,426 @@
+package org.delcom.starter.repositories;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoWalTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private static Todo todo(long id, String title, TodoStatus status) {
+        return new Todo(id, "alice", title, "deskripsi ü", status, 2, 500, 100, 200, 1);
+    }
+
+    private TodoSnapshots snapshots() {
+        return new TodoSnapshots(dir.resolve("wal/todo.snapshot"));
+    }
+
+    private TodoWal wal(TodoShards shards, TodoWal.FsyncMode mode) throws Exception {
+        return new TodoWal(shards, snapshots(), true, dir.resolve("wal/todo.wal"), mode, 10, false, clock::get);
+    }
+
+    private long size() throws Exception {
+        return Files.size(dir.resolve("wal/todo.wal"));
+    }
+
+    @Test
+    @DisplayName("WAL nonaktif tidak membuat file dan tidak menunggu apa pun")
+    void testDisabled() throws Exception {
+        TodoWal wal = new TodoWal(new TodoShards(4, 0), snapshots(), false, dir.resolve("todo.wal").toString(), "os", 10);
+
+        wal.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        wal.awaitDurable();
+        wal.destroy();
+
+        assertFalse(Files.exists(dir.resolve("todo.wal")));
+        assertEquals(false, wal.snapshot().get("enabled"));
+        assertEquals("OS", wal.snapshot().get("fsync"));
+        assertEquals(false, wal.getRecoveryReport().get("enabled"));
+    }
+
+    @Test
+    @DisplayName("Replay memulihkan isi store dan tetap sama jika diputar berkali-kali")
+    void testReplayIsIdempotent() throws Exception {
+        TodoWal wal = wal(new TodoShards(4, 0), TodoWal.FsyncMode.OS);
+        Todo first = todo(1, "a", TodoStatus.OPEN);
+        // Lebih panjang dari buffer baca awal replay
+        Todo second = todo(2, "b".repeat(300), TodoStatus.IN_PROGRESS);
+        Todo done = todo(1, "a", TodoStatus.DONE);
+        wal.onTodoChanged(null, first);
+        wal.onTodoChanged(null, second);
+        wal.onTodoChanged(first, done);
+        wal.onTodoChanged(second, null);
+        wal.commit();
+        wal.awaitDurable();
+        wal.destroy();
+
+        for (int round = 0; round < 2; round++) {
+            TodoShards shards = new TodoShards(4, 0);
+            TodoWal replayed = wal(shards, TodoWal.FsyncMode.OS);
+            assertEquals(done, shards.get(1));
+            assertNull(shards.get(2));
+            assertEquals(1, shards.size());
+            assertEquals(2, shards.lastId());
+            assertEquals(4L, replayed.snapshot().get("replayedRecords"));
+            assertEquals(0L, replayed.snapshot().get("truncatedBytes"));
+            replayed.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Mode fsync menentukan kapan data dipaksa ke disk")
+    void testFsyncModes() throws Exception {
+        TodoWal always = wal(new TodoShards(4, 0), TodoWal.FsyncMode.ALWAYS);
+        always.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        always.commit();
+        always.awaitDurable();
+        assertEquals(1L, always.snapshot().get("fsyncs"));
+        always.destroy();
+        Files.delete(dir.resolve("wal/todo.wal"));
+
+        TodoWal interval = wal(new TodoShards(4, 0), TodoWal.FsyncMode.INTERVAL);
+        interval.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        interval.commit();
+        interval.awaitDurable();
+        assertEquals(0L, interval.snapshot().get("fsyncs"));
+        clock.addAndGet(10 * MILLIS);
+        interval.commit();
+        assertEquals(1L, interval.snapshot().get("fsyncs"));
+        assertEquals(1L, interval.snapshot().get("commits"));
+        interval.destroy();
+        Files.delete(dir.resolve("wal/todo.wal"));
+
+        TodoWal os = wal(new TodoShards(4, 0), TodoWal.FsyncMode.OS);
+        os.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        os.commit();
+        assertEquals(0L, os.snapshot().get("fsyncs"));
+        assertEquals(1L, os.snapshot().get("records"));
+        assertEquals(size(), os.snapshot().get("bytes"));
+        os.destroy();
+    }
+
+    @Test
+    @DisplayName("Record yang mengantri melebihi buffer awal tetap ditulis dalam satu commit")
+    void testPendingBufferGrows() throws Exception {
+        TodoWal wal = wal(new TodoShards(4, 0), TodoWal.FsyncMode.OS);
+        for (int i = 1; i <= 2_000; i++) {
+            wal.onTodoChanged(null, todo(i, "todo " + i, TodoStatus.OPEN));
+        }
+        wal.commit();
+        wal.destroy();
+
+        TodoShards shards = new TodoShards(4, 0);
+        wal(shards, TodoWal.FsyncMode.OS).destroy();
+        assertEquals(2_000, shards.size());
+        assertEquals("todo 2000", shards.get(2_000).title());
+    }
+
+    @Test
+    @DisplayName("Ekor log yang terpotong atau rusak dibuang saat replay")
+    void testTornTailIsTruncated() throws Exception {
+        TodoWal wal = wal(new TodoShards(4, 0), TodoWal.FsyncMode.OS);
+        wal.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        wal.destroy();
+        long valid = size();
+
+        byte[] badCrc = TodoWal.encodeDelete(todo(1, "a", TodoStatus.OPEN));
+        badCrc[badCrc.length - 1] ^= 1;
+        byte[][] tails = {
+                { 0, 0, 0 },
+                { 0, 0, 0, 0, 0, 0, 0, 0 },
+                { 0, 0x7f, 0, 0, 0, 0, 0, 0 },
+                { 0, 0, 0, 9, 0, 0, 0, 0, 2 },
+                badCrc,
+                unknownOperation() };
+        for (byte[] tail : tails) {
+            Files.write(dir.resolve("wal/todo.wal"), tail, StandardOpenOption.APPEND);
+            TodoShards shards = new TodoShards(4, 0);
+            TodoWal replayed = wal(shards, TodoWal.FsyncMode.OS);
+            assertEquals(1, shards.size());
+            assertEquals((long) tail.length, replayed.snapshot().get("truncatedBytes"));
+            replayed.destroy();
+            assertEquals(valid, size());
+        }
+    }
+
+    @Test
+    @DisplayName("Record PUT lama tanpa version diputar ulang dengan version 1")
+    void testReplaysUnversionedPut() throws Exception {
+        Todo legacy = todo(1, "lama", TodoStatus.OPEN);
+        Todo current = new Todo(2, "alice", "baru", "", TodoStatus.DONE, 1, 0, 100, 300, 5);
+        Files.createDirectories(dir.resolve("wal"));
+        Files.write(dir.resolve("wal/todo.wal"), unversionedPut(new Todo(1, "alice", "lama", "deskripsi ü",
+                TodoStatus.OPEN, 2, 500, 100, 200, 9)));
+        Files.write(dir.resolve("wal/todo.wal"), TodoWal.encodePut(current), StandardOpenOption.APPEND);
+
+        TodoShards shards = new TodoShards(4, 0);
+        TodoWal replayed = wal(shards, TodoWal.FsyncMode.OS);
+
+        assertEquals(legacy, shards.get(1));
+        assertEquals(current, shards.get(2));
+        assertEquals(2L, replayed.snapshot().get("replayedRecords"));
+        assertEquals(0L, replayed.snapshot().get("truncatedBytes"));
+        replayed.destroy();
+    }
+
+    @Test
+    @DisplayName("DELETE berisi owner hanya menghapus todo owner itu, DELETE lama tanpa owner masih dibaca")
+    void testReplaysOwnedDelete() throws Exception {
+        TodoShards shards = new TodoShards(16, 0);
+        TodoWal wal = wal(shards, TodoWal.FsyncMode.OS);
+        // Urutan yang bisa terjadi saat bob menghapus id 1 bersamaan dengan restore todo alice ber-id 1:
+        // PUT alice tercatat sebelum DELETE milik bob
+        Todo bob = new Todo(1, "bob", "b", "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+        Todo alice = new Todo(1, "alice", "a", "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+        assertNotSame(shards.shardFor("alice"), shards.shardFor("bob"));
+        apply(shards, wal, null, bob);
+        shards.remove(1);
+        apply(shards, wal, null, alice);
+        wal.onTodoChanged(bob, null);
+        wal.destroy();
+        Files.write(dir.resolve("wal/todo.wal"), legacyDelete(7), StandardOpenOption.APPEND);
+
+        TodoShards replayedShards = new TodoShards(16, 0);
+        replayedShards.put(todo(7, "lama", TodoStatus.OPEN));
+        TodoWal replayed = wal(replayedShards, TodoWal.FsyncMode.OS);
+
+        assertEquals(alice, replayedShards.get(1));
+        assertNull(replayedShards.get(7));
+        assertEquals(1, replayedShards.size());
+        assertEquals(4L, replayed.snapshot().get("replayedRecords"));
+        replayed.destroy();
+    }
+
+    // Record DELETE seperti yang ditulis sebelum berisi owner
+    private static byte[] legacyDelete(long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(TodoWal.HEADER + 9);
+        buffer.position(TodoWal.HEADER);
+        buffer.put(TodoWal.DELETE).putLong(id);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), TodoWal.HEADER, 9);
+        buffer.putInt(0, 9).putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    // Record PUT seperti yang ditulis sebelum todo memiliki version
+    private static byte[] unversionedPut(Todo todo) {
+        byte[] owner = TodoCodec.bytes(todo.owner());
+        byte[] title = TodoCodec.bytes(todo.title());
+        byte[] description = TodoCodec.bytes(todo.description());
+        int length = 1 + TodoCodec.size(owner, title, description) - 8;
+        ByteBuffer buffer = ByteBuffer.allocate(TodoWal.HEADER + length + 8).position(TodoWal.HEADER);
+        buffer.put(TodoWal.PUT);
+        TodoCodec.write(buffer, todo, owner, title, description);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), TodoWal.HEADER, length);
+        buffer.putInt(0, length).putInt(4, (int) crc.getValue());
+        return Arrays.copyOf(buffer.array(), TodoWal.HEADER + length);
+    }
+
+    private static byte[] unknownOperation() {
+        ByteBuffer buffer = ByteBuffer.allocate(TodoWal.HEADER + 9);
+        buffer.position(TodoWal.HEADER);
+        buffer.put((byte) 9).putLong(1);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), TodoWal.HEADER, 9);
+        buffer.putInt(0, 9).putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    @Test
+    @DisplayName("Thread penulis melakukan group commit dan membangunkan request yang menunggu")
+    void testWriterThread() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoWal wal = new TodoWal(shards, snapshots(), true, dir.resolve("wal/todo.wal").toString(), " always ", 10);
+
+        for (int i = 1; i <= 100; i++) {
+            wal.onTodoChanged(null, todo(i, "a", TodoStatus.OPEN));
+            wal.awaitDurable();
+        }
+        wal.destroy();
+
+        Map<String, Object> snapshot = wal.snapshot();
+        assertEquals(100L, snapshot.get("records"));
+        assertEquals(size(), snapshot.get("bytes"));
+        TodoShards replayed = new TodoShards(4, 0);
+        wal(replayed, TodoWal.FsyncMode.OS).destroy();
+        assertEquals(100, replayed.size());
+    }
+
+    @Test
+    @DisplayName("Penulis menunggu record baru atau fsync INTERVAL yang jatuh tempo")
+    void testAwaitWork() throws Exception {
+        TodoWal wal = wal(new TodoShards(4, 0), TodoWal.FsyncMode.INTERVAL);
+
+        // Tanpa data yang belum di-fsync, penulis tidur sampai ada record baru
+        AtomicBoolean woke = new AtomicBoolean();
+        Thread waiter = new Thread(() -> woke.set(awaitWork(wal)));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        wal.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        waiter.join();
+        assertTrue(woke.get());
+        wal.commit();
+
+        // Data sudah di-write tapi belum di-fsync: penulis bangun setelah interval walau tanpa record baru
+        assertTrue(wal.awaitWork());
+
+        wal.destroy();
+        assertFalse(wal.awaitWork());
+
+        // Record baru sebelum interval habis juga membangunkan penulis
+        TodoWal slow = new TodoWal(new TodoShards(4, 0), snapshots(), true, dir.resolve("wal/todo.wal"), TodoWal.FsyncMode.INTERVAL,
+                60_000, false, clock::get);
+        slow.onTodoChanged(null, todo(2, "b", TodoStatus.OPEN));
+        slow.commit();
+        woke.set(false);
+        Thread slowWaiter = new Thread(() -> woke.set(awaitWork(slow)));
+        slowWaiter.start();
+        while (slowWaiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        slow.onTodoChanged(null, todo(3, "c", TodoStatus.OPEN));
+        slowWaiter.join();
+        assertTrue(woke.get());
+        slow.destroy();
+    }
+
+    private static boolean awaitWork(TodoWal wal) {
+        try {
+            return wal.awaitWork();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Thread penulis berhenti jika diinterupsi, sisa antrian ditulis saat destroy")
+    void testWriterInterrupted() throws Exception {
+        TodoWal wal = new TodoWal(new TodoShards(4, 0), snapshots(), true, dir.resolve("wal/todo.wal"), TodoWal.FsyncMode.OS, 10,
+                true, clock::get);
+        Thread writer = (Thread) ReflectionTestUtils.getField(wal, "writer");
+        writer.interrupt();
+        writer.join();
+
+        wal.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        wal.destroy();
+
+        TodoShards shards = new TodoShards(4, 0);
+        wal(shards, TodoWal.FsyncMode.OS).destroy();
+        assertEquals(1, shards.size());
+    }
+
+    @Test
+    @DisplayName("Kegagalan menulis dilaporkan ke request yang menunggu")
+    void testWriteFailure() throws Exception {
+        TodoWal wal = new TodoWal(new TodoShards(4, 0), snapshots(), true, dir.resolve("wal/todo.wal"), TodoWal.FsyncMode.ALWAYS, 10,
+                true, clock::get);
+        ((FileChannel) ReflectionTestUtils.getField(wal, "channel")).close();
+
+        wal.beforeChange();
+        assertFalse(wal.isFailed());
+        wal.onTodoChanged(null, todo(1, "a", TodoStatus.OPEN));
+        assertThrows(UncheckedIOException.class, wal::awaitDurable);
+        assertTrue(wal.isFailed());
+        assertEquals(true, wal.snapshot().get("failed"));
+
+        // Perubahan berikutnya ditolak sebelum store disentuh; record yang lolos sebelum kegagalan
+        // terlihat tidak lagi disimpan di buffer dan tetap dilaporkan gagal
+        assertThrows(UncheckedIOException.class, wal::beforeChange);
+        wal.onTodoChanged(null, todo(2, "b", TodoStatus.OPEN));
+        assertEquals(0, ReflectionTestUtils.getField(wal, "pendingSize"));
+        assertThrows(UncheckedIOException.class, wal::awaitDurable);
+        wal.destroy();
+        assertEquals(0L, size());
+    }
+
+    @Test
+    @DisplayName("Mode fsync yang tidak dikenal ditolak")
+    void testInvalidMode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TodoWal(new TodoShards(4, 0), snapshots(), true, dir.resolve("todo.wal").toString(), "kadang", 10));
+    }
+
+    @Test
+    @DisplayName("Recovery memuat snapshot lalu memutar segmen log yang belum tercakup dan log aktif")
+    void testRecoveryFromSnapshotAndSegments() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoWal wal = wal(shards, TodoWal.FsyncMode.OS);
+        Todo first = todo(1, "a", TodoStatus.OPEN);
+        Todo second = todo(2, "b", TodoStatus.OPEN);
+        apply(shards, wal, null, first);
+        apply(shards, wal, null, second);
+        wal.commit();
+        assertEquals(1, wal.rotate());
+
+        // Snapshot fuzzy: sudah memuat perubahan yang ditulis setelah rotate
+        apply(shards, wal, null, todo(3, "c", TodoStatus.OPEN));
+        apply(shards, wal, first, null);
+        wal.commit();
+        snapshots().write(shards, 1);
+        apply(shards, wal, null, todo(4, "d", TodoStatus.OPEN));
+        wal.commit();
+        assertEquals(2, wal.rotate());
+        apply(shards, wal, second, todo(2, "b", TodoStatus.DONE));
+        wal.destroy();
+        assertEquals(2L, wal.snapshot().get("rotations"));
+        assertTrue(Files.exists(dir.resolve("wal/todo.wal.1")));
+
+        TodoShards recovered = new TodoShards(4, 0);
+        TodoWal replayed = wal(recovered, TodoWal.FsyncMode.OS);
+        assertEquals(3, recovered.size());
+        assertNull(recovered.get(1));
+        assertEquals(TodoStatus.DONE, recovered.get(2).status());
+        assertEquals(4, recovered.lastId());
+        // Segmen 1 sudah tercakup snapshot sehingga dihapus saat startup
+        assertFalse(Files.exists(dir.resolve("wal/todo.wal.1")));
+
+        Map<String, Object> report = replayed.getRecoveryReport();
+        assertEquals(true, report.get("enabled"));
+        assertEquals(3L, report.get("todos"));
+        assertEquals(1L, report.get("snapshotGeneration"));
+        assertEquals(2L, report.get("snapshotTodos"));
+        assertEquals(4L, report.get("walRecords"));
+
+        // Generation berlanjut dari segmen terakhir yang diputar
+        assertEquals(3, replayed.rotate());
+        replayed.deleteSegments(2);
+        assertFalse(Files.exists(dir.resolve("wal/todo.wal.2")));
+        assertTrue(Files.exists(dir.resolve("wal/todo.wal.3")));
+        replayed.destroy();
+    }
+
+    private static void apply(TodoShards shards, TodoWal wal, Todo before, Todo after) {
+        if (after == null) {
+            shards.remove(before.id());
+        } else {
+            shards.put(after);
+        }
+        wal.onTodoChanged(before, after);
+    }
+}
@@ -0,0 +1,144 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoBulkServiceTests {
+
+    private final TodoShards shards = new TodoShards(4, 0);
+    private final AtomicInteger durableWaits = new AtomicInteger();
+
+    private TodoService todoService() {
+        return todoService(shards);
+    }
+
+    private TodoService todoService(TodoShards shards) {
+        TodoChangeListener durable = new TodoChangeListener() {
+            @Override
+            public void onTodoChanged(Todo before, Todo after) {
+            }
+
+            @Override
+            public void awaitDurable() {
+                durableWaits.incrementAndGet();
+            }
+        };
+        return new TodoService(shards, List.of(durable), () -> 1_000);
+    }
+
+    // Body dikirim per 7 byte agar baris terpotong di antara pembacaan
+    private static InputStream slow(String body) {
+        return new FilterInputStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+    }
+
+    private static String run(TodoBulkService bulk, String owner, String body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bulk.importTodos(owner, slow(body), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Import membaca NDJSON per batch, melaporkan baris yang ditolak dan progress")
+    void testImport() throws IOException {
+        TodoBulkService bulk = new TodoBulkService(todoService(), 2);
+        String body = "{\"title\":\"a\"}\r\n"
+                + "\n"
+                + "  \n"
+                + "{\"title\":\"b\",\"status\":\"DONE\",\"priority\":3,\"dueAt\":99}\n"
+                + "bukan json\n"
+                + "{\"title\":\"x\".." + "y".repeat(TodoBulkService.MAX_LINE_BYTES) + "\n"
+                + "{\"title\":\" \"}\n"
+                + "{\"title\":\"c\",\"description\":\"é\"}";
+
+        String output = run(bulk, "alice", body);
+
+        // Nomor baris mengikuti baris fisik: dua baris kosong tetap dihitung
+        assertEquals("{\"imported\":2,\"failed\":0,\"lines\":4}\n"
+                + "{\"line\":5,\"message\":\"JSON tidak valid\"}\n"
+                + "{\"line\":6,\"message\":\"Baris melebihi 16384 byte\"}\n"
+                + "{\"line\":7,\"message\":\"Judul todo wajib diisi\"}\n"
+                + "{\"imported\":3,\"failed\":3,\"lines\":8}\n"
+                + "{\"status\":\"success\",\"imported\":3,\"failed\":3,\"lines\":8}\n", output);
+        assertEquals(new Todo(2, "alice", "b", "", TodoStatus.DONE, 3, 99, 1_000, 1_000, 1), shards.get(2));
+        assertEquals("é", shards.get(3).description());
+        assertEquals(2, durableWaits.get());
+    }
+
+    @Test
+    @DisplayName("Laporan baris yang ditolak dikirim sebelum menumpuk walau tidak ada batch yang penuh")
+    void testImportRejectedOnly() throws IOException {
+        TodoBulkService bulk = new TodoBulkService(todoService(), 0);
+        String output = run(bulk, "alice", "{}\n".repeat(500));
+
+        String[] lines = output.split("\n");
+        assertEquals(501, lines.length);
+        assertEquals("{\"line\":500,\"message\":\"Judul todo wajib diisi\"}", lines[499]);
+        assertEquals("{\"status\":\"success\",\"imported\":0,\"failed\":500,\"lines\":500}", lines[500]);
+        assertEquals(0, shards.size());
+        assertEquals(0, durableWaits.get());
+    }
+
+    @Test
+    @DisplayName("Export menulis semua todo milik pengguna per halaman dan bisa di-import ulang")
+    void testExport() throws IOException {
+        TodoService todoService = todoService();
+        TodoBulkService bulk = new TodoBulkService(todoService, 1000);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1_200; i++) {
+            body.append("{\"title\":\"t").append(i).append("\",\"priority\":").append(i % 4).append("}\n");
+        }
+        run(bulk, "alice", body.toString());
+        todoService.create("bob", new TodoRequest("milik bob", null, null, null, null));
+        todoService.delete("alice", 5);
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        bulk.exportTodos("alice", exported);
+        String[] lines = exported.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(1_199, lines.length);
+        assertEquals("{\"id\":1,\"owner\":\"alice\",\"title\":\"t0\",\"description\":\"\",\"status\":\"OPEN\","
+                + "\"priority\":0,\"dueAt\":0,\"createdAt\":1000,\"updatedAt\":1000,\"version\":1}", lines[0]);
+        assertTrue(lines[4].startsWith("{\"id\":6,"));
+
+        assertEquals("{\"status\":\"success\",\"imported\":1199,\"failed\":0,\"lines\":1199}",
+                run(bulk, "carol", exported.toString(StandardCharsets.UTF_8)).lines().reduce((a, b) -> b).get());
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        bulk.exportTodos("dave", empty);
+        assertEquals(0, empty.size());
+
+        assertEquals(List.of(1000, 2L, 2399L, 0L, 2L, 1199L), List.copyOf(bulk.snapshot().values()));
+    }
+
+    @Test
+    @DisplayName("Todo yang ditolak kuota shard dihitung gagal")
+    void testImportOverQuota() throws IOException {
+        TodoShards full = new TodoShards(1, 400);
+        TodoBulkService bulk = new TodoBulkService(todoService(full), 1000);
+
+        String output = run(bulk, "alice", "{\"title\":\"a\"}\n{\"title\":\"b\"}\n{\"title\":\"c\"}\n");
+
+        assertEquals("{\"imported\":2,\"failed\":1,\"lines\":3}\n"
+                + "{\"status\":\"success\",\"imported\":2,\"failed\":1,\"lines\":3}\n", output);
+        assertEquals(2, full.size());
+    }
+}
@@ -0,0 +1,344 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoChangeFeedTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private static final class FakeSink implements TodoChangeFeed.Sink {
+        private final List<String> frames = new ArrayList<>();
+        private boolean ready = true;
+        private boolean failing;
+        private boolean closed;
+        private Runnable onReady = () -> {
+        };
+
+        @Override
+        public boolean isReady() {
+            onReady.run();
+            return ready;
+        }
+
+        @Override
+        public void write(byte[] data) throws IOException {
+            if (failing) {
+                throw new IOException("koneksi putus");
+            }
+            frames.add(new String(data, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    // Heartbeat setiap 1000 ns, klien lambat diputus setelah 5000 ns
+    private TodoChangeFeed feed(int capacity, int maxSubscribers) {
+        return new TodoChangeFeed(capacity, maxSubscribers, 100, 1_000, 5_000, false, clock::get);
+    }
+
+    private static Todo todo(long id, String owner, String title) {
+        return new Todo(id, owner, title, "", TodoStatus.OPEN, 0, 0, 1, 2, 1);
+    }
+
+    private static void publish(TodoChangeFeed feed, String owner, int count) {
+        for (int i = 1; i <= count; i++) {
+            feed.onTodoChanged(null, todo(i, owner, "t" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Event satu tick dikirim sebagai satu batch SSE per owner")
+    void testBatchesPerOwner() {
+        TodoChangeFeed feed = feed(16, 10);
+        FakeSink alice = new FakeSink();
+        FakeSink bob = new FakeSink();
+        FakeSink carol = new FakeSink();
+        feed.subscribe("alice", -1, alice);
+        feed.subscribe("bob", -1, bob);
+        feed.subscribe("carol", -1, carol);
+
+        feed.onTodoChanged(null, todo(1, "alice", "Beli susu"));
+        feed.onTodoChanged(null, todo(2, "bob", "Bayar listrik"));
+        feed.onTodoChanged(todo(1, "alice", "Beli susu"), todo(1, "alice", "Beli \"susu\""));
+        feed.onTodoChanged(todo(1, "alice", "Beli \"susu\""), null);
+        feed.flush();
+
+        assertEquals(List.of("id: 4\nevent: todos\ndata: ["
+                + "{\"seq\":1,\"type\":\"created\",\"id\":1,\"todo\":{\"id\":1,\"owner\":\"alice\",\"title\":\"Beli susu\","
+                + "\"description\":\"\",\"status\":\"OPEN\",\"priority\":0,\"dueAt\":0,\"createdAt\":1,\"updatedAt\":2,"
+                + "\"version\":1}},"
+                + "{\"seq\":3,\"type\":\"updated\",\"id\":1,\"todo\":{\"id\":1,\"owner\":\"alice\",\"title\":\"Beli \\\"susu\\\"\","
+                + "\"description\":\"\",\"status\":\"OPEN\",\"priority\":0,\"dueAt\":0,\"createdAt\":1,\"updatedAt\":2,"
+                + "\"version\":1}},"
+                + "{\"seq\":4,\"type\":\"deleted\",\"id\":1}]\n\n"), alice.frames);
+        assertEquals(1, bob.frames.size());
+        assertTrue(bob.frames.get(0).startsWith("id: 4\nevent: todos\ndata: [{\"seq\":2,\"type\":\"created\",\"id\":2,"));
+        assertTrue(carol.frames.isEmpty());
+
+        // Tick tanpa event baru tidak menulis apa pun
+        feed.flush();
+        assertEquals(1, alice.frames.size());
+        assertEquals(4L, feed.snapshot().get("events"));
+        assertEquals(2L, feed.snapshot().get("batches"));
+    }
+
+    @Test
+    @DisplayName("Subscriber melanjutkan dari nomor urut since")
+    void testResumeSince() {
+        TodoChangeFeed feed = feed(16, 10);
+        publish(feed, "alice", 3);
+        feed.flush();
+
+        FakeSink resumed = new FakeSink();
+        FakeSink current = new FakeSink();
+        FakeSink live = new FakeSink();
+        feed.subscribe("alice", 1, resumed);
+        feed.subscribe("alice", 3, current);
+        feed.subscribe("alice", -1, live);
+        feed.flush();
+
+        assertEquals(1, resumed.frames.size());
+        assertTrue(resumed.frames.get(0).startsWith("id: 3\nevent: todos\ndata: [{\"seq\":2,"));
+        assertTrue(resumed.frames.get(0).contains("{\"seq\":3,"));
+        assertTrue(current.frames.isEmpty());
+        assertTrue(live.frames.isEmpty());
+
+        feed.onTodoChanged(null, todo(9, "alice", "baru"));
+        feed.flush();
+        for (FakeSink sink : List.of(resumed, current, live)) {
+            assertTrue(sink.frames.get(sink.frames.size() - 1).startsWith("id: 4\nevent: todos\ndata: [{\"seq\":4,"));
+        }
+    }
+
+    @Test
+    @DisplayName("Subscriber yang tertinggal hanya menerima event owner-nya dari rentang yang terlewat")
+    void testCatchUpPerOwner() {
+        TodoChangeFeed feed = feed(16, 10);
+        feed.onTodoChanged(null, todo(1, "alice", "a1"));
+        feed.onTodoChanged(null, todo(2, "bob", "b1"));
+        feed.onTodoChanged(null, todo(3, "alice", "a2"));
+        feed.onTodoChanged(null, todo(4, "carol", "c1"));
+        feed.flush();
+
+        FakeSink alice = new FakeSink();
+        FakeSink bob = new FakeSink();
+        FakeSink dave = new FakeSink();
+        feed.subscribe("alice", 0, alice);
+        feed.subscribe("bob", 0, bob);
+        feed.subscribe("dave", 0, dave);
+        feed.flush();
+
+        assertEquals(1, alice.frames.size());
+        assertTrue(alice.frames.get(0).startsWith("id: 4\nevent: todos\ndata: [{\"seq\":1,"));
+        assertTrue(alice.frames.get(0).contains("},{\"seq\":3,"));
+        assertFalse(alice.frames.get(0).contains("\"owner\":\"bob\""));
+        assertEquals(1, bob.frames.size());
+        assertTrue(bob.frames.get(0).startsWith("id: 4\nevent: todos\ndata: [{\"seq\":2,"));
+        assertFalse(bob.frames.get(0).contains("\"seq\":1,"));
+        assertTrue(dave.frames.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Nomor urut dari proses sebelumnya menghasilkan event reset")
+    void testResetFromFutureSequence() {
+        TodoChangeFeed feed = feed(16, 10);
+        FakeSink sink = new FakeSink();
+        feed.subscribe("alice", 99, sink);
+        feed.flush();
+        assertEquals(List.of("id: 0\nevent: reset\ndata: {\"seq\":0}\n\n"), sink.frames);
+
+        publish(feed, "alice", 2);
+        FakeSink later = new FakeSink();
+        feed.subscribe("alice", 50, later);
+        feed.flush();
+        assertEquals(List.of("id: 2\nevent: reset\ndata: {\"seq\":2}\n\n"), later.frames);
+        assertEquals(2, sink.frames.size());
+        assertTrue(sink.frames.get(1).startsWith("id: 2\nevent: todos"));
+        assertEquals(2L, feed.snapshot().get("resets"));
+    }
+
+    @Test
+    @DisplayName("Event yang tertimpa di ring sebelum dikirim menghasilkan reset")
+    void testRingOverrun() {
+        TodoChangeFeed feed = feed(4, 10);
+        FakeSink behind = new FakeSink();
+        feed.subscribe("alice", -1, behind);
+        publish(feed, "alice", 6);
+        FakeSink fresh = new FakeSink();
+        feed.subscribe("alice", -1, fresh);
+        feed.flush();
+
+        assertEquals(List.of("id: 6\nevent: reset\ndata: {\"seq\":6}\n\n"), behind.frames);
+        assertTrue(fresh.frames.isEmpty());
+        assertEquals(4, feed.snapshot().get("capacity"));
+        assertEquals(3L, feed.snapshot().get("oldestSequence"));
+
+        // Setelah reset subscriber lanjut normal
+        feed.onTodoChanged(null, todo(7, "alice", "t7"));
+        feed.flush();
+        assertTrue(behind.frames.get(1).startsWith("id: 7\nevent: todos\ndata: [{\"seq\":7,"));
+    }
+
+    @Test
+    @DisplayName("Ring yang tertimpa selama tick berjalan juga menghasilkan reset")
+    void testOverrunDuringTick() {
+        TodoChangeFeed feed = feed(4, 10);
+        publish(feed, "alice", 2);
+        feed.flush();
+        FakeSink lagging = new FakeSink();
+        feed.subscribe("alice", 0, lagging);
+        lagging.onReady = () -> {
+            lagging.onReady = () -> {
+            };
+            publish(feed, "alice", 4);
+        };
+        feed.flush();
+
+        assertEquals(List.of("id: 2\nevent: reset\ndata: {\"seq\":2}\n\n"), lagging.frames);
+        feed.flush();
+        assertEquals(2, lagging.frames.size());
+        assertTrue(lagging.frames.get(1).startsWith("id: 6\nevent: todos\ndata: [{\"seq\":3,"));
+    }
+
+    @Test
+    @DisplayName("Klien yang tidak membaca diputus setelah batas waktu atau saat tertinggal dari ring")
+    void testSlowConsumer() {
+        TodoChangeFeed feed = feed(4, 10);
+        FakeSink slow = new FakeSink();
+        FakeSink overrun = new FakeSink();
+        feed.subscribe("alice", -1, slow);
+        feed.subscribe("bob", -1, overrun);
+        slow.ready = false;
+        overrun.ready = false;
+
+        feed.onTodoChanged(null, todo(1, "alice", "t1"));
+        feed.flush();
+        clock.set(3_000);
+        feed.flush();
+        assertFalse(slow.closed);
+        assertFalse(overrun.closed);
+
+        // Klien yang kembali siap tidak lagi dianggap tertahan
+        slow.ready = true;
+        feed.flush();
+        assertEquals(1, slow.frames.size());
+        slow.ready = false;
+        clock.set(4_000);
+        publish(feed, "bob", 4);
+        feed.flush();
+        assertTrue(overrun.closed);
+        assertFalse(slow.closed);
+
+        clock.set(8_999);
+        feed.flush();
+        assertFalse(slow.closed);
+        clock.set(9_000);
+        feed.flush();
+        assertTrue(slow.closed);
+        assertEquals(2L, feed.snapshot().get("slowDisconnects"));
+        assertEquals(0, feed.snapshot().get("subscribers"));
+    }
+
+    @Test
+    @DisplayName("Heartbeat dikirim jika tidak ada event selama interval")
+    void testHeartbeat() {
+        TodoChangeFeed feed = feed(16, 10);
+        FakeSink sink = new FakeSink();
+        feed.subscribe("alice", -1, sink);
+
+        clock.set(999);
+        feed.flush();
+        assertTrue(sink.frames.isEmpty());
+        clock.set(1_000);
+        feed.flush();
+        assertEquals(List.of(": ping\n\n"), sink.frames);
+        clock.set(1_500);
+        feed.flush();
+        assertEquals(1, sink.frames.size());
+    }
+
+    @Test
+    @DisplayName("Gagal menulis memutus subscriber dan menutup sink")
+    void testWriteFailure() {
+        TodoChangeFeed feed = feed(16, 10);
+        FakeSink sink = new FakeSink();
+        feed.subscribe("alice", -1, sink);
+        sink.failing = true;
+
+        publish(feed, "alice", 1);
+        feed.flush();
+
+        assertTrue(sink.closed);
+        assertEquals(0, feed.snapshot().get("subscribers"));
+        assertEquals(0L, feed.snapshot().get("batches"));
+    }
+
+    @Test
+    @DisplayName("Subscriber melebihi batas ditolak; unsubscribe tidak menutup sink")
+    void testSubscriberLimit() {
+        TodoChangeFeed feed = feed(16, 1);
+        FakeSink first = new FakeSink();
+        TodoChangeFeed.Subscriber subscriber = feed.subscribe("alice", -1, first);
+
+        assertNotNull(subscriber);
+        assertNull(feed.subscribe("bob", -1, new FakeSink()));
+        assertEquals(1L, feed.snapshot().get("rejected"));
+
+        feed.unsubscribe(subscriber);
+        assertFalse(first.closed);
+        assertNotNull(feed.subscribe("bob", -1, new FakeSink()));
+    }
+
+    @Test
+    @DisplayName("Flusher latar mengirim event dan destroy menutup semua koneksi")
+    void testFlusherAndDestroy() throws Exception {
+        TodoChangeFeed feed = new TodoChangeFeed(16, 10, 1, 15, 10_000);
+        FakeSink sink = new FakeSink();
+        feed.subscribe("alice", -1, sink);
+        publish(feed, "alice", 1);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (feed.snapshot().get("batches").equals(0L) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        feed.destroy();
+
+        assertTrue(sink.closed);
+        assertEquals(1L, feed.snapshot().get("batches"));
+
+        // destroy pada feed yang flusher-nya tidak pernah berjalan
+        feed(16, 10).destroy();
+    }
+
+    @Test
+    @DisplayName("Snapshot berisi nomor urut dan penghitung feed")
+    void testSnapshot() {
+        TodoChangeFeed feed = feed(5, 10);
+        publish(feed, "alice", 10);
+
+        Map<String, Object> snapshot = feed.snapshot();
+
+        assertEquals(8, snapshot.get("capacity"));
+        assertEquals(10L, snapshot.get("sequence"));
+        assertEquals(3L, snapshot.get("oldestSequence"));
+        assertEquals(0, snapshot.get("subscribers"));
+        assertEquals(10L, snapshot.get("events"));
+        assertEquals(0L, snapshot.get("bytes"));
+        assertEquals(0L, snapshot.get("rejected"));
+    }
+}
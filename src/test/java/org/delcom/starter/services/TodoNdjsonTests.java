@@ -0,0 +1,70 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoNdjsonTests {
+
+    private static String error(String line) {
+        return assertThrows(IllegalArgumentException.class, () -> TodoNdjson.parse(line)).getMessage();
+    }
+
+    @Test
+    @DisplayName("Membaca field TodoRequest dan mengabaikan field lain")
+    void testParse() {
+        assertEquals(new TodoRequest("Beli \"susu\"\n", "a/b\\c\t\b\f\r\u00e9", "DONE", 2, 1_700_000_000_000L),
+                TodoNdjson.parse(" { \"id\" : 7, \"owner\":\"bob\", \"title\":\"Beli \\\"susu\\\"\\n\","
+                        + "\"description\":\"a\\/b\\\\c\\t\\b\\f\\r\\u00E9\",\"status\":\"DONE\",\"priority\":2,"
+                        + "\"dueAt\":1700000000000,\"done\":true,\"archived\":false,\"score\":-1.5e3} "));
+        assertEquals(new TodoRequest(null, null, null, null, null), TodoNdjson.parse("{}"));
+        assertEquals(new TodoRequest("a", null, null, null, null),
+                TodoNdjson.parse("{\"title\":\"a\",\"description\":null,\"status\":null,\"priority\":null,\"dueAt\":null}"));
+        assertEquals(new TodoRequest("a", null, null, -1, -5L), TodoNdjson.parse("{\"title\":\"a\",\"priority\":-1,\"dueAt\":-5}"));
+    }
+
+    @Test
+    @DisplayName("Baris yang bukan objek JSON datar atau bertipe salah ditolak dengan pesan")
+    void testParseErrors() {
+        assertEquals("JSON tidak valid", error(""));
+        assertEquals("JSON tidak valid", error("[1]"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"a\""));
+        assertEquals("JSON tidak valid", error("{\"title\":\"a\" \"x\":1}"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"a\"} x"));
+        assertEquals("JSON tidak valid", error("{title:\"a\"}"));
+        assertEquals("JSON tidak valid", error("{\"title\" \"a\"}"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"a}"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"a\\"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"a\\x\"}"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"\\u1"));
+        assertEquals("JSON tidak valid", error("{\"title\":\"\\u12zz\"}"));
+        assertEquals("JSON tidak valid", error("{\"tags\":[\"a\"]}"));
+        assertEquals("JSON tidak valid", error("{\"priority\":-}"));
+        assertEquals("JSON tidak valid", error("{\"dueAt\":99999999999999999999}"));
+        assertEquals("Field title harus berupa string", error("{\"title\":1}"));
+        assertEquals("Field status harus berupa string", error("{\"status\":true}"));
+        assertEquals("Field priority harus berupa bilangan bulat", error("{\"priority\":\"1\"}"));
+        assertEquals("Field dueAt harus berupa bilangan bulat", error("{\"dueAt\":1.5}"));
+        assertEquals("Prioritas harus antara 0 dan 3", error("{\"priority\":3000000000}"));
+        assertEquals("Prioritas harus antara 0 dan 3", error("{\"priority\":-3000000000}"));
+    }
+
+    @Test
+    @DisplayName("Todo ditulis sebagai satu baris JSON yang bisa dibaca ulang")
+    void testWrite() {
+        Todo todo = new Todo(3, "alice", "Tugas \"1\"\\", "baris\nbaru\r\t\u0001", TodoStatus.IN_PROGRESS, 1, 50,
+                10, 20, 1);
+        StringBuilder out = new StringBuilder();
+
+        TodoNdjson.write(todo, out);
+
+        assertEquals("{\"id\":3,\"owner\":\"alice\",\"title\":\"Tugas \\\"1\\\"\\\\\","
+                + "\"description\":\"baris\\nbaru\\r\\t\\u0001\",\"status\":\"IN_PROGRESS\",\"priority\":1,"
+                + "\"dueAt\":50,\"createdAt\":10,\"updatedAt\":20,\"version\":1}\n", out.toString());
+        assertEquals(new TodoRequest(todo.title(), todo.description(), "IN_PROGRESS", 1, 50L),
+                TodoNdjson.parse(out.toString().strip()));
+    }
+}
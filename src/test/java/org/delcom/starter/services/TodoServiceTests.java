@@ -0,0 +1,526 @@
+package org.delcom.starter.services;
+
+import org.delcom.starter.entities.Todo;
+import org.delcom.starter.entities.TodoStatus;
+import org.delcom.starter.repositories.TodoShard;
+import org.delcom.starter.repositories.TodoShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TodoServiceTests {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final List<String> changes = new ArrayList<>();
+
+    private TodoService service(TodoShards shards) {
+        TodoChangeListener listener = (before, after) -> changes.add(
+                (before == null ? "-" : before.title()) + ">" + (after == null ? "-" : after.title()));
+        return new TodoService(shards, List.of(listener), clock::get);
+    }
+
+    private static TodoRequest request(String title) {
+        return new TodoRequest(title, null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Validasi menolak data todo yang tidak lengkap atau di luar batas")
+    void testValidate() {
+        TodoService service = service(new TodoShards(4, 0));
+
+        assertEquals("Data todo wajib diisi", service.validate(null, true));
+        assertEquals("Judul todo wajib diisi", service.validate(request(null), true));
+        assertNull(service.validate(request(null), false));
+        assertEquals("Judul todo wajib diisi", service.validate(request("  "), false));
+        assertEquals("Judul todo maksimal 200 karakter", service.validate(request("x".repeat(201)), true));
+        assertEquals("Deskripsi todo maksimal 2000 karakter",
+                service.validate(new TodoRequest("a", "x".repeat(2001), null, null, null), true));
+        assertEquals("Status harus OPEN, IN_PROGRESS atau DONE",
+                service.validate(new TodoRequest("a", null, "SELESAI", null, null), true));
+        assertEquals("Prioritas harus antara 0 dan 3",
+                service.validate(new TodoRequest("a", null, null, -1, null), true));
+        assertEquals("Prioritas harus antara 0 dan 3",
+                service.validate(new TodoRequest("a", null, null, 4, null), true));
+        assertEquals("Tenggat tidak valid", service.validate(new TodoRequest("a", null, null, null, -5L), true));
+        assertNull(service.validate(new TodoRequest("a", "b", "done", 3, 0L), true));
+    }
+
+    @Test
+    @DisplayName("Todo baru memakai nilai bawaan untuk field yang kosong")
+    void testCreate() {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = service(shards);
+
+        Todo todo = service.create("alice", request("  Belajar  "));
+        assertEquals(new Todo(1, "alice", "Belajar", "", TodoStatus.OPEN, 0, 0, 1_000, 1_000, 1), todo);
+        assertSame(todo, shards.get(1));
+
+        Todo full = service.create("alice", new TodoRequest("Tugas", "Bab 3", "in_progress", 2, 5_000L));
+        assertEquals(new Todo(2, "alice", "Tugas", "Bab 3", TodoStatus.IN_PROGRESS, 2, 5_000, 1_000, 1_000, 1), full);
+        assertEquals(List.of("->Belajar", "->Tugas"), changes);
+    }
+
+    @Test
+    @DisplayName("Todo milik pengguna lain tidak terlihat")
+    void testGetChecksOwner() {
+        TodoService service = service(new TodoShards(4, 0));
+        Todo todo = service.create("alice", request("a"));
+
+        assertSame(todo, service.get("alice", 1));
+        assertNull(service.get("bob", 1));
+        assertNull(service.get("alice", 2));
+    }
+
+    @Test
+    @DisplayName("Update hanya mengubah field yang diisi")
+    void testUpdate() {
+        TodoService service = service(new TodoShards(4, 0));
+        service.create("alice", new TodoRequest("a", "b", null, 1, 10L));
+        clock.set(2_000);
+
+        Todo renamed = service.update("alice", 1, request(" c "));
+        assertEquals(new Todo(1, "alice", "c", "b", TodoStatus.OPEN, 1, 10, 1_000, 2_000, 2), renamed);
+
+        Todo changed = service.update("alice", 1, new TodoRequest(null, "d", "DONE", 3, 0L));
+        assertEquals(new Todo(1, "alice", "c", "d", TodoStatus.DONE, 3, 0, 1_000, 2_000, 3), changed);
+
+        assertNull(service.update("bob", 1, request("x")));
+        assertNull(service.update("alice", 9, request("x")));
+        assertEquals(List.of("->a", "a>c", "c>c"), changes);
+    }
+
+    @Test
+    @DisplayName("Update dan delete mengulang jika todo berubah di antara baca dan tulis")
+    void testRetriesOnConcurrentChange() {
+        TodoShards shards = mock(TodoShards.class);
+        TodoShard shard = mock(TodoShard.class);
+        Todo first = new Todo(1, "alice", "a", "", TodoStatus.OPEN, 0, 0, 1, 1, 1);
+        Todo second = new Todo(1, "alice", "b", "", TodoStatus.OPEN, 0, 0, 1, 2, 2);
+        when(shards.shardFor("alice")).thenReturn(shard);
+        when(shard.lockFor(1)).thenReturn(new Object());
+        when(shard.get(1)).thenReturn(first, second, second, second);
+        when(shard.replace(eq(1L), eq(first), any())).thenReturn(false);
+        when(shard.replace(eq(1L), eq(second), any())).thenReturn(true);
+        when(shard.remove(1L, second)).thenReturn(false, true);
+        TodoService service = service(shards);
+
+        assertEquals("c", service.update("alice", 1, request("c")).title());
+        assertTrue(service.delete("alice", 1));
+        assertEquals(List.of("b>c", "b>-"), changes);
+        verify(shard).indexChange(eq(second), any());
+        verify(shard).indexChange(second, null);
+    }
+
+    @Test
+    @DisplayName("Delete menghapus todo milik sendiri saja")
+    void testDelete() {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = service(shards);
+        service.create("alice", request("a"));
+
+        assertFalse(service.delete("bob", 1));
+        assertTrue(service.delete("alice", 1));
+        assertFalse(service.delete("alice", 1));
+        assertEquals(0, shards.size());
+    }
+
+    @Test
+    @DisplayName("List memakai cursor id dan hanya berisi todo milik pengguna")
+    void testListWithCursor() {
+        TodoService service = service(new TodoShards(4, 0));
+        for (int i = 0; i < 10; i++) {
+            service.create(i % 2 == 0 ? "alice" : "bob", request("t" + i));
+        }
+
+        TodoPage first = service.list("alice", 0, 2);
+        assertEquals(List.of(1L, 3L), first.items().stream().map(Todo::id).toList());
+        assertEquals(3L, first.nextCursor());
+
+        TodoPage rest = service.list("alice", first.nextCursor(), 10);
+        assertEquals(List.of(5L, 7L, 9L), rest.items().stream().map(Todo::id).toList());
+        assertNull(rest.nextCursor());
+
+        assertEquals(5, service.list("alice", -3, 0).items().size());
+        assertEquals(5, service.list("bob", 0, 10_000).items().size());
+    }
+
+    @Test
+    @DisplayName("List tanpa filter memakai daftar id owner, todo pengguna lain tidak dipindai")
+    void testListUsesOwnerIndex() {
+        TodoService service = service(new TodoShards(4, 0));
+        for (int i = 0; i < 5000; i++) {
+            service.create("bob", request("t"));
+        }
+        Todo alice = service.create("alice", request("a"));
+
+        TodoPage page = service.list("alice", 0, 10);
+        assertEquals(List.of(alice), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Konstruktor Spring memakai listener dari context")
+    @SuppressWarnings("unchecked")
+    void testSpringConstructor() {
+        ObjectProvider<TodoChangeListener> provider = mock(ObjectProvider.class);
+        TodoChangeListener listener = mock(TodoChangeListener.class);
+        when(provider.orderedStream()).thenReturn(Stream.of(listener));
+
+        TodoShards shards = new TodoShards(4, 0);
+        Todo todo = new TodoService(new TodoShards(4, 0), provider).create("alice", request("a"));
+
+        verify(listener).onTodoChanged(null, todo);
+        assertTrue(todo.createdAt() > 0);
+    }
+
+    @Test
+    @DisplayName("Pencarian hanya mengembalikan todo milik pengguna yang masih ada, dengan limit bawaan dan maksimum")
+    void testSearch() {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = new TodoService(shards, List.of(), clock::get);
+        for (int i = 0; i < 150; i++) {
+            service.create("alice", new TodoRequest("Laporan " + i, "bab " + i, null, null, null));
+        }
+        Todo other = service.create("bob", request("Laporan bob"));
+
+        assertNull(service.validateQuery("laporan"));
+        assertEquals("Kata kunci pencarian wajib diisi", service.validateQuery("  "));
+
+        TodoSearchResult result = service.search("alice", "laporan", 0);
+        assertEquals(150, result.matched());
+        assertEquals(TodoService.DEFAULT_SEARCH_LIMIT, result.items().size());
+        assertEquals(TodoService.MAX_SEARCH_LIMIT, service.search("alice", "laporan", 1_000).items().size());
+        assertEquals(List.of(other), service.search("bob", "laporan", 5).items());
+
+        // Todo yang terhapus dari store tanpa melewati service tidak dikembalikan walau index tertinggal
+        assertEquals(List.of("Laporan 1"), service.search("alice", "bab 1", 5).items().stream()
+                .map(Todo::title).toList());
+        shards.remove(2);
+        result = service.search("alice", "bab 1", 5);
+        assertEquals(1, result.matched());
+        assertEquals(List.of(), result.items());
+    }
+
+    @Test
+    @DisplayName("Filter list divalidasi lalu dijalankan lewat query index dengan cursor")
+    void testQuery() {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = new TodoService(shards, List.of(), clock::get);
+        for (int i = 0; i < 10; i++) {
+            service.create("alice", new TodoRequest("t" + i, null, i % 2 == 0 ? "OPEN" : "DONE", i % 4,
+                    i < 5 ? 100L + i : null));
+        }
+
+        assertNull(service.validateFilter(new TodoFilterRequest(" open ,DONE", "0, 3", 0L, 10L)));
+        assertEquals("Status harus OPEN, IN_PROGRESS atau DONE",
+                service.validateFilter(new TodoFilterRequest("OPEN,", null, null, null)));
+        assertEquals("Prioritas harus antara 0 dan 3", service.validateFilter(new TodoFilterRequest(null, "4", null, null)));
+        assertEquals("Prioritas harus antara 0 dan 3", service.validateFilter(new TodoFilterRequest(null, "12", null, null)));
+        assertEquals("Prioritas harus antara 0 dan 3", service.validateFilter(new TodoFilterRequest(null, "/", null, null)));
+        assertEquals("Tenggat tidak valid", service.validateFilter(new TodoFilterRequest(null, null, -1L, null)));
+        assertEquals("Tenggat tidak valid", service.validateFilter(new TodoFilterRequest(null, null, null, -1L)));
+        assertEquals("Rentang tenggat tidak valid", service.validateFilter(new TodoFilterRequest(null, null, 5L, 5L)));
+        assertNull(service.validateFilter(new TodoFilterRequest(null, null, 5L, null)));
+
+        TodoPage open = service.query("alice", new TodoFilterRequest("OPEN", null, null, null), 0, 3);
+        assertEquals(List.of("t0", "t2", "t4"), open.items().stream().map(Todo::title).toList());
+        TodoPage rest = service.query("alice", new TodoFilterRequest("OPEN", null, null, null), open.nextCursor(), 0);
+        assertEquals(List.of("t6", "t8"), rest.items().stream().map(Todo::title).toList());
+        assertNull(rest.nextCursor());
+
+        TodoPage due = service.query("alice", new TodoFilterRequest("DONE,OPEN", "1,3", null, 104L), -1, 10);
+        assertEquals(List.of("t1", "t3"), due.items().stream().map(Todo::title).toList());
+        assertEquals(List.of("t4"), service.query("alice", new TodoFilterRequest(null, null, 104L, null), 0, 10)
+                .items().stream().map(Todo::title).toList());
+        assertEquals(List.of(), service.query("bob", new TodoFilterRequest("OPEN", null, null, null), 0, 10).items());
+    }
+
+    @Test
+    @DisplayName("createAll memasukkan semua todo batch lalu menunggu durable sekali")
+    void testCreateAll() {
+        TodoShards shards = new TodoShards(4, 0);
+        List<String> events = new ArrayList<>();
+        TodoChangeListener listener = new TodoChangeListener() {
+            @Override
+            public void onTodoChanged(Todo before, Todo after) {
+                events.add("put " + after.title());
+            }
+
+            @Override
+            public void awaitDurable() {
+                events.add("durable");
+            }
+        };
+        TodoService service = new TodoService(shards, List.of(listener), clock::get);
+
+        assertEquals(2, service.createAll("alice", List.of(request(" a "), new TodoRequest("b", "x", "DONE", 2, 9L))));
+
+        assertEquals(List.of("put a", "put b", "durable"), events);
+        assertEquals(new Todo(2, "alice", "b", "x", TodoStatus.DONE, 2, 9, 1_000, 1_000, 1), shards.get(2));
+    }
+
+    @Test
+    @DisplayName("Update dan delete bersyarat hanya berhasil dengan versi terbaru")
+    void testConditionalWrites() {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = service(shards);
+        service.create("alice", request("a"));
+
+        TodoWriteResult updated = service.update("alice", 1, request("b"), 1);
+        assertEquals(TodoWriteResult.Outcome.APPLIED, updated.outcome());
+        assertEquals(2, updated.todo().version());
+
+        TodoWriteResult stale = service.update("alice", 1, request("c"), 1);
+        assertEquals(TodoWriteResult.Outcome.CONFLICT, stale.outcome());
+        assertSame(updated.todo(), stale.todo());
+        assertEquals(TodoWriteResult.Outcome.NOT_FOUND, service.update("bob", 1, request("c"), 2).outcome());
+
+        assertEquals(TodoWriteResult.Outcome.CONFLICT, service.delete("alice", 1, 1).outcome());
+        TodoWriteResult deleted = service.delete("alice", 1, 2);
+        assertEquals(TodoWriteResult.Outcome.APPLIED, deleted.outcome());
+        assertSame(updated.todo(), deleted.todo());
+        assertEquals(TodoWriteResult.Outcome.NOT_FOUND, service.delete("alice", 1, 2).outcome());
+        assertEquals(List.of("->a", "a>b", "b>-"), changes);
+    }
+
+    @Test
+    @DisplayName("Update bersyarat bersamaan pada todo yang sama tidak pernah kehilangan perubahan")
+    void testConcurrentConditionalUpdates() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = new TodoService(shards, List.of(), clock::get);
+        service.create("alice", request("0"));
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread writer = new Thread(() -> {
+                for (int applied = 0; applied < 200; ) {
+                    Todo current = service.get("alice", 1);
+                    TodoRequest increment = request(Integer.toString(Integer.parseInt(current.title()) + 1));
+                    // Versi lama ditolak: baca ulang dan coba lagi
+                    if (service.update("alice", 1, increment, current.version()).outcome()
+                            == TodoWriteResult.Outcome.APPLIED) {
+                        applied++;
+                    }
+                }
+            });
+            writer.start();
+            threads.add(writer);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Todo last = shards.get(1);
+        assertEquals("1600", last.title());
+        assertEquals(1601, last.version());
+    }
+
+    @Test
+    @DisplayName("Batch menerapkan operasi berurutan, melaporkan hasil per operasi dan menunggu durable sekali")
+    void testApplyBatch() {
+        TodoShards shards = new TodoShards(4, 0);
+        AtomicInteger durable = new AtomicInteger();
+        TodoChangeListener listener = new TodoChangeListener() {
+            @Override
+            public void onTodoChanged(Todo before, Todo after) {
+            }
+
+            @Override
+            public void awaitDurable() {
+                durable.incrementAndGet();
+            }
+        };
+        TodoService service = new TodoService(shards, List.of(listener), clock::get);
+        service.create("alice", request("a"));
+        service.create("alice", request("b"));
+        service.create("bob", request("c"));
+        durable.set(0);
+
+        TodoBatchResult result = service.applyBatch("alice", new TodoBatchRequest(Arrays.asList(
+                new TodoBatchRequest.Operation(1L, 1L, false, request(" a2 ")),
+                new TodoBatchRequest.Operation(1L, 1L, false, request("a3")),
+                new TodoBatchRequest.Operation(2L, null, true, null),
+                new TodoBatchRequest.Operation(3L, null, true, null),
+                new TodoBatchRequest.Operation(null, null, true, null),
+                new TodoBatchRequest.Operation(0L, null, true, null),
+                null,
+                new TodoBatchRequest.Operation(1L, 0L, false, request("x")),
+                new TodoBatchRequest.Operation(1L, 2L, false, request(" ")))));
+
+        assertEquals(List.of("updated", "conflict", "deleted", "not_found", "invalid", "invalid", "invalid",
+                "invalid", "invalid"), result.results().stream().map(TodoBatchResult.Item::status).toList());
+        assertEquals(2, result.applied());
+        assertEquals(7, result.failed());
+        TodoBatchResult.Item updated = result.results().get(0);
+        assertEquals(new TodoBatchResult.Item(1L, "updated", null, shards.get(1)), updated);
+        assertEquals("a2", updated.todo().title());
+        assertEquals(new TodoBatchResult.Item(1L, "conflict", "Versi todo sudah berubah", shards.get(1)),
+                result.results().get(1));
+        assertEquals(new TodoBatchResult.Item(2L, "deleted", null, null), result.results().get(2));
+        assertEquals(new TodoBatchResult.Item(3L, "not_found", "Todo tidak ditemukan", null), result.results().get(3));
+        assertEquals(new TodoBatchResult.Item(null, "invalid", "Id todo wajib diisi", null), result.results().get(6));
+        assertEquals("Versi todo tidak valid", result.results().get(7).message());
+        assertEquals("Judul todo wajib diisi", result.results().get(8).message());
+        assertNull(shards.get(2));
+        assertNotNull(shards.get(3));
+        assertEquals(1, durable.get());
+
+        TodoBatchResult failed = service.applyBatch("alice", new TodoBatchRequest(
+                List.of(new TodoBatchRequest.Operation(9L, null, true, null))));
+        assertEquals(0, failed.applied());
+        assertEquals(1, durable.get());
+    }
+
+    @Test
+    @DisplayName("Batch kosong atau terlalu besar ditolak")
+    void testValidateBatch() {
+        TodoService service = service(new TodoShards(4, 0));
+        TodoBatchRequest.Operation operation = new TodoBatchRequest.Operation(1L, null, true, null);
+
+        assertEquals("Daftar operasi wajib diisi", service.validateBatch(null));
+        assertEquals("Daftar operasi wajib diisi", service.validateBatch(new TodoBatchRequest(null)));
+        assertEquals("Daftar operasi wajib diisi", service.validateBatch(new TodoBatchRequest(List.of())));
+        assertEquals("Maksimal 1000 operasi per batch", service.validateBatch(
+                new TodoBatchRequest(Collections.nCopies(TodoService.MAX_BATCH + 1, operation))));
+        assertNull(service.validateBatch(new TodoBatchRequest(Collections.nCopies(TodoService.MAX_BATCH, operation))));
+    }
+
+    @Test
+    @DisplayName("Create ditolak tanpa mengubah apa pun saat kuota shard owner penuh")
+    void testCreateOverQuota() {
+        TodoShards shards = new TodoShards(1, 400);
+        TodoService service = service(shards);
+
+        assertNotNull(service.create("alice", request("a")));
+        assertNull(service.create("alice", request("b".repeat(100))));
+        assertEquals(1, service.createAll("alice", List.of(request("c"), request("d".repeat(100)))));
+
+        assertEquals(2, shards.size());
+        assertEquals(List.of("->a", "->c"), changes);
+        assertEquals(List.of("a", "c"), service.list("alice", 0, 10).items().stream().map(Todo::title).toList());
+    }
+
+    @Test
+    @DisplayName("Listener yang menolak perubahan (WAL gagal) mencegah store berubah")
+    void testListenerRejectsChange() {
+        TodoShards shards = new TodoShards(4, 0);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<String> notified = new ArrayList<>();
+        TodoChangeListener listener = new TodoChangeListener() {
+            @Override
+            public void beforeChange() {
+                if (failed.get()) {
+                    throw new UncheckedIOException("WAL todo gagal ditulis", new IOException("disk penuh"));
+                }
+            }
+
+            @Override
+            public void onTodoChanged(Todo before, Todo after) {
+                notified.add(after == null ? "-" : after.title());
+            }
+        };
+        TodoService service = new TodoService(shards, List.of(listener), clock::get);
+        Todo todo = service.create("alice", request("a"));
+        failed.set(true);
+
+        assertThrows(UncheckedIOException.class, () -> service.create("alice", request("b")));
+        assertThrows(UncheckedIOException.class, () -> service.update("alice", todo.id(), request("c")));
+        assertThrows(UncheckedIOException.class, () -> service.delete("alice", todo.id()));
+        assertThrows(UncheckedIOException.class,
+                () -> service.restore(new Todo(9, "bob", "d", "", TodoStatus.OPEN, 0, 0, 5, 6, 1)));
+
+        assertEquals(1, shards.size());
+        assertSame(todo, service.get("alice", todo.id()));
+        assertEquals(List.of("a"), notified);
+    }
+
+    @Test
+    @DisplayName("Restore mempertahankan id todo kecuali id itu sudah dipakai pengguna lain")
+    void testRestore() {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = service(shards);
+        service.create("alice", request("a"));
+
+        Todo imported = new Todo(1, "alice", "a2", "", TodoStatus.DONE, 1, 0, 5, 6, 4);
+        assertSame(imported, service.restore(imported));
+        assertSame(imported, service.get("alice", 1));
+
+        Todo foreign = new Todo(1, "bob", "b", "", TodoStatus.OPEN, 0, 0, 5, 6, 2);
+        Todo renumbered = service.restore(foreign);
+        assertEquals(new Todo(2, "bob", "b", "", TodoStatus.OPEN, 0, 0, 5, 6, 2), renumbered);
+        assertSame(imported, service.get("alice", 1));
+
+        Todo fresh = new Todo(7, "carol", "c", "", TodoStatus.OPEN, 0, 0, 5, 6, 1);
+        assertSame(fresh, service.restore(fresh));
+        assertEquals(List.of("->a", "a>a2", "->b", "->c"), changes);
+        assertEquals(List.of("b"), service.search("bob", "b", 5).items().stream().map(Todo::title).toList());
+    }
+
+    @Test
+    @DisplayName("Restore todo baru dikenai kuota shard, menimpa todo owner yang sama tidak")
+    void testRestoreOverQuota() {
+        TodoShards shards = new TodoShards(1, 400);
+        TodoService service = service(shards);
+
+        Todo first = new Todo(1, "alice", "a", "", TodoStatus.OPEN, 0, 0, 5, 6, 1);
+        assertSame(first, service.restore(first));
+        assertNull(service.restore(new Todo(9, "carol", "c".repeat(300), "", TodoStatus.OPEN, 0, 0, 5, 6, 1)));
+        assertNull(service.restore(new Todo(1, "bob", "b".repeat(100), "", TodoStatus.OPEN, 0, 0, 5, 6, 1)));
+
+        Todo bigger = new Todo(1, "alice", "a".repeat(100), "", TodoStatus.OPEN, 0, 0, 5, 6, 2);
+        assertSame(bigger, service.restore(bigger));
+        assertEquals(1, shards.size());
+        assertEquals(List.of("->a", "a>" + "a".repeat(100)), changes);
+    }
+
+    @Test
+    @DisplayName("Restore bersamaan dengan id yang sama dari pengguna berbeda hanya mempertahankan satu id")
+    void testConcurrentRestoreSameId() throws Exception {
+        TodoShards shards = new TodoShards(4, 0);
+        TodoService service = new TodoService(shards, List.of(), clock::get);
+        shards.reserveIds(5000);
+        List<Todo> restored = Collections.synchronizedList(new ArrayList<>());
+        CyclicBarrier ready = new CyclicBarrier(8);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String owner = "user" + t;
+            Thread importer = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (long id = 1; id <= 5000; id++) {
+                    restored.add(service.restore(new Todo(id, owner, "t", "", TodoStatus.OPEN, 0, 0, 5, 6, 1)));
+                }
+            });
+            importer.start();
+            threads.add(importer);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, shards.size());
+        assertEquals(40_000, restored.stream().mapToLong(Todo::id).distinct().count());
+        for (Todo todo : restored) {
+            assertEquals(todo.owner(), shards.get(todo.id()).owner());
+        }
+    }
+}